@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 
 import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -54,4 +55,19 @@ public interface AuthenticationHandlerResolver extends Ordered {
     default boolean supports(final Set<AuthenticationHandler> handlers, final AuthenticationTransaction transaction) {
         return !handlers.isEmpty() && transaction != null;
     }
+
+    /**
+     * Describe the parts of the transaction that this resolver looks at when
+     * deciding whether it supports the transaction and which handlers it resolves.
+     * Transactions with the same key are expected to resolve the same handlers,
+     * which allows a frozen execution plan to reuse the outcome of a previous resolution.
+     * Resolvers that cannot describe their inputs should return an empty result,
+     * so their resolution is always carried out again.
+     *
+     * @param transaction the transaction
+     * @return the resolution key, or empty if the outcome may not be reused.
+     */
+    default Optional<String> getResolutionKey(final AuthenticationTransaction transaction) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,80 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditEngineQueueProperties}.
+ * Controls the bounded queue that sits in front of audit managers
+ * that are configured to record audit records asynchronously.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiresModule(name = "cas-server-core-audit", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("AuditEngineQueueProperties")
+public class AuditEngineQueueProperties implements Serializable {
+
+    private static final long serialVersionUID = 2364919813578124153L;
+
+    /**
+     * Maximum number of audit records that may be queued
+     * while waiting to be written to storage.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of audit records that are written
+     * to storage together in a single batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum amount of time to wait for a batch to fill up
+     * before queued audit records are written to storage.
+     */
+    @DurationCapable
+    private String flushInterval = "PT0.5S";
+
+    /**
+     * Decide what should happen to new audit records when the queue is full.
+     */
+    private OverflowPolicyTypes overflowPolicy = OverflowPolicyTypes.BLOCK;
+
+    /**
+     * Directory where audit records are spilled to when the queue is full
+     * and the overflow policy is set to {@code SPILL}. Spilled records are replayed
+     * once the queue is drained. This setting is required when spilling records, since spilled
+     * records carry principals and client addresses. The directory is created readable by its owner only
+     * if it does not exist.
+     */
+    private String spillDirectory;
+
+    /**
+     * Queue overflow policy types.
+     */
+    public enum OverflowPolicyTypes {
+        /**
+         * Block the caller until space becomes available in the queue.
+         */
+        BLOCK,
+        /**
+         * Discard the oldest queued audit record to make room.
+         */
+        DROP_OLDEST,
+        /**
+         * Append the audit record to a local file, to be replayed later.
+         */
+        SPILL
+    }
+}
@@ -27,4 +27,11 @@ public class AuditRestProperties extends RestEndpointProperties {
      * Make storage requests asynchronously.
      */
     private boolean asynchronous = true;
+
+    /**
+     * When records are saved asynchronously, send each batch of queued
+     * audit records to the endpoint as a JSON array in a single request,
+     * rather than sending one request per record.
+     */
+    private boolean bulkSaveEnabled;
 }
@@ -36,4 +36,20 @@ public class AuthenticationEngineProperties implements Serializable {
     @NestedConfigurationProperty
     private GroovyAuthenticationEngineProcessorProperties groovyPostProcessor = new GroovyAuthenticationEngineProcessorProperties();
 
+    /**
+     * Whether the authentication execution plan should be frozen once configured.
+     * A frozen plan sorts its authentication handlers, resolvers, policies and processors once
+     * instead of on every authentication attempt, and remembers the authentication handlers
+     * resolved for a combination of credential types, registered service and other resolver inputs.
+     * Handler resolvers that cannot describe their inputs, such as Groovy scripts, are always executed.
+     * The plan is rebuilt and frozen again when the application context is refreshed.
+     */
+    private boolean frozenExecutionPlan;
+
+    /**
+     * Control the concurrent execution of authentication handlers.
+     */
+    @NestedConfigurationProperty
+    private ParallelAuthenticationEngineProperties parallel = new ParallelAuthenticationEngineProperties();
+
 }
@@ -0,0 +1,93 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link HttpClientPoolProperties}.
+ * Controls the shared pool of keep-alive connections that is used
+ * when CAS reaches out to REST endpoints and other URL resources.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+public class HttpClientPoolProperties implements Serializable {
+    private static final long serialVersionUID = 2270419562364791262L;
+
+    /**
+     * Maximum number of connections kept in the pool, across all destinations.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Maximum number of connections kept in the pool for each destination,
+     * unless overridden for the destination host via {@link #maxConnectionsPerHost}.
+     */
+    private int maxConnectionsPerRoute = 20;
+
+    /**
+     * Maximum number of connections kept in the pool for specific destinations.
+     * The key is the host name, optionally followed by the port (i.e. {@code host:port}),
+     * and the value is the maximum number of connections to that destination.
+     */
+    private Map<String, Integer> maxConnectionsPerHost = new LinkedHashMap<>();
+
+    /**
+     * Timeout to establish a connection to the destination.
+     */
+    @DurationCapable
+    private String connectTimeout = "PT0.5S";
+
+    /**
+     * Timeout to wait for a connection to become available from the pool.
+     */
+    @DurationCapable
+    private String connectionRequestTimeout = "PT5S";
+
+    /**
+     * Timeout to wait for data from the destination, once connected.
+     */
+    @DurationCapable
+    private String responseTimeout = "PT10S";
+
+    /**
+     * Connections that have been idle for longer than this period
+     * are closed and removed from the pool.
+     */
+    @DurationCapable
+    private String idleTimeout = "PT30S";
+
+    /**
+     * Maximum period a connection may be reused for, regardless of keep-alive headers.
+     * This allows changes in DNS to be picked up. Zero or negative values
+     * let connections live as long as the destination keeps them alive.
+     */
+    @DurationCapable
+    private String timeToLive = "PT5M";
+
+    /**
+     * Connections that have been idle for longer than this period
+     * are validated before they are handed out of the pool again.
+     */
+    @DurationCapable
+    private String validateAfterInactivity = "PT2S";
+
+    /**
+     * Maximum period to wait for requests that are in flight to complete
+     * and return their connections, before the pool is shut down.
+     */
+    @DurationCapable
+    private String shutdownTimeout = "PT10S";
+}
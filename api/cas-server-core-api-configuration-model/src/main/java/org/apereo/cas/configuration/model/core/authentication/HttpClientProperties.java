@@ -58,6 +58,13 @@ public class HttpClientProperties implements Serializable {
     @NestedConfigurationProperty
     private HttpClientTrustStoreProperties truststore = new HttpClientTrustStoreProperties();
 
+    /**
+     * Configuration properties for the shared pool of connections
+     * used when reaching out to REST endpoints and other URL resources.
+     */
+    @NestedConfigurationProperty
+    private HttpClientPoolProperties pool = new HttpClientPoolProperties();
+
     /**
      * Whether CAS should accept local URLs.
      * For example {@code http(s)://localhost/logout}.
@@ -0,0 +1,48 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link ParallelAuthenticationEngineProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("ParallelAuthenticationEngineProperties")
+public class ParallelAuthenticationEngineProperties implements Serializable {
+    private static final long serialVersionUID = 3846213977146012588L;
+
+    /**
+     * Whether authentication handlers that support a credential should be executed concurrently,
+     * rather than one after another. Outcomes are processed in the order of the handlers, and the remaining
+     * handlers are cancelled as soon as the outcomes processed so far satisfy the authentication policy, or
+     * when a failure should not allow the authentication attempt to resume.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of authentication handlers that may execute concurrently across all authentication attempts.
+     * Once reached, handlers are executed by the thread that carries out the authentication attempt,
+     * while the remaining handlers are submitted, and are not bound by the timeout.
+     */
+    private int poolSize = 20;
+
+    /**
+     * Maximum amount of time allowed for an authentication handler to complete.
+     * Handlers that do not complete in time are cancelled and recorded as failures.
+     */
+    @DurationCapable
+    private String timeout = "PT10S";
+}
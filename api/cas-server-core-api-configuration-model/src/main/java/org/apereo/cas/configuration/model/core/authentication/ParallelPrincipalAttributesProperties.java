@@ -0,0 +1,84 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link ParallelPrincipalAttributesProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiresModule(name = "cas-server-support-person-directory", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("ParallelPrincipalAttributesProperties")
+public class ParallelPrincipalAttributesProperties implements Serializable {
+    private static final long serialVersionUID = -6318271593302649211L;
+
+    /**
+     * Whether attribute repositories should be queried concurrently
+     * when their results are merged together, rather than one after another.
+     * Results are still merged in the order of the attribute repositories,
+     * using the configured merging strategy. This setting has no effect
+     * when the aggregation strategy is set to cascade.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of attribute repositories that may be queried concurrently across all requests.
+     * Once reached, attribute repositories are queried by the thread that asks for person attributes.
+     */
+    private int poolSize = 20;
+
+    /**
+     * Maximum amount of time allowed for an attribute repository to produce results.
+     * Attribute repositories that do not respond in time are handled according to the failure policy.
+     */
+    @DurationCapable
+    private String timeout = "PT5S";
+
+    /**
+     * Maximum amount of time allowed for individual attribute repositories to produce results,
+     * keyed by the attribute repository identifier. Attribute repositories that are not listed here
+     * are subject to the default timeout.
+     */
+    private Map<String, String> sourceTimeouts = new LinkedHashMap<>();
+
+    /**
+     * Indicates how failures and timeouts of attribute repositories should be handled.
+     * When left undefined, the policy follows the recover-exceptions setting of the attribute repository
+     * and ignores failed attribute repositories if exceptions are recovered, or fails the attribute query otherwise.
+     * Policies other than {@code FAIL} may not be combined with recover-exceptions turned off.
+     */
+    private FailurePolicyTypes failurePolicy;
+
+    /**
+     * The failure policy types.
+     */
+    public enum FailurePolicyTypes {
+        /**
+         * Ignore the attribute repository and carry on with the results of the others.
+         */
+        IGNORE,
+        /**
+         * Fail the attribute query altogether.
+         */
+        FAIL,
+        /**
+         * Use the results the attribute repository last produced for the same principal, if any;
+         * otherwise, ignore the attribute repository.
+         */
+        CACHED
+    }
+}
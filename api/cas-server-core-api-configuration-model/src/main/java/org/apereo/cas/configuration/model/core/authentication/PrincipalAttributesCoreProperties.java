@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serializable;
 import java.util.HashSet;
@@ -82,6 +83,12 @@ public class PrincipalAttributesCoreProperties implements Serializable {
      */
     private Set<String> defaultAttributesToRelease = new HashSet<>(0);
 
+    /**
+     * Control whether attribute repositories are queried concurrently when merging results.
+     */
+    @NestedConfigurationProperty
+    private ParallelPrincipalAttributesProperties parallel = new ParallelPrincipalAttributesProperties();
+
     /**
      * The aggregation strategy types.
      */
@@ -2,6 +2,7 @@ package org.apereo.cas.configuration.model.core.authentication;
 
 import org.apereo.cas.configuration.model.support.email.EmailProperties;
 import org.apereo.cas.configuration.model.support.sms.SmsProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -51,6 +52,12 @@ public class RiskBasedAuthenticationProperties implements Serializable {
      */
     private Response response = new Response();
 
+    /**
+     * Calculate risk scores from aggregated risk profiles
+     * that are maintained per principal, rather than from authentication events.
+     */
+    private Profile profile = new Profile();
+
     /**
      * The risk threshold factor beyond which the authentication
      * event may be considered risky.
@@ -129,6 +136,35 @@ public class RiskBasedAuthenticationProperties implements Serializable {
         private int windowInHours = 2;
     }
 
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    @RequiresModule(name = "cas-server-support-electrofence")
+    public static class Profile implements Serializable {
+
+        private static final long serialVersionUID = -2186354962771302981L;
+
+        /**
+         * Enable risk profiles. A risk profile holds counts of the ip addresses, user agents,
+         * geolocations and hours of day found in the recent authentication history of a principal.
+         * Profiles are built from the event repository, kept in memory and updated as events are saved.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of risk profiles that are kept in memory.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a risk profile is kept in memory before it is rebuilt from the event repository.
+         * Profiles are only updated with events that are saved by this node, so this setting
+         * also bounds how long events recorded by other nodes in a cluster may be missed.
+         */
+        @DurationCapable
+        private String expiration = "PT10M";
+    }
+
     @Getter
     @Setter
     @Accessors(chain = true)
@@ -0,0 +1,89 @@
+package org.apereo.cas.configuration.model.core.slo;
+
+import org.apereo.cas.configuration.model.core.util.EncryptionJwtSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link SingleLogOutDispatchProperties}.
+ * Controls how asynchronous back-channel logout messages are queued,
+ * sent and retried.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+public class SingleLogOutDispatchProperties implements Serializable {
+
+    private static final long serialVersionUID = -6012887357263414213L;
+
+    /**
+     * Whether asynchronous logout messages should be queued and sent
+     * by the dispatcher, with retries. When false, messages are sent
+     * once in a fire-and-forget manner.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of logout messages that may be pending at any given time.
+     * Messages that arrive when the queue is full are rejected and reported as failures.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Number of threads that send logout messages.
+     */
+    private int threads = 8;
+
+    /**
+     * Maximum number of logout messages that may be in flight at the same time
+     * to a single destination host.
+     */
+    private int maxConcurrencyPerHost = 4;
+
+    /**
+     * Maximum number of attempts to deliver a logout message before it is discarded.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Delay before the first retry of a failed logout message.
+     * Subsequent retries are delayed exponentially using {@link #multiplier}.
+     */
+    @DurationCapable
+    private String initialDelay = "PT1S";
+
+    /**
+     * Upper bound for the delay between retries.
+     */
+    @DurationCapable
+    private String maxDelay = "PT5M";
+
+    /**
+     * Factor by which the retry delay grows after each failed attempt.
+     */
+    private double multiplier = 2.0;
+
+    /**
+     * Directory where pending logout messages are recorded, so they
+     * can be sent after a restart. Messages are only kept in memory if undefined.
+     */
+    private String journalDirectory;
+
+    /**
+     * Crypto settings that sign and encrypt pending logout messages
+     * recorded in the journal directory.
+     */
+    @NestedConfigurationProperty
+    private EncryptionJwtSigningJwtCryptographyProperties crypto = new EncryptionJwtSigningJwtCryptographyProperties();
+}
@@ -31,4 +31,54 @@ public class TicketRegistryCoreProperties implements Serializable {
      * separate from the registry technology itself.
      */
     private boolean enableLocking = true;
+
+    /**
+     * When set to true, tickets that are read from the registry while processing an HTTP request
+     * are cached for the duration of that request, so that repeated lookups of the same ticket,
+     * such as the ticket-granting ticket during login, do not each reach the registry.
+     * Tickets are evicted from the cache once updated or removed.
+     */
+    private boolean enableRequestCache;
+
+    /**
+     * Format used to serialize tickets for registries that store tickets as documents,
+     * such as MongoDb, Cassandra or JPA. Tickets that were previously stored as JSON
+     * can always be read back, regardless of the format that is selected here.
+     */
+    private TicketSerializationFormatTypes serializationFormat = TicketSerializationFormatTypes.JSON;
+
+    /**
+     * Compress tickets that are serialized in binary format.
+     */
+    private TicketSerializationCompressionTypes serializationCompression = TicketSerializationCompressionTypes.DEFLATE;
+
+    /**
+     * Ticket serialization formats.
+     */
+    public enum TicketSerializationFormatTypes {
+        /**
+         * Serialize tickets as JSON documents.
+         */
+        JSON,
+        /**
+         * Serialize tickets in a compact binary format, encoded as base64.
+         * Repeated strings such as attribute names and class names are interned,
+         * and repeated objects such as services are only written once.
+         */
+        BINARY
+    }
+
+    /**
+     * Ticket serialization compression types.
+     */
+    public enum TicketSerializationCompressionTypes {
+        /**
+         * No compression.
+         */
+        NONE,
+        /**
+         * Compress with deflate.
+         */
+        DEFLATE
+    }
 }
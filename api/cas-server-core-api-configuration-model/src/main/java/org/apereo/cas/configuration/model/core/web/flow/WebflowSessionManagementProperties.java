@@ -44,6 +44,7 @@ public class WebflowSessionManagementProperties implements Serializable {
      * to 1 allows easy resource cleanup in situations where there
      * should only be one active conversation per session.
      * Only relevant if session storage is done on the server.
+     * If conversations are kept in a conversation store, the limit applies to each browser instead.
      */
     private int maxConversations = 5;
 
@@ -58,10 +59,75 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean storage;
 
+    /**
+     * Controls where conversations are kept when spring webflow sessions are stored server-side.
+     * Only relevant if session storage is done on the server.
+     */
+    private WebflowSessionStorageTypes storageType = WebflowSessionStorageTypes.HTTP_SESSION;
+
+    /**
+     * Period of inactivity after which a conversation expires and is removed from the conversation store.
+     * Only relevant if conversations are kept in a conversation store.
+     */
+    @DurationCapable
+    private String conversationTimeout = "PT30M";
+
+    /**
+     * Maximum number of conversations kept in memory by the default conversation store.
+     * Once the limit is reached, conversations that are least likely to be used again are evicted.
+     * Only relevant if conversations are kept in the default in-memory conversation store.
+     */
+    private long maxStoredConversations = 100_000;
+
+    /**
+     * Maximum number of flow execution snapshots kept for each conversation.
+     * Older snapshots are discarded once the limit is reached, which limits how far
+     * back the browser may navigate. Set it to -1 for no limit.
+     * Only relevant if conversations are kept in a conversation store.
+     */
+    private int maxSnapshots = 10;
+
+    /**
+     * Format used to serialize the webflow state when it is managed on the client side.
+     * State serialized in either format is always accepted, regardless of the format selected here.
+     * In a cluster, switch to a new format only once all nodes are able to read it.
+     */
+    private WebflowStateSerializationFormatTypes stateSerializationFormat = WebflowStateSerializationFormatTypes.JAVA;
+
     /**
      * If sessions are to be replicated via Hazelcast, controls and defines how state should be replicated.
      * Only relevant if session storage is done on the server.
      */
     @NestedConfigurationProperty
     private BaseHazelcastProperties hazelcast = new BaseHazelcastProperties();
+
+    /**
+     * Server-side webflow session storage types.
+     */
+    public enum WebflowSessionStorageTypes {
+        /**
+         * Keep conversations in the http session.
+         */
+        HTTP_SESSION,
+        /**
+         * Keep conversations in a dedicated conversation store, which is kept in memory
+         * by default, or in Hazelcast or Redis when the session management module for either is included.
+         * The browser only carries the flow execution id.
+         */
+        CONVERSATION_STORE
+    }
+
+    /**
+     * Webflow state serialization formats.
+     */
+    public enum WebflowStateSerializationFormatTypes {
+        /**
+         * Serialize the webflow state using native java serialization, compressed via gzip.
+         */
+        JAVA,
+        /**
+         * Serialize the webflow state in a compact binary format using Kryo, compressed via deflate.
+         */
+        KRYO
+    }
 }
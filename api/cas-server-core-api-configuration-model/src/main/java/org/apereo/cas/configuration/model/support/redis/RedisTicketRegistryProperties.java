@@ -30,6 +30,22 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * When streaming tickets from the registry, keys that are located via SCAN operations
+     * (whose page size is controlled via the {@code scan-count} setting) are grouped into batches of this size
+     * and fetched using a single {@code MGET} command per batch, rather than one {@code GET} per ticket.
+     * The next batch is fetched in the background while the current batch is being consumed.
+     * A value of zero or one disables batching and fetches tickets one at a time.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Number of threads dedicated to fetching batches of tickets in the background
+     * while tickets are streamed from the registry. Once all threads are busy, batches
+     * are fetched by the thread consuming the stream.
+     */
+    private int batchPoolSize = 4;
+
     public RedisTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
@@ -74,5 +74,21 @@ public class CoreSamlMetadataProperties implements Serializable {
      * should support SLO service REDIRECT binding.
      */
     private boolean sloServiceRedirectBindingEnabled = true;
+
+    /**
+     * Whether metadata aggregates that are loaded from files or URLs should be
+     * split into one document per entity on disk, once the aggregate is parsed
+     * and its signature is verified. Entities are then parsed on demand when requested,
+     * rather than keeping the entire aggregate in memory. Split aggregates are kept
+     * beneath the metadata directory and are only rebuilt when the aggregate changes.
+     */
+    private boolean aggregateStoreEnabled;
+
+    /**
+     * How long entities resolved from a split aggregate may remain unused in memory
+     * before they are removed, to be parsed again from disk when needed.
+     */
+    @DurationCapable
+    private String aggregateStoreMaxIdle = "PT1H";
     
 }
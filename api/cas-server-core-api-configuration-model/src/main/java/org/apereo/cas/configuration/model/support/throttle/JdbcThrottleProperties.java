@@ -43,4 +43,13 @@ public class JdbcThrottleProperties extends AbstractJpaProperties {
      */
     private String auditQuery = SQL_AUDIT_QUERY_BY_USER_AND_IP;
 
+    /**
+     * Name of the table that holds failed login attempt counters,
+     * when counter-based throttling is enabled.
+     * The table is created from the schema script shipped with the module
+     * if it does not exist and the {@code ddl-auto} setting allows schema changes;
+     * otherwise, it is expected to be created ahead of time.
+     */
+    private String counterTableName = "CAS_THROTTLE_COUNTER";
+
 }
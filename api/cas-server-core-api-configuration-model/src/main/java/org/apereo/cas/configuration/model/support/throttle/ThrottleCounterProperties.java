@@ -0,0 +1,86 @@
+package org.apereo.cas.configuration.model.support.throttle;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for counter-based authentication throttling.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiresModule(name = "cas-server-support-throttle")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("ThrottleCounterProperties")
+public class ThrottleCounterProperties implements Serializable {
+    private static final long serialVersionUID = 3217420926414316377L;
+
+    /**
+     * Track failed login attempts using counters, instead of
+     * examining the timestamps of failed attempts or audit records.
+     * Counters are kept in memory by default, or in Hazelcast, Redis or a relational database
+     * when the throttling module for either is included.
+     * The failure threshold is the number of failed attempts permitted
+     * within the window defined by the failure range.
+     */
+    private boolean enabled;
+
+    /**
+     * How failed attempts are grouped into windows.
+     */
+    private ThrottleCounterWindowTypes windowType = ThrottleCounterWindowTypes.SLIDING;
+
+    /**
+     * How failed attempts are keyed.
+     */
+    private ThrottleCounterKeyTypes keyType = ThrottleCounterKeyTypes.IP_ADDRESS_AND_USERNAME;
+
+    /**
+     * Maximum number of counters kept in memory, when counters are kept in memory.
+     * Once the limit is reached, counters that are least likely to be used again are evicted,
+     * which bounds the memory used when failed attempts come from a very large number of addresses.
+     */
+    private long capacity = 1_000_000;
+
+    /**
+     * Counter window types.
+     */
+    public enum ThrottleCounterWindowTypes {
+        /**
+         * Count failed attempts in consecutive, fixed windows.
+         */
+        FIXED,
+        /**
+         * Approximate a sliding window by weighing the count of the previous fixed window
+         * by how much of it still overlaps the sliding window.
+         */
+        SLIDING
+    }
+
+    /**
+     * Counter key types.
+     */
+    public enum ThrottleCounterKeyTypes {
+        /**
+         * Count failed attempts per IP address.
+         */
+        IP_ADDRESS,
+        /**
+         * Count failed attempts per username, falling back to the IP address if there is no username.
+         */
+        USERNAME,
+        /**
+         * Count failed attempts per IP address and username,
+         * falling back to the IP address if there is no username.
+         */
+        IP_ADDRESS_AND_USERNAME
+    }
+}
@@ -32,6 +32,12 @@ public class ThrottleProperties implements Serializable {
     @NestedConfigurationProperty
     private ThrottleFailureProperties failure = new ThrottleFailureProperties();
 
+    /**
+     * Track failed login attempts using counters.
+     */
+    @NestedConfigurationProperty
+    private ThrottleCounterProperties counter = new ThrottleCounterProperties();
+
     /**
      * Record authentication throttling events in a JDBC resource.
      */
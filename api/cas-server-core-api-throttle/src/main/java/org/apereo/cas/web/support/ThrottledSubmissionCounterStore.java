@@ -0,0 +1,43 @@
+package org.apereo.cas.web.support;
+
+import java.time.Duration;
+
+/**
+ * This is {@link ThrottledSubmissionCounterStore}.
+ * Keeps counters of failed login attempts that expire on their own,
+ * so that throttling decisions can be made without examining
+ * the history of failed attempts.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public interface ThrottledSubmissionCounterStore {
+    /**
+     * Bean name.
+     */
+    String BEAN_NAME = "throttledSubmissionCounterStore";
+
+    /**
+     * Atomically increment the counter.
+     * The counter is created if it does not exist, and expires once the expiration has passed.
+     *
+     * @param key        the key
+     * @param expiration the expiration of a newly created counter
+     * @return the count after the increment
+     */
+    long increment(String key, Duration expiration);
+
+    /**
+     * Get the count.
+     *
+     * @param key the key
+     * @return the count, or 0 if the counter does not exist or has expired
+     */
+    long get(String key);
+
+    /**
+     * Remove expired counters, for stores that do not expire counters on their own.
+     */
+    default void removeExpired() {
+    }
+}
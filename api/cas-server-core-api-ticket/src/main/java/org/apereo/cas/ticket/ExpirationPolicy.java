@@ -51,6 +51,16 @@ public interface ExpirationPolicy extends Serializable {
      */
     Long getTimeToIdle();
 
+    /**
+     * Method to determine the actual idle time duration of a {@link Ticket}, based on the policy.
+     *
+     * @param ticketState The snapshot of the current ticket state
+     * @return idle time in seconds. A zero value indicates the time duration is not supported or is inactive.
+     */
+    default Long getTimeToIdle(final TicketState ticketState) {
+        return getTimeToIdle();
+    }
+
     /**
      * Gets name of this expiration policy.
      *
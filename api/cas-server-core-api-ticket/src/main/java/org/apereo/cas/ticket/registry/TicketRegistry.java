@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import java.util.Collection;
 import java.util.function.Predicate;
@@ -120,6 +121,22 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket);
 
+    /**
+     * Record a ticket issued by the given ticket-granting ticket, such as a service ticket.
+     * The ticket-granting ticket is expected to already track the child ticket and to reflect
+     * its latest usage. The child ticket itself is not added to the registry.
+     * <p>
+     * By default, the ticket-granting ticket is updated in full. Registries that are able to
+     * store child tickets separately from the ticket-granting ticket should override this
+     * operation, so that issuing a ticket does not rewrite the entire ticket-granting ticket.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     * @param childTicket          the child ticket
+     */
+    default void addChildTicket(final TicketGrantingTicket ticketGrantingTicket, final Ticket childTicket) {
+        updateTicket(ticketGrantingTicket);
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -155,4 +172,36 @@ public interface TicketRegistry {
      * @return the count
      */
     long countSessionsFor(String principalId);
+
+    /**
+     * Gets the tickets that should be examined for expiration by the registry cleaner.
+     * By default, every ticket in the registry is a candidate. Registries that are able
+     * to track the projected expiration of tickets should override this operation to
+     * only produce tickets that are likely to have expired.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @return the tickets
+     */
+    default Stream<? extends Ticket> getExpirationCandidates() {
+        return stream();
+    }
+
+    /**
+     * Gets the single sign-on sessions, as ticket-granting tickets,
+     * that are recorded in the ticket registry for the given user name.
+     * Registries that are able to maintain a secondary index of sessions
+     * by principal should override this operation to avoid scanning the entire registry.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param principalId the principal id
+     * @return the ticket-granting tickets
+     */
+    default Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return getTickets(ticket -> ticket instanceof TicketGrantingTicket
+            && ((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId));
+    }
 }
@@ -160,6 +160,15 @@ public interface CentralAuthenticationService {
      */
     Stream<? extends Ticket> getTickets(Predicate<Ticket> predicate, long from, long count);
 
+    /**
+     * Gets the ticket-granting tickets that belong to the given principal,
+     * as located by the underlying ticket registry.
+     *
+     * @param principalId the principal id
+     * @return the sessions
+     */
+    Stream<? extends Ticket> getSessionsFor(String principalId);
+
     /**
      * Grant a {@link ServiceTicket} that may be used to access the given service
      * by authenticating the given credentials.
@@ -1,27 +1,32 @@
 package org.apereo.cas.audit.spi;
 
+import org.apereo.cas.configuration.model.core.audit.AuditEngineQueueProperties;
+import org.apereo.cas.util.LoggingUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.beans.factory.DisposableBean;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Collection;
 
 /**
  * This is {@link AbstractAuditTrailManager}.
+ * Records that are saved asynchronously are queued and handed over
+ * to {@link #saveAuditRecords(Collection)} in batches.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
+@Slf4j
 @Setter
 @Getter
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
-@AllArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractAuditTrailManager implements AuditTrailManager, DisposableBean {
 
     /**
@@ -29,21 +34,54 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager, Di
      */
     protected boolean asynchronous;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor(
-        r -> new Thread(r, "AuditTrailManagerThread"));
+    /**
+     * Settings of the queue that batches records when saved asynchronously.
+     */
+    private AuditEngineQueueProperties queueProperties = new AuditEngineQueueProperties();
+
+    /**
+     * Registry that receives the metrics of the queue.
+     */
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Object pipelineLock = new Object();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile BatchingAuditTrailPipeline pipeline;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean destroyed;
+
+    protected AbstractAuditTrailManager() {
+    }
+
+    protected AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
 
     @Override
     public void record(final AuditActionContext audit) {
         if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
-        } else {
-            saveAuditRecord(audit);
+            val queue = getPipeline();
+            if (queue != null && queue.enqueue(audit)) {
+                return;
+            }
         }
+        saveAuditRecord(audit);
     }
 
     @Override
     public void destroy() {
-        this.executorService.shutdown();
+        synchronized (pipelineLock) {
+            destroyed = true;
+            if (pipeline != null) {
+                pipeline.close();
+            }
+        }
     }
 
     /**
@@ -51,4 +89,36 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager, Di
      * @param audit Audit record to be saved.
      */
     protected abstract void saveAuditRecord(AuditActionContext audit);
+
+    /**
+     * Save a batch of audit records that were queued when operating asynchronously.
+     * Implementations that support bulk writes should override this method;
+     * by default, each record is saved individually.
+     *
+     * @param audits Audit records to be saved.
+     */
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        audits.forEach(audit -> {
+            try {
+                saveAuditRecord(audit);
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+            }
+        });
+    }
+
+    private BatchingAuditTrailPipeline getPipeline() {
+        var current = pipeline;
+        if (current == null && !destroyed) {
+            synchronized (pipelineLock) {
+                current = pipeline;
+                if (current == null && !destroyed) {
+                    current = new BatchingAuditTrailPipeline(getClass().getSimpleName(), queueProperties,
+                        this::saveAuditRecords, meterRegistry);
+                    pipeline = current;
+                }
+            }
+        }
+        return destroyed ? null : current;
+    }
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.audit.spi;
 
 import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
 
+import com.fasterxml.jackson.core.PrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.apereo.inspektr.audit.AuditActionContext;
@@ -15,6 +16,14 @@ import org.apereo.inspektr.audit.AuditActionContext;
 public class AuditActionContextJsonSerializer extends AbstractJacksonBackedStringSerializer<AuditActionContext> {
     private static final long serialVersionUID = -8983370764375218898L;
 
+    public AuditActionContextJsonSerializer() {
+        super();
+    }
+
+    public AuditActionContextJsonSerializer(final PrettyPrinter prettyPrinter) {
+        super(prettyPrinter);
+    }
+
     @Override
     public Class<AuditActionContext> getTypeToSerialize() {
         return AuditActionContext.class;
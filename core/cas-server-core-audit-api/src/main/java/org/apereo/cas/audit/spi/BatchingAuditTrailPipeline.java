@@ -0,0 +1,312 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditEngineQueueProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.LoggingUtils;
+
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BatchingAuditTrailPipeline}.
+ * <p>
+ * A bounded queue of audit records that is drained by a single background thread.
+ * Records are handed over to the writer in batches (group commit), once either the batch
+ * is full or the flush interval has passed since the first record of the batch was received.
+ * When the queue is full, new records are handled based on the configured overflow policy:
+ * the caller may be blocked, the oldest queued record may be dropped, or the record may be
+ * spilled to a local file that is replayed once the queue has been drained. Spilling requires
+ * an explicit spill directory, which is created readable by the owner only if it does not exist.
+ * <p>
+ * Queue depth, flush latency as well as dropped and spilled records are reported as metrics.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class BatchingAuditTrailPipeline implements Closeable {
+    /**
+     * Metric that reports the number of queued audit records.
+     */
+    public static final String METRIC_QUEUE_DEPTH = "cas.audit.queue.depth";
+
+    /**
+     * Metric that reports the time it takes to write a batch of audit records.
+     */
+    public static final String METRIC_FLUSH_DURATION = "cas.audit.queue.flush";
+
+    /**
+     * Metric that counts audit records dropped due to overflow.
+     */
+    public static final String METRIC_DROPPED = "cas.audit.queue.dropped";
+
+    /**
+     * Metric that counts audit records spilled to disk due to overflow.
+     */
+    public static final String METRIC_SPILLED = "cas.audit.queue.spilled";
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AuditActionContextJsonSerializer serializer =
+        new AuditActionContextJsonSerializer(new MinimalPrettyPrinter());
+
+    private final Object spillLock = new Object();
+
+    private final BlockingQueue<AuditActionContext> queue;
+
+    private final Consumer<List<AuditActionContext>> writer;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final AuditEngineQueueProperties.OverflowPolicyTypes overflowPolicy;
+
+    private final Path spillFile;
+
+    private final Path replayFile;
+
+    private final Tags tags;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Thread drainer;
+
+    private volatile boolean running = true;
+
+    public BatchingAuditTrailPipeline(final String name, final AuditEngineQueueProperties properties,
+                                      final Consumer<List<AuditActionContext>> writer,
+                                      final MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+        this.writer = writer;
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.flushIntervalNanos = Math.max(1, Beans.newDuration(properties.getFlushInterval()).toNanos());
+        this.overflowPolicy = properties.getOverflowPolicy();
+        if (overflowPolicy == AuditEngineQueueProperties.OverflowPolicyTypes.SPILL && StringUtils.isBlank(properties.getSpillDirectory())) {
+            throw new IllegalArgumentException("Audit records cannot be spilled for " + name + " without a spill directory");
+        }
+        val directory = StringUtils.defaultString(properties.getSpillDirectory());
+        this.spillFile = Paths.get(directory, name + "-audit-spill.json");
+        this.replayFile = Paths.get(directory, name + "-audit-spill.json.replaying");
+        this.tags = Tags.of("manager", name);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge(METRIC_QUEUE_DEPTH, tags, queue, Collection::size);
+
+        this.drainer = new Thread(this::drain, "AuditTrailManagerThread");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Put the audit record into the queue, applying the overflow policy if the queue is full.
+     *
+     * @param audit the audit record
+     * @return true if the record was accepted, false if the caller should save the record on its own.
+     */
+    public boolean enqueue(final AuditActionContext audit) {
+        if (!running) {
+            return false;
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!queue.offer(audit)) {
+                    val dropped = queue.poll();
+                    if (dropped != null) {
+                        LOGGER.warn("Audit queue is full; dropped audit record [{}]", dropped);
+                        meterRegistry.counter(METRIC_DROPPED, tags).increment();
+                    }
+                }
+                return true;
+            case SPILL:
+                if (!queue.offer(audit)) {
+                    return spill(audit);
+                }
+                return true;
+            case BLOCK:
+            default:
+                try {
+                    queue.put(audit);
+                    return true;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+        }
+    }
+
+    /**
+     * Number of queued audit records.
+     *
+     * @return the size
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting records, and write out whatever remains in the queue or the spill file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            drainer.join(SHUTDOWN_TIMEOUT.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (!queue.isEmpty()) {
+            val batch = new ArrayList<AuditActionContext>(batchSize);
+            queue.drainTo(batch, batchSize);
+            flush(batch);
+        }
+        replaySpilledRecords();
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                val first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpilledRecords();
+                    continue;
+                }
+                val batch = new ArrayList<AuditActionContext>(batchSize);
+                batch.add(first);
+                val deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    val remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    val next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+            }
+        }
+    }
+
+    private void flush(final List<AuditActionContext> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        val sample = Timer.start(meterRegistry);
+        try {
+            LOGGER.trace("Writing batch of [{}] audit record(s)", batch.size());
+            writer.accept(batch);
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+        } finally {
+            sample.stop(meterRegistry.timer(METRIC_FLUSH_DURATION, tags));
+        }
+    }
+
+    private boolean spill(final AuditActionContext audit) {
+        synchronized (spillLock) {
+            try {
+                createSpillFile();
+                Files.writeString(spillFile, serializer.toString(audit) + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                meterRegistry.counter(METRIC_SPILLED, tags).increment();
+                return true;
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+                return false;
+            }
+        }
+    }
+
+    private void createSpillFile() throws Exception {
+        if (Files.exists(spillFile)) {
+            return;
+        }
+        val directory = spillFile.toAbsolutePath().getParent();
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            if (!Files.exists(directory)) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            }
+            Files.createFile(spillFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createDirectories(directory);
+        }
+    }
+
+    private void replaySpilledRecords() {
+        if (overflowPolicy != AuditEngineQueueProperties.OverflowPolicyTypes.SPILL) {
+            return;
+        }
+        final List<String> lines;
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                lines = Files.readAllLines(replayFile, StandardCharsets.UTF_8);
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+                return;
+            }
+        }
+        LOGGER.debug("Replaying [{}] audit record(s) spilled to [{}]", lines.size(), replayFile);
+        for (var i = 0; i < lines.size(); i += batchSize) {
+            val batch = lines.subList(i, Math.min(i + batchSize, lines.size()))
+                .stream()
+                .filter(StringUtils::isNotBlank)
+                .map(this::readSpilledRecord)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            flush(batch);
+        }
+        try {
+            Files.delete(replayFile);
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+        }
+    }
+
+    private AuditActionContext readSpilledRecord(final String line) {
+        try {
+            return serializer.from(line);
+        } catch (final Exception e) {
+            LOGGER.warn("Skipping unreadable audit record [{}] spilled to [{}]: [{}]", line, replayFile, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.audit.spi.AuditActionContextJsonSerializerTests;
+import org.apereo.cas.audit.spi.BatchingAuditTrailPipelineTests;
 import org.apereo.cas.audit.spi.FilterAndDelegateAuditTrailManagerTests;
 import org.apereo.cas.audit.spi.plan.DefaultAuditTrailRecordResolutionPlanTests;
 import org.apereo.cas.audit.spi.principal.ChainingAuditPrincipalIdProviderTests;
@@ -28,7 +29,8 @@ import org.junit.platform.suite.api.Suite;
     ChainingAuditPrincipalIdProviderTests.class,
     CredentialsAsFirstParameterResourceResolverTests.class,
     FilterAndDelegateAuditTrailManagerTests.class,
-    MessageBundleAwareResourceResolverTests.class
+    MessageBundleAwareResourceResolverTests.class,
+    BatchingAuditTrailPipelineTests.class
 })
 @Suite
 public class CoreAuditTestsSuite {
@@ -0,0 +1,190 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditEngineQueueProperties;
+
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link BatchingAuditTrailPipelineTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Audits")
+@SuppressWarnings("JavaUtilDate")
+public class BatchingAuditTrailPipelineTests {
+
+    private static AuditActionContext getAuditRecord(final String principal) {
+        return new AuditActionContext(principal, "TEST", "TEST",
+            "CAS", new Date(), "1.2.3.4",
+            "1.2.3.4", UUID.randomUUID().toString());
+    }
+
+    private static List<String> getPrincipals(final List<List<AuditActionContext>> batches) {
+        return batches.stream()
+            .flatMap(List::stream)
+            .map(AuditActionContext::getPrincipal)
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void verifyRecordsAreWrittenInBatches() {
+        val batches = new CopyOnWriteArrayList<List<AuditActionContext>>();
+        val properties = new AuditEngineQueueProperties()
+            .setBatchSize(10)
+            .setFlushInterval("PT1S");
+        val pipeline = new BatchingAuditTrailPipeline("Batches", properties, batches::add, new SimpleMeterRegistry());
+        for (var i = 0; i < 25; i++) {
+            assertTrue(pipeline.enqueue(getAuditRecord("casuser" + i)));
+        }
+        pipeline.close();
+        assertFalse(pipeline.enqueue(getAuditRecord("casuser")));
+        assertEquals(25, getPrincipals(batches).size());
+        assertTrue(batches.size() < 25);
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+    }
+
+    @Test
+    public void verifyDropOldest() throws Exception {
+        val release = new CountDownLatch(1);
+        val batches = new CopyOnWriteArrayList<List<AuditActionContext>>();
+        val properties = new AuditEngineQueueProperties()
+            .setCapacity(2)
+            .setBatchSize(1)
+            .setFlushInterval("PT0.01S")
+            .setOverflowPolicy(AuditEngineQueueProperties.OverflowPolicyTypes.DROP_OLDEST);
+        val pipeline = new BatchingAuditTrailPipeline("DropOldest", properties, batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(new ArrayList<>(batch));
+        }, new SimpleMeterRegistry());
+        assertTrue(pipeline.enqueue(getAuditRecord("first")));
+        Thread.sleep(500);
+        assertTrue(pipeline.enqueue(getAuditRecord("second")));
+        assertTrue(pipeline.enqueue(getAuditRecord("third")));
+        assertTrue(pipeline.enqueue(getAuditRecord("fourth")));
+        assertEquals(2, pipeline.size());
+        release.countDown();
+        pipeline.close();
+        assertEquals(List.of("first", "third", "fourth"), getPrincipals(batches));
+    }
+
+    @Test
+    public void verifySpillAndReplay(@TempDir final File directory) throws Exception {
+        val release = new CountDownLatch(1);
+        val batches = new CopyOnWriteArrayList<List<AuditActionContext>>();
+        val properties = new AuditEngineQueueProperties()
+            .setCapacity(1)
+            .setBatchSize(5)
+            .setFlushInterval("PT0.01S")
+            .setSpillDirectory(directory.getAbsolutePath())
+            .setOverflowPolicy(AuditEngineQueueProperties.OverflowPolicyTypes.SPILL);
+        val pipeline = new BatchingAuditTrailPipeline("Spill", properties, batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(new ArrayList<>(batch));
+        }, new SimpleMeterRegistry());
+        assertTrue(pipeline.enqueue(getAuditRecord("first")));
+        Thread.sleep(500);
+        assertTrue(pipeline.enqueue(getAuditRecord("second")));
+        assertTrue(pipeline.enqueue(getAuditRecord("third")));
+        assertTrue(pipeline.enqueue(getAuditRecord("fourth")));
+        assertTrue(new File(directory, "Spill-audit-spill.json").exists());
+        release.countDown();
+        pipeline.close();
+        assertEquals(List.of("first", "second", "third", "fourth"), getPrincipals(batches));
+        assertFalse(new File(directory, "Spill-audit-spill.json").exists());
+    }
+
+    @Test
+    public void verifySpillRequiresDirectory() {
+        val properties = new AuditEngineQueueProperties()
+            .setOverflowPolicy(AuditEngineQueueProperties.OverflowPolicyTypes.SPILL);
+        assertThrows(IllegalArgumentException.class,
+            () -> new BatchingAuditTrailPipeline("NoDirectory", properties, batch -> {
+            }, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void verifyCorruptSpilledRecordsAreSkipped(@TempDir final File directory) throws Exception {
+        val batches = new CopyOnWriteArrayList<List<AuditActionContext>>();
+        val spillFile = new File(directory, "Corrupt-audit-spill.json");
+        val serializer = new AuditActionContextJsonSerializer(new MinimalPrettyPrinter());
+        Files.writeString(spillFile.toPath(), serializer.toString(getAuditRecord("first")) + System.lineSeparator()
+            + "{\"principal\":\"partial" + System.lineSeparator()
+            + serializer.toString(getAuditRecord("second")) + System.lineSeparator(), StandardCharsets.UTF_8);
+        val properties = new AuditEngineQueueProperties()
+            .setBatchSize(5)
+            .setFlushInterval("PT0.01S")
+            .setSpillDirectory(directory.getAbsolutePath())
+            .setOverflowPolicy(AuditEngineQueueProperties.OverflowPolicyTypes.SPILL);
+        val pipeline = new BatchingAuditTrailPipeline("Corrupt", properties, batches::add, new SimpleMeterRegistry());
+        val deadline = System.currentTimeMillis() + 5_000;
+        while (spillFile.exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(pipeline.enqueue(getAuditRecord("third")));
+        pipeline.close();
+        assertEquals(List.of("first", "second", "third"), getPrincipals(batches));
+        assertFalse(spillFile.exists());
+        assertFalse(new File(directory, "Corrupt-audit-spill.json.replaying").exists());
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void verifySpillDirectoryIsPrivate(@TempDir final File directory) throws Exception {
+        val release = new CountDownLatch(1);
+        val spillDirectory = new File(directory, "spill");
+        val properties = new AuditEngineQueueProperties()
+            .setCapacity(1)
+            .setBatchSize(1)
+            .setFlushInterval("PT0.01S")
+            .setSpillDirectory(spillDirectory.getAbsolutePath())
+            .setOverflowPolicy(AuditEngineQueueProperties.OverflowPolicyTypes.SPILL);
+        val pipeline = new BatchingAuditTrailPipeline("Private", properties, batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, new SimpleMeterRegistry());
+        assertTrue(pipeline.enqueue(getAuditRecord("first")));
+        Thread.sleep(500);
+        assertTrue(pipeline.enqueue(getAuditRecord("second")));
+        assertTrue(pipeline.enqueue(getAuditRecord("third")));
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(spillDirectory.toPath()));
+        assertEquals(PosixFilePermissions.fromString("rw-------"),
+            Files.getPosixFilePermissions(new File(spillDirectory, "Private-audit-spill.json").toPath()));
+        release.countDown();
+        pipeline.close();
+    }
+}
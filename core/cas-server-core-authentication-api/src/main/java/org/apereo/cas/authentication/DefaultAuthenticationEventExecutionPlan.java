@@ -4,6 +4,9 @@ import org.apereo.cas.authentication.handler.DefaultAuthenticationHandlerResolve
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.util.CollectionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,16 +15,22 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * This is {@link DefaultAuthenticationEventExecutionPlan}.
+ * <p>
+ * The plan may be frozen once configured, after which registered components are sorted
+ * once into immutable snapshots that are handed out to every transaction, and authentication handlers
+ * resolved for a transaction are remembered by the resolution keys of the handler resolvers.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -29,6 +38,8 @@ import java.util.stream.IntStream;
 @Slf4j
 @RequiredArgsConstructor
 public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEventExecutionPlan {
+    private static final long MAX_RESOLVED_HANDLERS_CACHE_SIZE = 10_000;
+
     private final List<AuthenticationMetaDataPopulator> authenticationMetaDataPopulatorList = new ArrayList<>(0);
 
     private final List<AuthenticationPostProcessor> authenticationPostProcessors = new ArrayList<>(0);
@@ -43,6 +54,61 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     private final Map<AuthenticationHandler, PrincipalResolver> authenticationHandlerPrincipalResolverMap = new LinkedHashMap<>();
 
+    private volatile FrozenExecutionPlan frozenExecutionPlan;
+
+    private static <T> List<T> sort(final Collection<T> items) {
+        val list = new ArrayList<>(items);
+        AnnotationAwareOrderComparator.sort(list);
+        return list;
+    }
+
+    private static Set<AuthenticationHandler> resolveAuthenticationHandlers(final AuthenticationTransaction transaction,
+                                                                            final Set<AuthenticationHandler> handlers,
+                                                                            final Collection<AuthenticationHandlerResolver> handlerResolvers) {
+        LOGGER.debug("Candidate/Registered authentication handlers for this transaction are [{}]", handlers);
+        LOGGER.debug("Authentication handler resolvers for this transaction are [{}]", handlerResolvers);
+
+        val resolvedHandlers = handlerResolvers.stream()
+            .filter(r -> r.supports(handlers, transaction))
+            .map(r -> r.resolve(handlers, transaction))
+            .flatMap(Set::stream)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (resolvedHandlers.isEmpty()) {
+            LOGGER.debug("Authentication handler resolvers produced no candidate authentication handler. Using the default handler resolver instead...");
+            val defaultHandlerResolver = new DefaultAuthenticationHandlerResolver();
+            if (defaultHandlerResolver.supports(handlers, transaction)) {
+                resolvedHandlers.addAll(defaultHandlerResolver.resolve(handlers, transaction));
+            }
+        }
+
+        if (resolvedHandlers.isEmpty()) {
+            throw new AuthenticationException("No authentication handlers could be resolved to support the authentication transaction");
+        }
+        LOGGER.debug("Resolved and finalized authentication handlers to carry out this authentication transaction are [{}]", handlerResolvers);
+        return resolvedHandlers;
+    }
+
+    /**
+     * Freeze the plan, taking immutable sorted snapshots of all registered components.
+     * Components registered afterwards cause the snapshots to be taken again.
+     */
+    public void freeze() {
+        this.frozenExecutionPlan = new FrozenExecutionPlan(this);
+        LOGGER.debug("Authentication execution plan is frozen with [{}] authentication handlers",
+            frozenExecutionPlan.getAuthenticationHandlers().size());
+    }
+
+    public boolean isFrozen() {
+        return frozenExecutionPlan != null;
+    }
+
+    private void refreezeIfNecessary() {
+        if (isFrozen()) {
+            freeze();
+        }
+    }
+
     @Override
     public void registerAuthenticationHandler(final AuthenticationHandler handler) {
         registerAuthenticationHandlerWithPrincipalResolver(handler, null);
@@ -52,18 +118,21 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
     public void registerAuthenticationMetadataPopulator(final AuthenticationMetaDataPopulator populator) {
         LOGGER.trace("Registering metadata populator [{}] into the execution plan", populator);
         authenticationMetaDataPopulatorList.add(populator);
+        refreezeIfNecessary();
     }
 
     @Override
     public void registerAuthenticationPostProcessor(final AuthenticationPostProcessor processor) {
         LOGGER.debug("Registering authentication post processor [{}] into the execution plan", processor);
         authenticationPostProcessors.add(processor);
+        refreezeIfNecessary();
     }
 
     @Override
     public void registerAuthenticationPreProcessor(final AuthenticationPreProcessor processor) {
         LOGGER.debug("Registering authentication pre processor [{}] into the execution plan", processor);
         authenticationPreProcessors.add(processor);
+        refreezeIfNecessary();
     }
 
     @Override
@@ -74,21 +143,25 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
     @Override
     public void registerAuthenticationPolicy(final AuthenticationPolicy authenticationPolicy) {
         this.authenticationPolicies.add(authenticationPolicy);
+        refreezeIfNecessary();
     }
 
     @Override
     public void registerAuthenticationPolicies(final Collection<AuthenticationPolicy> authenticationPolicy) {
         this.authenticationPolicies.addAll(authenticationPolicy);
+        refreezeIfNecessary();
     }
 
     @Override
     public void registerAuthenticationHandlerResolver(final AuthenticationHandlerResolver handlerResolver) {
         this.authenticationHandlerResolvers.add(handlerResolver);
+        refreezeIfNecessary();
     }
 
     @Override
     public void registerAuthenticationPolicyResolver(final AuthenticationPolicyResolver policyResolver) {
         this.authenticationPolicyResolvers.add(policyResolver);
+        refreezeIfNecessary();
     }
 
     @Override
@@ -104,6 +177,7 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
             LOGGER.trace("Registering handler [{}] principal resolver [{}] into the execution plan", handler.getName(), principalResolver.getName());
         }
         this.authenticationHandlerPrincipalResolverMap.put(handler, principalResolver);
+        refreezeIfNecessary();
     }
 
     @Override
@@ -124,34 +198,25 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public @NonNull Set<AuthenticationHandler> getAuthenticationHandlers(final AuthenticationTransaction transaction) {
-        val handlers = getAuthenticationHandlers();
-        LOGGER.debug("Candidate/Registered authentication handlers for this transaction are [{}]", handlers);
-        val handlerResolvers = getAuthenticationHandlerResolvers(transaction);
-        LOGGER.debug("Authentication handler resolvers for this transaction are [{}]", handlerResolvers);
-
-        val resolvedHandlers = handlerResolvers.stream()
-            .filter(r -> r.supports(handlers, transaction))
-            .map(r -> r.resolve(handlers, transaction))
-            .flatMap(Set::stream)
-            .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        if (resolvedHandlers.isEmpty()) {
-            LOGGER.debug("Authentication handler resolvers produced no candidate authentication handler. Using the default handler resolver instead...");
-            val defaultHandlerResolver = new DefaultAuthenticationHandlerResolver();
-            if (defaultHandlerResolver.supports(handlers, transaction)) {
-                resolvedHandlers.addAll(defaultHandlerResolver.resolve(handlers, transaction));
-            }
+        val frozen = this.frozenExecutionPlan;
+        if (frozen == null) {
+            return resolveAuthenticationHandlers(transaction, getAuthenticationHandlers(), getAuthenticationHandlerResolvers(transaction));
         }
-
-        if (resolvedHandlers.isEmpty()) {
-            throw new AuthenticationException("No authentication handlers could be resolved to support the authentication transaction");
+        val resolutionKey = frozen.getResolutionKey(transaction);
+        if (resolutionKey.isPresent()) {
+            return frozen.getResolvedAuthenticationHandlers().get(resolutionKey.get(),
+                k -> Collections.unmodifiableSet(resolveAuthenticationHandlers(transaction,
+                    frozen.getAuthenticationHandlers(), frozen.getAuthenticationHandlerResolvers())));
         }
-        LOGGER.debug("Resolved and finalized authentication handlers to carry out this authentication transaction are [{}]", handlerResolvers);
-        return resolvedHandlers;
+        return resolveAuthenticationHandlers(transaction, frozen.getAuthenticationHandlers(), frozen.getAuthenticationHandlerResolvers());
     }
 
     @Override
     public Set<AuthenticationHandler> getAuthenticationHandlers() {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationHandlers();
+        }
         val handlers = authenticationHandlerPrincipalResolverMap.keySet().toArray(AuthenticationHandler[]::new);
         AnnotationAwareOrderComparator.sortIfNecessary(handlers);
         return new LinkedHashSet<>(CollectionUtils.wrapList(handlers));
@@ -159,6 +224,10 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public Collection<AuthenticationMetaDataPopulator> getAuthenticationMetadataPopulators(final AuthenticationTransaction transaction) {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationMetadataPopulators();
+        }
         val list = new ArrayList<>(this.authenticationMetaDataPopulatorList);
         AnnotationAwareOrderComparator.sort(list);
         LOGGER.debug("Sorted and registered metadata populators for this transaction are [{}]", list);
@@ -167,6 +236,10 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public Collection<AuthenticationPostProcessor> getAuthenticationPostProcessors(final AuthenticationTransaction transaction) {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationPostProcessors();
+        }
         val list = new ArrayList<>(this.authenticationPostProcessors);
         AnnotationAwareOrderComparator.sort(list);
         LOGGER.trace("Sorted and registered authentication post processors for this transaction are [{}]", list);
@@ -175,6 +248,10 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public Collection<AuthenticationPreProcessor> getAuthenticationPreProcessors(final AuthenticationTransaction transaction) {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationPreProcessors();
+        }
         val list = new ArrayList<>(this.authenticationPreProcessors);
         AnnotationAwareOrderComparator.sort(list);
         LOGGER.trace("Sorted and registered authentication pre processors for this transaction are [{}]", list);
@@ -189,6 +266,10 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public Collection<AuthenticationPolicy> getAuthenticationPolicies() {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationPolicies();
+        }
         val list = new ArrayList<>(this.authenticationPolicies);
         AnnotationAwareOrderComparator.sort(list);
         LOGGER.trace("Candidate authentication policies for this transaction are [{}]", list);
@@ -217,6 +298,10 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public Collection<AuthenticationPolicy> getAuthenticationPolicies(final Authentication authentication) {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationPolicies();
+        }
         val list = new ArrayList<>(this.authenticationPolicies);
         AnnotationAwareOrderComparator.sort(list);
         LOGGER.trace("Sorted and registered authentication policies for this assertion are [{}]", list);
@@ -225,6 +310,10 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public Collection<AuthenticationHandlerResolver> getAuthenticationHandlerResolvers(final AuthenticationTransaction transaction) {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationHandlerResolvers();
+        }
         val list = new ArrayList<>(this.authenticationHandlerResolvers);
         AnnotationAwareOrderComparator.sort(list);
         LOGGER.trace("Sorted and registered authentication handler resolvers for this transaction are [{}]", list);
@@ -233,9 +322,69 @@ public class DefaultAuthenticationEventExecutionPlan implements AuthenticationEv
 
     @Override
     public Collection<AuthenticationPolicyResolver> getAuthenticationPolicyResolvers(final AuthenticationTransaction transaction) {
+        val frozen = this.frozenExecutionPlan;
+        if (frozen != null) {
+            return frozen.getAuthenticationPolicyResolvers();
+        }
         val list = new ArrayList<>(this.authenticationPolicyResolvers);
         AnnotationAwareOrderComparator.sort(list);
         LOGGER.trace("Sorted and registered authentication policy resolvers for this transaction are [{}]", list);
         return list;
     }
+
+    /**
+     * Immutable sorted snapshot of the components registered into the plan.
+     */
+    @Getter
+    private static class FrozenExecutionPlan {
+        private final Set<AuthenticationHandler> authenticationHandlers;
+
+        private final List<AuthenticationMetaDataPopulator> authenticationMetadataPopulators;
+
+        private final List<AuthenticationPostProcessor> authenticationPostProcessors;
+
+        private final List<AuthenticationPreProcessor> authenticationPreProcessors;
+
+        private final List<AuthenticationPolicy> authenticationPolicies;
+
+        private final List<AuthenticationHandlerResolver> authenticationHandlerResolvers;
+
+        private final List<AuthenticationPolicyResolver> authenticationPolicyResolvers;
+
+        private final Cache<String, Set<AuthenticationHandler>> resolvedAuthenticationHandlers = Caffeine.newBuilder()
+            .maximumSize(MAX_RESOLVED_HANDLERS_CACHE_SIZE)
+            .build();
+
+        FrozenExecutionPlan(final DefaultAuthenticationEventExecutionPlan plan) {
+            val handlers = sort(plan.authenticationHandlerPrincipalResolverMap.keySet());
+            this.authenticationHandlers = Collections.unmodifiableSet(new LinkedHashSet<>(handlers));
+            this.authenticationMetadataPopulators = Collections.unmodifiableList(sort(plan.authenticationMetaDataPopulatorList));
+            this.authenticationPostProcessors = Collections.unmodifiableList(sort(plan.authenticationPostProcessors));
+            this.authenticationPreProcessors = Collections.unmodifiableList(sort(plan.authenticationPreProcessors));
+            this.authenticationPolicies = Collections.unmodifiableList(sort(plan.authenticationPolicies));
+            this.authenticationHandlerResolvers = Collections.unmodifiableList(sort(plan.authenticationHandlerResolvers));
+            this.authenticationPolicyResolvers = Collections.unmodifiableList(sort(plan.authenticationPolicyResolvers));
+        }
+
+        /**
+         * Build the key under which handlers resolved for the transaction are remembered,
+         * from the credential types of the transaction and the resolution keys of all handler resolvers.
+         *
+         * @param transaction the transaction
+         * @return the key, or empty if a handler resolver does not produce one.
+         */
+        Optional<String> getResolutionKey(final AuthenticationTransaction transaction) {
+            val key = new StringBuilder();
+            transaction.getCredentials().forEach(credential -> key.append(credential.getClass().getName()).append(','));
+            for (val resolver : authenticationHandlerResolvers) {
+                val resolutionKey = resolver.getResolutionKey(transaction);
+                if (resolutionKey.isEmpty()) {
+                    LOGGER.trace("Authentication handler resolver [{}] does not produce a resolution key", resolver);
+                    return Optional.empty();
+                }
+                key.append('|').append(resolutionKey.get());
+            }
+            return Optional.of(key.toString());
+        }
+    }
 }
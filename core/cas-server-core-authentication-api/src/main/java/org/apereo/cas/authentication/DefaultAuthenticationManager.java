@@ -18,14 +18,21 @@ import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.audit.annotation.Audit;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -33,11 +40,21 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link DefaultAuthenticationManager}, which provides common operations
  * around an authentication manager implementation.
+ * <p>
+ * Authentication handlers that support a credential are executed one after another by default.
+ * If an executor is provided, they are executed concurrently instead, and their outcomes are
+ * processed by the calling thread in the order of the handlers, so that the authentication builder
+ * is never shared across threads and the result is the same as when handlers execute one after another.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -45,7 +62,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 @Getter
-public class DefaultAuthenticationManager implements AuthenticationManager {
+public class DefaultAuthenticationManager implements AuthenticationManager, DisposableBean {
 
     private final AuthenticationEventExecutionPlan authenticationEventExecutionPlan;
 
@@ -53,6 +70,25 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
 
     private final ConfigurableApplicationContext applicationContext;
 
+    /**
+     * Executor used to run authentication handlers concurrently, if any.
+     */
+    @Setter
+    private ExecutorService authenticationHandlerExecutor;
+
+    /**
+     * Maximum amount of time authentication handlers may take when executed concurrently.
+     */
+    @Setter
+    private Duration authenticationHandlerTimeout = Duration.ofSeconds(10);
+
+    @Override
+    public void destroy() {
+        if (authenticationHandlerExecutor != null) {
+            authenticationHandlerExecutor.shutdownNow();
+        }
+    }
+
     @Override
     @Audit(
         action = AuditableActions.AUTHENTICATION,
@@ -197,8 +233,24 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
                                                    final AuthenticationHandler handler) throws GeneralSecurityException, PreventedException {
 
         publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
-
         val result = handler.authenticate(credential);
+        addAuthenticationHandlerResult(builder, credential, resolver, handler, result);
+    }
+
+    /**
+     * Record the successful result of the authentication handler and resolve the principal.
+     *
+     * @param builder    the builder
+     * @param credential the credential
+     * @param resolver   the resolver
+     * @param handler    the handler
+     * @param result     the result produced by the handler
+     */
+    protected void addAuthenticationHandlerResult(final AuthenticationBuilder builder,
+                                                  final Credential credential,
+                                                  final PrincipalResolver resolver,
+                                                  final AuthenticationHandler handler,
+                                                  final AuthenticationHandlerExecutionResult result) {
         val authenticationHandlerName = handler.getName();
         builder.addSuccess(authenticationHandlerName, result);
         LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", authenticationHandlerName, credential);
@@ -290,6 +342,10 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
             while (it.hasNext()) {
                 val credential = it.next();
                 LOGGER.debug("Attempting to authenticate credential [{}]", credential);
+                if (authenticationHandlerExecutor != null) {
+                    authenticateConcurrently(builder, credential, transaction, handlerSet);
+                    continue;
+                }
 
                 val itHandlers = handlerSet.iterator();
                 var proceedWithNextHandler = true;
@@ -330,6 +386,126 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
         }
     }
 
+    /**
+     * Execute all authentication handlers that support the credential concurrently.
+     * Outcomes are processed in the order of the handlers, in the same way handlers executed one after another are,
+     * so the result does not depend on which handler completes first. Handlers that are still executing are cancelled
+     * once the outcomes processed so far satisfy the authentication policy, or a failure prevents the authentication
+     * chain from proceeding. Handlers that do not complete in time are cancelled and recorded as failures.
+     * Handlers the executor runs on the calling thread, once its queue is full, execute while handlers are submitted
+     * and are not bound by the timeout.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param transaction the transaction
+     * @param handlerSet  the handler set
+     */
+    protected void authenticateConcurrently(final AuthenticationBuilder builder,
+                                            final Credential credential,
+                                            final AuthenticationTransaction transaction,
+                                            final Set<AuthenticationHandler> handlerSet) {
+        val handlers = handlerSet.stream()
+            .filter(handler -> handler.supports(credential))
+            .collect(Collectors.toList());
+        LOGGER.debug("Executing authentication handlers [{}] concurrently for [{}]", handlers, credential);
+
+        val futures = new ArrayList<Future<AuthenticationHandlerOutcome>>(handlers.size());
+        val callingThread = Thread.currentThread();
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        val requestAttributes = RequestContextHolder.getRequestAttributes();
+        handlers.forEach(handler -> {
+            publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
+            futures.add(authenticationHandlerExecutor.submit(() -> executeAuthenticationHandler(handler, credential,
+                transaction, callingThread, clientInfo, requestAttributes)));
+        });
+
+        val deadline = System.nanoTime() + authenticationHandlerTimeout.toNanos();
+        var proceedWithNextHandler = true;
+        try {
+            for (var i = 0; proceedWithNextHandler && i < handlers.size(); i++) {
+                val outcome = getAuthenticationHandlerOutcome(handlers.get(i), futures.get(i), deadline);
+                proceedWithNextHandler = applyAuthenticationHandlerOutcome(builder, credential, transaction, handlerSet, outcome);
+            }
+        } catch (final InterruptedException e) {
+            LOGGER.warn("Interrupted while waiting for authentication handlers to complete");
+            Thread.currentThread().interrupt();
+        } finally {
+            futures.stream().filter(future -> !future.isDone()).forEach(future -> future.cancel(true));
+        }
+    }
+
+    private AuthenticationHandlerOutcome getAuthenticationHandlerOutcome(final AuthenticationHandler handler,
+                                                                         final Future<AuthenticationHandlerOutcome> future,
+                                                                         final long deadline) throws InterruptedException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            LOGGER.warn("Authentication handler [{}] did not complete within [{}]", handler.getName(), authenticationHandlerTimeout);
+            return new AuthenticationHandlerOutcome(handler, null,
+                new PreventedException("Authentication handler did not complete within " + authenticationHandlerTimeout));
+        } catch (final ExecutionException e) {
+            val cause = e.getCause();
+            return new AuthenticationHandlerOutcome(handler, null,
+                cause instanceof Exception ? (Exception) cause : new PreventedException(cause));
+        }
+    }
+
+    private boolean applyAuthenticationHandlerOutcome(final AuthenticationBuilder builder,
+                                                      final Credential credential,
+                                                      final AuthenticationTransaction transaction,
+                                                      final Set<AuthenticationHandler> handlerSet,
+                                                      final AuthenticationHandlerOutcome outcome) {
+        val handler = outcome.getHandler();
+        try {
+            if (outcome.getFailure() != null) {
+                throw outcome.getFailure();
+            }
+            val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+            addAuthenticationHandlerResult(builder, credential, resolver, handler, outcome.getResult());
+            val authnResult = builder.build();
+            AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
+            val executionResult = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
+            return !executionResult.isSuccess();
+        } catch (final GeneralSecurityException e) {
+            handleAuthenticationException(e, handler.getName(), builder);
+            return shouldAuthenticationChainProceedOnFailure(transaction, e);
+        } catch (final Exception e) {
+            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+                + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+                + "the authentication event.", credential, credential.getClass().getSimpleName());
+            handleAuthenticationException(e, handler.getName(), builder);
+            return shouldAuthenticationChainProceedOnFailure(transaction, e);
+        }
+    }
+
+    private AuthenticationHandlerOutcome executeAuthenticationHandler(final AuthenticationHandler handler,
+                                                                      final Credential credential,
+                                                                      final AuthenticationTransaction transaction,
+                                                                      final Thread callingThread,
+                                                                      final ClientInfo clientInfo,
+                                                                      final RequestAttributes requestAttributes) {
+        val propagateContext = Thread.currentThread() != callingThread;
+        if (propagateContext) {
+            ClientInfoHolder.setClientInfo(clientInfo);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            AuthenticationCredentialsThreadLocalBinder.bindCurrent(transaction.getCredentials());
+        }
+        try {
+            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+            return new AuthenticationHandlerOutcome(handler, handler.authenticate(credential), null);
+        } catch (final Exception e) {
+            return new AuthenticationHandlerOutcome(handler, null, e);
+        } finally {
+            if (propagateContext) {
+                ClientInfoHolder.clear();
+                RequestContextHolder.resetRequestAttributes();
+                AuthenticationCredentialsThreadLocalBinder.clear();
+            }
+        }
+    }
+
     /**
      * Evaluate produced authentication context.
      * We apply an implicit security policy of at least one successful authentication.
@@ -448,4 +624,14 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
             return failures.isEmpty();
         }
     }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class AuthenticationHandlerOutcome {
+        private final AuthenticationHandler handler;
+
+        private final AuthenticationHandlerExecutionResult result;
+
+        private final Exception failure;
+    }
 }
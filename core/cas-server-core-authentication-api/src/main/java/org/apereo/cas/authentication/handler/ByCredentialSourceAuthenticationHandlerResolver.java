@@ -11,7 +11,10 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link ByCredentialSourceAuthenticationHandlerResolver}
@@ -48,4 +51,16 @@ public class ByCredentialSourceAuthenticationHandlerResolver implements Authenti
             .forEach(finalHandlers::add);
         return finalHandlers;
     }
+
+    @Override
+    public Optional<String> getResolutionKey(final AuthenticationTransaction transaction) {
+        val sources = transaction.getCredentialsOfType(UsernamePasswordCredential.class)
+            .stream()
+            .map(UsernamePasswordCredential::getSource)
+            .filter(StringUtils::isNotBlank)
+            .map(source -> source.toLowerCase(Locale.ENGLISH))
+            .sorted()
+            .collect(Collectors.joining(","));
+        return Optional.of(supports(Set.of(), transaction) + ":" + sources);
+    }
 }
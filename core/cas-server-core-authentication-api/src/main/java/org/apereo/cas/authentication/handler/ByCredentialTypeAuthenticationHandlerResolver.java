@@ -9,6 +9,7 @@ import org.apereo.cas.util.CollectionUtils;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -29,4 +30,9 @@ public class ByCredentialTypeAuthenticationHandlerResolver implements Authentica
     public boolean supports(final Set<AuthenticationHandler> handlers, final AuthenticationTransaction transaction) {
         return credentials.stream().anyMatch(transaction::hasCredentialOfType);
     }
+
+    @Override
+    public Optional<String> getResolutionKey(final AuthenticationTransaction transaction) {
+        return Optional.of(String.valueOf(supports(Set.of(), transaction)));
+    }
 }
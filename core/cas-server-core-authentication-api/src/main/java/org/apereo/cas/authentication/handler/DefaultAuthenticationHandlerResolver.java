@@ -1,9 +1,14 @@
 package org.apereo.cas.authentication.handler;
 
 import org.apereo.cas.authentication.AuthenticationHandlerResolver;
+import org.apereo.cas.authentication.AuthenticationTransaction;
+
+import org.apache.commons.lang3.StringUtils;
 
 import org.springframework.core.Ordered;
 
+import java.util.Optional;
+
 /**
  * This is {@link DefaultAuthenticationHandlerResolver}.
  *
@@ -15,4 +20,9 @@ public class DefaultAuthenticationHandlerResolver implements AuthenticationHandl
     public int getOrder() {
         return Ordered.LOWEST_PRECEDENCE;
     }
+
+    @Override
+    public Optional<String> getResolutionKey(final AuthenticationTransaction transaction) {
+        return Optional.of(StringUtils.EMPTY);
+    }
 }
@@ -16,9 +16,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.LinkedHashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * This is {@link RegisteredServiceAuthenticationHandlerResolver}
@@ -127,4 +130,27 @@ public class RegisteredServiceAuthenticationHandlerResolver implements Authentic
         }
         return false;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The key is made up of the required and excluded authentication handlers of the registered service,
+     * so that changes to the service definition are picked up. Access to the service is checked here as well,
+     * since resolutions that are reused do not go through {@link #supports(Set, AuthenticationTransaction)}.
+     */
+    @Override
+    public Optional<String> getResolutionKey(final AuthenticationTransaction transaction) {
+        val service = authenticationServiceSelectionPlan.resolveService(transaction.getService());
+        if (service == null) {
+            return Optional.of(StringUtils.EMPTY);
+        }
+        val registeredService = this.servicesManager.findServiceBy(service);
+        if (registeredService == null || !registeredService.getAccessStrategy().isServiceAccessAllowed()) {
+            LOGGER.warn("Service [{}] is not allowed to use SSO.", service);
+            throw new UnauthorizedSsoServiceException();
+        }
+        val authenticationPolicy = registeredService.getAuthenticationPolicy();
+        return Optional.of(new TreeSet<>(authenticationPolicy.getRequiredAuthenticationHandlers())
+            + ";" + new TreeSet<>(authenticationPolicy.getExcludedAuthenticationHandlers()));
+    }
 }
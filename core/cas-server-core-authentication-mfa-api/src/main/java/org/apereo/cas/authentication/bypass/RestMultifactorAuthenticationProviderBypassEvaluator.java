@@ -59,7 +59,11 @@ public class RestMultifactorAuthenticationProviderBypassEvaluator extends BaseMu
                 .build();
 
             val response = HttpUtils.execute(exec);
-            return response != null && response.getStatusLine().getStatusCode() == HttpStatus.ACCEPTED.value();
+            try {
+                return response != null && response.getStatusLine().getStatusCode() == HttpStatus.ACCEPTED.value();
+            } finally {
+                HttpUtils.close(response);
+            }
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
             return true;
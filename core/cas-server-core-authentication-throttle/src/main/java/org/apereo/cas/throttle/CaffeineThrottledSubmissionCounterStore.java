@@ -0,0 +1,87 @@
+package org.apereo.cas.throttle;
+
+import org.apereo.cas.web.support.ThrottledSubmissionCounterStore;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link CaffeineThrottledSubmissionCounterStore}.
+ * Keeps counters in memory, up to a maximum number of counters, past which
+ * the least valuable counters are evicted. Each counter is a primitive count
+ * along with its expiration in epoch milliseconds; it is incremented in place,
+ * and expired counters are removed by the cache as it is used rather than by scanning all counters.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public class CaffeineThrottledSubmissionCounterStore implements ThrottledSubmissionCounterStore {
+    private final Cache<String, Counter> counters;
+
+    public CaffeineThrottledSubmissionCounterStore(final long capacity) {
+        this.counters = Caffeine.newBuilder()
+            .maximumSize(capacity)
+            .expireAfter(new CounterExpiry())
+            .build();
+    }
+
+    @Override
+    public long increment(final String key, final Duration expiration) {
+        return counters.get(key, k -> new Counter(System.currentTimeMillis() + expiration.toMillis())).incrementAndGet();
+    }
+
+    @Override
+    public long get(final String key) {
+        val counter = counters.getIfPresent(key);
+        return counter == null ? 0 : counter.get();
+    }
+
+    @Override
+    public void removeExpired() {
+        counters.cleanUp();
+    }
+
+    /**
+     * Gets the number of counters that are kept.
+     *
+     * @return the count
+     */
+    public long size() {
+        return counters.estimatedSize();
+    }
+
+    private static class Counter extends AtomicLong {
+        private static final long serialVersionUID = 2385316457021937104L;
+
+        private final long expiresAt;
+
+        Counter(final long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class CounterExpiry implements Expiry<String, Counter> {
+        @Override
+        public long expireAfterCreate(final String key, final Counter counter, final long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, counter.expiresAt - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Counter counter, final long currentTime,
+                                      final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Counter counter, final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.throttle.CaffeineThrottledSubmissionCounterStoreTests;
 import org.apereo.cas.throttle.ConcurrentThrottledSubmissionsStoreTests;
 import org.apereo.cas.throttle.DefaultAuthenticationThrottlingExecutionPlanTests;
 import org.apereo.cas.throttle.DefaultThrottledRequestResponseHandlerTests;
@@ -18,6 +19,7 @@ import org.junit.platform.suite.api.Suite;
     DefaultAuthenticationThrottlingExecutionPlanTests.class,
     ThrottledRequestFilterTests.class,
     ConcurrentThrottledSubmissionsStoreTests.class,
+    CaffeineThrottledSubmissionCounterStoreTests.class,
     DefaultThrottledRequestResponseHandlerTests.class
 })
 @Suite
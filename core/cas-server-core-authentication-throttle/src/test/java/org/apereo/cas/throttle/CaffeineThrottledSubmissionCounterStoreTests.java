@@ -0,0 +1,45 @@
+package org.apereo.cas.throttle;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link CaffeineThrottledSubmissionCounterStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("AuthenticationThrottling")
+public class CaffeineThrottledSubmissionCounterStoreTests {
+    @Test
+    public void verifyOperation() throws Exception {
+        val store = new CaffeineThrottledSubmissionCounterStore(100);
+        val key = UUID.randomUUID().toString();
+        assertEquals(0, store.get(key));
+        assertEquals(1, store.increment(key, Duration.ofMillis(200)));
+        assertEquals(2, store.increment(key, Duration.ofMillis(200)));
+        assertEquals(2, store.get(key));
+        Thread.sleep(300);
+        assertEquals(0, store.get(key));
+        assertEquals(1, store.increment(key, Duration.ofMillis(200)));
+        Thread.sleep(300);
+        store.removeExpired();
+        assertEquals(0, store.get(key));
+    }
+
+    @Test
+    public void verifyCapacity() {
+        val store = new CaffeineThrottledSubmissionCounterStore(100);
+        for (var i = 0; i < 1000; i++) {
+            store.increment(UUID.randomUUID().toString(), Duration.ofMinutes(1));
+        }
+        store.removeExpired();
+        assertTrue(store.size() <= 100);
+    }
+}
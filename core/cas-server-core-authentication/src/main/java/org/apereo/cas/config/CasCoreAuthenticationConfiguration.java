@@ -13,6 +13,8 @@ import org.apereo.cas.authentication.DefaultAuthenticationResultBuilderFactory;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionFactory;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.ConcurrencyUtils;
 import org.apereo.cas.util.model.TriStateBoolean;
 import org.apereo.cas.validation.AuthenticationAttributeReleasePolicy;
 
@@ -104,7 +106,14 @@ public class CasCoreAuthenticationConfiguration {
             @Qualifier(AuthenticationEventExecutionPlan.DEFAULT_BEAN_NAME)
             final AuthenticationEventExecutionPlan authenticationEventExecutionPlan) {
             val isFatal = casProperties.getPersonDirectory().getPrincipalResolutionFailureFatal() == TriStateBoolean.TRUE;
-            return new DefaultAuthenticationManager(authenticationEventExecutionPlan, isFatal, applicationContext);
+            val manager = new DefaultAuthenticationManager(authenticationEventExecutionPlan, isFatal, applicationContext);
+            val parallel = casProperties.getAuthn().getCore().getEngine().getParallel();
+            if (parallel.isEnabled()) {
+                val executor = ConcurrencyUtils.newCallerRunsExecutor(parallel.getPoolSize(), "cas-authn-handler-");
+                manager.setAuthenticationHandlerExecutor(executor);
+                manager.setAuthenticationHandlerTimeout(Beans.newDuration(parallel.getTimeout()));
+            }
+            return manager;
         }
     }
 
@@ -115,6 +124,7 @@ public class CasCoreAuthenticationConfiguration {
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public AuthenticationEventExecutionPlan authenticationEventExecutionPlan(
+            final CasConfigurationProperties casProperties,
             final List<AuthenticationEventExecutionPlanConfigurer> configurers) {
             val plan = new DefaultAuthenticationEventExecutionPlan();
             val sortedConfigurers = new ArrayList<>(configurers);
@@ -124,6 +134,9 @@ public class CasCoreAuthenticationConfiguration {
                 LOGGER.trace("Configuring authentication execution plan [{}]", c.getName());
                 c.configureAuthenticationExecutionPlan(plan);
             }));
+            if (casProperties.getAuthn().getCore().getEngine().isFrozenExecutionPlan()) {
+                plan.freeze();
+            }
             return plan;
         }
     }
@@ -1,5 +1,7 @@
 package org.apereo.cas.authentication;
 
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.handler.ByCredentialTypeAuthenticationHandlerResolver;
 import org.apereo.cas.authentication.handler.support.SimpleTestUsernamePasswordAuthenticationHandler;
 import org.apereo.cas.authentication.metadata.RememberMeAuthenticationMetaDataPopulator;
 import org.apereo.cas.authentication.policy.AllCredentialsValidatedAuthenticationPolicy;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -72,6 +75,43 @@ public class DefaultAuthenticationEventExecutionPlanTests {
     }
 
 
+    @Test
+    public void verifyFrozenPlanReusesResolvedHandlers() {
+        val plan = new DefaultAuthenticationEventExecutionPlan();
+        plan.registerAuthenticationHandler(new SimpleTestUsernamePasswordAuthenticationHandler("handler1"));
+        val resolver = spy(new ByCredentialTypeAuthenticationHandlerResolver(UsernamePasswordCredential.class));
+        plan.registerAuthenticationHandlerResolver(resolver);
+        plan.freeze();
+        assertTrue(plan.isFrozen());
+
+        val factory = new DefaultAuthenticationTransactionFactory();
+        val handlers = plan.getAuthenticationHandlers(factory.newTransaction(CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword()));
+        assertEquals(1, handlers.size());
+        assertSame(handlers, plan.getAuthenticationHandlers(
+            factory.newTransaction(CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword("casuser"))));
+        verify(resolver, times(1)).resolve(anySet(), any());
+        assertThrows(UnsupportedOperationException.class, () -> handlers.add(new SimpleTestUsernamePasswordAuthenticationHandler()));
+
+        plan.registerAuthenticationHandler(new SimpleTestUsernamePasswordAuthenticationHandler("handler2"));
+        assertEquals(2, plan.getAuthenticationHandlers().size());
+        assertEquals(2, plan.getAuthenticationHandlers(
+            factory.newTransaction(CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword())).size());
+    }
+
+    @Test
+    public void verifyFrozenPlanWithoutResolutionKey() {
+        val plan = new DefaultAuthenticationEventExecutionPlan();
+        plan.registerAuthenticationHandler(new SimpleTestUsernamePasswordAuthenticationHandler("handler1"));
+        val resolver = spy(new UnkeyedAuthenticationHandlerResolver());
+        plan.registerAuthenticationHandlerResolver(resolver);
+        plan.freeze();
+
+        val factory = new DefaultAuthenticationTransactionFactory();
+        IntStream.range(0, 2).forEach(i -> assertFalse(plan.getAuthenticationHandlers(
+            factory.newTransaction(CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword())).isEmpty()));
+        verify(resolver, times(2)).resolve(anySet(), any());
+    }
+
     @Test
     public void verifyDefaults() {
         val input = mock(AuthenticationEventExecutionPlan.class);
@@ -80,4 +120,6 @@ public class DefaultAuthenticationEventExecutionPlanTests {
         assertNotNull(input.getAuthenticationHandlersBy(authenticationHandler -> false));
     }
 
+    private static class UnkeyedAuthenticationHandlerResolver implements AuthenticationHandlerResolver {
+    }
 }
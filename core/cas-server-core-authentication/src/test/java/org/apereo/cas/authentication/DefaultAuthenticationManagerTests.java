@@ -24,12 +24,14 @@ import org.springframework.context.support.StaticApplicationContext;
 
 import javax.security.auth.login.FailedLoginException;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -127,6 +129,34 @@ public class DefaultAuthenticationManagerTests {
         return mock;
     }
 
+    @SneakyThrows
+    private static AuthenticationHandler newSlowMockHandler(final String name) {
+        val mock = mock(AuthenticationHandler.class);
+        when(mock.getName()).thenReturn(name);
+        when(mock.supports(any(Credential.class))).thenReturn(true);
+        when(mock.getState()).thenCallRealMethod();
+        when(mock.authenticate(any(Credential.class))).thenAnswer(args -> {
+            Thread.sleep(Duration.ofSeconds(30).toMillis());
+            throw new FailedLoginException();
+        });
+        return mock;
+    }
+
+    @SneakyThrows
+    private static AuthenticationHandler newDelayedMockHandler(final String name, final String principal, final Duration delay) {
+        val mock = mock(AuthenticationHandler.class);
+        when(mock.getName()).thenReturn(name);
+        when(mock.supports(any(Credential.class))).thenReturn(true);
+        when(mock.getState()).thenCallRealMethod();
+        val result = new DefaultAuthenticationHandlerExecutionResult(mock, mock(CredentialMetaData.class),
+            PrincipalFactoryUtils.newPrincipalFactory().createPrincipal(principal));
+        when(mock.authenticate(any(Credential.class))).thenAnswer(args -> {
+            Thread.sleep(delay.toMillis());
+            return result;
+        });
+        return mock;
+    }
+
     private static AuthenticationEventExecutionPlan getAuthenticationExecutionPlan(final Map<AuthenticationHandler, PrincipalResolver> map) {
         val plan = new DefaultAuthenticationEventExecutionPlan();
         plan.registerAuthenticationHandlerWithPrincipalResolver(map);
@@ -418,4 +448,78 @@ public class DefaultAuthenticationManagerTests {
         assertEquals(1, auth.getFailures().size());
         assertEquals(2, auth.getCredentials().size());
     }
+
+    @Test
+    public void verifyAuthenticateConcurrentlyTryAll() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newMockHandler(HANDLER_A, true), null);
+        map.put(newMockHandler(HANDLER_B, false), null);
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy(true));
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setAuthenticationHandlerExecutor(Executors.newFixedThreadPool(2));
+        try {
+            val auth = manager.authenticate(transaction);
+            assertTrue(auth.getSuccesses().containsKey(HANDLER_A));
+            assertTrue(auth.getFailures().containsKey(HANDLER_B));
+            assertEquals(2, auth.getCredentials().size());
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyAuthenticateConcurrentlyStopsOncePolicySatisfied() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newMockHandler(HANDLER_B, true), null);
+        map.put(newSlowMockHandler(HANDLER_A), null);
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setAuthenticationHandlerExecutor(Executors.newFixedThreadPool(2));
+        try {
+            val auth = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> manager.authenticate(transaction));
+            assertTrue(auth.getSuccesses().containsKey(HANDLER_B));
+            assertTrue(auth.getFailures().isEmpty());
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyAuthenticateConcurrentlyAppliesOutcomesInHandlerOrder() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newDelayedMockHandler(HANDLER_A, "casuser", Duration.ofMillis(500)), null);
+        map.put(newDelayedMockHandler(HANDLER_B, "nobody", Duration.ZERO), null);
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy(true));
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setAuthenticationHandlerExecutor(Executors.newFixedThreadPool(2));
+        try {
+            val auth = manager.authenticate(transaction);
+            assertEquals(2, auth.getSuccesses().size());
+            assertEquals("nobody", auth.getPrincipal().getId());
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyAuthenticateConcurrentlyTimesOut() {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newSlowMockHandler(HANDLER_A), null);
+        map.put(newMockHandler(HANDLER_B, false), null);
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        val manager = new DefaultAuthenticationManager(authenticationExecutionPlan, false, applicationContext);
+        manager.setAuthenticationHandlerExecutor(Executors.newFixedThreadPool(2));
+        manager.setAuthenticationHandlerTimeout(Duration.ofMillis(250));
+        try {
+            val ex = assertThrows(AuthenticationException.class, () -> manager.authenticate(transaction));
+            assertTrue(ex.getHandlerErrors().containsKey(HANDLER_A));
+            assertTrue(ex.getHandlerErrors().containsKey(HANDLER_B));
+        } finally {
+            manager.destroy();
+        }
+    }
 }
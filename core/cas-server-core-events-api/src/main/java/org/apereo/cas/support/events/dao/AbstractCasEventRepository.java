@@ -50,6 +50,18 @@ public abstract class AbstractCasEventRepository implements CasEventRepository,
         return DateTimeUtils.convertToZonedDateTime(event.getCreationTime());
     }
 
+    /**
+     * Whether the event was created on or after the given date.
+     *
+     * @param event    the event
+     * @param dateTime the date time
+     * @return true/false
+     */
+    protected static boolean isEventCreatedOnOrAfter(final CasEvent event, final ZonedDateTime dateTime) {
+        val dt = convertEventCreationTime(event);
+        return dt.isEqual(dateTime) || dt.isAfter(dateTime);
+    }
+
     @Override
     public void save(final CasEvent event) {
         if (getEventRepositoryFilter().shouldSaveEvent(event)) {
@@ -64,11 +76,7 @@ public abstract class AbstractCasEventRepository implements CasEventRepository,
 
     @Override
     public Stream<? extends CasEvent> load(final ZonedDateTime dateTime) {
-        return load()
-            .filter(e -> {
-                val dt = convertEventCreationTime(e);
-                return dt.isEqual(dateTime) || dt.isAfter(dateTime);
-            });
+        return load().filter(e -> isEventCreatedOnOrAfter(e, dateTime));
     }
 
     @Override
@@ -80,10 +88,7 @@ public abstract class AbstractCasEventRepository implements CasEventRepository,
     @Override
     public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
         return getEventsOfTypeForPrincipal(type, principal)
-            .filter(e -> {
-                val dt = convertEventCreationTime(e);
-                return dt.isEqual(dateTime) || dt.isAfter(dateTime);
-            });
+            .filter(e -> isEventCreatedOnOrAfter(e, dateTime));
     }
 
     @Override
@@ -94,10 +99,7 @@ public abstract class AbstractCasEventRepository implements CasEventRepository,
     @Override
     public Stream<? extends CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
         return getEventsOfType(type)
-            .filter(e -> {
-                val dt = convertEventCreationTime(e);
-                return dt.isEqual(dt) || dt.isAfter(dt);
-            });
+            .filter(e -> isEventCreatedOnOrAfter(e, dateTime));
     }
 
     @Override
@@ -109,10 +111,7 @@ public abstract class AbstractCasEventRepository implements CasEventRepository,
     @Override
     public Stream<? extends CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
         return getEventsForPrincipal(id)
-            .filter(e -> {
-                val dt = convertEventCreationTime(e);
-                return dt.isEqual(dateTime) || dt.isAfter(dateTime);
-            });
+            .filter(e -> isEventCreatedOnOrAfter(e, dateTime));
     }
 
     @Override
@@ -85,6 +85,33 @@ public abstract class AbstractCasEventRepositoryTests {
         });
     }
 
+    @Test
+    public void verifyQueriesByPrincipalTypeAndDate() {
+        val eventRepository = getEventRepository();
+        val recent = getCasEvent("recent-user");
+        eventRepository.save(recent);
+        val other = getCasEvent("other-user");
+        eventRepository.save(other);
+
+        val old = getCasEvent("recent-user");
+        val oldTime = ZonedDateTime.now(ZoneOffset.UTC).minusDays(10);
+        old.setCreationTime(oldTime.format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        old.putTimestamp(oldTime.toInstant().toEpochMilli());
+        eventRepository.save(old);
+
+        val dt = ZonedDateTime.now(ZoneOffset.UTC).minusDays(1);
+        assertEquals(2, eventRepository.getEventsForPrincipal("recent-user").count());
+        assertEquals(2, eventRepository.getEventsOfTypeForPrincipal(recent.getType(), "recent-user").count());
+
+        val recentEvents = eventRepository.getEventsForPrincipal("recent-user", dt).collect(Collectors.toList());
+        assertEquals(1, recentEvents.size());
+        assertEquals(recent.getEventId(), recentEvents.get(0).getEventId());
+        assertEquals(1, eventRepository.getEventsOfTypeForPrincipal(recent.getType(), "recent-user", dt).count());
+
+        assertTrue(eventRepository.getEventsOfTypeForPrincipal("UnknownType", "recent-user").findAny().isEmpty());
+        assertTrue(eventRepository.getEventsForPrincipal("unknown-user", dt).findAny().isEmpty());
+    }
+
     public abstract CasEventRepository getEventRepository();
 
     private CasEvent getCasEvent(final String user) {
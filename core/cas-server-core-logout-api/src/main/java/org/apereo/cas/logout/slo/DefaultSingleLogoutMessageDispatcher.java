@@ -0,0 +1,263 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.configuration.model.core.slo.SingleLogOutDispatchProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link DefaultSingleLogoutMessageDispatcher}.
+ * <p>
+ * Logout messages are queued per destination host and sent by a fixed pool
+ * of threads, with no more than a configured number of messages in flight
+ * to the same host. Failed messages are retried with an exponential delay.
+ * Messages that are identical to one that is still pending are coalesced
+ * into the pending message. Pending messages are recorded in a journal
+ * until they are delivered or discarded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class DefaultSingleLogoutMessageDispatcher implements SingleLogoutMessageDispatcher, InitializingBean, DisposableBean {
+    @Getter
+    private final HttpClient httpClient;
+
+    @Getter
+    private final SingleLogOutDispatchProperties properties;
+
+    @Getter
+    private final SingleLogoutMessageJournal journal;
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+    private final Set<String> pendingMessages = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public DefaultSingleLogoutMessageDispatcher(final HttpClient httpClient,
+                                                final SingleLogOutDispatchProperties properties,
+                                                final SingleLogoutMessageJournal journal) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.journal = journal;
+        this.executor = Executors.newFixedThreadPool(properties.getThreads(), new BasicThreadFactory.Builder()
+            .namingPattern("cas-slo-dispatcher-%d")
+            .daemon(true)
+            .build());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+            .namingPattern("cas-slo-retry-%d")
+            .daemon(true)
+            .build());
+    }
+
+    private static String getDestinationKey(final SingleLogoutDispatchEntry entry) {
+        try {
+            val uri = new URI(entry.getUrl());
+            return uri.getHost() + ':' + uri.getPort();
+        } catch (final Exception e) {
+            return entry.getUrl();
+        }
+    }
+
+    private static HttpMessage toHttpMessage(final SingleLogoutDispatchEntry entry) throws Exception {
+        val message = new PreformattedHttpMessage(new URL(entry.getUrl()), entry.getMessage());
+        message.setContentType(entry.getContentType());
+        return message;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        val entries = journal.load();
+        if (!entries.isEmpty()) {
+            LOGGER.info("Resuming delivery of [{}] pending logout message(s)", entries.size());
+            var discarded = 0;
+            for (val entry : entries) {
+                if (!pendingMessages.add(entry.getId())) {
+                    continue;
+                }
+                if (pending.incrementAndGet() > properties.getCapacity()) {
+                    pending.decrementAndGet();
+                    pendingMessages.remove(entry.getId());
+                    journal.remove(entry);
+                    discarded++;
+                } else {
+                    enqueue(entry);
+                }
+            }
+            if (discarded > 0) {
+                LOGGER.warn("[{}] pending logout message(s) are discarded since they exceed the capacity of [{}] messages",
+                    discarded, properties.getCapacity());
+            }
+        }
+    }
+
+    @Override
+    public boolean dispatch(final HttpMessage message) {
+        val url = message.getUrl().toExternalForm();
+        val entry = new SingleLogoutDispatchEntry()
+            .setId(DigestUtils.sha256(url + '|' + message.getMessage()))
+            .setUrl(url)
+            .setMessage(message.getMessage())
+            .setContentType(message.getContentType());
+
+        if (!pendingMessages.add(entry.getId())) {
+            LOGGER.debug("Logout message to [{}] is already pending delivery", url);
+            return true;
+        }
+        if (pending.incrementAndGet() > properties.getCapacity()) {
+            pending.decrementAndGet();
+            pendingMessages.remove(entry.getId());
+            LOGGER.warn("Logout message to [{}] is rejected since [{}] messages are already pending delivery",
+                url, properties.getCapacity());
+            return false;
+        }
+        journal.record(entry);
+        enqueue(entry);
+        return true;
+    }
+
+    @Override
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(final SingleLogoutDispatchEntry entry) {
+        val destination = destinations.computeIfAbsent(getDestinationKey(entry), key -> new Destination());
+        destination.getQueue().add(entry);
+        drain(destination);
+    }
+
+    private void drain(final Destination destination) {
+        val inFlight = destination.getInFlight();
+        while (!destination.getQueue().isEmpty()) {
+            val current = inFlight.get();
+            if (current >= properties.getMaxConcurrencyPerHost()) {
+                return;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                val entry = destination.getQueue().poll();
+                if (entry == null) {
+                    inFlight.decrementAndGet();
+                } else {
+                    try {
+                        executor.execute(() -> send(destination, entry));
+                    } catch (final RejectedExecutionException e) {
+                        inFlight.decrementAndGet();
+                        LOGGER.debug("Logout message [{}] is not sent since the dispatcher is shutting down", entry);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void send(final Destination destination, final SingleLogoutDispatchEntry entry) {
+        var sent = false;
+        try {
+            entry.setAttempts(entry.getAttempts() + 1);
+            LOGGER.trace("Sending logout message [{}]", entry);
+            sent = httpClient.sendMessageToEndPoint(toHttpMessage(entry));
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+        } finally {
+            destination.getInFlight().decrementAndGet();
+        }
+
+        if (sent) {
+            LOGGER.debug("Logout message is delivered to [{}]", entry.getUrl());
+            complete(entry);
+        } else if (entry.getAttempts() < properties.getMaxAttempts()) {
+            val delay = getRetryDelay(entry.getAttempts());
+            LOGGER.debug("Logout message to [{}] failed after [{}] attempt(s); retrying in [{}] ms",
+                entry.getUrl(), entry.getAttempts(), delay);
+            journal.record(entry);
+            try {
+                scheduler.schedule(() -> enqueue(entry), delay, TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("Logout message [{}] is not retried since the dispatcher is shutting down", entry);
+            }
+        } else {
+            LOGGER.warn("Logout message to [{}] is discarded after [{}] failed attempt(s)", entry.getUrl(), entry.getAttempts());
+            complete(entry);
+        }
+        drain(destination);
+    }
+
+    private long getRetryDelay(final int attempts) {
+        val initialDelay = Beans.newDuration(properties.getInitialDelay()).toMillis();
+        val maxDelay = Beans.newDuration(properties.getMaxDelay()).toMillis();
+        val delay = initialDelay * Math.pow(properties.getMultiplier(), attempts - 1);
+        return (long) Math.min(delay, maxDelay);
+    }
+
+    private void complete(final SingleLogoutDispatchEntry entry) {
+        journal.remove(entry);
+        pendingMessages.remove(entry.getId());
+        pending.decrementAndGet();
+    }
+
+    @Getter
+    private static class Destination {
+        private final Queue<SingleLogoutDispatchEntry> queue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+
+    /**
+     * Message whose body is already formatted,
+     * and is sent synchronously by the dispatcher thread.
+     */
+    private static class PreformattedHttpMessage extends HttpMessage {
+        private static final long serialVersionUID = -3197612263530937624L;
+
+        PreformattedHttpMessage(final URL url, final String message) {
+            super(url, message, false);
+        }
+
+        @Override
+        protected String formatOutputMessageInternal(final String message) {
+            return message;
+        }
+    }
+}
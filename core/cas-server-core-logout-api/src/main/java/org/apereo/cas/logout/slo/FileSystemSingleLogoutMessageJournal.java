@@ -0,0 +1,95 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link FileSystemSingleLogoutMessageJournal}.
+ * Records each pending logout message as a file inside a directory.
+ * Messages carry service tickets and user identifiers, so the JSON representation
+ * of each message is signed and encrypted before it is written, and records that
+ * cannot be verified are ignored when the journal is loaded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class FileSystemSingleLogoutMessageJournal implements SingleLogoutMessageJournal {
+    private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
+        .build()
+        .toObjectMapper();
+
+    private static final String FILE_EXTENSION = ".slo";
+
+    private final File directory;
+
+    private final CipherExecutor<String, String> cipherExecutor;
+
+    @Override
+    public void record(final SingleLogoutDispatchEntry entry) {
+        try {
+            FileUtils.forceMkdir(directory);
+            val temp = new File(directory, entry.getId() + ".tmp");
+            val encoded = cipherExecutor.encode(MAPPER.writeValueAsString(entry));
+            FileUtils.writeStringToFile(temp, encoded, StandardCharsets.UTF_8);
+            Files.move(temp.toPath(), getFile(entry).toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+        }
+    }
+
+    @Override
+    public void remove(final SingleLogoutDispatchEntry entry) {
+        FileUtils.deleteQuietly(getFile(entry));
+    }
+
+    @Override
+    public Collection<SingleLogoutDispatchEntry> load() {
+        val files = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if (files == null) {
+            return new ArrayList<>(0);
+        }
+        return Stream.of(files)
+            .map(file -> {
+                try {
+                    val decoded = cipherExecutor.decode(FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+                    if (StringUtils.isBlank(decoded)) {
+                        LOGGER.warn("Unable to verify pending logout message recorded in [{}]", file);
+                        return null;
+                    }
+                    return MAPPER.readValue(decoded, SingleLogoutDispatchEntry.class);
+                } catch (final Exception e) {
+                    LOGGER.warn("Unable to read pending logout message from [{}]: [{}]", file, e.getMessage());
+                    return null;
+                }
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private File getFile(final SingleLogoutDispatchEntry entry) {
+        return new File(directory, entry.getId() + FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,36 @@
+package org.apereo.cas.logout.slo;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link SingleLogoutDispatchEntry}.
+ * A logout message that is pending delivery, with the message body
+ * already formatted for the destination.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "message")
+@Accessors(chain = true)
+public class SingleLogoutDispatchEntry implements Serializable {
+    private static final long serialVersionUID = 4925683410732385317L;
+
+    private String id;
+
+    private String url;
+
+    private String message;
+
+    private String contentType;
+
+    private int attempts;
+}
@@ -0,0 +1,36 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.util.http.HttpMessage;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcher}.
+ * Accepts back-channel logout messages and takes over their delivery,
+ * so that the caller does not have to wait for the destination to respond.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@FunctionalInterface
+public interface SingleLogoutMessageDispatcher {
+    /**
+     * Bean name.
+     */
+    String BEAN_NAME = "singleLogoutMessageDispatcher";
+
+    /**
+     * Accept the logout message for delivery.
+     *
+     * @param message the message
+     * @return true if the message was accepted, or is already pending delivery.
+     */
+    boolean dispatch(HttpMessage message);
+
+    /**
+     * Number of messages that are pending delivery.
+     *
+     * @return the count
+     */
+    default int getPendingCount() {
+        return 0;
+    }
+}
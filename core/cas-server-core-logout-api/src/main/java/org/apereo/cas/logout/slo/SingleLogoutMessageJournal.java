@@ -0,0 +1,50 @@
+package org.apereo.cas.logout.slo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link SingleLogoutMessageJournal}.
+ * Records logout messages that are pending delivery,
+ * so that they can be picked up again after a restart.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public interface SingleLogoutMessageJournal {
+
+    /**
+     * Journal that does not record anything.
+     *
+     * @return the journal
+     */
+    static SingleLogoutMessageJournal noOp() {
+        return new SingleLogoutMessageJournal() {
+        };
+    }
+
+    /**
+     * Record or update the pending entry.
+     *
+     * @param entry the entry
+     */
+    default void record(final SingleLogoutDispatchEntry entry) {
+    }
+
+    /**
+     * Remove the entry once it is no longer pending.
+     *
+     * @param entry the entry
+     */
+    default void remove(final SingleLogoutDispatchEntry entry) {
+    }
+
+    /**
+     * Load all pending entries.
+     *
+     * @return the entries
+     */
+    default Collection<SingleLogoutDispatchEntry> load() {
+        return new ArrayList<>(0);
+    }
+}
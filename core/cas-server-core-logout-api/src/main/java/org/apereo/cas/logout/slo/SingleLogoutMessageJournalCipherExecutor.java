@@ -0,0 +1,35 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.util.cipher.BaseStringCipherExecutor;
+
+/**
+ * This is {@link SingleLogoutMessageJournalCipherExecutor}
+ * that signs and encrypts pending logout messages recorded in the journal.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public class SingleLogoutMessageJournalCipherExecutor extends BaseStringCipherExecutor {
+    public SingleLogoutMessageJournalCipherExecutor(final String secretKeyEncryption,
+                                                    final String secretKeySigning,
+                                                    final String alg,
+                                                    final int signingKeySize,
+                                                    final int encryptionKeySize) {
+        super(secretKeyEncryption, secretKeySigning, alg, signingKeySize, encryptionKeySize);
+    }
+
+    @Override
+    public String getName() {
+        return "Single Logout Message Journal";
+    }
+
+    @Override
+    protected String getEncryptionKeySetting() {
+        return "cas.slo.dispatch.crypto.encryption.key";
+    }
+
+    @Override
+    protected String getSigningKeySetting() {
+        return "cas.slo.dispatch.crypto.signing.key";
+    }
+}
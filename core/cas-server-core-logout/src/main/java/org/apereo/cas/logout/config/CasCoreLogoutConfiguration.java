@@ -18,8 +18,13 @@ import org.apereo.cas.logout.LogoutWebApplicationServiceFactory;
 import org.apereo.cas.logout.slo.ChainingSingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutRequestExecutor;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceLogoutUrlBuilder;
+import org.apereo.cas.logout.slo.DefaultSingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.slo.DefaultSingleLogoutServiceMessageHandler;
+import org.apereo.cas.logout.slo.FileSystemSingleLogoutMessageJournal;
 import org.apereo.cas.logout.slo.SingleLogoutMessageCreator;
+import org.apereo.cas.logout.slo.SingleLogoutMessageDispatcher;
+import org.apereo.cas.logout.slo.SingleLogoutMessageJournal;
+import org.apereo.cas.logout.slo.SingleLogoutMessageJournalCipherExecutor;
 import org.apereo.cas.logout.slo.SingleLogoutRequestExecutor;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilderConfigurer;
@@ -27,12 +32,15 @@ import org.apereo.cas.logout.slo.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.cipher.CipherExecutorUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.web.UrlValidator;
 import org.apereo.cas.web.support.ArgumentExtractor;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -44,6 +52,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.core.Ordered;
 
+import java.io.File;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -129,13 +138,46 @@ public class CasCoreLogoutConfiguration {
             @Qualifier("noRedirectHttpClient")
             final HttpClient noRedirectHttpClient,
             @Qualifier("singleLogoutServiceLogoutUrlBuilder")
-            final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder) {
-            return new DefaultSingleLogoutServiceMessageHandler(noRedirectHttpClient,
+            final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder,
+            @Qualifier(SingleLogoutMessageDispatcher.BEAN_NAME)
+            final SingleLogoutMessageDispatcher singleLogoutMessageDispatcher) {
+            val handler = new DefaultSingleLogoutServiceMessageHandler(noRedirectHttpClient,
                 defaultSingleLogoutMessageCreator,
                 servicesManager,
                 singleLogoutServiceLogoutUrlBuilder,
                 casProperties.getSlo().isAsynchronous(),
                 authenticationServiceSelectionPlan);
+            if (casProperties.getSlo().getDispatch().isEnabled()) {
+                handler.setMessageDispatcher(singleLogoutMessageDispatcher);
+            }
+            return handler;
+        }
+
+        @ConditionalOnMissingBean(name = SingleLogoutMessageDispatcher.BEAN_NAME)
+        @Bean
+        public SingleLogoutMessageDispatcher singleLogoutMessageDispatcher(
+            @Qualifier("noRedirectHttpClient")
+            final HttpClient noRedirectHttpClient,
+            @Qualifier("singleLogoutMessageJournalCipherExecutor")
+            final CipherExecutor singleLogoutMessageJournalCipherExecutor,
+            final CasConfigurationProperties casProperties) {
+            val dispatch = casProperties.getSlo().getDispatch();
+            val journal = StringUtils.isNotBlank(dispatch.getJournalDirectory())
+                ? new FileSystemSingleLogoutMessageJournal(new File(dispatch.getJournalDirectory()), singleLogoutMessageJournalCipherExecutor)
+                : SingleLogoutMessageJournal.noOp();
+            return new DefaultSingleLogoutMessageDispatcher(noRedirectHttpClient, dispatch, journal);
+        }
+
+        @ConditionalOnMissingBean(name = "singleLogoutMessageJournalCipherExecutor")
+        @Bean
+        public CipherExecutor singleLogoutMessageJournalCipherExecutor(final CasConfigurationProperties casProperties) {
+            val crypto = casProperties.getSlo().getDispatch().getCrypto();
+            if (crypto.isEnabled()) {
+                return CipherExecutorUtils.newStringCipherExecutor(crypto, SingleLogoutMessageJournalCipherExecutor.class);
+            }
+            LOGGER.warn("Encryption/signing of pending logout messages is turned off. "
+                        + "Consider turning on encryption, signing to securely and safely record pending logout messages.");
+            return CipherExecutor.noOp();
         }
 
         @ConditionalOnMissingBean(name = "defaultSingleLogoutMessageCreator")
@@ -4,6 +4,7 @@ import org.apereo.cas.logout.ChainingSingleLogoutServiceLogoutUrlBuilderTests;
 import org.apereo.cas.logout.DefaultLogoutManagerTests;
 import org.apereo.cas.logout.DefaultLogoutRedirectionStrategyTests;
 import org.apereo.cas.logout.DefaultSingleLogoutMessageCreatorTests;
+import org.apereo.cas.logout.DefaultSingleLogoutMessageDispatcherTests;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilderTests;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceMessageHandlerTests;
 import org.apereo.cas.logout.LogoutHttpMessageTests;
@@ -30,6 +31,7 @@ import org.junit.platform.suite.api.Suite;
     CasCoreLogoutConfigurationTests.class,
     DefaultSingleLogoutServiceMessageHandlerTests.class,
     DefaultSingleLogoutMessageCreatorTests.class,
+    DefaultSingleLogoutMessageDispatcherTests.class,
     SamlCompliantLogoutMessageCreatorTests.class
 })
 @Suite
@@ -0,0 +1,218 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.configuration.model.core.slo.SingleLogOutDispatchProperties;
+import org.apereo.cas.logout.slo.DefaultSingleLogoutMessageDispatcher;
+import org.apereo.cas.configuration.model.core.util.EncryptionJwtSigningJwtCryptographyProperties;
+import org.apereo.cas.logout.slo.FileSystemSingleLogoutMessageJournal;
+import org.apereo.cas.logout.slo.SingleLogoutDispatchEntry;
+import org.apereo.cas.logout.slo.SingleLogoutMessageJournal;
+import org.apereo.cas.logout.slo.SingleLogoutMessageJournalCipherExecutor;
+import org.apereo.cas.util.cipher.CipherExecutorUtils;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultSingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Logout")
+public class DefaultSingleLogoutMessageDispatcherTests {
+
+    private static LogoutHttpMessage getMessage(final String host, final String payload) throws Exception {
+        return new LogoutHttpMessage(new URL("https://" + host + "/logout"), payload, true);
+    }
+
+    private static FileSystemSingleLogoutMessageJournal getJournal(final File directory) {
+        val cipher = CipherExecutorUtils.newStringCipherExecutor(new EncryptionJwtSigningJwtCryptographyProperties(),
+            SingleLogoutMessageJournalCipherExecutor.class);
+        return new FileSystemSingleLogoutMessageJournal(directory, cipher);
+    }
+
+    private static void waitForDelivery(final DefaultSingleLogoutMessageDispatcher dispatcher) throws Exception {
+        val deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (dispatcher.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void verifyIdenticalMessagesAreCoalesced() throws Exception {
+        val latch = new CountDownLatch(1);
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(args -> latch.await(10, TimeUnit.SECONDS));
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient,
+            new SingleLogOutDispatchProperties(), SingleLogoutMessageJournal.noOp());
+        try {
+            assertTrue(dispatcher.dispatch(getMessage("app.example.org", "ST-1")));
+            assertTrue(dispatcher.dispatch(getMessage("app.example.org", "ST-1")));
+            assertEquals(1, dispatcher.getPendingCount());
+            latch.countDown();
+            waitForDelivery(dispatcher);
+            verify(httpClient, times(1)).sendMessageToEndPoint(any(HttpMessage.class));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyFailedMessagesAreRetried() throws Exception {
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false, false, true);
+        val properties = new SingleLogOutDispatchProperties().setInitialDelay("PT0.01S");
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, properties, SingleLogoutMessageJournal.noOp());
+        try {
+            assertTrue(dispatcher.dispatch(getMessage("app.example.org", "ST-1")));
+            waitForDelivery(dispatcher);
+            verify(httpClient, times(3)).sendMessageToEndPoint(argThat(msg ->
+                msg.getMessage().equals(LogoutHttpMessage.LOGOUT_REQUEST_PARAMETER + "=ST-1") && !msg.isAsynchronous()));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyMessagesAreDiscardedAfterMaxAttempts() throws Exception {
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        val properties = new SingleLogOutDispatchProperties().setInitialDelay("PT0.01S").setMaxAttempts(2);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, properties, SingleLogoutMessageJournal.noOp());
+        try {
+            assertTrue(dispatcher.dispatch(getMessage("app.example.org", "ST-1")));
+            waitForDelivery(dispatcher);
+            verify(httpClient, times(2)).sendMessageToEndPoint(any(HttpMessage.class));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyCapacity() throws Exception {
+        val latch = new CountDownLatch(1);
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(args -> latch.await(10, TimeUnit.SECONDS));
+        val properties = new SingleLogOutDispatchProperties().setCapacity(1);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, properties, SingleLogoutMessageJournal.noOp());
+        try {
+            assertTrue(dispatcher.dispatch(getMessage("app.example.org", "ST-1")));
+            assertFalse(dispatcher.dispatch(getMessage("app.example.org", "ST-2")));
+            latch.countDown();
+            waitForDelivery(dispatcher);
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyConcurrencyPerHost() throws Exception {
+        val inFlight = new AtomicInteger();
+        val maxInFlight = new AtomicInteger();
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(args -> {
+            val current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return true;
+        });
+        val properties = new SingleLogOutDispatchProperties().setThreads(4).setMaxConcurrencyPerHost(1);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, properties, SingleLogoutMessageJournal.noOp());
+        try {
+            for (var i = 0; i < 5; i++) {
+                assertTrue(dispatcher.dispatch(getMessage("app.example.org", "ST-" + i)));
+            }
+            waitForDelivery(dispatcher);
+            assertEquals(1, maxInFlight.get());
+            verify(httpClient, times(5)).sendMessageToEndPoint(any(HttpMessage.class));
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyPendingMessagesSurviveRestart(@TempDir final File directory) throws Exception {
+        val failingClient = mock(HttpClient.class);
+        when(failingClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        val properties = new SingleLogOutDispatchProperties().setInitialDelay("PT1H");
+        val journal = getJournal(directory);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(failingClient, properties, journal);
+        assertTrue(dispatcher.dispatch(getMessage("app.example.org", "ST-1")));
+        verify(failingClient, timeout(5000)).sendMessageToEndPoint(any(HttpMessage.class));
+        dispatcher.destroy();
+        assertEquals(1, journal.load().size());
+        val recorded = Objects.requireNonNull(directory.listFiles());
+        assertEquals(1, recorded.length);
+        assertFalse(FileUtils.readFileToString(recorded[0], StandardCharsets.UTF_8).contains("ST-1"));
+
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        val restarted = new DefaultSingleLogoutMessageDispatcher(httpClient, properties, journal);
+        try {
+            restarted.afterPropertiesSet();
+            waitForDelivery(restarted);
+            verify(httpClient).sendMessageToEndPoint(any(HttpMessage.class));
+            assertTrue(journal.load().isEmpty());
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    @Test
+    public void verifyRestoredMessagesRespectCapacity(@TempDir final File directory) throws Exception {
+        val journal = getJournal(directory);
+        for (var i = 0; i < 5; i++) {
+            journal.record(new SingleLogoutDispatchEntry()
+                .setId("entry-" + i)
+                .setUrl("https://app.example.org/logout")
+                .setMessage("ST-" + i)
+                .setContentType("application/x-www-form-urlencoded"));
+        }
+        val latch = new CountDownLatch(1);
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(args -> latch.await(10, TimeUnit.SECONDS));
+        val properties = new SingleLogOutDispatchProperties().setCapacity(3);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, properties, journal);
+        try {
+            dispatcher.afterPropertiesSet();
+            assertEquals(3, dispatcher.getPendingCount());
+            assertEquals(3, journal.load().size());
+            latch.countDown();
+            waitForDelivery(dispatcher);
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    public void verifyTamperedJournalIsIgnored(@TempDir final File directory) throws Exception {
+        val journal = getJournal(directory);
+        journal.record(new SingleLogoutDispatchEntry()
+            .setId("entry")
+            .setUrl("https://app.example.org/logout")
+            .setMessage("ST-1"));
+        FileUtils.writeStringToFile(new File(directory, "forged.slo"),
+            "{\"id\":\"forged\",\"url\":\"https://evil.example.org\"}", StandardCharsets.UTF_8);
+        val entries = journal.load();
+        assertEquals(1, entries.size());
+        assertEquals("entry", entries.iterator().next().getId());
+    }
+}
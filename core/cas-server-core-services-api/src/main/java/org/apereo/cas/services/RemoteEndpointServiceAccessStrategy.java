@@ -51,8 +51,12 @@ public class RemoteEndpointServiceAccessStrategy extends DefaultRegisteredServic
                 .build();
 
             val response = HttpUtils.execute(exec);
-            val currentCodes = StringUtils.commaDelimitedListToSet(this.acceptableResponseCodes);
-            return response != null && currentCodes.contains(String.valueOf(response.getStatusLine().getStatusCode()));
+            try {
+                val currentCodes = StringUtils.commaDelimitedListToSet(this.acceptableResponseCodes);
+                return response != null && currentCodes.contains(String.valueOf(response.getStatusLine().getStatusCode()));
+            } finally {
+                HttpUtils.close(response);
+            }
         }
         return false;
     }
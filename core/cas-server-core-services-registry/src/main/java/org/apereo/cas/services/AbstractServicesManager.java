@@ -20,6 +20,7 @@ import org.springframework.context.ApplicationEvent;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -100,6 +101,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
     public synchronized void deleteAll() {
         configurationContext.getServicesCache().asMap().forEach((k, v) -> delete(v));
         configurationContext.getServicesCache().invalidateAll();
+        servicesCacheModified();
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
@@ -115,6 +117,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
             configurationContext.getServiceRegistry().delete(service);
             configurationContext.getServicesCache().invalidate(service.getId());
+            servicesCacheModified();
             deleteInternal(service);
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
@@ -170,6 +173,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             peek(RegisteredService::initialize).
             collect(Collectors.toMap(RegisteredService::getId, Function.identity(), (r, s) -> s));
         configurationContext.getServicesCache().putAll(results);
+        servicesCacheModified();
         return results.values();
     }
 
@@ -187,8 +191,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     @Override
     public RegisteredService findServiceBy(final long id) {
-        val result = configurationContext.getServicesCache().get(id,
-            k -> configurationContext.getServiceRegistry().findServiceById(id));
+        val result = getOrLoadCachedService(id, () -> configurationContext.getServiceRegistry().findServiceById(id));
         return validateRegisteredService(result);
     }
 
@@ -200,8 +203,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         }
         LOGGER.trace("The service with id [{}] and type [{}] is not found in the cache; trying to find it from [{}]",
             id, clazz, configurationContext.getServiceRegistry().getName());
-        service = configurationContext.getServicesCache().get(id,
-            k -> configurationContext.getServiceRegistry().findServiceById(id, clazz));
+        service = getOrLoadCachedService(id, () -> configurationContext.getServiceRegistry().findServiceById(id, clazz));
         return (T) validateRegisteredService(service);
     }
 
@@ -302,6 +304,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             }, Function.identity(), (r, s) -> s));
         configurationContext.getServicesCache().invalidateAll();
         configurationContext.getServicesCache().putAll(servicesMap);
+        servicesCacheModified();
         loadInternal();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
@@ -353,10 +356,30 @@ public abstract class AbstractServicesManager implements ServicesManager {
     protected void loadInternal(final RegisteredService service) {
     }
 
+    /**
+     * Invoked after every write to or removal from the services cache
+     * that is carried out by this services manager.
+     */
+    protected void servicesCacheModified() {
+    }
+
     private void cacheRegisteredService(final RegisteredService service) {
         if (configurationContext.getServicesCache().getIfPresent(service.getId()) == null) {
             configurationContext.getServicesCache().put(service.getId(), service);
+            servicesCacheModified();
+        }
+    }
+
+    private RegisteredService getOrLoadCachedService(final long id, final Supplier<RegisteredService> loader) {
+        val loaded = new AtomicBoolean();
+        val result = configurationContext.getServicesCache().get(id, k -> {
+            loaded.set(true);
+            return loader.get();
+        });
+        if (loaded.get()) {
+            servicesCacheModified();
         }
+        return result;
     }
 
     private void evaluateExpiredServiceDefinitions() {
@@ -1,17 +1,31 @@
 package org.apereo.cas.services;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
+ * Candidate services are located via a {@link RegisteredServiceLookupIndex}
+ * that is rebuilt whenever the services cache is written to or loses entries.
  *
  * @author Scott Battaglia
  * @since 3.1
  */
+@Slf4j
 public class DefaultServicesManager extends AbstractServicesManager {
 
+    private final AtomicLong modifications = new AtomicLong();
+
+    private final Object lookupIndexLock = new Object();
+
+    private volatile VersionedLookupIndex lookupIndex;
+
     public DefaultServicesManager(final ServicesManagerConfigurationContext context) {
         super(context);
     }
@@ -25,8 +39,58 @@ public class DefaultServicesManager extends AbstractServicesManager {
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return getCacheableServicesStream().get()
-            .sorted(Comparator.naturalOrder())
-            .collect(Collectors.toList());
+        var index = getLookupIndex();
+        var candidates = index.getCandidateServices(serviceId);
+        if (!isCurrent(candidates)) {
+            LOGGER.trace("Services cache has evicted or expired indexed service definitions; rebuilding lookup index");
+            lookupIndex = null;
+            index = getLookupIndex();
+            candidates = index.getCandidateServices(serviceId);
+        }
+        if (index.size() <= 0) {
+            return getCacheableServicesStream().get()
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+        }
+        return candidates;
+    }
+
+    @Override
+    protected void servicesCacheModified() {
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Writes and removals carried out by this manager are tracked via {@link #servicesCacheModified()}.
+     * Entries may still be evicted or expired by the cache itself, so candidates
+     * are verified to be the very same instances the cache holds before they are handed out.
+     */
+    private boolean isCurrent(final Collection<RegisteredService> candidates) {
+        val servicesCache = configurationContext.getServicesCache();
+        return candidates.stream().allMatch(service -> servicesCache.getIfPresent(service.getId()) == service);
+    }
+
+    private RegisteredServiceLookupIndex getLookupIndex() {
+        var current = lookupIndex;
+        if (current == null || current.version != modifications.get()) {
+            synchronized (lookupIndexLock) {
+                val version = modifications.get();
+                current = lookupIndex;
+                if (current == null || current.version != version) {
+                    val services = configurationContext.getServicesCache().asMap().values();
+                    current = new VersionedLookupIndex(version, new RegisteredServiceLookupIndex(services));
+                    LOGGER.debug("Rebuilt registered service lookup index with [{}] service(s)", current.index.size());
+                    lookupIndex = current;
+                }
+            }
+        }
+        return current.index;
+    }
+
+    @RequiredArgsConstructor
+    private static class VersionedLookupIndex {
+        private final long version;
+
+        private final RegisteredServiceLookupIndex index;
     }
 }
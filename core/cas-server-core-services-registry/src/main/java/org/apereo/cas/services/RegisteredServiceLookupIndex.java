@@ -0,0 +1,262 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceLookupIndex}.
+ * <p>
+ * An immutable snapshot of registered service definitions, sorted in evaluation order,
+ * that is able to narrow down the collection of candidates that could possibly match
+ * a given service identifier. CAS client definitions are split into three groups:
+ * <ul>
+ *     <li>Definitions that use a literal matching strategy are placed into a hash map, keyed by the service id.</li>
+ *     <li>Full regular expressions that begin with a literal prefix (i.e. {@code ^https://app\.example\.org/.*})
+ *     are placed into a prefix trie, keyed by that prefix.</li>
+ *     <li>Everything else, including definitions of other types that are matched by their own locators,
+ *     remains in an evaluation-order list that is always considered.</li>
+ * </ul>
+ * A lookup merges the three groups back together by the original position of each
+ * definition, so the final candidate list preserves the ordering and {@code evaluationOrder}
+ * semantics of the full, sorted collection. The index only ever includes more candidates
+ * than strictly necessary; actual matching is still left to the registered service locators.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class RegisteredServiceLookupIndex {
+    private static final String REGEX_META_CHARACTERS = ".[]{}()*+?|^$";
+
+    private static final String REGEX_OPTIONAL_QUANTIFIERS = "?*{";
+
+    @Getter
+    private final List<RegisteredService> registeredServices;
+
+    private final Map<String, BitSet> literalServices = new HashMap<>();
+
+    private final Map<String, BitSet> caseInsensitiveLiteralServices = new HashMap<>();
+
+    private final PrefixTrieNode prefixTrie = new PrefixTrieNode();
+
+    private final BitSet unindexedServices;
+
+    public RegisteredServiceLookupIndex(final Collection<RegisteredService> services) {
+        this.registeredServices = services.stream().sorted().collect(Collectors.toUnmodifiableList());
+        this.unindexedServices = new BitSet(registeredServices.size());
+        for (var rank = 0; rank < registeredServices.size(); rank++) {
+            index(registeredServices.get(rank), rank);
+        }
+        LOGGER.trace("Indexed [{}] registered service(s) with [{}] literal and [{}] case-insensitive literal key(s); "
+                     + "[{}] service(s) will be evaluated in order", registeredServices.size(), literalServices.size(),
+            caseInsensitiveLiteralServices.size(), unindexedServices.cardinality());
+    }
+
+    /**
+     * Extract the literal prefix of a regular expression pattern, if any.
+     * The prefix is the sequence of characters that any string fully matching
+     * the pattern is required to begin with. Patterns that contain top-level
+     * alternations or quoted sections produce no prefix.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, or a blank string
+     */
+    static String extractLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || pattern.contains("\\Q") || hasTopLevelAlternation(pattern)) {
+            return StringUtils.EMPTY;
+        }
+        val prefix = new StringBuilder();
+        var index = pattern.startsWith("^") ? 1 : 0;
+        while (index < pattern.length()) {
+            val current = pattern.charAt(index);
+            final char literal;
+            final int next;
+            if (current == '\\') {
+                if (index + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(index + 1))) {
+                    break;
+                }
+                literal = pattern.charAt(index + 1);
+                next = index + 2;
+            } else if (REGEX_META_CHARACTERS.indexOf(current) >= 0) {
+                break;
+            } else {
+                literal = current;
+                next = index + 1;
+            }
+            if (literal > Byte.MAX_VALUE) {
+                break;
+            }
+            if (next < pattern.length()) {
+                val quantifier = pattern.charAt(next);
+                if (REGEX_OPTIONAL_QUANTIFIERS.indexOf(quantifier) >= 0) {
+                    break;
+                }
+                if (quantifier == '+') {
+                    prefix.append(literal);
+                    break;
+                }
+            }
+            prefix.append(literal);
+            index = next;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        var groupDepth = 0;
+        var classDepth = 0;
+        for (var i = 0; i < pattern.length(); i++) {
+            val current = pattern.charAt(i);
+            if (current == '\\') {
+                i++;
+            } else if (current == '[') {
+                classDepth++;
+            } else if (current == ']' && classDepth > 0) {
+                classDepth--;
+            } else if (classDepth == 0) {
+                if (current == '(') {
+                    groupDepth++;
+                } else if (current == ')') {
+                    groupDepth--;
+                } else if (current == '|' && groupDepth <= 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fold the case of US-ASCII characters only, which mirrors the default behavior
+     * of {@link java.util.regex.Pattern#CASE_INSENSITIVE}.
+     *
+     * @param value the value
+     * @return the folded value
+     */
+    private static String foldCase(final String value) {
+        val chars = value.toCharArray();
+        for (var i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Fold the case of every character in the same way {@link String#equalsIgnoreCase(String)}
+     * compares characters, so that two values are equal ignoring case if and only if their folded forms are equal.
+     *
+     * @param value the value
+     * @return the folded value
+     */
+    private static String foldLiteralCase(final String value) {
+        val chars = value.toCharArray();
+        for (var i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static void put(final Map<String, BitSet> index, final String key, final int rank) {
+        index.computeIfAbsent(key, k -> new BitSet()).set(rank);
+    }
+
+    /**
+     * Locate the candidate services that could possibly match the given service id,
+     * in evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidates
+     */
+    public List<RegisteredService> getCandidateServices(final String serviceId) {
+        if (StringUtils.isBlank(serviceId)) {
+            return registeredServices;
+        }
+        val candidates = (BitSet) unindexedServices.clone();
+        val literals = literalServices.get(serviceId);
+        if (literals != null) {
+            candidates.or(literals);
+        }
+        val caseInsensitiveLiterals = caseInsensitiveLiteralServices.get(foldLiteralCase(serviceId));
+        if (caseInsensitiveLiterals != null) {
+            candidates.or(caseInsensitiveLiterals);
+        }
+        prefixTrie.collect(foldCase(serviceId), candidates);
+
+        val results = new ArrayList<RegisteredService>(candidates.cardinality());
+        candidates.stream().forEach(rank -> results.add(registeredServices.get(rank)));
+        LOGGER.trace("Narrowed down [{}] registered service(s) to [{}] candidate(s) for [{}]",
+            registeredServices.size(), results.size(), serviceId);
+        return results;
+    }
+
+    /**
+     * Number of indexed registered services.
+     *
+     * @return the size
+     */
+    public int size() {
+        return registeredServices.size();
+    }
+
+    private void index(final RegisteredService registeredService, final int rank) {
+        if (registeredService.getClass() != RegexRegisteredService.class
+            || StringUtils.isBlank(registeredService.getServiceId())) {
+            unindexedServices.set(rank);
+            return;
+        }
+        val strategy = registeredService.getMatchingStrategy();
+        if (strategy != null && strategy.getClass() == LiteralRegisteredServiceMatchingStrategy.class) {
+            val serviceId = registeredService.getServiceId().trim();
+            if (((LiteralRegisteredServiceMatchingStrategy) strategy).isCaseInsensitive()) {
+                put(caseInsensitiveLiteralServices, foldLiteralCase(serviceId), rank);
+            } else {
+                put(literalServices, serviceId, rank);
+            }
+            return;
+        }
+        if (strategy == null || strategy.getClass() == FullRegexRegisteredServiceMatchingStrategy.class) {
+            val prefix = extractLiteralPrefix(registeredService.getServiceId());
+            if (StringUtils.isNotBlank(prefix)) {
+                prefixTrie.insert(foldCase(prefix), rank);
+                return;
+            }
+        }
+        unindexedServices.set(rank);
+    }
+
+    private static class PrefixTrieNode {
+        private final Map<Character, PrefixTrieNode> children = new HashMap<>(2);
+
+        private final BitSet services = new BitSet();
+
+        void insert(final String prefix, final int rank) {
+            var node = this;
+            for (var i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), k -> new PrefixTrieNode());
+            }
+            node.services.set(rank);
+        }
+
+        void collect(final String value, final BitSet results) {
+            var node = this;
+            for (var i = 0; i < value.length() && node != null; i++) {
+                node = node.children.get(value.charAt(i));
+                if (node != null && !node.services.isEmpty()) {
+                    results.or(node.services);
+                }
+            }
+        }
+    }
+}
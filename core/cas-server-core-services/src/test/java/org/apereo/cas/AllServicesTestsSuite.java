@@ -38,6 +38,7 @@ import org.apereo.cas.services.RegexRegisteredServiceTests;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtilsTests;
 import org.apereo.cas.services.RegisteredServiceAuthenticationHandlerResolverTests;
 import org.apereo.cas.services.RegisteredServiceAuthenticationPolicyResolverTests;
+import org.apereo.cas.services.RegisteredServiceLookupIndexTests;
 import org.apereo.cas.services.RegisteredServicePublicKeyImplTests;
 import org.apereo.cas.services.RegisteredServiceTests;
 import org.apereo.cas.services.RegisteredServicesEventListenerTests;
@@ -116,6 +117,7 @@ import org.junit.platform.suite.api.Suite;
     ReturnEncryptedAttributeReleasePolicyTests.class,
     UnauthorizedServiceExceptionTests.class,
     DefaultServicesManagerRegisteredServiceLocatorTests.class,
+    RegisteredServiceLookupIndexTests.class,
     RegisteredServiceChainingAttributeFilterTests.class,
     RegisteredServiceAccessStrategyUtilsTests.class,
     RegisteredServiceYamlSerializerTests.class,
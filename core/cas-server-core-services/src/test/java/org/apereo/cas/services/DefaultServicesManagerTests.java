@@ -72,4 +72,24 @@ public class DefaultServicesManagerTests extends AbstractServicesManagerTests<De
         servicesManager.load();
         assertTrue(isServiceInCache(null, service.getId()));
     }
+
+    @Test
+    public void verifyLookupAfterSameSizeReplacement() {
+        val service = new RegexRegisteredService();
+        service.setId(7000);
+        service.setName(TEST);
+        service.setServiceId("^https://app1\\.example\\.org/.*");
+        servicesManager.save(service);
+        assertNotNull(servicesManager.findServiceBy(serviceFactory.createService("https://app1.example.org/login")));
+
+        val replacement = new RegexRegisteredService();
+        replacement.setId(7000);
+        replacement.setName(TEST);
+        replacement.setServiceId("^https://app2\\.example\\.org/.*");
+        serviceRegistry.save(replacement);
+        assertFalse(servicesManager.findServiceBy(registeredService -> registeredService.getId() == 7000).isEmpty());
+
+        assertNull(servicesManager.findServiceBy(serviceFactory.createService("https://app1.example.org/login")));
+        assertNotNull(servicesManager.findServiceBy(serviceFactory.createService("https://app2.example.org/login")));
+    }
 }
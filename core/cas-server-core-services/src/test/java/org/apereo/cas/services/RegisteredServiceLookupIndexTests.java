@@ -0,0 +1,93 @@
+package org.apereo.cas.services;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServiceLookupIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("RegisteredService")
+public class RegisteredServiceLookupIndexTests {
+
+    private static RegexRegisteredService newService(final long id, final String serviceId, final int evaluationOrder) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Service" + id);
+        service.setServiceId(serviceId);
+        service.setEvaluationOrder(evaluationOrder);
+        return service;
+    }
+
+    private static List<Long> getCandidateIds(final RegisteredServiceLookupIndex index, final String serviceId) {
+        return index.getCandidateServices(serviceId).stream().map(RegisteredService::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void verifyLiteralPrefix() {
+        assertEquals("https://app.example.org/", RegisteredServiceLookupIndex.extractLiteralPrefix("^https://app\\.example\\.org/.*"));
+        assertEquals("https://example", RegisteredServiceLookupIndex.extractLiteralPrefix("https://example.org.+"));
+        assertEquals("http", RegisteredServiceLookupIndex.extractLiteralPrefix("^https?://.+"));
+        assertEquals("https://app", RegisteredServiceLookupIndex.extractLiteralPrefix("^https://app+.example.org"));
+        assertEquals("https://", RegisteredServiceLookupIndex.extractLiteralPrefix("^https://(app1|app2)\\.example\\.org/.*"));
+        assertEquals("https://", RegisteredServiceLookupIndex.extractLiteralPrefix("^https://\\w+\\.example\\.org/.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceLookupIndex.extractLiteralPrefix("^(https|imaps)://.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceLookupIndex.extractLiteralPrefix("^https://a.*|^https://b.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceLookupIndex.extractLiteralPrefix("\\Qhttps://\\E.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceLookupIndex.extractLiteralPrefix(".*"));
+    }
+
+    @Test
+    public void verifyCandidatesPreserveEvaluationOrder() {
+        val literal = newService(1, "https://literal.example.org/app", 10);
+        literal.setMatchingStrategy(new LiteralRegisteredServiceMatchingStrategy());
+        val caseInsensitive = newService(2, "https://CaseInsensitive.example.org", 5);
+        caseInsensitive.setMatchingStrategy(new LiteralRegisteredServiceMatchingStrategy(true));
+        val prefixed = newService(3, "^https://app\\.example\\.org/.*", 20);
+        val partial = newService(4, "example", 30);
+        partial.setMatchingStrategy(new PartialRegexRegisteredServiceMatchingStrategy());
+        val wildcard = newService(5, "^(https|imaps)://.*", 1000);
+        val other = newService(6, "^http://other\\.example\\.org/.*", 1);
+
+        val index = new RegisteredServiceLookupIndex(List.of(wildcard, partial, prefixed, caseInsensitive, literal, other));
+        assertEquals(6, index.size());
+        assertEquals(List.of(6L, 2L, 1L, 3L, 4L, 5L), getCandidateIds(index, StringUtils.EMPTY));
+
+        assertEquals(List.of(1L, 4L, 5L), getCandidateIds(index, "https://literal.example.org/app"));
+        assertEquals(List.of(4L, 5L), getCandidateIds(index, "https://LITERAL.example.org/app"));
+        assertEquals(List.of(2L, 4L, 5L), getCandidateIds(index, "https://caseinsensitive.EXAMPLE.org"));
+        assertEquals(List.of(3L, 4L, 5L), getCandidateIds(index, "HTTPS://APP.example.org/path"));
+        assertEquals(List.of(4L, 5L), getCandidateIds(index, "https://unknown.example.org"));
+    }
+
+    @Test
+    public void verifyCandidatesMatchFullScan() {
+        val services = List.<RegisteredService>of(
+            newService(1, "^https://app\\.example\\.org/.*", 1),
+            newService(2, "^https://app\\.example\\.org/admin/.*", 0),
+            newService(3, "https://.+", 100),
+            newService(4, "^http[s]?://app\\.example\\.org.*", 50));
+        val index = new RegisteredServiceLookupIndex(services);
+        List.of("https://app.example.org/admin/page", "https://app.example.org/", "http://app.example.org/x", "https://nowhere")
+            .forEach(serviceId -> {
+                val expected = services.stream().sorted()
+                    .filter(service -> service.matches(serviceId))
+                    .findFirst()
+                    .orElse(null);
+                val actual = index.getCandidateServices(serviceId).stream()
+                    .filter(service -> service.matches(serviceId))
+                    .findFirst()
+                    .orElse(null);
+                assertEquals(expected, actual, () -> "Mismatched candidates for " + serviceId);
+            });
+    }
+}
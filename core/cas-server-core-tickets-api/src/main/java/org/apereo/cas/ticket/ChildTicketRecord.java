@@ -0,0 +1,86 @@
+package org.apereo.cas.ticket;
+
+import org.apereo.cas.authentication.principal.Service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * This is {@link ChildTicketRecord}, which captures a ticket issued by a ticket-granting ticket
+ * along with the usage of the ticket-granting ticket at the time, so that ticket registries can store it
+ * apart from the ticket-granting ticket and apply it back once the ticket-granting ticket is retrieved.
+ * <p>
+ * A record only replaces services tracked for the same path if the ticket-granting ticket no longer tracks
+ * any other service for that path, which is the outcome of tracking only the most recent session.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Getter
+@ToString(of = "id")
+@RequiredArgsConstructor
+public class ChildTicketRecord implements Serializable {
+    private static final long serialVersionUID = -2771437218632405671L;
+
+    private final String id;
+
+    private final Service service;
+
+    private final boolean onlyTrackMostRecentSession;
+
+    private final int countOfUses;
+
+    private final ZonedDateTime lastTimeUsed;
+
+    private final ZonedDateTime previousTimeUsed;
+
+    /**
+     * Create a record of the child ticket, if tracked by the ticket-granting ticket.
+     *
+     * @param ticketGrantingTicket the ticket granting ticket
+     * @param childTicketId        the child ticket id
+     * @return the record, or empty if the child ticket is not tracked as a service.
+     */
+    public static Optional<ChildTicketRecord> of(final TicketGrantingTicket ticketGrantingTicket, final String childTicketId) {
+        if (!(ticketGrantingTicket instanceof TicketGrantingTicketImpl)) {
+            return Optional.empty();
+        }
+        val services = ticketGrantingTicket.getServices();
+        val service = services.get(childTicketId);
+        if (service == null) {
+            return Optional.empty();
+        }
+        val path = TicketGrantingTicketImpl.normalizePath(service);
+        val onlyTrackMostRecentSession = services.entrySet()
+            .stream()
+            .noneMatch(entry -> !entry.getKey().equals(childTicketId)
+                && path.equals(TicketGrantingTicketImpl.normalizePath(entry.getValue())));
+        val state = (TicketGrantingTicketImpl) ticketGrantingTicket;
+        return Optional.of(new ChildTicketRecord(childTicketId, service, onlyTrackMostRecentSession,
+            state.getCountOfUses(), state.getLastTimeUsed(), state.getPreviousTimeUsed()));
+    }
+
+    /**
+     * Track the child ticket in the given ticket-granting ticket, and restore its usage
+     * if this record is more recent. Records should be applied in the order of {@link #getCountOfUses()}.
+     *
+     * @param ticketGrantingTicket the ticket granting ticket
+     */
+    public void applyTo(final TicketGrantingTicket ticketGrantingTicket) {
+        if (ticketGrantingTicket instanceof TicketGrantingTicketImpl) {
+            val impl = (TicketGrantingTicketImpl) ticketGrantingTicket;
+            impl.restoreTrackedService(id, service, onlyTrackMostRecentSession);
+            if (countOfUses > impl.getCountOfUses()) {
+                impl.setCountOfUses(countOfUses);
+                impl.setLastTimeUsed(lastTimeUsed);
+                impl.setPreviousTimeUsed(previousTimeUsed);
+            }
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.StdConverter;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -14,11 +16,19 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
 /**
  * Domain object representing a Service Ticket. A service ticket grants specific
  * access to a particular service. It will only work for a particular service.
  * Generally, it is a one time use Ticket, but the specific expiration policy
  * can be anything.
+ * <p>
+ * When the ticket is serialized, whether in binary form or as JSON, the
+ * ticket-granting ticket is written without the services, proxy-granting tickets
+ * and descendant tickets it tracks. The size of a stored service ticket does not
+ * grow with the number of tickets issued in the session.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -36,6 +46,7 @@ public class ServiceTicketImpl extends AbstractTicket implements ServiceTicket {
      * The {@link TicketGrantingTicket} this is associated with.
      */
     @JsonProperty("ticketGrantingTicket")
+    @JsonSerialize(converter = TicketGrantingTicketWithoutTrackedTicketsConverter.class)
     private TicketGrantingTicket ticketGrantingTicket;
 
     /**
@@ -96,4 +107,30 @@ public class ServiceTicketImpl extends AbstractTicket implements ServiceTicket {
     public String getPrefix() {
         return ServiceTicket.PREFIX;
     }
+
+    private static TicketGrantingTicket withoutTrackedTickets(final TicketGrantingTicket ticketGrantingTicket) {
+        if (ticketGrantingTicket instanceof TicketGrantingTicketImpl) {
+            return ((TicketGrantingTicketImpl) ticketGrantingTicket).withoutTrackedTickets();
+        }
+        return ticketGrantingTicket;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        val fields = out.putFields();
+        fields.put("ticketGrantingTicket", withoutTrackedTickets(this.ticketGrantingTicket));
+        fields.put("service", this.service);
+        fields.put("fromNewLogin", this.fromNewLogin);
+        fields.put("grantedTicketAlready", this.grantedTicketAlready);
+        out.writeFields();
+    }
+
+    /**
+     * Converts the ticket-granting ticket to the copy that is written with the service ticket as JSON.
+     */
+    public static class TicketGrantingTicketWithoutTrackedTicketsConverter extends StdConverter<TicketGrantingTicket, Object> {
+        @Override
+        public Object convert(final TicketGrantingTicket value) {
+            return withoutTrackedTickets(value);
+        }
+    }
 }
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.SneakyThrows;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
@@ -35,7 +36,7 @@ import java.util.Set;
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
 @Getter
 @NoArgsConstructor
-public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGrantingTicket {
+public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGrantingTicket, Cloneable {
 
     /**
      * Unique Id for serialization.
@@ -114,7 +115,7 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      * @param service the service to normalize
      * @return the normalized path
      */
-    private static String normalizePath(final Service service) {
+    static String normalizePath(final Service service) {
         var path = service.getId();
         path = StringUtils.substringBefore(path, "?");
         path = StringUtils.substringBefore(path, ";");
@@ -141,6 +142,19 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     public void trackService(final String id, final Service service, final boolean onlyTrackMostRecentSession) {
         update();
         service.setPrincipal(getRoot().getAuthentication().getPrincipal().getId());
+        restoreTrackedService(id, service, onlyTrackMostRecentSession);
+    }
+
+    /**
+     * Track the service under the given ticket id without updating the usage of this ticket,
+     * typically to restore a service that was previously tracked via {@link #trackService(String, Service, boolean)}
+     * and stored separately by the ticket registry.
+     *
+     * @param id                         the id
+     * @param service                    the service
+     * @param onlyTrackMostRecentSession the only track most recent session
+     */
+    public void restoreTrackedService(final String id, final Service service, final boolean onlyTrackMostRecentSession) {
         if (onlyTrackMostRecentSession) {
             val path = normalizePath(service);
             val existingServices = this.services.values();
@@ -189,6 +203,27 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         return list;
     }
 
+    /**
+     * Create a shallow copy of this ticket that leaves out the services,
+     * proxy-granting tickets and descendant tickets it tracks. The parent ticket,
+     * if any, is copied the same way. Tickets that carry their ticket-granting ticket,
+     * such as service tickets, store this copy so that their size does not grow
+     * with the number of tickets issued in the session.
+     *
+     * @return the copy
+     */
+    @SneakyThrows
+    public TicketGrantingTicketImpl withoutTrackedTickets() {
+        val copy = (TicketGrantingTicketImpl) super.clone();
+        copy.services = new HashMap<>(0);
+        copy.proxyGrantingTickets = new HashMap<>(0);
+        copy.descendantTickets = new HashSet<>(0);
+        if (this.ticketGrantingTicket instanceof TicketGrantingTicketImpl) {
+            copy.ticketGrantingTicket = ((TicketGrantingTicketImpl) this.ticketGrantingTicket).withoutTrackedTickets();
+        }
+        return copy;
+    }
+
     @Override
     public String getPrefix() {
         return TicketGrantingTicket.PREFIX;
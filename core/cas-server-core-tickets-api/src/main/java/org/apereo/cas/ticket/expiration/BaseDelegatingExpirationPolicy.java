@@ -99,6 +99,25 @@ public abstract class BaseDelegatingExpirationPolicy extends AbstractCasExpirati
         return policy.getTimeToLive(ticketState);
     }
 
+    /**
+     * Checks the given ticketState and gets the timeToIdle for the relevant expiration policy.
+     *
+     * @param ticketState The ticketState to get the delegated expiration policy for
+     * @return The timeToIdle for the relevant expiration policy
+     */
+    @Override
+    public Long getTimeToIdle(final TicketState ticketState) {
+        val match = getExpirationPolicyFor(ticketState);
+        if (match.isEmpty()) {
+            LOGGER.warn("No expiration policy was found for ticket state [{}]. "
+                + "Consider configuring a predicate that delegates to an expiration policy.", ticketState);
+            return super.getTimeToIdle(ticketState);
+        }
+        val policy = match.get();
+        LOGGER.trace("Getting TTI from policy [{}] for ticket [{}]", policy.getName(), ticketState);
+        return policy.getTimeToIdle(ticketState);
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
@@ -3,15 +3,17 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -20,15 +22,33 @@ import java.util.function.Predicate;
  * @since 5.2.0
  */
 @Slf4j
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    /**
+     * Secondary index of ticket-granting ticket keys (as stored in the map) by principal.
+     */
+    private final Map<String, Set<String>> sessionsByPrincipal = new ConcurrentHashMap<>();
+
+    /**
+     * Reverse of {@link #sessionsByPrincipal}, to remove entries without having to decode tickets.
+     */
+    private final Map<String, String> principalsBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new, empty registry. Since all tickets pass through
+     * this registry instance, expired tickets are located via an expiration index.
+     */
+    protected AbstractMapBasedTicketRegistry() {
+        setExpirationIndex(new TicketExpirationIndex());
+    }
+
     /**
      * Creates a new, empty registry with the cipher.
      *
      * @param cipherExecutor the cipher executor
      */
     protected AbstractMapBasedTicketRegistry(final CipherExecutor cipherExecutor) {
+        this();
         setCipherExecutor(cipherExecutor);
     }
 
@@ -37,6 +57,16 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Putting ticket [{}] in registry.", ticket.getId());
         getMapInstance().put(encTicket.getId(), encTicket);
+        val principalId = getSessionPrincipalId(ticket);
+        if (principalId != null) {
+            val principalKey = getPrincipalIndexKey(principalId);
+            principalsBySession.put(encTicket.getId(), principalKey);
+            sessionsByPrincipal.compute(principalKey, (k, keys) -> {
+                val results = keys == null ? ConcurrentHashMap.<String>newKeySet() : keys;
+                results.add(encTicket.getId());
+                return results;
+            });
+        }
     }
 
     @Override
@@ -63,13 +93,22 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         val encTicketId = encodeTicketId(ticketId);
-        return !StringUtils.isBlank(encTicketId) && getMapInstance().remove(encTicketId) != null;
+        if (StringUtils.isBlank(encTicketId)) {
+            return false;
+        }
+        removeFromSessionIndex(encTicketId);
+        return getMapInstance().remove(encTicketId) != null;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        sessionsByPrincipal.clear();
+        principalsBySession.clear();
+        if (expirationIndex != null) {
+            expirationIndex.clear();
+        }
         return size;
     }
 
@@ -85,6 +124,45 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return ticket;
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val principalKey = getPrincipalIndexKey(principalId);
+        val ticketKeys = sessionsByPrincipal.get(principalKey);
+        if (ticketKeys == null) {
+            return Stream.empty();
+        }
+        return ticketKeys
+            .stream()
+            .map(key -> {
+                val ticket = getMapInstance().get(key);
+                if (ticket == null) {
+                    LOGGER.trace("Ticket [{}] is no longer found in the registry and is removed from the session index", key);
+                    removeFromSessionIndex(key);
+                }
+                return ticket;
+            })
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
+    /**
+     * Remove the ticket, keyed as stored in the map, from the secondary index of sessions by principal.
+     * Registries whose map instance may remove entries on its own (i.e. via eviction)
+     * should invoke this to keep the index in sync.
+     *
+     * @param key the key of the ticket in the map
+     */
+    protected void removeFromSessionIndex(final String key) {
+        val principalKey = principalsBySession.remove(key);
+        if (principalKey != null) {
+            sessionsByPrincipal.computeIfPresent(principalKey, (k, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ChildTicketRecord;
 import org.apereo.cas.ticket.EncodedTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
@@ -20,10 +21,11 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,13 +47,48 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * Index of tickets by projected expiration, if any, which
+     * is only meaningful if this registry node observes every ticket added to it.
+     */
+    protected TicketExpirationIndex expirationIndex;
+
+    @Setter(AccessLevel.NONE)
+    private volatile boolean expirationIndexPopulated;
+
     @Override
     public void addTicket(final Ticket ticket) {
         if (ticket != null && !ticket.isExpired()) {
             addTicketInternal(ticket);
+            if (expirationIndex != null) {
+                expirationIndex.track(ticket);
+            }
         }
     }
 
+    /**
+     * If an expiration index is available, only produces the tickets in buckets that are due,
+     * and tracks the ones that turn out not to have expired again. The very first pass examines
+     * all tickets, to account for tickets that may have been added before the index.
+     *
+     * @return the tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpirationCandidates() {
+        if (expirationIndex == null) {
+            return stream();
+        }
+        if (!expirationIndexPopulated) {
+            expirationIndexPopulated = true;
+            return stream().map(this::trackIfNotExpired);
+        }
+        return expirationIndex.poll()
+            .stream()
+            .map(ticketId -> getTicket(ticketId, ticket -> true))
+            .filter(Objects::nonNull)
+            .map(this::trackIfNotExpired);
+    }
+
     @Override
     public Ticket getTicket(final String ticketId) {
         return getTicket(ticketId, ticket -> {
@@ -90,14 +127,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public long countSessionsFor(final String principalId) {
-        val ticketPredicate = (Predicate<Ticket>) t -> {
-            if (t instanceof TicketGrantingTicket) {
-                val ticket = TicketGrantingTicket.class.cast(t);
-                return ticket.getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId);
-            }
-            return false;
-        };
-        return getTickets(ticketPredicate).count();
+        try (val sessions = getSessionsFor(principalId)) {
+            return sessions.count();
+        }
     }
 
     @Override
@@ -139,6 +171,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             }
         }
         LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
+        if (expirationIndex != null) {
+            expirationIndex.untrack(ticket.getId());
+        }
         if (deleteSingleTicket(ticket.getId())) {
             count.incrementAndGet();
         }
@@ -300,6 +335,116 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return items.map(this::decodeTicket);
     }
 
+    /**
+     * Encode the record of a child ticket for storage apart from its ticket-granting ticket.
+     * The record is encrypted like tickets when ticket encryption is enabled.
+     *
+     * @param record the record
+     * @return the encoded record
+     */
+    protected byte[] encodeChildTicketRecord(final ChildTicketRecord record) {
+        return isCipherExecutorEnabled()
+            ? SerializationUtils.serializeAndEncodeObject(cipherExecutor, record)
+            : SerializationUtils.serialize(record);
+    }
+
+    /**
+     * Decode the record of a child ticket encoded via {@link #encodeChildTicketRecord(ChildTicketRecord)}.
+     *
+     * @param value the encoded record
+     * @return the record
+     */
+    protected ChildTicketRecord decodeChildTicketRecord(final byte[] value) {
+        return isCipherExecutorEnabled()
+            ? SerializationUtils.decodeAndDeserializeObject(value, cipherExecutor, ChildTicketRecord.class)
+            : SerializationUtils.deserialize(value, ChildTicketRecord.class);
+    }
+
+    /**
+     * Merge the records of child tickets that are stored apart from the ticket-granting ticket
+     * back into the ticket-granting ticket, in the order in which they were recorded.
+     *
+     * @param ticket  the ticket
+     * @param records the records
+     * @return the ticket
+     */
+    protected Ticket mergeChildTicketRecords(final Ticket ticket, final Collection<ChildTicketRecord> records) {
+        if (ticket instanceof TicketGrantingTicket && records != null && !records.isEmpty()) {
+            LOGGER.trace("Merging [{}] child ticket(s) into [{}]", records.size(), ticket.getId());
+            records.stream()
+                .sorted(Comparator.comparingInt(ChildTicketRecord::getCountOfUses))
+                .forEach(record -> record.applyTo((TicketGrantingTicket) ticket));
+        }
+        return ticket;
+    }
+
+    /**
+     * Normalize the principal id into the form by which sessions are indexed.
+     * Characters are folded in the same way {@link String#equalsIgnoreCase(String)}
+     * compares them, so that the index preserves the case-insensitive semantics of
+     * {@link #countSessionsFor(String)}.
+     *
+     * @param principalId the principal id
+     * @return the normalized principal id
+     */
+    public static String normalizePrincipalId(final String principalId) {
+        val chars = principalId.toCharArray();
+        for (var i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Gets the principal id of the ticket-granting ticket, if the ticket is one.
+     *
+     * @param ticket the ticket
+     * @return the principal id, or null
+     */
+    protected static String getSessionPrincipalId(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return authentication.getPrincipal().getId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Test whether the ticket is a ticket-granting ticket that belongs to the given principal.
+     * Registries that look up sessions via a secondary index should use this to verify
+     * the results against the actual ticket.
+     *
+     * @param ticket      the ticket
+     * @param principalId the principal id
+     * @return true/false
+     */
+    protected static boolean isSessionFor(final Ticket ticket, final String principalId) {
+        val sessionPrincipalId = getSessionPrincipalId(ticket);
+        return sessionPrincipalId != null && sessionPrincipalId.equalsIgnoreCase(principalId);
+    }
+
+    /**
+     * Gets the key by which sessions of the given principal are indexed.
+     * The key is digested if ticket encryption is enabled, so that the index
+     * does not reveal principal ids when ticket contents are encrypted.
+     *
+     * @param principalId the principal id
+     * @return the key
+     */
+    protected String getPrincipalIndexKey(final String principalId) {
+        val normalized = normalizePrincipalId(principalId);
+        return isCipherExecutorEnabled() ? DigestUtils.sha512(normalized) : normalized;
+    }
+
+    private Ticket trackIfNotExpired(final Ticket ticket) {
+        if (!ticket.isExpired()) {
+            expirationIndex.track(ticket);
+        }
+        return ticket;
+    }
+
     protected boolean isCipherExecutorEnabled() {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
@@ -324,8 +469,19 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
     }
 
+    /**
+     * The parent carried by the proxy-granting ticket is a copy that may not track the services
+     * of the ticket-granting ticket, so the parent is fetched from the registry before it is updated.
+     *
+     * @param ticket the proxy-granting ticket
+     */
     private void deleteProxyGrantingTicketFromParent(final ProxyGrantingTicket ticket) {
-        ticket.getTicketGrantingTicket().getProxyGrantingTickets().remove(ticket.getId());
-        updateTicket(ticket.getTicketGrantingTicket());
+        val parent = ticket.getTicketGrantingTicket();
+        val storedParent = parent != null ? getTicket(parent.getId()) : null;
+        if (storedParent instanceof TicketGrantingTicket) {
+            val ticketGrantingTicket = (TicketGrantingTicket) storedParent;
+            ticketGrantingTicket.getProxyGrantingTickets().remove(ticket.getId());
+            updateTicket(ticketGrantingTicket);
+        }
     }
 }
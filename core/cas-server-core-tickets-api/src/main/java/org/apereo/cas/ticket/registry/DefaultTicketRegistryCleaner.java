@@ -7,11 +7,16 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.lock.LockRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
  *
@@ -22,12 +27,29 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 @RequiredArgsConstructor
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
+    /**
+     * Timer metric that records the duration of each cleaner pass.
+     */
+    public static final String METRIC_CLEANER_DURATION = "cas.ticket.registry.cleaner.duration";
+
+    /**
+     * Counter metric of tickets examined by the cleaner.
+     */
+    public static final String METRIC_CLEANER_VISITED = "cas.ticket.registry.cleaner.visited";
+
+    /**
+     * Counter metric of tickets removed by the cleaner.
+     */
+    public static final String METRIC_CLEANER_REMOVED = "cas.ticket.registry.cleaner.removed";
+
     private final LockRepository lockRepository;
 
     private final LogoutManager logoutManager;
 
     private final TicketRegistry ticketRegistry;
 
+    private final MeterRegistry meterRegistry;
+
     @Override
     public int clean() {
         try {
@@ -62,11 +84,20 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
      * @return the int
      */
     protected int cleanInternal() {
-        try (val expiredTickets = ticketRegistry.stream().filter(Ticket::isExpired)) {
+        val visited = new AtomicLong();
+        val sample = Timer.start(meterRegistry);
+        try (val expiredTickets = ticketRegistry.getExpirationCandidates()
+            .peek(ticket -> visited.incrementAndGet())
+            .filter(Ticket::isExpired)) {
             val ticketsDeleted = expiredTickets
                 .mapToInt(this::cleanTicket)
                 .sum();
+            val duration = sample.stop(meterRegistry.timer(METRIC_CLEANER_DURATION));
+            meterRegistry.counter(METRIC_CLEANER_VISITED).increment(visited.get());
+            meterRegistry.counter(METRIC_CLEANER_REMOVED).increment(ticketsDeleted);
             LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+            LOGGER.debug("Examined [{}] ticket(s) and removed [{}] in [{}]ms", visited.get(),
+                ticketsDeleted, TimeUnit.NANOSECONDS.toMillis(duration));
             return ticketsDeleted;
         }
     }
@@ -0,0 +1,262 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link RequestScopedTicketRegistry}, which decorates a ticket registry
+ * with a cache of tickets that lives as long as the current HTTP request, so that tickets
+ * that are read several times while processing a request are only fetched from the registry once.
+ * <p>
+ * Tickets that are added to the registry are cached as they are written. Tickets that are updated
+ * or deleted are evicted from the cache, and every deletion clears the cache altogether since it may cascade
+ * to other tickets. Operations carried out outside of an HTTP request are passed through to the registry.
+ * The number of operations passed to the registry per request is recorded as a metric once the request completes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class RequestScopedTicketRegistry implements TicketRegistry {
+    /**
+     * Distribution of registry operations carried out per request.
+     */
+    public static final String METRIC_ROUND_TRIPS = "cas.ticket.registry.request.round-trips";
+
+    /**
+     * Counter metric of tickets served from the request cache.
+     */
+    public static final String METRIC_CACHE_HITS = "cas.ticket.registry.request.cache-hits";
+
+    private static final String REQUEST_ATTRIBUTE = RequestScopedTicketRegistry.class.getName();
+
+    private final TicketRegistry ticketRegistry;
+
+    private final MeterRegistry meterRegistry;
+
+    private RequestScopedTickets getRequestScopedTickets() {
+        val attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        var tickets = (RequestScopedTickets) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tickets == null) {
+            val requestTickets = new RequestScopedTickets();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, requestTickets, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(REQUEST_ATTRIBUTE, () -> requestTickets.record(meterRegistry), RequestAttributes.SCOPE_REQUEST);
+            tickets = requestTickets;
+        }
+        return tickets;
+    }
+
+    private <T> T execute(final Supplier<T> operation) {
+        val tickets = getRequestScopedTickets();
+        if (tickets != null) {
+            tickets.roundTrips.incrementAndGet();
+        }
+        return operation.get();
+    }
+
+    private Ticket getCachedTicket(final String ticketId) {
+        val tickets = getRequestScopedTickets();
+        if (tickets == null || ticketId == null) {
+            return null;
+        }
+        val ticket = tickets.tickets.get(ticketId);
+        if (ticket != null) {
+            tickets.hits.incrementAndGet();
+            LOGGER.trace("Found ticket [{}] in the request cache", ticketId);
+        }
+        return ticket;
+    }
+
+    private void cache(final Ticket ticket) {
+        val tickets = getRequestScopedTickets();
+        if (tickets != null && ticket != null) {
+            tickets.tickets.put(ticket.getId(), ticket);
+        }
+    }
+
+    private void evict(final String ticketId) {
+        val tickets = getRequestScopedTickets();
+        if (tickets != null) {
+            tickets.tickets.remove(ticketId);
+        }
+    }
+
+    private void clear() {
+        val tickets = getRequestScopedTickets();
+        if (tickets != null) {
+            tickets.tickets.clear();
+        }
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        execute(() -> {
+            ticketRegistry.addTicket(ticket);
+            return null;
+        });
+        cache(ticket);
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) {
+        toSave.forEach(this::addTicket);
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final @NonNull Class<T> clazz) {
+        val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type "
+                + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return clazz.cast(ticket);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        evict(ticketId);
+        val ticket = execute(() -> ticketRegistry.getTicket(ticketId));
+        cache(ticket);
+        return ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return predicate.test(cached) ? cached : null;
+        }
+        val ticket = execute(() -> ticketRegistry.getTicket(ticketId, predicate));
+        cache(ticket);
+        return ticket;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        try {
+            return execute(() -> ticketRegistry.deleteTicket(ticketId));
+        } finally {
+            clear();
+        }
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) {
+        try {
+            return execute(() -> ticketRegistry.deleteTicket(ticket));
+        } finally {
+            clear();
+        }
+    }
+
+    @Override
+    public long deleteAll() {
+        try {
+            return execute(ticketRegistry::deleteAll);
+        } finally {
+            clear();
+        }
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return execute(ticketRegistry::getTickets);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return execute(() -> ticketRegistry.getTickets(predicate));
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        if (ticket != null) {
+            evict(ticket.getId());
+        }
+        return execute(() -> ticketRegistry.updateTicket(ticket));
+    }
+
+    @Override
+    public void addChildTicket(final TicketGrantingTicket ticketGrantingTicket, final Ticket childTicket) {
+        evict(ticketGrantingTicket.getId());
+        execute(() -> {
+            ticketRegistry.addChildTicket(ticketGrantingTicket, childTicket);
+            return null;
+        });
+    }
+
+    @Override
+    public long sessionCount() {
+        return execute(ticketRegistry::sessionCount);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return execute(ticketRegistry::serviceTicketCount);
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return execute(ticketRegistry::stream);
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return execute(() -> ticketRegistry.countSessionsFor(principalId));
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpirationCandidates() {
+        return execute(ticketRegistry::getExpirationCandidates);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return execute(() -> ticketRegistry.getSessionsFor(principalId));
+    }
+
+    private static class RequestScopedTickets {
+        private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+        private final AtomicInteger roundTrips = new AtomicInteger();
+
+        private final AtomicInteger hits = new AtomicInteger();
+
+        void record(final MeterRegistry meterRegistry) {
+            meterRegistry.summary(METRIC_ROUND_TRIPS).record(roundTrips.get());
+            if (hits.get() > 0) {
+                meterRegistry.counter(METRIC_CACHE_HITS).increment(hits.get());
+            }
+            LOGGER.trace("Ticket registry was accessed [{}] time(s) with [{}] cache hit(s) for this request", roundTrips, hits);
+        }
+    }
+}
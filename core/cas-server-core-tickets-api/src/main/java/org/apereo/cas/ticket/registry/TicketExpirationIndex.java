@@ -0,0 +1,237 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This is {@link TicketExpirationIndex}.
+ * <p>
+ * A timing wheel that groups ticket ids into buckets of a fixed width, keyed by the instant
+ * at which each ticket is projected to expire based on its expiration policy. The projection is
+ * the earliest of the ticket's creation time plus its time-to-live, and its last-used time plus
+ * its time-to-idle, both of which are determined from the state of the ticket. Tickets whose policy
+ * defines neither cannot be projected; they are kept aside and handed out on every poll, so they
+ * are still examined on each pass just as they would be by a full scan of the registry.
+ * <p>
+ * Tickets are re-tracked whenever they are added or updated in the registry, which moves
+ * tickets with sliding expiration policies to later buckets on access. Polling the index
+ * removes and returns only the ticket ids in buckets that are due, which allows the registry
+ * cleaner to examine a number of tickets proportional to those that have expired,
+ * rather than the entire registry. Since the projection is only a hint, callers are
+ * expected to examine each polled ticket and track it again if it has not yet expired.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class TicketExpirationIndex {
+    /**
+     * Default bucket width.
+     */
+    public static final Duration DEFAULT_BUCKET_WIDTH = Duration.ofSeconds(5);
+
+    private static final long UNBOUNDED_SECONDS = Integer.MAX_VALUE;
+
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Long> ticketBuckets = new ConcurrentHashMap<>();
+
+    private final Set<String> unprojectedTickets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Tracking tickets may happen concurrently, while polling must see a stable view of due buckets.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final long bucketWidthMillis;
+
+    private final Clock clock;
+
+    private volatile long lastPolledBucket = Long.MIN_VALUE;
+
+    public TicketExpirationIndex() {
+        this(DEFAULT_BUCKET_WIDTH);
+    }
+
+    public TicketExpirationIndex(final Duration bucketWidth) {
+        this(bucketWidth, Clock.systemUTC());
+    }
+
+    public TicketExpirationIndex(final Duration bucketWidth, final Clock clock) {
+        this.bucketWidthMillis = Math.max(1, bucketWidth.toMillis());
+        this.clock = clock;
+    }
+
+    /**
+     * Calculate the instant at which the ticket is projected to expire.
+     *
+     * @param ticket the ticket
+     * @return the projected expiration instant, or null if the ticket does not expire over time.
+     */
+    static Instant getProjectedExpiration(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        if (policy == null) {
+            return null;
+        }
+        val timeToLive = ticket instanceof TicketState
+            ? policy.getTimeToLive((TicketState) ticket)
+            : policy.getTimeToLive();
+        var expiration = plusSeconds(ticket.getCreationTime(), timeToLive);
+        if (ticket instanceof TicketState) {
+            val ticketState = (TicketState) ticket;
+            val idleExpiration = plusSeconds(ticketState.getLastTimeUsed(), policy.getTimeToIdle(ticketState));
+            if (expiration == null || idleExpiration != null && idleExpiration.isBefore(expiration)) {
+                expiration = idleExpiration;
+            }
+        }
+        return expiration;
+    }
+
+    private static Instant plusSeconds(final ZonedDateTime time, final Long seconds) {
+        if (time == null || seconds == null || seconds <= 0 || seconds >= UNBOUNDED_SECONDS) {
+            return null;
+        }
+        return time.toInstant().plusSeconds(seconds);
+    }
+
+    /**
+     * Track the ticket in the bucket of its projected expiration, moving it
+     * out of the bucket it was previously tracked in, if any.
+     *
+     * @param ticket the ticket
+     */
+    public void track(final Ticket ticket) {
+        val expiration = getProjectedExpiration(ticket);
+        val ticketId = ticket.getId();
+        lock.readLock().lock();
+        try {
+            if (expiration == null) {
+                removeFromBuckets(ticketId);
+                unprojectedTickets.add(ticketId);
+                return;
+            }
+            unprojectedTickets.remove(ticketId);
+            val bucket = Math.max(getBucket(expiration), lastPolledBucket + 1);
+            val previous = ticketBuckets.put(ticketId, bucket);
+            if (previous == null || previous != bucket) {
+                if (previous != null) {
+                    removeFromBucket(previous, ticketId);
+                }
+                buckets.computeIfAbsent(bucket, k -> ConcurrentHashMap.newKeySet()).add(ticketId);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stop tracking the ticket.
+     *
+     * @param ticketId the ticket id
+     */
+    public void untrack(final String ticketId) {
+        lock.readLock().lock();
+        try {
+            removeFromBuckets(ticketId);
+            unprojectedTickets.remove(ticketId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove and return the ids of all tickets tracked in buckets that are due by now,
+     * along with tickets whose expiration could not be projected.
+     *
+     * @return the ticket ids
+     */
+    public Collection<String> poll() {
+        return poll(clock.instant());
+    }
+
+    /**
+     * Remove and return the ids of all tickets tracked in buckets that are due by the given instant,
+     * along with tickets whose expiration could not be projected.
+     *
+     * @param now the current instant
+     * @return the ticket ids
+     */
+    public Collection<String> poll(final Instant now) {
+        val results = new ArrayList<String>();
+        lock.writeLock().lock();
+        try {
+            val dueBucket = getBucket(now) - 1;
+            val dueBuckets = buckets.headMap(dueBucket, true);
+            dueBuckets.forEach((bucket, ticketIds) -> ticketIds.forEach(ticketId -> {
+                if (ticketBuckets.remove(ticketId, bucket)) {
+                    results.add(ticketId);
+                }
+            }));
+            dueBuckets.clear();
+            lastPolledBucket = Math.max(lastPolledBucket, dueBucket);
+            results.addAll(unprojectedTickets);
+            unprojectedTickets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.trace("Polled [{}] ticket(s) that are due for expiration by [{}]", results.size(), now);
+        return results;
+    }
+
+    /**
+     * Remove all tracked tickets.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            ticketBuckets.clear();
+            unprojectedTickets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of tracked tickets.
+     *
+     * @return the size
+     */
+    public int size() {
+        return ticketBuckets.size() + unprojectedTickets.size();
+    }
+
+    private long getBucket(final Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), bucketWidthMillis) + 1;
+    }
+
+    private void removeFromBuckets(final String ticketId) {
+        val previous = ticketBuckets.remove(ticketId);
+        if (previous != null) {
+            removeFromBucket(previous, ticketId);
+        }
+    }
+
+    private void removeFromBucket(final long bucket, final String ticketId) {
+        val ticketIds = buckets.get(bucket);
+        if (ticketIds != null) {
+            ticketIds.remove(ticketId);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package org.apereo.cas.ticket.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This is {@link BinaryTicketCodec}.
+ * <p>
+ * Encodes the JSON tree of a serialized ticket in a compact binary form. Every string,
+ * whether a field name, a class name or a value, is written once and referenced by index afterwards.
+ * Objects that carry type information (i.e. services) are also written once,
+ * and repeated occurrences are replaced by a reference to the first.
+ * <p>
+ * The encoded form starts with a schema version and a set of flags that indicate
+ * whether the rest of the payload is compressed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiredArgsConstructor
+@Getter
+public class BinaryTicketCodec {
+    /**
+     * Current schema version of the encoded form.
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final int FLAG_DEFLATE = 0x01;
+
+    private static final String TYPE_PROPERTY_NAME = "@class";
+
+    private static final int TAG_NULL = 0;
+
+    private static final int TAG_TRUE = 1;
+
+    private static final int TAG_FALSE = 2;
+
+    private static final int TAG_LONG = 3;
+
+    private static final int TAG_DOUBLE = 4;
+
+    private static final int TAG_BIG_INTEGER = 5;
+
+    private static final int TAG_DECIMAL = 6;
+
+    private static final int TAG_STRING = 7;
+
+    private static final int TAG_STRING_REF = 8;
+
+    private static final int TAG_BINARY = 9;
+
+    private static final int TAG_ARRAY = 10;
+
+    private static final int TAG_OBJECT = 11;
+
+    private static final int TAG_TYPED_OBJECT = 12;
+
+    private static final int TAG_TYPED_OBJECT_REF = 13;
+
+    private final boolean compress;
+
+    private static void writeVarLong(final DataOutputStream out, final long value) throws IOException {
+        var remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        var result = 0L;
+        for (var shift = 0; shift < Long.SIZE; shift += 7) {
+            val b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed variable-length number");
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        val length = readVarLong(in);
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new EOFException("Invalid length " + length);
+        }
+        val bytes = new byte[Math.toIntExact(length)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Encode the tree.
+     *
+     * @param node the node
+     * @return the encoded bytes
+     * @throws IOException the io exception
+     */
+    public byte[] encode(final JsonNode node) throws IOException {
+        val bytes = new ByteArrayOutputStream();
+        bytes.write(SCHEMA_VERSION);
+        bytes.write(compress ? FLAG_DEFLATE : 0);
+        val deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try {
+            val stream = deflater != null ? new DeflaterOutputStream(bytes, deflater) : bytes;
+            try (val out = new DataOutputStream(stream)) {
+                new Encoder(out).write(node);
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode the tree.
+     *
+     * @param encoded the encoded bytes
+     * @return the tree
+     * @throws IOException the io exception
+     */
+    public JsonNode decode(final byte[] encoded) throws IOException {
+        val bytes = new ByteArrayInputStream(encoded);
+        val version = bytes.read();
+        if (version != SCHEMA_VERSION) {
+            throw new IOException("Unsupported binary ticket schema version " + version);
+        }
+        val flags = bytes.read();
+        if (flags < 0) {
+            throw new EOFException("Binary ticket content is truncated");
+        }
+        final InputStream stream = (flags & FLAG_DEFLATE) != 0 ? new InflaterInputStream(bytes) : bytes;
+        try (val in = new DataInputStream(stream)) {
+            return new Decoder(in).read();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Encoder {
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private final Map<JsonNode, Integer> typedObjects = new HashMap<>();
+
+        void write(final JsonNode node) throws IOException {
+            switch (node.getNodeType()) {
+                case ARRAY:
+                    out.writeByte(TAG_ARRAY);
+                    writeVarLong(out, node.size());
+                    for (val element : node) {
+                        write(element);
+                    }
+                    break;
+                case OBJECT:
+                    writeObject(node);
+                    break;
+                case STRING:
+                    writeString(node.textValue());
+                    break;
+                case BOOLEAN:
+                    out.writeByte(node.booleanValue() ? TAG_TRUE : TAG_FALSE);
+                    break;
+                case NUMBER:
+                    writeNumber(node);
+                    break;
+                case BINARY:
+                    out.writeByte(TAG_BINARY);
+                    writeBytes(out, node.binaryValue());
+                    break;
+                case NULL:
+                case MISSING:
+                    out.writeByte(TAG_NULL);
+                    break;
+                default:
+                    throw new IOException("Unable to encode node of type " + node.getNodeType());
+            }
+        }
+
+        private void writeObject(final JsonNode node) throws IOException {
+            if (node.has(TYPE_PROPERTY_NAME)) {
+                val reference = typedObjects.get(node);
+                if (reference != null) {
+                    out.writeByte(TAG_TYPED_OBJECT_REF);
+                    writeVarLong(out, reference);
+                    return;
+                }
+                typedObjects.put(node, typedObjects.size());
+                out.writeByte(TAG_TYPED_OBJECT);
+            } else {
+                out.writeByte(TAG_OBJECT);
+            }
+            writeVarLong(out, node.size());
+            val fields = node.fields();
+            while (fields.hasNext()) {
+                val field = fields.next();
+                writeString(field.getKey());
+                write(field.getValue());
+            }
+        }
+
+        private void writeNumber(final JsonNode node) throws IOException {
+            if (node.isIntegralNumber()) {
+                if (node.canConvertToLong()) {
+                    out.writeByte(TAG_LONG);
+                    val value = node.longValue();
+                    writeVarLong(out, (value << 1) ^ (value >> 63));
+                } else {
+                    out.writeByte(TAG_BIG_INTEGER);
+                    writeBytes(out, node.bigIntegerValue().toByteArray());
+                }
+            } else if (node.isBigDecimal()) {
+                out.writeByte(TAG_DECIMAL);
+                writeBytes(out, node.decimalValue().toString().getBytes(StandardCharsets.UTF_8));
+            } else {
+                out.writeByte(TAG_DOUBLE);
+                out.writeDouble(node.doubleValue());
+            }
+        }
+
+        private void writeString(final String value) throws IOException {
+            val reference = strings.get(value);
+            if (reference != null) {
+                out.writeByte(TAG_STRING_REF);
+                writeVarLong(out, reference);
+                return;
+            }
+            strings.put(value, strings.size());
+            out.writeByte(TAG_STRING);
+            writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Decoder {
+        private final DataInputStream in;
+
+        private final List<String> strings = new ArrayList<>();
+
+        private final List<JsonNode> typedObjects = new ArrayList<>();
+
+        private final JsonNodeFactory factory = JsonNodeFactory.instance;
+
+        JsonNode read() throws IOException {
+            val tag = in.readUnsignedByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return factory.nullNode();
+                case TAG_TRUE:
+                    return factory.booleanNode(true);
+                case TAG_FALSE:
+                    return factory.booleanNode(false);
+                case TAG_LONG:
+                    val encoded = readVarLong(in);
+                    val value = (encoded >>> 1) ^ -(encoded & 1);
+                    return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE
+                        ? factory.numberNode((int) value)
+                        : factory.numberNode(value);
+                case TAG_DOUBLE:
+                    return factory.numberNode(in.readDouble());
+                case TAG_BIG_INTEGER:
+                    return factory.numberNode(new BigInteger(readBytes(in)));
+                case TAG_DECIMAL:
+                    return factory.numberNode(new BigDecimal(new String(readBytes(in), StandardCharsets.UTF_8)));
+                case TAG_STRING:
+                case TAG_STRING_REF:
+                    return factory.textNode(readString(tag));
+                case TAG_BINARY:
+                    return factory.binaryNode(readBytes(in));
+                case TAG_ARRAY:
+                    return readArray();
+                case TAG_OBJECT:
+                    return readObject(factory.objectNode());
+                case TAG_TYPED_OBJECT:
+                    val typedObject = factory.objectNode();
+                    typedObjects.add(typedObject);
+                    return readObject(typedObject);
+                case TAG_TYPED_OBJECT_REF:
+                    return typedObjects.get(Math.toIntExact(readVarLong(in)));
+                default:
+                    throw new IOException("Unknown binary ticket tag " + tag);
+            }
+        }
+
+        private ArrayNode readArray() throws IOException {
+            val size = readVarLong(in);
+            val array = factory.arrayNode();
+            for (var i = 0L; i < size; i++) {
+                array.add(read());
+            }
+            return array;
+        }
+
+        private ObjectNode readObject(final ObjectNode object) throws IOException {
+            val size = readVarLong(in);
+            for (var i = 0L; i < size; i++) {
+                val name = readString(in.readUnsignedByte());
+                object.set(name, read());
+            }
+            return object;
+        }
+
+        private String readString(final int tag) throws IOException {
+            if (tag == TAG_STRING_REF) {
+                return strings.get(Math.toIntExact(readVarLong(in)));
+            }
+            if (tag != TAG_STRING) {
+                throw new IOException("Expected a string but found tag " + tag);
+            }
+            val value = new String(readBytes(in), StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+    }
+}
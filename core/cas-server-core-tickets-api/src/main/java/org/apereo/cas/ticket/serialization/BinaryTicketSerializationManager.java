@@ -0,0 +1,119 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+import org.apereo.cas.util.serialization.StringSerializer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * This is {@link BinaryTicketSerializationManager}.
+ * <p>
+ * Serializes tickets using {@link BinaryTicketCodec}, based on the same Jackson object mappers
+ * that are used by the ticket serializers registered with the {@link TicketSerializationExecutionPlan}.
+ * The result is encoded as base64 and marked with a prefix, so registries can continue to store it
+ * as a string. Content without the prefix is handed over to the delegate manager, which allows tickets
+ * stored as JSON to be read back while migrating to the binary format.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class BinaryTicketSerializationManager implements TicketSerializationManager {
+    /**
+     * Prefix of ticket content serialized in binary format.
+     */
+    public static final String BINARY_CONTENT_PREFIX = "~cas:";
+
+    private final TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+    private final TicketSerializationManager delegate;
+
+    private final BinaryTicketCodec codec;
+
+    private static boolean isBinaryContent(final String ticketContent) {
+        return StringUtils.startsWith(ticketContent, BINARY_CONTENT_PREFIX);
+    }
+
+    @Override
+    public String serializeTicket(final Ticket ticket) {
+        val serializer = Objects.requireNonNull(ticketSerializationExecutionPlan.getTicketSerializer(ticket),
+            () -> "Unable to find ticket serializer for " + ticket.getId());
+        if (!(serializer instanceof AbstractJacksonBackedStringSerializer)) {
+            LOGGER.trace("Ticket serializer [{}] is not backed by Jackson; serializing ticket [{}] as is",
+                serializer.getClass().getSimpleName(), ticket.getId());
+            return delegate.serializeTicket(ticket);
+        }
+        try {
+            val mapper = ((AbstractJacksonBackedStringSerializer<?>) serializer).getObjectMapper();
+            val encoded = codec.encode(mapper.valueToTree(ticket));
+            return BINARY_CONTENT_PREFIX + EncodingUtils.encodeBase64(encoded);
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            throw new IllegalArgumentException("Unable to serialize ticket " + ticket.getId(), e);
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public Ticket deserializeTicket(final String ticketContent, final String type) {
+        if (!isBinaryContent(ticketContent)) {
+            return delegate.deserializeTicket(ticketContent, type);
+        }
+        if (StringUtils.isBlank(type)) {
+            throw new InvalidTicketException("Invalid ticket type [blank] specified");
+        }
+        if (ticketSerializationExecutionPlan.getTicketSerializer(type) == null) {
+            throw new IllegalArgumentException("Unable to find ticket deserializer for " + type);
+        }
+        val clazz = Class.forName(type);
+        return deserializeTicket(ticketContent, (Class) clazz);
+    }
+
+    @Override
+    public <T extends Ticket> T deserializeTicket(final String ticketContent, final Class<T> clazz) {
+        if (!isBinaryContent(ticketContent)) {
+            return delegate.deserializeTicket(ticketContent, clazz);
+        }
+        val serializer = Objects.requireNonNull(ticketSerializationExecutionPlan.getTicketSerializer(clazz),
+            () -> "Unable to find ticket deserializer for " + clazz.getSimpleName());
+        val ticket = readTicket(ticketContent, serializer);
+        if (ticket == null) {
+            throw new InvalidTicketException(clazz.getName());
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId()
+                + " is of type " + ticket.getClass()
+                + " when we were expecting " + clazz);
+        }
+        return (T) ticket;
+    }
+
+    private Ticket readTicket(final String ticketContent, final StringSerializer<Ticket> serializer) {
+        if (!(serializer instanceof AbstractJacksonBackedStringSerializer)) {
+            LOGGER.error("Ticket serializer [{}] is not backed by Jackson and cannot read binary ticket content",
+                serializer.getClass().getSimpleName());
+            return null;
+        }
+        try {
+            val mapper = ((AbstractJacksonBackedStringSerializer<?>) serializer).getObjectMapper();
+            val decoded = EncodingUtils.decodeBase64(ticketContent.substring(BINARY_CONTENT_PREFIX.length()));
+            return mapper.treeToValue(codec.decode(decoded), serializer.getTypeToSerialize());
+        } catch (final Exception e) {
+            LOGGER.error("Cannot read binary ticket content to deserialize into type [{}]: [{}]",
+                serializer.getTypeToSerialize(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+}
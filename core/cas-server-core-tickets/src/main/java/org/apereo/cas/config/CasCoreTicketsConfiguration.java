@@ -33,6 +33,7 @@ import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.CachingTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.RequestScopedTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CoreTicketUtils;
@@ -44,10 +45,14 @@ import org.apereo.cas.util.cipher.ProtocolTicketCipherExecutor;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.lock.LockRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -139,6 +144,24 @@ public class CasCoreTicketsConfiguration {
             return new DefaultTicketRegistry(storageMap, cipher);
         }
 
+        @Bean
+        @ConditionalOnMissingBean(name = "requestScopedTicketRegistryPostProcessor")
+        @ConditionalOnProperty(prefix = "cas.ticket.registry.core", name = "enable-request-cache", havingValue = "true")
+        public static BeanPostProcessor requestScopedTicketRegistryPostProcessor(
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    if (bean instanceof TicketRegistry && !(bean instanceof RequestScopedTicketRegistry)
+                        && StringUtils.removeStart(beanName, "scopedTarget.").equals(TicketRegistry.BEAN_NAME)) {
+                        LOGGER.debug("Caching tickets fetched from [{}] for the duration of each request", bean);
+                        return new RequestScopedTicketRegistry((TicketRegistry) bean, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+                    }
+                    return bean;
+                }
+            };
+        }
+
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @Bean
         @ConditionalOnMissingBean(name = "protocolTicketCipherExecutor")
@@ -1,6 +1,9 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
+import org.apereo.cas.ticket.serialization.BinaryTicketCodec;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
 import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
 import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
@@ -56,9 +59,16 @@ public class CasCoreTicketsSerializationConfiguration {
         @ConditionalOnMissingBean(name = "ticketSerializationManager")
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketSerializationManager ticketSerializationManager(
+            final CasConfigurationProperties casProperties,
             @Qualifier("ticketSerializationExecutionPlan")
             final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
-            return new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan);
+            val manager = new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan);
+            val core = casProperties.getTicket().getRegistry().getCore();
+            if (core.getSerializationFormat() == TicketRegistryCoreProperties.TicketSerializationFormatTypes.BINARY) {
+                val compress = core.getSerializationCompression() == TicketRegistryCoreProperties.TicketSerializationCompressionTypes.DEFLATE;
+                return new BinaryTicketSerializationManager(ticketSerializationExecutionPlan, manager, new BinaryTicketCodec(compress));
+            }
+            return manager;
         }
     }
 
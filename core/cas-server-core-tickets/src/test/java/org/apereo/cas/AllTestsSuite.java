@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.ticket.ChildTicketRecordTests;
 import org.apereo.cas.ticket.DefaultEncodedTicketTests;
 import org.apereo.cas.ticket.DefaultTicketCatalogTests;
 import org.apereo.cas.ticket.InvalidTicketExceptionTests;
@@ -30,9 +31,12 @@ import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandlerTests;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandlerTests;
 import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
+import org.apereo.cas.ticket.registry.RequestScopedTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupportTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
+import org.apereo.cas.ticket.registry.TicketExpirationIndexTests;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManagerTests;
 import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManagerTests;
 import org.apereo.cas.util.DefaultUniqueTicketIdGeneratorTests;
 import org.apereo.cas.util.GroovyUniqueTicketIdGeneratorTests;
@@ -55,6 +59,7 @@ import org.junit.platform.suite.api.Suite;
     ServiceTicketImplTests.class,
     TicketGrantingTicketExpirationPolicyBuilderTests.class,
     DefaultTicketStringSerializationManagerTests.class,
+    BinaryTicketSerializationManagerTests.class,
     TicketGrantingTicketImplTests.class,
     UnrecognizableServiceForServiceTicketValidationExceptionTests.class,
     MultiTimeUseOrTimeoutExpirationPolicyTests.class,
@@ -67,6 +72,7 @@ import org.junit.platform.suite.api.Suite;
     DistributedTicketRegistryTests.class,
     Cas10ProxyHandlerTests.class,
     DefaultTicketGrantingTicketFactoryTests.class,
+    ChildTicketRecordTests.class,
     DefaultEncodedTicketTests.class,
     TransientSessionTicketExpirationPolicyBuilderTests.class,
     ProxyGrantingTicketExpirationPolicyBuilderTests.class,
@@ -82,6 +88,8 @@ import org.junit.platform.suite.api.Suite;
     HardTimeoutExpirationPolicyTests.class,
     NeverExpiresExpirationPolicyTests.class,
     DefaultTicketRegistryCleanerTests.class,
+    RequestScopedTicketRegistryTests.class,
+    TicketExpirationIndexTests.class,
     TicketSerializersTests.class,
     InternalTicketValidatorTests.class,
     Cas20ProxyHandlerTests.class,
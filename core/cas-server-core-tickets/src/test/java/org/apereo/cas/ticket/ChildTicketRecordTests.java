@@ -0,0 +1,58 @@
+package org.apereo.cas.ticket;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ChildTicketRecordTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Tickets")
+public class ChildTicketRecordTests {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void verifyRecordsRestoreTicketGrantingTicket(final boolean onlyTrackMostRecentSession) {
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            NeverExpiresExpirationPolicy.INSTANCE);
+        val stored = SerializationUtils.deserialize(SerializationUtils.serialize(tgt), TicketGrantingTicketImpl.class);
+
+        val records = new ArrayList<ChildTicketRecord>();
+        List.of("https://app1.example.org?p=1", "https://app2.example.org", "https://app1.example.org?p=2").forEach(url -> {
+            val id = "ST-" + records.size();
+            tgt.grantServiceTicket(id, RegisteredServiceTestUtils.getService(url),
+                NeverExpiresExpirationPolicy.INSTANCE, false, onlyTrackMostRecentSession);
+            records.add(ChildTicketRecord.of(tgt, id).orElseThrow());
+        });
+        assertEquals(onlyTrackMostRecentSession ? 2 : 3, tgt.getServices().size());
+
+        records.forEach(record -> SerializationUtils.deserialize(SerializationUtils.serialize(record), ChildTicketRecord.class)
+            .applyTo(stored));
+        assertEquals(tgt.getServices().keySet(), stored.getServices().keySet());
+        assertEquals(tgt.getCountOfUses(), stored.getCountOfUses());
+        assertEquals(tgt.getLastTimeUsed(), stored.getLastTimeUsed());
+        assertEquals(tgt.getPreviousTimeUsed(), stored.getPreviousTimeUsed());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ST-1", "PGT-1"})
+    public void verifyUntrackedChildTicket(final String id) {
+        val tgt = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            NeverExpiresExpirationPolicy.INSTANCE);
+        assertTrue(ChildTicketRecord.of(tgt, id).isEmpty());
+    }
+}
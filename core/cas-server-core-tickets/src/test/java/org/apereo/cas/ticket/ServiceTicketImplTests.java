@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -59,6 +60,33 @@ public class ServiceTicketImplTests {
         assertEquals(stWritten, stRead);
     }
 
+    @Test
+    public void verifyTrackedTicketsNotSerialized() throws IOException {
+        val parent = new TicketGrantingTicketImpl(ID, CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        parent.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService("https://first.example.org"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        parent.getDescendantTickets().add("PGT-1");
+        val st = parent.grantServiceTicket(ST_ID, RegisteredServiceTestUtils.getService("https://second.example.org"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false);
+
+        val copied = (ServiceTicketImpl) SerializationUtils.clone(st);
+        assertEquals(parent, copied.getTicketGrantingTicket());
+        assertEquals(parent.getCountOfUses(), copied.getTicketGrantingTicket().getCountOfUses());
+        assertEquals(parent.getAuthentication(), copied.getTicketGrantingTicket().getAuthentication());
+        assertTrue(copied.getTicketGrantingTicket().getServices().isEmpty());
+        assertTrue(copied.getTicketGrantingTicket().getDescendantTickets().isEmpty());
+        assertFalse(copied.isFromNewLogin());
+
+        mapper.writeValue(ST_JSON_FILE, st);
+        val stRead = mapper.readValue(ST_JSON_FILE, ServiceTicketImpl.class);
+        assertEquals(parent, stRead.getTicketGrantingTicket());
+        assertTrue(stRead.getTicketGrantingTicket().getServices().isEmpty());
+        assertTrue(stRead.getTicketGrantingTicket().getDescendantTickets().isEmpty());
+
+        assertEquals(2, parent.getServices().size());
+        assertEquals(1, parent.getDescendantTickets().size());
+    }
+
     @Test
     public void verifyNoService() {
         assertThrows(Exception.class, () -> new ServiceTicketImpl(ST_ID, tgt, null, false, NeverExpiresExpirationPolicy.INSTANCE));
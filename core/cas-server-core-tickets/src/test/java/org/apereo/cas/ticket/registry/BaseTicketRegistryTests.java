@@ -294,6 +294,33 @@ public abstract class BaseTicketRegistryTests {
         assertEquals(Collections.singleton("ST1"), tgt.getServices().keySet());
     }
 
+    @RepeatedTest(2)
+    public void verifyAddChildTickets() {
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+        val tgt = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        IntStream.rangeClosed(0, 3).forEach(i -> {
+            val service = RegisteredServiceTestUtils.getService("https://app" + i % 3 + ".example.org");
+            val st = tgt.grantServiceTicket(serviceTicketId + '-' + i, service, NeverExpiresExpirationPolicy.INSTANCE, false, true);
+            ticketRegistry.addChildTicket(tgt, st);
+            ticketRegistry.addTicket(st);
+        });
+
+        val stored = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        assertNotNull(stored, () -> "Ticket is null. useEncryption[" + useEncryption + ']');
+        assertEquals(tgt.getServices().keySet(), stored.getServices().keySet());
+        assertEquals(3, stored.getServices().size());
+        assertEquals(tgt.getCountOfUses(), stored.getCountOfUses());
+        val serviceTicket = ticketRegistry.getTicket(serviceTicketId + "-3", ServiceTicket.class);
+        assertEquals(tgt, serviceTicket.getTicketGrantingTicket());
+        assertNotNull(serviceTicket.getAuthentication());
+
+        ticketRegistry.updateTicket(stored);
+        assertEquals(tgt.getServices().keySet(),
+            ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class).getServices().keySet());
+        assertEquals(4, ticketRegistry.deleteTicket(ticketGrantingTicketId));
+    }
+
     @RepeatedTest(2)
     public void verifyDeleteAllExistingTickets() {
         assumeTrue(isIterableRegistry());
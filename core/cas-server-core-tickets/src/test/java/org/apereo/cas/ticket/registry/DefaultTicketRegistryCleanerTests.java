@@ -1,15 +1,23 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
 import org.apereo.cas.util.lock.LockRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -31,19 +39,50 @@ public class DefaultTicketRegistryCleanerTests {
         tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(1));
         ticketRegistry.addTicket(tgt);
         assertEquals(ticketRegistry.getTickets().size(), 1);
-        val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry);
+        val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry, new SimpleMeterRegistry());
         tgt.markTicketExpired();
         c.clean();
         assertEquals(ticketRegistry.sessionCount(), 0);
     }
 
+    @Test
+    public void verifyCleanerUsesExpirationIndex() {
+        val now = Instant.now(Clock.systemUTC());
+        val clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(now);
+
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        ticketRegistry.setExpirationIndex(new TicketExpirationIndex(Duration.ofMillis(10), clock));
+        val shortLivedPolicy = new HardTimeoutExpirationPolicy(1);
+        shortLivedPolicy.setClock(clock);
+        val shortLived = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            shortLivedPolicy);
+        ticketRegistry.addTicket(shortLived);
+        val longLivedPolicy = new HardTimeoutExpirationPolicy(600);
+        longLivedPolicy.setClock(clock);
+        val longLived = new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication(),
+            longLivedPolicy);
+        ticketRegistry.addTicket(longLived);
+
+        val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry, new SimpleMeterRegistry());
+        assertEquals(0, c.clean());
+        try (val candidates = ticketRegistry.getExpirationCandidates()) {
+            assertEquals(0, candidates.count());
+        }
+        when(clock.instant()).thenReturn(now.plusSeconds(2));
+        assertEquals(1, c.clean());
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertNotNull(ticketRegistry.getTicket(longLived.getId()));
+    }
 
     @Test
     public void verifyCleanFail() {
         val logoutManager = mock(LogoutManager.class);
         val ticketRegistry = mock(TicketRegistry.class);
         when(ticketRegistry.stream()).thenThrow(IllegalArgumentException.class);
-        val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry);
+        val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry, new SimpleMeterRegistry());
         assertEquals(c.clean(), 0);
     }
 
@@ -51,7 +90,7 @@ public class DefaultTicketRegistryCleanerTests {
     public void verifyNoCleaner() {
         val logoutManager = mock(LogoutManager.class);
         val ticketRegistry = new DefaultTicketRegistry();
-        val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry) {
+        val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry, new SimpleMeterRegistry()) {
             @Override
             protected boolean isCleanerSupported() {
                 return false;
@@ -1,9 +1,12 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.mock.MockServiceTicket;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
@@ -57,6 +60,37 @@ public class DefaultTicketRegistryTests extends BaseTicketRegistryTests {
         assertEquals(1, count);
     }
 
+    @RepeatedTest(1)
+    public void verifySessionsForPrincipal() {
+        val user = "CasUser-" + UUID.randomUUID();
+        val map = new ConcurrentHashMap<String, Ticket>();
+        val registry = new DefaultTicketRegistry(map, CipherExecutor.noOp());
+        val tgt1 = new MockTicketGrantingTicket(user);
+        val tgt2 = new MockTicketGrantingTicket(user);
+        registry.addTicket(tgt1);
+        registry.addTicket(tgt2);
+        registry.addTicket(new MockTicketGrantingTicket(UUID.randomUUID().toString()));
+
+        try (val sessions = registry.getSessionsFor(user.toUpperCase())) {
+            assertEquals(2, sessions.count());
+        }
+        registry.deleteTicket(tgt1.getId());
+        assertEquals(1, registry.countSessionsFor(user));
+        map.remove(tgt2.getId());
+        assertEquals(0, registry.countSessionsFor(user));
+        assertEquals(1, registry.sessionCount());
+    }
+
+    @RepeatedTest(1)
+    public void verifySessionsForPrincipalWithEncryption() {
+        val user = UUID.randomUUID().toString();
+        val cipher = new DefaultTicketCipherExecutor(null, null, "AES", 512, 16, "webflow");
+        val registry = new DefaultTicketRegistry(new ConcurrentHashMap<>(), cipher);
+        registry.addTicket(new TicketGrantingTicketImpl(UUID.randomUUID().toString(),
+            CoreAuthenticationTestUtils.getAuthentication(user), NeverExpiresExpirationPolicy.INSTANCE));
+        assertEquals(1, registry.countSessionsFor(user));
+        assertEquals(0, registry.countSessionsFor(UUID.randomUUID().toString()));
+    }
 
     @RepeatedTest(1)
     public void verifyEncodeFails() {
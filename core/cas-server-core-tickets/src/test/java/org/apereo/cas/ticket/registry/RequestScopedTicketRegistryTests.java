@@ -0,0 +1,94 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RequestScopedTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Tickets")
+public class RequestScopedTicketRegistryTests {
+    private TicketRegistry delegate;
+
+    private RequestScopedTicketRegistry ticketRegistry;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        delegate = spy(new DefaultTicketRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        ticketRegistry = new RequestScopedTicketRegistry(delegate, meterRegistry);
+        ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        delegate.addTicket(ticketGrantingTicket);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void verifyTicketsCachedPerRequest() {
+        val attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        for (var i = 0; i < 5; i++) {
+            assertNotNull(ticketRegistry.getTicket(ticketGrantingTicket.getId(), TicketGrantingTicket.class));
+        }
+        verify(delegate, times(1)).getTicket(ticketGrantingTicket.getId());
+
+        ticketRegistry.updateTicket(ticketGrantingTicket);
+        assertNotNull(ticketRegistry.getTicket(ticketGrantingTicket.getId()));
+        verify(delegate, times(2)).getTicket(ticketGrantingTicket.getId());
+
+        ticketRegistry.deleteTicket(ticketGrantingTicket.getId());
+        assertNull(ticketRegistry.getTicket(ticketGrantingTicket.getId()));
+        attributes.requestCompleted();
+
+        val roundTrips = meterRegistry.find(RequestScopedTicketRegistry.METRIC_ROUND_TRIPS).summary();
+        assertNotNull(roundTrips);
+        assertEquals(1, roundTrips.count());
+        assertEquals(5, roundTrips.totalAmount());
+        assertEquals(4, meterRegistry.find(RequestScopedTicketRegistry.METRIC_CACHE_HITS).counter().count());
+    }
+
+    @Test
+    public void verifyTicketsNotCachedOutsideRequest() {
+        for (var i = 0; i < 3; i++) {
+            assertNotNull(ticketRegistry.getTicket(ticketGrantingTicket.getId()));
+        }
+        verify(delegate, times(3)).getTicket(ticketGrantingTicket.getId());
+    }
+
+    @Test
+    public void verifyAddedTicketsCached() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        val ticket = new TicketGrantingTicketImpl("TGT-2",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(ticket);
+        assertSame(ticket, ticketRegistry.getTicket(ticket.getId()));
+        verify(delegate, never()).getTicket(ticket.getId());
+        assertEquals(2, ticketRegistry.sessionCount());
+    }
+}
@@ -0,0 +1,125 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.RememberMeCredential;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.expiration.RememberMeDelegatingExpirationPolicy;
+import org.apereo.cas.ticket.expiration.TicketGrantingTicketExpirationPolicy;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link TicketExpirationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Tickets")
+public class TicketExpirationIndexTests {
+
+    private static MockTicketGrantingTicket newTicket(final ZonedDateTime created) {
+        val ticket = new MockTicketGrantingTicket("casuser");
+        ticket.setCreated(created);
+        ticket.setExpirationPolicy(new HardTimeoutExpirationPolicy(10));
+        return ticket;
+    }
+
+    @Test
+    public void verifyProjectedExpiration() {
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        val ticket = newTicket(now);
+        assertEquals(now.plusSeconds(10).toInstant(), TicketExpirationIndex.getProjectedExpiration(ticket));
+
+        ticket.setExpirationPolicy(new TicketGrantingTicketExpirationPolicy(100, 5));
+        assertEquals(now.plusSeconds(5).toInstant(), TicketExpirationIndex.getProjectedExpiration(ticket));
+
+        ticket.setExpirationPolicy(NeverExpiresExpirationPolicy.INSTANCE);
+        assertNull(TicketExpirationIndex.getProjectedExpiration(ticket));
+    }
+
+    @Test
+    public void verifyPollOnlyDueTickets() {
+        val index = new TicketExpirationIndex(Duration.ofSeconds(1));
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        val first = newTicket(now);
+        val second = newTicket(now.plusMinutes(1));
+        index.track(first);
+        index.track(second);
+        assertEquals(2, index.size());
+
+        assertTrue(index.poll(now.toInstant()).isEmpty());
+        assertEquals(List.of(first.getId()), index.poll(now.plusSeconds(12).toInstant()));
+        assertTrue(index.poll(now.plusSeconds(12).toInstant()).isEmpty());
+        assertEquals(1, index.size());
+
+        index.untrack(second.getId());
+        assertTrue(index.poll(now.plusMinutes(5).toInstant()).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void verifyTrackingMovesTickets() {
+        val index = new TicketExpirationIndex(Duration.ofSeconds(1));
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        val ticket = newTicket(now);
+        index.track(ticket);
+        ticket.setCreated(now.plusMinutes(1));
+        index.track(ticket);
+        assertEquals(1, index.size());
+        assertTrue(index.poll(now.plusSeconds(12).toInstant()).isEmpty());
+        assertEquals(List.of(ticket.getId()), index.poll(now.plusMinutes(2).toInstant()));
+
+        ticket.setExpirationPolicy(NeverExpiresExpirationPolicy.INSTANCE);
+        index.track(ticket);
+        assertEquals(1, index.size());
+        index.untrack(ticket.getId());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void verifyProjectedExpirationOfDelegatedPolicy() {
+        val policy = new RememberMeDelegatingExpirationPolicy();
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.POLICY_NAME_REMEMBER_ME, new TicketGrantingTicketExpirationPolicy(1000, 500));
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.POLICY_NAME_DEFAULT, new TicketGrantingTicketExpirationPolicy(100, 5));
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser",
+            Map.<String, List<Object>>of(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME, List.of(Boolean.TRUE)));
+        val ticket = new TicketGrantingTicketImpl("TGT-1", authentication, policy);
+        assertEquals(ticket.getLastTimeUsed().plusSeconds(500).toInstant(), TicketExpirationIndex.getProjectedExpiration(ticket));
+    }
+
+    @Test
+    public void verifyUnprojectedTicketsAreAlwaysPolled() {
+        val index = new TicketExpirationIndex(Duration.ofSeconds(1));
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        val ticket = newTicket(now);
+        ticket.setExpirationPolicy(NeverExpiresExpirationPolicy.INSTANCE);
+        index.track(ticket);
+        assertEquals(List.of(ticket.getId()), index.poll(now.toInstant()));
+        assertTrue(index.poll(now.toInstant()).isEmpty());
+        index.track(ticket);
+        assertEquals(List.of(ticket.getId()), index.poll(now.toInstant()));
+    }
+
+    @Test
+    public void verifyTicketsAreNeverTrackedIntoPolledBuckets() {
+        val index = new TicketExpirationIndex(Duration.ofSeconds(1));
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        index.poll(now.plusMinutes(1).toInstant());
+        val ticket = newTicket(now);
+        index.track(ticket);
+        assertEquals(List.of(ticket.getId()), index.poll(now.plusMinutes(1).plusSeconds(2).toInstant()));
+    }
+}
@@ -0,0 +1,119 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreNotificationsConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketIdGeneratorsConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreTicketsSerializationConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.TicketFactory;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link BinaryTicketSerializationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    CasCoreTicketsSerializationConfiguration.class,
+    CasCoreTicketIdGeneratorsConfiguration.class,
+    CasCoreNotificationsConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class
+}, properties = "cas.ticket.registry.core.serialization-format=BINARY")
+@Tag("Tickets")
+public class BinaryTicketSerializationManagerTests {
+    @Autowired
+    @Qualifier("ticketSerializationManager")
+    private TicketSerializationManager ticketSerializationManager;
+
+    @Autowired
+    @Qualifier("ticketSerializationExecutionPlan")
+    private TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+    @Autowired
+    @Qualifier(TicketFactory.BEAN_NAME)
+    private TicketFactory defaultTicketFactory;
+
+    private TicketGrantingTicket getTicketGrantingTicket(final int serviceCount) {
+        val factory = (TicketGrantingTicketFactory) this.defaultTicketFactory.get(TicketGrantingTicket.class);
+        val ticket = factory.create(RegisteredServiceTestUtils.getAuthentication(),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+        val service = RegisteredServiceTestUtils.getService("https://app.example.org/cas/login");
+        for (var i = 0; i < serviceCount; i++) {
+            ticket.grantServiceTicket("ST-" + i, service, NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        }
+        return ticket;
+    }
+
+    @Test
+    public void verifyOperation() {
+        assertTrue(ticketSerializationManager instanceof BinaryTicketSerializationManager);
+        val ticket = getTicketGrantingTicket(50);
+        val result = ticketSerializationManager.serializeTicket(ticket);
+        assertTrue(result.startsWith(BinaryTicketSerializationManager.BINARY_CONTENT_PREFIX));
+
+        val deserializedTicket = ticketSerializationManager.deserializeTicket(result, TicketGrantingTicket.class);
+        assertEquals(ticket, deserializedTicket);
+        assertEquals(50, deserializedTicket.getServices().size());
+        assertEquals(ticket.getAuthentication().getPrincipal(), deserializedTicket.getAuthentication().getPrincipal());
+        assertEquals(ticket, ticketSerializationManager.deserializeTicket(result, ticket.getClass().getName()));
+
+        assertThrows(InvalidTicketException.class, () -> ticketSerializationManager.deserializeTicket(result, ProxyTicket.class));
+    }
+
+    @Test
+    public void verifyBinaryIsSmallerThanJson() {
+        val ticket = getTicketGrantingTicket(100);
+        val json = new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan).serializeTicket(ticket);
+        val binary = ticketSerializationManager.serializeTicket(ticket);
+        assertTrue(binary.length() < json.length() / 2);
+    }
+
+    @Test
+    public void verifyJsonIsReadDuringMigration() {
+        val ticket = getTicketGrantingTicket(5);
+        val json = new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan).serializeTicket(ticket);
+        val deserializedTicket = ticketSerializationManager.deserializeTicket(json, TicketGrantingTicket.class);
+        assertEquals(ticket, deserializedTicket);
+        assertEquals(5, deserializedTicket.getServices().size());
+    }
+
+    @Test
+    public void verifyUncompressedCodec() {
+        val codec = new BinaryTicketCodec(false);
+        val manager = new BinaryTicketSerializationManager(ticketSerializationExecutionPlan,
+            new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan), codec);
+        val ticket = getTicketGrantingTicket(10);
+        val result = manager.serializeTicket(ticket);
+        assertEquals(ticket, manager.deserializeTicket(result, TicketGrantingTicket.class));
+        assertThrows(InvalidTicketException.class,
+            () -> manager.deserializeTicket(BinaryTicketSerializationManager.BINARY_CONTENT_PREFIX + "AAAA", TicketGrantingTicket.class));
+    }
+}
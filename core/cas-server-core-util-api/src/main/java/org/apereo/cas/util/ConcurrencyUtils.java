@@ -0,0 +1,34 @@
+package org.apereo.cas.util;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ConcurrencyUtils}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@UtilityClass
+public class ConcurrencyUtils {
+    /**
+     * Build an executor that runs at most the given number of tasks concurrently.
+     * Tasks submitted while all threads are busy are not queued and run
+     * on the submitting thread instead. Idle threads are released after a minute.
+     *
+     * @param poolSize         the maximum number of threads
+     * @param threadNamePrefix the thread name prefix
+     * @return the executor
+     */
+    public static ThreadPoolExecutor newCallerRunsExecutor(final int poolSize, final String threadNamePrefix) {
+        val executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.MINUTES, new SynchronousQueue<>(),
+            new CustomizableThreadFactory(threadNamePrefix), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -1,5 +1,10 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.configuration.model.core.authentication.HttpClientPoolProperties;
+import org.apereo.cas.util.http.PooledHttpClient;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -9,23 +14,21 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
-import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
@@ -40,15 +43,6 @@ import java.util.Map;
 @Slf4j
 @UtilityClass
 public class HttpUtils {
-    private static final int MAX_CONNECTIONS = 200;
-
-    private static final int MAX_CONNECTIONS_PER_ROUTE = 20;
-
-    private static final int CONNECT_TIMEOUT_IN_MILLISECONDS = 500;
-
-    private static final int CONNECTION_REQUEST_TIMEOUT_IN_MILLISECONDS = 5 * 1000;
-
-    private static final int SOCKET_TIMEOUT_IN_MILLISECONDS = 10 * 1000;
 
     @SuperBuilder
     @Getter
@@ -96,6 +90,8 @@ public class HttpUtils {
     
     /**
      * Execute http request and produce a response.
+     * Requests are executed over the shared {@link PooledHttpClient}, so the response
+     * must be closed via {@link #close(HttpResponse)} to return the connection to the pool.
      *
      * @param execution the request
      * @return the http response
@@ -106,14 +102,7 @@ public class HttpUtils {
             val request = getHttpRequestByMethod(execution.getMethod().name().toLowerCase().trim(), execution.getEntity(), uri);
             execution.getHeaders().forEach((k, v) -> request.addHeader(k, v.toString()));
             prepareHttpRequest(request, execution);
-            val builder = getHttpClientBuilder();
-            if (StringUtils.isNotBlank(execution.getProxyUrl())) {
-                val proxyEndpoint = new URL(execution.getProxyUrl());
-                val proxy = new HttpHost(proxyEndpoint.getHost(), proxyEndpoint.getPort(), proxyEndpoint.getProtocol());
-                builder.setProxy(proxy);
-            }
-            val client = builder.build();
-            return client.execute(request);
+            return getPooledHttpClient().execute(request, execution.getProxyUrl());
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
         }
@@ -121,7 +110,8 @@ public class HttpUtils {
     }
 
     /**
-     * Close the response.
+     * Close the response. Any remaining content is consumed first,
+     * so the connection can be kept alive and reused by the pool.
      *
      * @param response the response to close
      */
@@ -129,6 +119,7 @@ public class HttpUtils {
         if (response instanceof CloseableHttpResponse) {
             val closeableHttpResponse = (CloseableHttpResponse) response;
             try {
+                EntityUtils.consumeQuietly(closeableHttpResponse.getEntity());
                 closeableHttpResponse.close();
             } catch (final Exception e) {
                 LoggingUtils.error(LOGGER, e);
@@ -210,17 +201,16 @@ public class HttpUtils {
         return uriBuilder.build();
     }
 
-    private HttpClientBuilder getHttpClientBuilder() {
-        val requestConfig = RequestConfig.custom();
-        requestConfig.setConnectTimeout(CONNECT_TIMEOUT_IN_MILLISECONDS);
-        requestConfig.setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_IN_MILLISECONDS);
-        requestConfig.setSocketTimeout(SOCKET_TIMEOUT_IN_MILLISECONDS);
-
-        return HttpClientBuilder
-            .create()
-            .useSystemProperties()
-            .setMaxConnTotal(MAX_CONNECTIONS)
-            .setMaxConnPerRoute(MAX_CONNECTIONS_PER_ROUTE)
-            .setDefaultRequestConfig(requestConfig.build());
+    private static PooledHttpClient getPooledHttpClient() {
+        return ApplicationContextProvider.getPooledHttpClient()
+            .orElseGet(() -> DefaultPooledHttpClientHolder.INSTANCE);
+    }
+
+    /**
+     * Holds the pooled client that is used when none is defined in the application context.
+     */
+    private static class DefaultPooledHttpClientHolder {
+        static final PooledHttpClient INSTANCE = new PooledHttpClient(
+            new HttpClientPoolProperties(), SSLConnectionSocketFactory.getSystemSocketFactory(), new SimpleMeterRegistry());
     }
 }
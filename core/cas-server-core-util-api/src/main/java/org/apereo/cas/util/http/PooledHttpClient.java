@@ -0,0 +1,252 @@
+package org.apereo.cas.util.http;
+
+import org.apereo.cas.configuration.model.core.authentication.HttpClientPoolProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.LoggingUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.net.ProxySelector;
+import java.net.URL;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link PooledHttpClient}.
+ * <p>
+ * Executes requests over a shared pool of keep-alive connections, so that
+ * connections (and TLS sessions) to the same destination are reused across requests.
+ * Requests that are sent through a proxy share the same pool, since the proxy
+ * is part of the route that identifies pooled connections.
+ * <p>
+ * The utilization of the pool is exported as metrics, along with the latency of requests.
+ * Requests are tagged with their destination host only if the host has its own connection limit,
+ * which keeps the number of distinct tags bounded by configuration; all other requests are tagged as {@value #OTHER_HOSTS}.
+ * <p>
+ * Once destroyed, for instance when the bean is refreshed, requests that are in flight are given
+ * a chance to complete and return their connections before the pool is shut down.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class PooledHttpClient implements DisposableBean {
+    /**
+     * Bean name.
+     */
+    public static final String BEAN_NAME = "pooledHttpClient";
+
+    /**
+     * Metric that times requests, tagged by destination host, method and status.
+     */
+    public static final String METRIC_REQUESTS = "cas.http.client.requests";
+
+    /**
+     * Host tag of requests sent to hosts without their own connection limit.
+     */
+    public static final String OTHER_HOSTS = "other";
+
+    private static final String POOL_NAME = "cas-http-client";
+
+    private static final long SHUTDOWN_POLL_INTERVAL_MILLIS = 50;
+
+    @Getter
+    private final HttpClientPoolProperties properties;
+
+    @Getter
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final PooledClient httpClient;
+
+    private final Map<String, PooledClient> proxiedHttpClients = new ConcurrentHashMap<>();
+
+    private final Set<HttpRoute> configuredRoutes = ConcurrentHashMap.newKeySet();
+
+    private final RequestConfig requestConfig;
+
+    private final MeterRegistry meterRegistry;
+
+    public PooledHttpClient(final HttpClientPoolProperties properties,
+                            final SSLConnectionSocketFactory sslSocketFactory,
+                            final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        val registry = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", sslSocketFactory)
+            .build();
+        val timeToLive = Beans.newDuration(properties.getTimeToLive()).toMillis();
+        this.connectionManager = new PoolingHttpClientConnectionManager(registry, null, null, null,
+            timeToLive > 0 ? timeToLive : -1, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        connectionManager.setValidateAfterInactivity((int) Beans.newDuration(properties.getValidateAfterInactivity()).toMillis());
+
+        this.requestConfig = RequestConfig.custom()
+            .setConnectTimeout((int) Beans.newDuration(properties.getConnectTimeout()).toMillis())
+            .setConnectionRequestTimeout((int) Beans.newDuration(properties.getConnectionRequestTimeout()).toMillis())
+            .setSocketTimeout((int) Beans.newDuration(properties.getResponseTimeout()).toMillis())
+            .build();
+
+        val routePlanner = new SystemDefaultRoutePlanner(DefaultSchemePortResolver.INSTANCE, ProxySelector.getDefault());
+        val idleTimeout = Beans.newDuration(properties.getIdleTimeout()).toMillis();
+        val builder = newHttpClientBuilder(routePlanner).evictExpiredConnections();
+        if (idleTimeout > 0) {
+            builder.evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }
+        this.httpClient = new PooledClient(builder.build(), routePlanner);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+    }
+
+    /**
+     * Execute the request, optionally through the given proxy.
+     * The response must be closed by the caller for the connection to be returned to the pool.
+     *
+     * @param request  the request
+     * @param proxyUrl the proxy url, if any
+     * @return the response
+     * @throws IOException the exception
+     */
+    public CloseableHttpResponse execute(final HttpUriRequest request, final String proxyUrl) throws IOException {
+        val target = URIUtils.extractHost(request.getURI());
+        val client = StringUtils.isBlank(proxyUrl)
+            ? httpClient
+            : proxiedHttpClients.computeIfAbsent(proxyUrl, this::buildProxiedHttpClient);
+        configureMaxConnections(client, target, request);
+
+        val sample = Timer.start(meterRegistry);
+        var status = "IO_ERROR";
+        try {
+            val response = client.getHttpClient().execute(target, request);
+            status = String.valueOf(response.getStatusLine().getStatusCode());
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer(METRIC_REQUESTS,
+                "host", getHostTag(target),
+                "method", request.getMethod(),
+                "status", status));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        awaitLeasedConnections();
+        proxiedHttpClients.values().forEach(PooledClient::close);
+        httpClient.close();
+        connectionManager.shutdown();
+    }
+
+    private void awaitLeasedConnections() {
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+        val timeout = Beans.newDuration(properties.getShutdownTimeout()).toMillis();
+        val deadline = System.currentTimeMillis() + timeout;
+        var leased = connectionManager.getTotalStats().getLeased();
+        while (leased > 0 && System.currentTimeMillis() < deadline) {
+            LOGGER.debug("Waiting for [{}] pooled connection(s) to be released before shutting down", leased);
+            try {
+                Thread.sleep(SHUTDOWN_POLL_INTERVAL_MILLIS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            leased = connectionManager.getTotalStats().getLeased();
+        }
+        if (leased > 0) {
+            LOGGER.warn("Shutting down connection pool with [{}] connection(s) still in use", leased);
+        }
+    }
+
+    private String getHostTag(final HttpHost target) {
+        val limits = properties.getMaxConnectionsPerHost();
+        if (target != null && (limits.containsKey(target.toHostString()) || limits.containsKey(target.getHostName()))) {
+            return target.getHostName();
+        }
+        return OTHER_HOSTS;
+    }
+
+    private HttpClientBuilder newHttpClientBuilder(final HttpRoutePlanner routePlanner) {
+        return HttpClientBuilder.create()
+            .useSystemProperties()
+            .setConnectionManager(connectionManager)
+            .setConnectionManagerShared(true)
+            .setRoutePlanner(routePlanner)
+            .setDefaultRequestConfig(requestConfig);
+    }
+
+    private PooledClient buildProxiedHttpClient(final String proxyUrl) {
+        try {
+            val proxyEndpoint = new URL(proxyUrl);
+            val proxy = new HttpHost(proxyEndpoint.getHost(), proxyEndpoint.getPort(), proxyEndpoint.getProtocol());
+            val routePlanner = new DefaultProxyRoutePlanner(proxy);
+            return new PooledClient(newHttpClientBuilder(routePlanner).build(), routePlanner);
+        } catch (final Exception e) {
+            throw new IllegalArgumentException("Invalid proxy url " + proxyUrl, e);
+        }
+    }
+
+    private void configureMaxConnections(final PooledClient client, final HttpHost target, final HttpUriRequest request) {
+        val limits = properties.getMaxConnectionsPerHost();
+        if (limits.isEmpty() || target == null) {
+            return;
+        }
+        val max = limits.getOrDefault(target.toHostString(), limits.get(target.getHostName()));
+        if (max == null) {
+            return;
+        }
+        try {
+            val route = client.getRoutePlanner().determineRoute(target, request, HttpClientContext.create());
+            if (configuredRoutes.add(route)) {
+                LOGGER.debug("Allowing up to [{}] pooled connections for route [{}]", max, route);
+                connectionManager.setMaxPerRoute(route, max);
+            }
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class PooledClient {
+        private final CloseableHttpClient httpClient;
+
+        private final HttpRoutePlanner routePlanner;
+
+        void close() {
+            try {
+                httpClient.close();
+            } catch (final Exception e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        }
+    }
+}
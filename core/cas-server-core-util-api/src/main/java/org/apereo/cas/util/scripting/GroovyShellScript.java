@@ -1,15 +1,22 @@
 package org.apereo.cas.util.scripting;
 
+import groovy.lang.Binding;
 import groovy.lang.Script;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * This is {@link GroovyShellScript}.
+ * <p>
+ * The script is compiled once, and every execution runs a separate instance of the compiled
+ * script with its own binding, so that the script may be executed concurrently. Variables that are
+ * passed via {@link #setBinding(Map)} are only bound to the next execution carried out by the same thread.
  *
  * @author Misagh Moayyed
  * @since 6.0.0
@@ -17,8 +24,11 @@ import java.util.Map;
 @Getter
 public class GroovyShellScript implements ExecutableCompiledGroovyScript {
     private final transient Script groovyScript;
+
     private final String script;
 
+    private final transient ThreadLocal<Map<String, Object>> bindings = new ThreadLocal<>();
+
     @SneakyThrows
     public GroovyShellScript(final String script) {
         this.script = script;
@@ -59,8 +69,12 @@ public class GroovyShellScript implements ExecutableCompiledGroovyScript {
      */
     @Override
     public <T> T execute(final Object[] args, final Class<T> clazz, final boolean failOnError) {
+        val variables = bindings.get();
+        bindings.remove();
         if (this.groovyScript != null) {
-            return ScriptingUtils.executeGroovyShellScript(this.groovyScript, clazz);
+            val binding = new Binding(variables == null ? new HashMap<>() : new HashMap<>(variables));
+            val scriptInstance = InvokerHelper.createScript(this.groovyScript.getClass(), binding);
+            return ScriptingUtils.executeGroovyShellScript(scriptInstance, clazz);
         }
         return null;
     }
@@ -73,8 +87,9 @@ public class GroovyShellScript implements ExecutableCompiledGroovyScript {
     @Override
     public void setBinding(final Map<String, Object> variables) {
         if (variables != null && !variables.isEmpty()) {
-            val binding = this.groovyScript.getBinding();
-            variables.forEach(binding::setVariable);
+            bindings.set(variables);
+        } else {
+            bindings.remove();
         }
     }
     
@@ -84,4 +99,9 @@ public class GroovyShellScript implements ExecutableCompiledGroovyScript {
             .append("script", script)
             .toString();
     }
+
+    @Override
+    public void close() {
+        bindings.remove();
+    }
 }
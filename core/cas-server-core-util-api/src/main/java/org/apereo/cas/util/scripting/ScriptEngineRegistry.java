@@ -0,0 +1,267 @@
+package org.apereo.cas.util.scripting;
+
+import org.apereo.cas.util.io.PathWatcherService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link ScriptEngineRegistry}, which keeps script engines per language
+ * along with compiled scripts, so that scripts executed via JSR-223 engines are only compiled once.
+ * <p>
+ * Inline scripts are compiled by the engine of their language and evaluated with their own bindings.
+ * Script files are compiled and evaluated into an engine of their own, so that the functions they define
+ * do not clash with those of other script files; such entries are evicted once the file changes.
+ * A single watcher is started per directory that holds cached script files, and is stopped once
+ * none of its script files remain cached or the registry is closed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class ScriptEngineRegistry implements AutoCloseable, DisposableBean {
+    /**
+     * Default bean name.
+     */
+    public static final String BEAN_NAME = "scriptEngineRegistry";
+
+    private static final Duration EXPIRATION_AFTER_ACCESS = Duration.ofHours(8);
+
+    private static final String THREADING_PARAMETER = "THREADING";
+
+    private final ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
+
+    private final Map<String, ScriptEngine> engines = new ConcurrentHashMap<>();
+
+    private final Cache<String, CompiledScript> inlineScripts;
+
+    private final Cache<String, ScriptFile> scriptFiles;
+
+    private final Map<Path, ScriptDirectory> directories = new ConcurrentHashMap<>();
+
+    public ScriptEngineRegistry() {
+        this.inlineScripts = Caffeine.newBuilder()
+            .initialCapacity(100)
+            .maximumSize(1000)
+            .expireAfterAccess(EXPIRATION_AFTER_ACCESS)
+            .build();
+        this.scriptFiles = Caffeine.newBuilder()
+            .initialCapacity(100)
+            .maximumSize(1000)
+            .expireAfterAccess(EXPIRATION_AFTER_ACCESS)
+            .removalListener((RemovalListener<String, ScriptFile>) (key, value, cause) -> {
+                LOGGER.trace("Removing script [{}] from cache; removal cause is [{}]", key, cause);
+                unwatch(Objects.requireNonNull(value));
+            })
+            .build();
+    }
+
+    private static Object compileAndEvaluate(final ScriptEngine engine, final Reader reader) throws ScriptException {
+        if (engine instanceof Compilable) {
+            return ((Compilable) engine).compile(reader).eval();
+        }
+        return engine.eval(reader);
+    }
+
+    /**
+     * Gets the script engine shared for the given language.
+     *
+     * @param engineName the engine name
+     * @return the script engine, or null if no engine is available for the language.
+     */
+    public ScriptEngine getScriptEngine(final String engineName) {
+        val engine = engines.get(engineName);
+        if (engine != null) {
+            return engine;
+        }
+        val newEngine = scriptEngineManager.getEngineByName(engineName);
+        if (newEngine == null) {
+            return null;
+        }
+        val existing = engines.putIfAbsent(engineName, newEngine);
+        return existing != null ? existing : newEngine;
+    }
+
+    /**
+     * Evaluate an inline script with the given bindings, compiling it the first time it is seen.
+     *
+     * @param engineName the engine name
+     * @param script     the script
+     * @param bindings   the bindings
+     * @return the result
+     * @throws ScriptException the script exception
+     */
+    public Object eval(final String engineName, final String script, final Bindings bindings) throws ScriptException {
+        val engine = Objects.requireNonNull(getScriptEngine(engineName), () -> "No script engine is found for " + engineName);
+        if (!(engine instanceof Compilable)) {
+            return engine.eval(script, bindings);
+        }
+        val compiledScript = inlineScripts.get(engineName + ':' + script, key -> compile((Compilable) engine, script));
+        return compiledScript.eval(bindings);
+    }
+
+    /**
+     * Invoke the function defined by the given script file, compiling the script the first time it is seen
+     * or after it has changed.
+     *
+     * @param engineName   the engine name
+     * @param file         the script file
+     * @param functionName the function name
+     * @param args         the args
+     * @return the result
+     * @throws Exception the exception
+     */
+    public Object invokeFunction(final String engineName, final File file,
+                                 final String functionName, final Object... args) throws Exception {
+        val key = engineName + ':' + file.getCanonicalPath();
+        val scriptFile = scriptFiles.get(key, k -> loadScriptFile(k, engineName, file));
+        return scriptFile.invokeFunction(functionName, args);
+    }
+
+    /**
+     * Evict all cached scripts.
+     */
+    public void clear() {
+        inlineScripts.invalidateAll();
+        scriptFiles.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        clear();
+        directories.values().forEach(directory -> directory.getWatcherService().close());
+        directories.clear();
+        engines.clear();
+    }
+
+    @Override
+    public void destroy() {
+        close();
+    }
+
+    /**
+     * Gets the number of directories whose script files are watched for changes.
+     *
+     * @return the count
+     */
+    public int getWatchedDirectoryCount() {
+        return directories.size();
+    }
+
+    @SneakyThrows
+    private static CompiledScript compile(final Compilable engine, final String script) {
+        LOGGER.trace("Compiling script [{}]", script);
+        return engine.compile(script);
+    }
+
+    @SneakyThrows
+    private ScriptFile loadScriptFile(final String key, final String engineName, final File file) {
+        val engine = Objects.requireNonNull(scriptEngineManager.getEngineByName(engineName),
+            () -> "No script engine is found for " + engineName);
+        LOGGER.debug("Compiling [{}] script [{}]", engineName, file);
+        try (val reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            compileAndEvaluate(engine, reader);
+        }
+        val threadSafe = engine.getFactory().getParameter(THREADING_PARAMETER) != null;
+        val scriptFile = new ScriptFile(key, file.getCanonicalFile(), (Invocable) engine, threadSafe);
+        watch(scriptFile);
+        return scriptFile;
+    }
+
+    private void watch(final ScriptFile scriptFile) {
+        val path = scriptFile.getFile().getParentFile().toPath();
+        directories.compute(path, (dir, existing) -> {
+            val directory = existing != null ? existing : startWatching(dir);
+            directory.getScriptFiles().add(scriptFile);
+            return directory;
+        });
+    }
+
+    private void unwatch(final ScriptFile scriptFile) {
+        val path = scriptFile.getFile().getParentFile().toPath();
+        directories.computeIfPresent(path, (dir, directory) -> {
+            directory.getScriptFiles().remove(scriptFile);
+            if (directory.getScriptFiles().isEmpty()) {
+                LOGGER.trace("Stopping to watch script directory [{}]", dir);
+                directory.getWatcherService().close();
+                return null;
+            }
+            return directory;
+        });
+    }
+
+    private ScriptDirectory startWatching(final Path path) {
+        val scriptFiles = ConcurrentHashMap.<ScriptFile>newKeySet();
+        val watcherService = new PathWatcherService(path, this::invalidate, this::invalidate, this::invalidate);
+        watcherService.start("cas-script-watcher-" + path.getFileName());
+        return new ScriptDirectory(watcherService, scriptFiles);
+    }
+
+    private void invalidate(final File changed) {
+        val path = changed.toPath().getParent();
+        val directory = directories.get(path);
+        if (directory != null) {
+            directory.getScriptFiles()
+                .stream()
+                .filter(scriptFile -> scriptFile.getFile().getName().equals(changed.getName()))
+                .forEach(scriptFile -> {
+                    LOGGER.debug("Script [{}] has changed and will be recompiled", changed);
+                    scriptFiles.asMap().remove(scriptFile.getKey(), scriptFile);
+                });
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class ScriptDirectory {
+        private final PathWatcherService watcherService;
+
+        private final Set<ScriptFile> scriptFiles;
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class ScriptFile {
+        private final String key;
+
+        private final File file;
+
+        private final Invocable invocable;
+
+        private final boolean threadSafe;
+
+        Object invokeFunction(final String functionName, final Object... args) throws Exception {
+            if (threadSafe) {
+                return invocable.invokeFunction(functionName, args);
+            }
+            synchronized (this) {
+                return invocable.invokeFunction(functionName, args);
+            }
+        }
+    }
+}
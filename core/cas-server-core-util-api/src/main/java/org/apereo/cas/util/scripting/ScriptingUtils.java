@@ -19,14 +19,11 @@ import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.springframework.core.io.Resource;
 
-import javax.script.Invocable;
-import javax.script.ScriptEngineManager;
 import javax.script.SimpleBindings;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -59,6 +56,19 @@ public class ScriptingUtils {
      */
     private static final Pattern FILE_GROOVY_PATTERN = RegexUtils.createPattern(String.format(FILE_PATTERN, "groovy"));
 
+    private static final ScriptEngineRegistry SCRIPT_ENGINE_REGISTRY = new ScriptEngineRegistry();
+
+    /**
+     * Gets the registry of script engines and compiled scripts used when executing scripts via JSR-223 engines.
+     * The registry is exposed as a bean so that cached scripts and their watchers are released
+     * when the application context is closed; it is repopulated on demand afterwards.
+     *
+     * @return the script engine registry
+     */
+    public static ScriptEngineRegistry getScriptEngineRegistry() {
+        return SCRIPT_ENGINE_REGISTRY;
+    }
+
     /**
      * Is inline groovy script ?.
      *
@@ -378,18 +388,11 @@ public class ScriptingUtils {
                 LOGGER.warn("Script engine name can not be determined for [{}]", engineName);
                 return null;
             }
-            val engine = new ScriptEngineManager().getEngineByName(engineName);
             val resourceFrom = ResourceUtils.getResourceFrom(scriptFile);
             val theScriptFile = resourceFrom.getFile();
             if (theScriptFile.exists()) {
-                LOGGER.debug("Created object instance from class [{}]", theScriptFile.getCanonicalPath());
-
-                try (val reader = Files.newBufferedReader(theScriptFile.toPath(), StandardCharsets.UTF_8)) {
-                    engine.eval(reader);
-                }
-                val invocable = (Invocable) engine;
-                LOGGER.debug("Executing script's run method, with parameters [{}]", args);
-                val result = invocable.invokeFunction("run", args);
+                LOGGER.debug("Executing script's run method in [{}], with parameters [{}]", theScriptFile.getCanonicalPath(), args);
+                val result = SCRIPT_ENGINE_REGISTRY.invokeFunction(engineName, theScriptFile, "run", args);
                 LOGGER.debug("Groovy script result is [{}]", result);
                 return getGroovyScriptExecutionResultOrThrow(clazz, result);
             }
@@ -413,7 +416,6 @@ public class ScriptingUtils {
                                                   final Map<String, Object> variables,
                                                   final Class<T> clazz) {
         try {
-            val engine = new ScriptEngineManager().getEngineByName("groovy");
             val binding = new SimpleBindings();
             if (variables != null && !variables.isEmpty()) {
                 binding.putAll(variables);
@@ -421,7 +423,7 @@ public class ScriptingUtils {
             if (!binding.containsKey("logger")) {
                 binding.put("logger", LOGGER);
             }
-            val result = engine.eval(script, binding);
+            val result = SCRIPT_ENGINE_REGISTRY.eval("groovy", script, binding);
             return getGroovyScriptExecutionResultOrThrow(clazz, result);
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
@@ -6,6 +6,7 @@ import org.apereo.cas.authentication.principal.PrincipalAttributesRepositoryCach
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.authentication.principal.RegisteredServicePrincipalAttributesRepository;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.util.http.PooledHttpClient;
 import org.apereo.cas.util.scripting.ExecutableCompiledGroovyScript;
 import org.apereo.cas.util.scripting.ScriptResourceCacheManager;
 
@@ -181,4 +182,16 @@ public class ApplicationContextProvider implements ApplicationContextAware {
         }
         return Optional.empty();
     }
+
+    /**
+     * Gets pooled http client.
+     *
+     * @return the pooled http client
+     */
+    public static Optional<PooledHttpClient> getPooledHttpClient() {
+        if (CONTEXT != null && CONTEXT.containsBean(PooledHttpClient.BEAN_NAME)) {
+            return Optional.of(CONTEXT.getBean(PooledHttpClient.BEAN_NAME, PooledHttpClient.class));
+        }
+        return Optional.empty();
+    }
 }
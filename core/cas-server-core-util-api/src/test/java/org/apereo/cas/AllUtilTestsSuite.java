@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.util.ConcurrencyUtilsTests;
 import org.apereo.cas.util.DigestUtilsTests;
 import org.apereo.cas.util.HttpRequestUtilsTests;
 import org.apereo.cas.util.HttpUtilsTests;
@@ -13,12 +14,14 @@ import org.apereo.cas.util.crypto.GlibcCryptPasswordEncoderTests;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBeanTests;
 import org.apereo.cas.util.crypto.PublicKeyFactoryBeanTests;
 import org.apereo.cas.util.function.FunctionUtilsTests;
+import org.apereo.cas.util.http.PooledHttpClientTests;
 import org.apereo.cas.util.http.SimpleHttpClientFactoryBeanTests;
 import org.apereo.cas.util.io.FileWatcherServiceTests;
 import org.apereo.cas.util.io.PathWatcherServiceTests;
 import org.apereo.cas.util.io.TemporaryFileSystemResourceTests;
 import org.apereo.cas.util.scripting.GroovyScriptResourceCacheManagerTests;
 import org.apereo.cas.util.scripting.GroovyShellScriptTests;
+import org.apereo.cas.util.scripting.ScriptEngineRegistryTests;
 import org.apereo.cas.util.scripting.WatchableGroovyScriptResourceTests;
 import org.apereo.cas.util.serialization.MessageSanitizationUtilsTests;
 import org.apereo.cas.util.serialization.SerializationUtilsTests;
@@ -49,6 +52,7 @@ import org.junit.platform.suite.api.Suite;
     GlibcCryptPasswordEncoderTests.class,
     DefaultCasBannerTests.class,
     GroovyShellScriptTests.class,
+    ScriptEngineRegistryTests.class,
     FunctionUtilsTests.class,
     CertUtilsTests.class,
     PrivateKeyFactoryBeanTests.class,
@@ -61,10 +65,12 @@ import org.junit.platform.suite.api.Suite;
     ConvertersTests.class,
     BeanDefinitionStoreFailureAnalyzerTests.class,
     ConditionalOnMatchingHostnameTests.class,
+    PooledHttpClientTests.class,
     SimpleHttpClientFactoryBeanTests.class,
     GroovyScriptResourceCacheManagerTests.class,
     LoggingUtilsTests.class,
     SocketUtilsTests.class,
+    ConcurrencyUtilsTests.class,
     BeanContainerTests.class,
     MessageSanitizationUtilsTests.class,
     InetAddressUtilsTests.class,
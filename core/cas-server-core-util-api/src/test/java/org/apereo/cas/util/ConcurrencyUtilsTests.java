@@ -0,0 +1,38 @@
+package org.apereo.cas.util;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ConcurrencyUtilsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Utility")
+public class ConcurrencyUtilsTests {
+    @Test
+    public void verifyTasksRunOnCallerWhenSaturated() throws Exception {
+        val executor = ConcurrencyUtils.newCallerRunsExecutor(1, "cas-test-");
+        try {
+            val latch = new CountDownLatch(1);
+            executor.submit(() -> {
+                latch.await();
+                return null;
+            });
+            val caller = executor.submit(() -> Thread.currentThread().getName());
+            assertEquals(Thread.currentThread().getName(), caller.get(1, TimeUnit.SECONDS));
+            latch.countDown();
+            assertTrue(executor.allowsCoreThreadTimeOut());
+            assertEquals(1, executor.getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
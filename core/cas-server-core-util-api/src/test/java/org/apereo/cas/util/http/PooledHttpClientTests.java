@@ -0,0 +1,115 @@
+package org.apereo.cas.util.http;
+
+import org.apereo.cas.configuration.model.core.authentication.HttpClientPoolProperties;
+import org.apereo.cas.util.HttpUtils;
+import org.apereo.cas.util.MockWebServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link PooledHttpClientTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Utility")
+public class PooledHttpClientTests {
+    private SimpleMeterRegistry meterRegistry;
+
+    private PooledHttpClient httpClient;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        val properties = new HttpClientPoolProperties();
+        properties.getMaxConnectionsPerHost().put("localhost", 5);
+        httpClient = new PooledHttpClient(properties, SSLConnectionSocketFactory.getSystemSocketFactory(), meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpClient.destroy();
+    }
+
+    @Test
+    public void verifyConnectionsReturnToPool() throws Exception {
+        try (val webServer = new MockWebServer(9312, "Hello")) {
+            webServer.start();
+            for (var i = 0; i < 3; i++) {
+                val response = httpClient.execute(new HttpGet("http://localhost:9312"), null);
+                assertEquals(200, response.getStatusLine().getStatusCode());
+                HttpUtils.close(response);
+            }
+            val connectionManager = httpClient.getConnectionManager();
+            assertEquals(0, connectionManager.getTotalStats().getLeased());
+            assertEquals(5, connectionManager.getMaxPerRoute(new HttpRoute(new HttpHost("localhost", 9312, "http"))));
+
+            val timer = meterRegistry.find(PooledHttpClient.METRIC_REQUESTS)
+                .tag("host", "localhost")
+                .tag("status", "200")
+                .timer();
+            assertNotNull(timer);
+            assertEquals(3, timer.count());
+        }
+    }
+
+    @Test
+    public void verifyFailedRequestsAreTimed() {
+        assertThrows(IOException.class, () -> httpClient.execute(new HttpGet("http://localhost:9313"), null));
+        val timer = meterRegistry.find(PooledHttpClient.METRIC_REQUESTS)
+            .tag("host", "localhost")
+            .tag("status", "IO_ERROR")
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void verifyBadProxy() {
+        assertThrows(IllegalArgumentException.class,
+            () -> httpClient.execute(new HttpGet("http://localhost:9313"), "bad-proxy"));
+    }
+
+    @Test
+    public void verifyUnlimitedHostsShareTag() {
+        assertThrows(IOException.class, () -> httpClient.execute(new HttpGet("http://127.0.0.1:9313"), null));
+        val timer = meterRegistry.find(PooledHttpClient.METRIC_REQUESTS)
+            .tag("host", PooledHttpClient.OTHER_HOSTS)
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void verifyDestroyWaitsForLeasedConnections() throws Exception {
+        try (val webServer = new MockWebServer(9314, "Hello")) {
+            webServer.start();
+            val response = httpClient.execute(new HttpGet("http://localhost:9314"), null);
+            val releaser = new Thread(() -> {
+                try {
+                    Thread.sleep(500);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                HttpUtils.close(response);
+            });
+            releaser.start();
+            httpClient.destroy();
+            releaser.join();
+            assertEquals(0, httpClient.getConnectionManager().getTotalStats().getLeased());
+        }
+    }
+}
@@ -6,6 +6,13 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -43,4 +50,33 @@ public class GroovyShellScriptTests {
             }
         });
     }
+
+    @Test
+    public void verifyConcurrentExecution() throws Exception {
+        val shell = new GroovyShellScript("Thread.sleep(1); return name");
+        val executor = Executors.newFixedThreadPool(16);
+        try {
+            val tasks = IntStream.range(0, 500)
+                .mapToObj(i -> (Callable<Boolean>) () -> {
+                    val name = "casuser" + i;
+                    shell.setBinding(Map.of("name", name));
+                    return name.equals(shell.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, String.class));
+                })
+                .collect(Collectors.toList());
+            for (val result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void verifyBindingIsNotRetained() {
+        val shell = new GroovyShellScript("return binding.hasVariable('name') ? name : 'none'");
+        shell.setBinding(Map.of("name", "casuser"));
+        assertEquals("casuser", shell.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, String.class));
+        assertEquals("none", shell.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, String.class));
+    }
 }
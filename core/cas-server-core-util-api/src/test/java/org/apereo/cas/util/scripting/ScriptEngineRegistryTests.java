@@ -0,0 +1,70 @@
+package org.apereo.cas.util.scripting;
+
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.script.SimpleBindings;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ScriptEngineRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Groovy")
+public class ScriptEngineRegistryTests {
+
+    @Test
+    public void verifyInlineScript() throws Exception {
+        try (val registry = new ScriptEngineRegistry()) {
+            assertNotNull(registry.getScriptEngine("groovy"));
+            assertSame(registry.getScriptEngine("groovy"), registry.getScriptEngine("groovy"));
+            assertNull(registry.getScriptEngine("unknown"));
+            assertEquals("casuser", registry.eval("groovy", "return name", new SimpleBindings(Map.of("name", "casuser"))));
+            assertEquals("cas", registry.eval("groovy", "return name", new SimpleBindings(Map.of("name", "cas"))));
+        }
+    }
+
+    @Test
+    public void verifyScriptFiles() throws Exception {
+        val first = File.createTempFile("first", ".groovy");
+        FileUtils.write(first, "def run(String name) { return 'first-' + name }", StandardCharsets.UTF_8);
+        val second = File.createTempFile("second", ".groovy");
+        FileUtils.write(second, "def run(String name) { return 'second-' + name }", StandardCharsets.UTF_8);
+
+        try (val registry = new ScriptEngineRegistry()) {
+            assertEquals("first-casuser", registry.invokeFunction("groovy", first, "run", "casuser"));
+            assertEquals("second-casuser", registry.invokeFunction("groovy", second, "run", "casuser"));
+            assertEquals("first-casuser", registry.invokeFunction("groovy", first, "run", "casuser"));
+
+            assertEquals(1, registry.getWatchedDirectoryCount());
+
+            FileUtils.write(first, "def run(String name) { return 'changed-' + name }", StandardCharsets.UTF_8);
+            val deadline = System.currentTimeMillis() + 30_000;
+            var result = registry.invokeFunction("groovy", first, "run", "casuser");
+            while (!"changed-casuser".equals(result) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+                result = registry.invokeFunction("groovy", first, "run", "casuser");
+            }
+            assertEquals("changed-casuser", result);
+        }
+    }
+
+    @Test
+    public void verifyWatchersStopOnClose() throws Exception {
+        val file = File.createTempFile("closed", ".groovy");
+        FileUtils.write(file, "def run(String name) { return name }", StandardCharsets.UTF_8);
+        val registry = new ScriptEngineRegistry();
+        assertEquals("casuser", registry.invokeFunction("groovy", file, "run", "casuser"));
+        assertEquals(1, registry.getWatchedDirectoryCount());
+        registry.destroy();
+        assertEquals(0, registry.getWatchedDirectoryCount());
+    }
+}
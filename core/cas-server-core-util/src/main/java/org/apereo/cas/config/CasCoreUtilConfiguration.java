@@ -5,7 +5,9 @@ import org.apereo.cas.util.feature.CasRuntimeModuleLoader;
 import org.apereo.cas.util.feature.DefaultCasRuntimeModuleLoader;
 import org.apereo.cas.util.scripting.ExecutableCompiledGroovyScript;
 import org.apereo.cas.util.scripting.GroovyScriptResourceCacheManager;
+import org.apereo.cas.util.scripting.ScriptEngineRegistry;
 import org.apereo.cas.util.scripting.ScriptResourceCacheManager;
+import org.apereo.cas.util.scripting.ScriptingUtils;
 import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
 import org.apereo.cas.util.spring.Converters;
@@ -112,6 +114,12 @@ public class CasCoreUtilConfiguration {
             return new GroovyScriptResourceCacheManager();
         }
 
+        @Bean
+        @ConditionalOnMissingBean(name = ScriptEngineRegistry.BEAN_NAME)
+        public ScriptEngineRegistry scriptEngineRegistry() {
+            return ScriptingUtils.getScriptEngineRegistry();
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public CasRuntimeModuleLoader casRuntimeModuleLoader() {
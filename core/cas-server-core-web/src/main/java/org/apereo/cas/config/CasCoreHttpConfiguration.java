@@ -4,9 +4,12 @@ import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.authentication.DefaultCasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.http.PooledHttpClient;
 import org.apereo.cas.util.http.SimpleHttpClient;
 import org.apereo.cas.util.http.SimpleHttpClientFactoryBean;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
@@ -16,6 +19,7 @@ import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.message.BasicHeader;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -145,6 +149,18 @@ public class CasCoreHttpConfiguration {
                 trustStoreSslSocketFactory, casProperties);
         }
 
+        @ConditionalOnMissingBean(name = PooledHttpClient.BEAN_NAME)
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public PooledHttpClient pooledHttpClient(
+            @Qualifier("trustStoreSslSocketFactory")
+            final SSLConnectionSocketFactory trustStoreSslSocketFactory,
+            final ObjectProvider<MeterRegistry> meterRegistry,
+            final CasConfigurationProperties casProperties) {
+            return new PooledHttpClient(casProperties.getHttpClient().getPool(), trustStoreSslSocketFactory,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+
         @ConditionalOnMissingBean(name = "noRedirectHttpClient")
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
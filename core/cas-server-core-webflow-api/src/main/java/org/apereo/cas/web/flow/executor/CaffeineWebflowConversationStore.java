@@ -0,0 +1,42 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * This is {@link CaffeineWebflowConversationStore}.
+ * Keeps conversations in memory, which is only suitable for a single node
+ * or for deployments where requests are routed to the same node for the duration of the flow.
+ * The number of conversations kept in memory is bounded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public class CaffeineWebflowConversationStore implements WebflowConversationStore {
+    private final Cache<String, byte[]> conversations;
+
+    public CaffeineWebflowConversationStore(final Duration timeout, final long maximumSize) {
+        this.conversations = Caffeine.newBuilder()
+            .expireAfterWrite(timeout)
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    @Override
+    public Optional<byte[]> get(final String conversationId) {
+        return Optional.ofNullable(conversations.getIfPresent(conversationId));
+    }
+
+    @Override
+    public void put(final String conversationId, final byte[] state) {
+        conversations.put(conversationId, state);
+    }
+
+    @Override
+    public void remove(final String conversationId) {
+        conversations.invalidate(conversationId);
+    }
+}
@@ -100,8 +100,19 @@ public class EncryptedTranscoder implements Transcoder {
      * @throws IOException the io exception
      */
     protected byte[] encrypt(final ByteArrayOutputStream outBuffer) throws IOException {
+        return encrypt(outBuffer.toByteArray());
+    }
+
+    /**
+     * Encrypt.
+     *
+     * @param data the data
+     * @return the byte [ ]
+     * @throws IOException the io exception
+     */
+    protected byte[] encrypt(final byte[] data) throws IOException {
         try {
-            return cipherBean.encrypt(outBuffer.toByteArray());
+            return cipherBean.encrypt(data);
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
             throw new IOException("Encryption error", e);
@@ -109,9 +120,19 @@ public class EncryptedTranscoder implements Transcoder {
     }
 
     @Override
-    @SuppressWarnings("BanSerializableRead")
     public Object decode(final byte[] encoded) throws IOException {
-        val data = decrypt(encoded);
+        return deserialize(decrypt(encoded));
+    }
+
+    /**
+     * Deserialize the decrypted byte stream.
+     *
+     * @param data the data
+     * @return the object
+     * @throws IOException the io exception
+     */
+    @SuppressWarnings("BanSerializableRead")
+    protected Object deserialize(final byte[] data) throws IOException {
         try (val inBuffer = new ByteArrayInputStream(data);
              val in = this.compression
                  ? new ObjectInputStream(new GZIPInputStream(inBuffer))
@@ -123,7 +144,14 @@ public class EncryptedTranscoder implements Transcoder {
         }
     }
 
-    private byte[] decrypt(final byte[] encoded) throws IOException {
+    /**
+     * Decrypt.
+     *
+     * @param encoded the encoded
+     * @return the byte [ ]
+     * @throws IOException the io exception
+     */
+    protected byte[] decrypt(final byte[] encoded) throws IOException {
         try {
             return cipherBean.decrypt(encoded);
         } catch (final Exception e) {
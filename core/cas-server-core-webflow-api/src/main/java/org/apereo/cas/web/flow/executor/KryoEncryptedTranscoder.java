@@ -0,0 +1,437 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.util.LoggingUtils;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.ExternalizableSerializer;
+import com.esotericsoftware.kryo.serializers.JavaSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.cryptacular.bean.CipherBean;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.core.collection.LocalParameterMap;
+import org.springframework.webflow.engine.impl.FlowExecutionImpl;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * This is {@link KryoEncryptedTranscoder}.
+ * <p>
+ * Serializes the webflow state with Kryo instead of native java serialization.
+ * Kryo instances, along with their buffers and deflate state, are pooled and reused;
+ * buffers that grew beyond {@value #MAX_RETAINED_BUFFER_SIZE} bytes are released once
+ * the instance is returned to the pool.
+ * <p>
+ * Classes must be registered explicitly: common JDK and webflow types are registered
+ * along with the classes that are supplied, typically by the component serialization plan.
+ * Unregistered types can neither be written nor read with Kryo, so state that contains them
+ * is written in the java serialization format instead.
+ * Types that carry custom java serialization logic are still handed to java serialization
+ * within the Kryo stream, so that their serialized form remains correct.
+ * <p>
+ * Kryo payloads start with a marker that can never start a java serialization stream.
+ * State produced by {@link EncryptedTranscoder} is recognized and read as before,
+ * and objects that cannot be serialized with Kryo are written in that format instead.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class KryoEncryptedTranscoder extends EncryptedTranscoder {
+    /**
+     * Metric that times encoding and decoding the webflow state, tagged by operation and format.
+     */
+    public static final String METRIC_LATENCY = "cas.webflow.state.transcoder";
+
+    /**
+     * Metric that records the size of the encoded webflow state, tagged by format.
+     */
+    public static final String METRIC_SIZE = "cas.webflow.state.size";
+
+    private static final byte MARKER = 'K';
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte FLAG_DEFLATE = 0x01;
+
+    private static final int HEADER_LENGTH = 3;
+
+    private static final int MAX_STATE_LENGTH = 16 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final int POOL_CAPACITY = 256;
+
+    private static final String FORMAT_KRYO = "kryo";
+
+    private static final String FORMAT_JAVA = "java";
+
+    private final boolean compression;
+
+    private final List<Class> classesToRegister;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Pool<KryoCodec> pool = new Pool<>(true, true, POOL_CAPACITY) {
+        @Override
+        protected KryoCodec create() {
+            return new KryoCodec(classesToRegister);
+        }
+    };
+
+    public KryoEncryptedTranscoder(final CipherBean cipherBean,
+                                   final Collection<Class> classesToRegister,
+                                   final MeterRegistry meterRegistry) {
+        this(cipherBean, true, classesToRegister, meterRegistry);
+    }
+
+    public KryoEncryptedTranscoder(final CipherBean cipherBean,
+                                   final boolean compression,
+                                   final Collection<Class> classesToRegister,
+                                   final MeterRegistry meterRegistry) {
+        super(cipherBean, compression);
+        this.compression = compression;
+        this.meterRegistry = meterRegistry;
+        this.classesToRegister = classesToRegister
+            .stream()
+            .distinct()
+            .sorted(Comparator.comparing(Class::getName))
+            .collect(Collectors.toList());
+    }
+
+    private static boolean isKryoPayload(final byte[] data) {
+        return data != null && data.length >= HEADER_LENGTH && data[0] == MARKER;
+    }
+
+    private void record(final Timer.Sample sample, final String operation, final String format) {
+        sample.stop(meterRegistry.timer(METRIC_LATENCY, "operation", operation, "format", format));
+    }
+
+    private byte[] recordSize(final byte[] encoded, final String format) {
+        if (encoded != null) {
+            DistributionSummary.builder(METRIC_SIZE)
+                .baseUnit("bytes")
+                .tag("format", format)
+                .register(meterRegistry)
+                .record(encoded.length);
+        }
+        return encoded;
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        if (o == null || AopUtils.isAopProxy(o)) {
+            return super.encode(o);
+        }
+        val sample = Timer.start(meterRegistry);
+        byte[] data;
+        val codec = pool.obtain();
+        try {
+            data = codec.serialize(o, compression);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to serialize [{}] with Kryo; falling back to java serialization: [{}]",
+                o.getClass().getName(), e.getMessage());
+            data = null;
+        } finally {
+            pool.free(codec);
+        }
+        if (data == null) {
+            val encoded = super.encode(o);
+            record(sample, "encode", FORMAT_JAVA);
+            return recordSize(encoded, FORMAT_JAVA);
+        }
+        val encoded = encrypt(data);
+        record(sample, "encode", FORMAT_KRYO);
+        return recordSize(encoded, FORMAT_KRYO);
+    }
+
+    @Override
+    public Object decode(final byte[] encoded) throws IOException {
+        val sample = Timer.start(meterRegistry);
+        val data = decrypt(encoded);
+        if (!isKryoPayload(data)) {
+            val result = deserialize(data);
+            record(sample, "decode", FORMAT_JAVA);
+            return result;
+        }
+        val codec = pool.obtain();
+        try {
+            val result = codec.deserialize(data);
+            record(sample, "decode", FORMAT_KRYO);
+            return result;
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            throw new IOException("Deserialization error", e);
+        } finally {
+            pool.free(codec);
+        }
+    }
+
+    /**
+     * Kryo instance that hands types with custom java serialization logic,
+     * and types that cannot be reconstructed reliably by Kryo, to java serialization.
+     */
+    private static class WebflowStateKryo extends Kryo {
+        private static final List<String> WEBFLOW_INTERNAL_CLASSES = List.of(
+            "org.springframework.webflow.engine.impl.FlowSessionImpl",
+            "org.springframework.webflow.execution.FlowExecutionStatus");
+
+        private final JavaSerializer javaSerializer = new JavaSerializer();
+
+        WebflowStateKryo(final Collection<Class> classesToRegister) {
+            setRegistrationRequired(true);
+            setReferences(true);
+            setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+            addDefaultSerializer(Externalizable.class, ExternalizableSerializer.class);
+
+            register(FlowExecutionImpl.class);
+            WEBFLOW_INTERNAL_CLASSES
+                .stream()
+                .filter(name -> ClassUtils.isPresent(name, getClass().getClassLoader()))
+                .forEach(name -> register(ClassUtils.resolveClassName(name, getClass().getClassLoader())));
+            register(LocalAttributeMap.class);
+            register(LocalParameterMap.class);
+            register(HashMap.class);
+            register(LinkedHashMap.class);
+            register(TreeMap.class);
+            register(ConcurrentHashMap.class);
+            register(ArrayList.class);
+            register(LinkedList.class);
+            register(HashSet.class);
+            register(LinkedHashSet.class);
+            register(TreeSet.class);
+            register(Date.class);
+            register(ZonedDateTime.class);
+            register(LocalDateTime.class);
+            register(UUID.class);
+            register(URL.class);
+            register(URI.class, javaSerializer);
+            register(Object[].class);
+            register(String[].class);
+            register(byte[].class);
+            registerImmutableCollections();
+            classesToRegister.forEach(this::register);
+        }
+
+        /**
+         * JDK collections whose implementation classes are internal,
+         * which are handed to java serialization by {@link #getDefaultSerializer(Class)}.
+         */
+        private void registerImmutableCollections() {
+            register(List.of().getClass());
+            register(List.of(1).getClass());
+            register(List.of(1, 2, 3).getClass());
+            register(Set.of().getClass());
+            register(Set.of(1).getClass());
+            register(Set.of(1, 2, 3).getClass());
+            register(Map.of().getClass());
+            register(Map.of(1, 1).getClass());
+            register(Map.of(1, 1, 2, 2).getClass());
+            register(Arrays.asList(1).getClass());
+            register(Collections.emptyList().getClass());
+            register(Collections.emptySet().getClass());
+            register(Collections.emptyMap().getClass());
+            register(Collections.singletonList(1).getClass());
+            register(Collections.singleton(1).getClass());
+            register(Collections.singletonMap(1, 1).getClass());
+            register(Collections.unmodifiableList(new ArrayList<>()).getClass());
+            register(Collections.unmodifiableList(new LinkedList<>()).getClass());
+            register(Collections.unmodifiableSet(new HashSet<>()).getClass());
+            register(Collections.unmodifiableMap(new HashMap<>()).getClass());
+            register(Collections.unmodifiableCollection(new ArrayList<>()).getClass());
+        }
+
+        private static boolean declaresMethod(final Class type, final String name, final Class... parameterTypes) {
+            try {
+                type.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        private static boolean hasCustomJavaSerialization(final Class type) {
+            for (var clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                if (declaresMethod(clazz, "writeObject", ObjectOutputStream.class)
+                    || declaresMethod(clazz, "readObject", ObjectInputStream.class)
+                    || declaresMethod(clazz, "writeReplace")
+                    || declaresMethod(clazz, "readResolve")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Serializer getDefaultSerializer(final Class type) {
+            val jdkInternalType = type.getName().startsWith("java.") && !Modifier.isPublic(type.getModifiers());
+            if (jdkInternalType || type.isSynthetic() || Proxy.isProxyClass(type) || ClassUtils.isCglibProxyClass(type)) {
+                return javaSerializer;
+            }
+            return super.getDefaultSerializer(type);
+        }
+
+        @Override
+        protected Serializer newDefaultSerializer(final Class type) {
+            if (Serializable.class.isAssignableFrom(type) && hasCustomJavaSerialization(type)) {
+                return javaSerializer;
+            }
+            return super.newDefaultSerializer(type);
+        }
+    }
+
+    /**
+     * Pooled Kryo instance, along with buffers and deflate state that are reused.
+     */
+    private static class KryoCodec implements Pool.Poolable {
+        private final Kryo kryo;
+
+        private final Output output = new Output(BUFFER_SIZE, MAX_STATE_LENGTH);
+
+        private final Output compressed = new Output(BUFFER_SIZE, MAX_STATE_LENGTH);
+
+        private final Input input = new Input();
+
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        private final Inflater inflater = new Inflater();
+
+        private final byte[] chunk = new byte[BUFFER_SIZE];
+
+        private byte[] inflated = new byte[BUFFER_SIZE];
+
+        KryoCodec(final Collection<Class> classesToRegister) {
+            this.kryo = new WebflowStateKryo(classesToRegister);
+        }
+
+        @Override
+        public void reset() {
+            if (output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+                output.setBuffer(new byte[BUFFER_SIZE], MAX_STATE_LENGTH);
+            }
+            if (compressed.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+                compressed.setBuffer(new byte[BUFFER_SIZE], MAX_STATE_LENGTH);
+            }
+            if (inflated.length > MAX_RETAINED_BUFFER_SIZE) {
+                inflated = new byte[BUFFER_SIZE];
+            }
+        }
+
+        byte[] serialize(final Object object, final boolean compress) {
+            output.reset();
+            try {
+                kryo.writeClassAndObject(output, object);
+            } finally {
+                kryo.reset();
+            }
+            val length = output.position();
+            if (!compress) {
+                val result = new byte[HEADER_LENGTH + length];
+                writeHeader(result, (byte) 0);
+                System.arraycopy(output.getBuffer(), 0, result, HEADER_LENGTH, length);
+                return result;
+            }
+
+            compressed.reset();
+            compressed.writeInt(length);
+            deflater.reset();
+            deflater.setInput(output.getBuffer(), 0, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                val count = deflater.deflate(chunk);
+                compressed.writeBytes(chunk, 0, count);
+            }
+            val result = new byte[HEADER_LENGTH + compressed.position()];
+            writeHeader(result, FLAG_DEFLATE);
+            System.arraycopy(compressed.getBuffer(), 0, result, HEADER_LENGTH, compressed.position());
+            return result;
+        }
+
+        Object deserialize(final byte[] data) throws IOException, DataFormatException {
+            if (data[1] != FORMAT_VERSION) {
+                throw new IOException("Unsupported webflow state format version " + data[1]);
+            }
+            try {
+                if ((data[2] & FLAG_DEFLATE) == 0) {
+                    input.setBuffer(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+                    return kryo.readClassAndObject(input);
+                }
+                input.setBuffer(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+                val length = input.readInt();
+                if (length < 0 || length > MAX_STATE_LENGTH) {
+                    throw new IOException("Invalid webflow state length " + length);
+                }
+                if (inflated.length < length) {
+                    inflated = new byte[length];
+                }
+                inflater.reset();
+                inflater.setInput(data, input.position(), data.length - input.position());
+                var count = 0;
+                while (count < length && !inflater.finished()) {
+                    val inflatedCount = inflater.inflate(inflated, count, length - count);
+                    if (inflatedCount == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated webflow state");
+                    }
+                    count += inflatedCount;
+                }
+                input.setBuffer(inflated, 0, count);
+                return kryo.readClassAndObject(input);
+            } finally {
+                kryo.reset();
+                input.setBuffer(ArrayUtils.EMPTY_BYTE_ARRAY);
+            }
+        }
+
+        private static void writeHeader(final byte[] result, final byte flags) {
+            result[0] = MARKER;
+            result[1] = FORMAT_VERSION;
+            result[2] = flags;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.webflow.context.ExternalContext;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationId;
+import org.springframework.webflow.conversation.ConversationManager;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.conversation.impl.LockInterruptedException;
+import org.springframework.webflow.conversation.impl.LockTimeoutException;
+import org.springframework.webflow.conversation.impl.SimpleConversationId;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link StoreBackedConversationManager}.
+ * <p>
+ * Keeps webflow conversations in a {@link WebflowConversationStore} instead of the http session,
+ * so that the browser only carries the conversation id as part of the flow execution key.
+ * A conversation is loaded from the store when it is locked, and written back once it is unlocked.
+ * Locks are held by the node that processes the request; requests for the same conversation
+ * are expected to be processed one at a time, as is the case with a single browser window.
+ * <p>
+ * Conversations are bound to the browser that started them: the browser is handed a random secret
+ * in the {@value #CLIENT_COOKIE_NAME} cookie, and each conversation id carries an HMAC of the id keyed
+ * by that secret, which is verified before the conversation is handed out. Each browser may keep up to
+ * a configured number of conversations; once exceeded, its oldest conversation is ended.
+ * <p>
+ * Conversation state is signed and encrypted before it is stored, and only the types that
+ * make up webflow conversations and snapshots are accepted when the state is read back.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class StoreBackedConversationManager implements ConversationManager {
+    /**
+     * Cookie that carries the secret conversations of the browser are bound to.
+     */
+    public static final String CLIENT_COOKIE_NAME = "CASWEBFLOWCLIENT";
+
+    private static final int LOCK_STRIPES = 256;
+
+    private static final int ID_LENGTH = 32;
+
+    private static final String NO_CLIENT_SECRET = "none";
+
+    private static final String CLIENT_INDEX_PREFIX = "client-";
+
+    private static final String INDEX_SEPARATOR = "\n";
+
+    private static final Set<Class<?>> ALLOWED_CLASSES = Set.of(HashMap.class, LinkedList.class, ArrayList.class,
+        String.class, Number.class, Integer.class, Long.class, Boolean.class);
+
+    private static final String ALLOWED_PACKAGE = "org.springframework.webflow.";
+
+    @Getter
+    private final WebflowConversationStore conversationStore;
+
+    private final long lockTimeoutSeconds;
+
+    private final CipherExecutor cipherExecutor;
+
+    private final int maxConversations;
+
+    private final ReentrantLock[] locks = newLocks();
+
+    private final Map<String, StoreBackedConversation> lockedConversations = new ConcurrentHashMap<>();
+
+    public StoreBackedConversationManager(final WebflowConversationStore conversationStore,
+                                          final long lockTimeoutSeconds,
+                                          final CipherExecutor cipherExecutor,
+                                          final int maxConversations) {
+        this.conversationStore = conversationStore;
+        this.lockTimeoutSeconds = lockTimeoutSeconds;
+        this.cipherExecutor = cipherExecutor;
+        this.maxConversations = maxConversations;
+    }
+
+    private static ReentrantLock[] newLocks() {
+        val locks = new ReentrantLock[LOCK_STRIPES];
+        for (var i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static ObjectInputFilter.Status filter(final ObjectInputFilter.FilterInfo info) {
+        var type = info.serialClass();
+        if (type == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() || ALLOWED_CLASSES.contains(type) || type.getName().startsWith(ALLOWED_PACKAGE)) {
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        LOGGER.warn("Rejected deserialization of [{}] from the webflow conversation store", type.getName());
+        return ObjectInputFilter.Status.REJECTED;
+    }
+
+    private static String sign(final String clientSecret, final String id) {
+        return new HmacUtils(HmacAlgorithms.HMAC_SHA_256, clientSecret).hmacHex(id).substring(0, ID_LENGTH);
+    }
+
+    private static Optional<HttpServletRequest> getHttpServletRequest() {
+        return Optional.ofNullable(ExternalContextHolder.getExternalContext())
+            .map(ExternalContext::getNativeRequest)
+            .filter(HttpServletRequest.class::isInstance)
+            .map(HttpServletRequest.class::cast);
+    }
+
+    /**
+     * Find the secret of the browser, or hand a new one to the browser if it has none.
+     * A secret that is handed out is remembered by the request, so that conversations
+     * started and resumed during the same request are bound to the same secret.
+     *
+     * @param create whether a secret should be handed out if the browser has none
+     * @return the client secret
+     */
+    private static String getClientSecret(final boolean create) {
+        val request = getHttpServletRequest();
+        if (request.isEmpty()) {
+            return NO_CLIENT_SECRET;
+        }
+        val httpRequest = request.get();
+        val assigned = (String) httpRequest.getAttribute(CLIENT_COOKIE_NAME);
+        if (assigned != null) {
+            return assigned;
+        }
+        val secret = Optional.ofNullable(httpRequest.getCookies())
+            .stream()
+            .flatMap(Arrays::stream)
+            .filter(cookie -> CLIENT_COOKIE_NAME.equals(cookie.getName()))
+            .map(Cookie::getValue)
+            .filter(StringUtils::isNotBlank)
+            .findFirst();
+        if (secret.isPresent() || !create) {
+            return secret.orElse(StringUtils.EMPTY);
+        }
+        val newSecret = RandomUtils.generateSecureRandomId();
+        httpRequest.setAttribute(CLIENT_COOKIE_NAME, newSecret);
+        Optional.ofNullable(ExternalContextHolder.getExternalContext().getNativeResponse())
+            .filter(HttpServletResponse.class::isInstance)
+            .map(HttpServletResponse.class::cast)
+            .ifPresent(response -> {
+                val cookie = new Cookie(CLIENT_COOKIE_NAME, newSecret);
+                cookie.setHttpOnly(true);
+                cookie.setSecure(httpRequest.isSecure());
+                cookie.setPath(StringUtils.defaultIfBlank(httpRequest.getContextPath(), "/"));
+                cookie.setMaxAge(-1);
+                response.addCookie(cookie);
+            });
+        return newSecret;
+    }
+
+    @Override
+    public Conversation beginConversation(final ConversationParameters conversationParameters) {
+        val clientSecret = getClientSecret(true);
+        val uuid = UUID.randomUUID().toString().replace("-", StringUtils.EMPTY);
+        val id = uuid + sign(clientSecret, uuid);
+        val conversation = new StoreBackedConversation(id, clientSecret);
+        conversation.attributes.put("name", conversationParameters.getName());
+        conversation.attributes.put("caption", conversationParameters.getCaption());
+        conversation.attributes.put("description", conversationParameters.getDescription());
+        conversationStore.put(id, encode(SerializationUtils.serialize(conversation.attributes)));
+        trackConversation(clientSecret, id);
+        LOGGER.trace("Started conversation [{}]", id);
+        return conversation;
+    }
+
+    @Override
+    public Conversation getConversation(final ConversationId id) {
+        val conversationId = id.toString();
+        val clientSecret = getClientSecret(false);
+        if (!isBoundTo(conversationId, clientSecret)) {
+            LOGGER.warn("Conversation [{}] is not bound to the client that requested it", conversationId);
+            throw new NoSuchConversationException(id);
+        }
+        val locked = lockedConversations.get(conversationId);
+        if (locked != null) {
+            return locked;
+        }
+        if (conversationStore.get(conversationId).isEmpty()) {
+            throw new NoSuchConversationException(id);
+        }
+        return new StoreBackedConversation(conversationId, clientSecret);
+    }
+
+    @Override
+    public ConversationId parseConversationId(final String encodedId) {
+        return new SimpleConversationId(encodedId);
+    }
+
+    private static boolean isBoundTo(final String conversationId, final String clientSecret) {
+        if (StringUtils.isBlank(clientSecret) || conversationId.length() != ID_LENGTH * 2) {
+            return false;
+        }
+        val expected = sign(clientSecret, conversationId.substring(0, ID_LENGTH));
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+            conversationId.substring(ID_LENGTH).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ReentrantLock getLock(final String conversationId) {
+        return locks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private byte[] encode(final byte[] state) {
+        return (byte[]) cipherExecutor.encode(state);
+    }
+
+    private Optional<byte[]> decode(final byte[] state) {
+        try {
+            return Optional.ofNullable((byte[]) cipherExecutor.decode(state));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to verify conversation state: [{}]", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private HashMap<Object, Object> deserialize(final byte[] state) {
+        try (val in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+            in.setObjectInputFilter(StoreBackedConversationManager::filter);
+            return (HashMap<Object, Object>) in.readObject();
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read conversation state: [{}]", e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private static String getClientIndexKey(final String clientSecret) {
+        return CLIENT_INDEX_PREFIX + DigestUtils.sha256(clientSecret);
+    }
+
+    private List<String> getClientConversations(final String clientSecret) {
+        return conversationStore.get(getClientIndexKey(clientSecret))
+            .flatMap(this::decode)
+            .map(index -> new String(index, StandardCharsets.UTF_8))
+            .filter(StringUtils::isNotBlank)
+            .map(index -> new ArrayList<>(Arrays.asList(index.split(INDEX_SEPARATOR))))
+            .orElseGet(ArrayList::new);
+    }
+
+    private void putClientConversations(final String clientSecret, final List<String> conversations) {
+        val key = getClientIndexKey(clientSecret);
+        if (conversations.isEmpty()) {
+            conversationStore.remove(key);
+        } else {
+            val index = conversations.stream().collect(Collectors.joining(INDEX_SEPARATOR));
+            conversationStore.put(key, encode(index.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void trackConversation(final String clientSecret, final String conversationId) {
+        val conversations = getClientConversations(clientSecret);
+        conversations.add(conversationId);
+        while (maxConversations > 0 && conversations.size() > maxConversations) {
+            val oldest = conversations.remove(0);
+            LOGGER.debug("Ending conversation [{}] since the client has more than [{}] conversations", oldest, maxConversations);
+            conversationStore.remove(oldest);
+        }
+        putClientConversations(clientSecret, conversations);
+    }
+
+    private void untrackConversation(final String clientSecret, final String conversationId) {
+        val conversations = getClientConversations(clientSecret);
+        if (conversations.remove(conversationId)) {
+            putClientConversations(clientSecret, conversations);
+        }
+    }
+
+    private class StoreBackedConversation implements Conversation {
+        private final String id;
+
+        private final String clientSecret;
+
+        private HashMap<Object, Object> attributes = new HashMap<>();
+
+        private int lockCount;
+
+        private boolean ended;
+
+        StoreBackedConversation(final String id, final String clientSecret) {
+            this.id = id;
+            this.clientSecret = clientSecret;
+        }
+
+        @Override
+        public ConversationId getId() {
+            return new SimpleConversationId(id);
+        }
+
+        @Override
+        public void lock() {
+            val lock = getLock(id);
+            try {
+                if (!lock.tryLock(lockTimeoutSeconds, TimeUnit.SECONDS)) {
+                    throw new LockTimeoutException(lockTimeoutSeconds);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LockInterruptedException(e);
+            }
+            if (lockCount++ == 0) {
+                attributes = conversationStore.get(id)
+                    .flatMap(StoreBackedConversationManager.this::decode)
+                    .map(StoreBackedConversationManager.this::deserialize)
+                    .orElseGet(HashMap::new);
+                lockedConversations.put(id, this);
+            }
+        }
+
+        @Override
+        public Object getAttribute(final Object name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void putAttribute(final Object name, final Object value) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(final Object name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public void end() {
+            ended = true;
+            conversationStore.remove(id);
+            untrackConversation(clientSecret, id);
+            LOGGER.trace("Ended conversation [{}]", id);
+        }
+
+        @Override
+        public void unlock() {
+            val lock = getLock(id);
+            try {
+                if (--lockCount == 0) {
+                    if (!ended) {
+                        conversationStore.put(id, encode(SerializationUtils.serialize(attributes)));
+                    }
+                    lockedConversations.remove(id, this);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.apereo.cas.web.flow.executor;
+
+import java.util.Optional;
+
+/**
+ * This is {@link WebflowConversationStore}.
+ * Keeps the serialized state of webflow conversations on the server side,
+ * keyed by conversation id. Implementations are expected to expire
+ * conversations that have not been stored for a while.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public interface WebflowConversationStore {
+    /**
+     * Bean name.
+     */
+    String BEAN_NAME = "webflowConversationStore";
+
+    /**
+     * Find the state of the conversation.
+     *
+     * @param conversationId the conversation id
+     * @return the state, if the conversation exists
+     */
+    Optional<byte[]> get(String conversationId);
+
+    /**
+     * Store the state of the conversation.
+     *
+     * @param conversationId the conversation id
+     * @param state          the state
+     */
+    void put(String conversationId, byte[] state);
+
+    /**
+     * Remove the conversation.
+     *
+     * @param conversationId the conversation id
+     */
+    void remove(String conversationId);
+}
@@ -1,12 +1,15 @@
 package org.apereo.cas.web.flow.executor;
 
 import org.apereo.cas.configuration.model.core.web.flow.WebflowProperties;
+import org.apereo.cas.configuration.model.core.web.flow.WebflowSessionManagementProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
+import org.springframework.webflow.conversation.ConversationManager;
 import org.springframework.webflow.conversation.impl.SessionBindingConversationManager;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.engine.impl.FlowExecutionImplFactory;
@@ -17,6 +20,8 @@ import org.springframework.webflow.execution.repository.snapshot.SerializedFlowE
 import org.springframework.webflow.executor.FlowExecutor;
 import org.springframework.webflow.executor.FlowExecutorImpl;
 
+import java.util.Collection;
+
 /**
  * This is {@link WebflowExecutorFactory}.
  *
@@ -29,6 +34,9 @@ public class WebflowExecutorFactory {
     private final FlowDefinitionRegistry flowDefinitionRegistry;
     private final CipherExecutor webflowCipherExecutor;
     private final FlowExecutionListener[] executionListeners;
+    private final WebflowConversationStore conversationStore;
+    private final Collection<Class> serializableClasses;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Build flow executor.
@@ -43,10 +51,8 @@ public class WebflowExecutorFactory {
     }
 
     private FlowExecutor buildFlowExecutorViaServerSessionBindingExecution() {
-        val conversationManager = new SessionBindingConversationManager();
         val session = webflowProperties.getSession();
-        conversationManager.setLockTimeoutSeconds((int) Beans.newDuration(session.getLockTimeout()).getSeconds());
-        conversationManager.setMaxConversations(session.getMaxConversations());
+        val conversationManager = getConversationManager(session);
 
         val executionFactory = new FlowExecutionImplFactory();
         executionFactory.setExecutionListenerLoader(new StaticFlowExecutionListenerLoader(executionListeners));
@@ -56,10 +62,25 @@ public class WebflowExecutorFactory {
         flowExecutionSnapshotFactory.setCompress(session.isCompress());
 
         val repository = new DefaultFlowExecutionRepository(conversationManager, flowExecutionSnapshotFactory);
+        if (session.getStorageType() == WebflowSessionManagementProperties.WebflowSessionStorageTypes.CONVERSATION_STORE) {
+            repository.setMaxSnapshots(session.getMaxSnapshots());
+        }
         executionFactory.setExecutionKeyFactory(repository);
         return new FlowExecutorImpl(this.flowDefinitionRegistry, executionFactory, repository);
     }
 
+    private ConversationManager getConversationManager(final WebflowSessionManagementProperties session) {
+        val lockTimeoutSeconds = (int) Beans.newDuration(session.getLockTimeout()).getSeconds();
+        if (session.getStorageType() == WebflowSessionManagementProperties.WebflowSessionStorageTypes.CONVERSATION_STORE) {
+            return new StoreBackedConversationManager(conversationStore, lockTimeoutSeconds,
+                webflowCipherExecutor, session.getMaxConversations());
+        }
+        val conversationManager = new SessionBindingConversationManager();
+        conversationManager.setLockTimeoutSeconds(lockTimeoutSeconds);
+        conversationManager.setMaxConversations(session.getMaxConversations());
+        return conversationManager;
+    }
+
     private FlowExecutor buildFlowExecutorViaClientFlowExecution() {
         val repository = new ClientFlowExecutionRepository();
         repository.setFlowDefinitionLocator(this.flowDefinitionRegistry);
@@ -76,6 +97,10 @@ public class WebflowExecutorFactory {
     @SneakyThrows
     private Transcoder getWebflowStateTranscoder() {
         val cipherBean = new WebflowCipherBean(this.webflowCipherExecutor);
+        if (webflowProperties.getSession().getStateSerializationFormat()
+            == WebflowSessionManagementProperties.WebflowStateSerializationFormatTypes.KRYO) {
+            return new KryoEncryptedTranscoder(cipherBean, serializableClasses, meterRegistry);
+        }
         return new EncryptedTranscoder(cipherBean);
     }
 }
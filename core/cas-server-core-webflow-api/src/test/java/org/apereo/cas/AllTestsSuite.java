@@ -9,6 +9,9 @@ import org.apereo.cas.web.flow.decorator.GroovyLoginWebflowDecoratorTests;
 import org.apereo.cas.web.flow.decorator.RestfulLoginWebflowDecoratorTests;
 import org.apereo.cas.web.flow.executor.ClientFlowExecutionRepositoryTests;
 import org.apereo.cas.web.flow.executor.EncryptedTranscoderTests;
+import org.apereo.cas.web.flow.executor.KryoClientFlowExecutionRepositoryTests;
+import org.apereo.cas.web.flow.executor.KryoEncryptedTranscoderTests;
+import org.apereo.cas.web.flow.executor.StoreBackedConversationManagerTests;
 import org.apereo.cas.web.flow.services.DefaultRegisteredServiceUserInterfaceInfoTests;
 
 import org.junit.platform.suite.api.SelectClasses;
@@ -30,7 +33,10 @@ import org.junit.platform.suite.api.Suite;
     CasWebflowLoginContextProviderTests.class,
     DefaultCasWebflowExecutionPlanTests.class,
     StaticEventExecutionActionTests.class,
-    EncryptedTranscoderTests.class
+    EncryptedTranscoderTests.class,
+    KryoEncryptedTranscoderTests.class,
+    KryoClientFlowExecutionRepositoryTests.class,
+    StoreBackedConversationManagerTests.class
 })
 @Suite
 public class AllTestsSuite {
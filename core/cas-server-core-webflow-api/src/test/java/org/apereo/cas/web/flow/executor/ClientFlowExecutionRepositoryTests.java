@@ -1,5 +1,8 @@
 package org.apereo.cas.web.flow.executor;
 
+import org.apereo.cas.configuration.model.core.web.flow.WebflowSessionManagementProperties.WebflowStateSerializationFormatTypes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.cryptacular.bean.AEADBlockCipherBean;
 import org.cryptacular.bean.KeyStoreFactoryBean;
@@ -15,6 +18,7 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.webflow.config.FlowBuilderServicesBuilder;
 import org.springframework.webflow.config.FlowDefinitionRegistryBuilder;
@@ -33,6 +37,8 @@ import org.springframework.webflow.expression.spel.WebFlowSpringELExpressionPars
 import org.springframework.webflow.test.CasMockViewFactoryCreator;
 import org.springframework.webflow.test.MockExternalContext;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -146,7 +152,7 @@ public class ClientFlowExecutionRepositoryTests {
         }
 
         @Bean
-        public Transcoder transcoder() {
+        public Transcoder transcoder(final Environment environment) {
             val keystoreFactory = new KeyStoreFactoryBean();
             keystoreFactory.setType("JCEKS");
             keystoreFactory.setPassword("changeit");
@@ -159,7 +165,11 @@ public class ClientFlowExecutionRepositoryTests {
             cipher.setBlockCipherSpec(new AEADBlockCipherSpec("AES", "GCM"));
             cipher.setNonce(new RBGNonce());
 
-            return new EncryptedTranscoder(cipher);
+            val format = environment.getProperty("cas.webflow.session.state-serialization-format",
+                WebflowStateSerializationFormatTypes.class, WebflowStateSerializationFormatTypes.JAVA);
+            return format == WebflowStateSerializationFormatTypes.KRYO
+                ? new KryoEncryptedTranscoder(cipher, List.of(), new SimpleMeterRegistry())
+                : new EncryptedTranscoder(cipher);
         }
     }
 }
@@ -0,0 +1,20 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+
+/**
+ * Test cases for {@link ClientFlowExecutionRepository}
+ * with the webflow state serialized via {@link KryoEncryptedTranscoder}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SpringBootTest(classes = {
+    ClientFlowExecutionRepositoryTests.WebflowTestConfiguration.class,
+    RefreshAutoConfiguration.class
+}, properties = "cas.webflow.session.state-serialization-format=KRYO")
+@Tag("Webflow")
+public class KryoClientFlowExecutionRepositoryTests extends ClientFlowExecutionRepositoryTests {
+}
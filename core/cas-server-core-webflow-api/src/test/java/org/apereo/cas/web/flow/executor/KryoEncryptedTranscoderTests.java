@@ -0,0 +1,163 @@
+package org.apereo.cas.web.flow.executor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.val;
+import org.apache.commons.lang3.RandomUtils;
+import org.cryptacular.bean.AEADBlockCipherBean;
+import org.cryptacular.bean.CipherBean;
+import org.cryptacular.bean.KeyStoreFactoryBean;
+import org.cryptacular.generator.sp80038d.RBGNonce;
+import org.cryptacular.io.ClassPathResource;
+import org.cryptacular.spec.AEADBlockCipherSpec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URL;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link KryoEncryptedTranscoder}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Webflow")
+public class KryoEncryptedTranscoderTests {
+
+    private static CipherBean getCipherBean() {
+        val keystoreFactory = new KeyStoreFactoryBean();
+        keystoreFactory.setType("JCEKS");
+        keystoreFactory.setPassword("changeit");
+        keystoreFactory.setResource(new ClassPathResource("test-keystore.jceks"));
+
+        val cipher = new AEADBlockCipherBean();
+        cipher.setKeyAlias("aes128");
+        cipher.setKeyPassword("changeit");
+        cipher.setKeyStore(keystoreFactory.newInstance());
+        cipher.setBlockCipherSpec(new AEADBlockCipherSpec("AES", "GCM"));
+        cipher.setNonce(new RBGNonce());
+        return cipher;
+    }
+
+    private static KryoEncryptedTranscoder getTranscoder(final CipherBean cipher) {
+        return new KryoEncryptedTranscoder(cipher, List.of(SampleCredential.class), new SimpleMeterRegistry());
+    }
+
+    private static LocalAttributeMap<Object> getFlowState() throws Exception {
+        val attributes = new LinkedHashMap<String, List<Object>>();
+        attributes.put("email", new ArrayList<>(List.of("casuser@example.org")));
+        attributes.put("memberOf", List.of("faculty", "staff"));
+
+        val state = new LocalAttributeMap<>();
+        state.put("flowId", "login");
+        state.put("service", new URL("https://app.example.org/cas"));
+        state.put("credential", new SampleCredential("casuser", UUID.randomUUID().toString()));
+        state.put("attributes", attributes);
+        state.put("warnings", Collections.unmodifiableList(new ArrayList<>(List.of("password-expiring"))));
+        state.put("authenticationDate", ZonedDateTime.now());
+        state.put("singleton", Map.of("key", "value"));
+        return state;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void verifyEncodeDecode(final boolean compression) throws Exception {
+        val transcoder = new KryoEncryptedTranscoder(getCipherBean(), compression,
+            List.of(SampleCredential.class), new SimpleMeterRegistry());
+        val state = getFlowState();
+        val encoded = transcoder.encode(state);
+        assertEquals(state, transcoder.decode(encoded));
+        assertEquals(state, transcoder.decode(transcoder.encode(state)));
+    }
+
+    @Test
+    public void verifyDecodesJavaSerializedState() throws Exception {
+        val cipher = getCipherBean();
+        val state = getFlowState();
+        val encoded = new EncryptedTranscoder(cipher).encode(state);
+        assertEquals(state, getTranscoder(cipher).decode(encoded));
+    }
+
+    @Test
+    public void verifyStateIsSmaller() throws Exception {
+        val cipher = getCipherBean();
+        val state = getFlowState();
+        val javaEncoded = new EncryptedTranscoder(cipher).encode(state);
+        val kryoEncoded = getTranscoder(cipher).encode(state);
+        assertTrue(kryoEncoded.length < javaEncoded.length);
+    }
+
+    @Test
+    public void verifyNullAndBadState() throws Exception {
+        val transcoder = getTranscoder(getCipherBean());
+        assertEquals(0, transcoder.encode(null).length);
+        assertThrows(IOException.class, () -> transcoder.decode("bad-state".getBytes()));
+    }
+
+    @Test
+    public void verifyMetrics() throws Exception {
+        val registry = new SimpleMeterRegistry();
+        val transcoder = new KryoEncryptedTranscoder(getCipherBean(), List.of(SampleCredential.class), registry);
+        transcoder.decode(transcoder.encode(getFlowState()));
+        val encodeTimer = registry.find(KryoEncryptedTranscoder.METRIC_LATENCY)
+            .tag("operation", "encode").tag("format", "kryo").timer();
+        assertNotNull(encodeTimer);
+        assertEquals(1, encodeTimer.count());
+        val decodeTimer = registry.find(KryoEncryptedTranscoder.METRIC_LATENCY)
+            .tag("operation", "decode").tag("format", "kryo").timer();
+        assertNotNull(decodeTimer);
+        assertEquals(1, decodeTimer.count());
+        val size = registry.find(KryoEncryptedTranscoder.METRIC_SIZE).tag("format", "kryo").summary();
+        assertNotNull(size);
+        assertTrue(size.totalAmount() > 0);
+    }
+
+    @Test
+    public void verifyUnregisteredTypesUseJavaSerialization() throws Exception {
+        val registry = new SimpleMeterRegistry();
+        val transcoder = new KryoEncryptedTranscoder(getCipherBean(), List.of(), registry);
+        val state = new LinkedHashMap<String, Object>();
+        state.put("credential", new SampleCredential("casuser", UUID.randomUUID().toString()));
+        assertEquals(state, transcoder.decode(transcoder.encode(state)));
+        assertNull(registry.find(KryoEncryptedTranscoder.METRIC_SIZE).tag("format", "kryo").summary());
+        assertNotNull(registry.find(KryoEncryptedTranscoder.METRIC_SIZE).tag("format", "java").summary());
+    }
+
+    @Test
+    public void verifyLargeStateIsTranscodedRepeatedly() throws Exception {
+        val transcoder = getTranscoder(getCipherBean());
+        val state = new LinkedHashMap<String, Object>();
+        state.put("payload", RandomUtils.nextBytes(512 * 1024));
+        for (var i = 0; i < 3; i++) {
+            val result = (Map) transcoder.decode(transcoder.encode(state));
+            assertArrayEquals((byte[]) state.get("payload"), (byte[]) result.get("payload"));
+        }
+        val flowState = getFlowState();
+        assertEquals(flowState, transcoder.decode(transcoder.encode(flowState)));
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class SampleCredential implements Serializable {
+        private static final long serialVersionUID = -1577826133734463432L;
+
+        private final String username;
+
+        private final String password;
+    }
+}
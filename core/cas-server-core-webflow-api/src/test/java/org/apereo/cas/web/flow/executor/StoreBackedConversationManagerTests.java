@@ -0,0 +1,208 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.configuration.model.core.web.flow.WebflowProperties;
+import org.apereo.cas.configuration.model.core.web.flow.WebflowSessionManagementProperties;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.context.servlet.ServletExternalContext;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.definition.registry.FlowDefinitionRegistryImpl;
+import org.springframework.webflow.execution.FlowExecutionListener;
+
+import javax.servlet.http.Cookie;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link StoreBackedConversationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Webflow")
+public class StoreBackedConversationManagerTests {
+    private final WebflowConversationStore store = new CaffeineWebflowConversationStore(Duration.ofMinutes(1), 1000);
+
+    private static StoreBackedConversationManager getManager(final WebflowConversationStore store, final long lockTimeoutSeconds) {
+        return new StoreBackedConversationManager(store, lockTimeoutSeconds, CipherExecutor.noOp(), 5);
+    }
+
+    private static MockHttpServletResponse bindToClient(final MockHttpServletRequest request) {
+        val response = new MockHttpServletResponse();
+        ExternalContextHolder.setExternalContext(new ServletExternalContext(new MockServletContext(), request, response));
+        return response;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ExternalContextHolder.setExternalContext(null);
+    }
+
+    @Test
+    public void verifyConversationIsStored() {
+        val manager = getManager(store, 5);
+        val conversation = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        val id = conversation.getId().toString();
+        assertFalse(id.contains("s"));
+        conversation.lock();
+        conversation.putAttribute("name", "casuser");
+        conversation.unlock();
+
+        val other = getManager(store, 5);
+        val found = other.getConversation(other.parseConversationId(id));
+        found.lock();
+        try {
+            assertEquals("casuser", found.getAttribute("name"));
+            assertEquals("caption", found.getAttribute("caption"));
+        } finally {
+            found.unlock();
+        }
+    }
+
+    @Test
+    public void verifyEndedConversationIsRemoved() {
+        val manager = getManager(store, 5);
+        val conversation = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        conversation.lock();
+        conversation.end();
+        conversation.unlock();
+        assertTrue(store.get(conversation.getId().toString()).isEmpty());
+        assertThrows(NoSuchConversationException.class, () -> manager.getConversation(conversation.getId()));
+    }
+
+    @Test
+    public void verifyLockedConversationIsShared() throws Exception {
+        val manager = getManager(store, 1);
+        val conversation = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        conversation.lock();
+        try {
+            conversation.putAttribute("name", "casuser");
+            val same = manager.getConversation(conversation.getId());
+            same.lock();
+            assertEquals("casuser", same.getAttribute("name"));
+            same.unlock();
+
+            val latch = new CountDownLatch(1);
+            val executor = Executors.newSingleThreadExecutor();
+            executor.submit(() -> {
+                assertThrows(RuntimeException.class, () -> manager.getConversation(conversation.getId()).lock());
+                latch.countDown();
+            });
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            executor.shutdownNow();
+        } finally {
+            conversation.unlock();
+        }
+    }
+
+    @Test
+    public void verifyFlowExecutor() {
+        val properties = new WebflowProperties();
+        properties.getSession().setStorage(true);
+        properties.getSession().setStorageType(WebflowSessionManagementProperties.WebflowSessionStorageTypes.CONVERSATION_STORE);
+        val factory = new WebflowExecutorFactory(properties, new FlowDefinitionRegistryImpl(),
+            CipherExecutor.noOp(), new FlowExecutionListener[0], store, List.of(), new SimpleMeterRegistry());
+        assertNotNull(factory.build());
+    }
+
+    @Test
+    public void verifyConversationIsBoundToClient() {
+        val manager = getManager(store, 5);
+        val response = bindToClient(new MockHttpServletRequest());
+        val conversation = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        val cookie = response.getCookie(StoreBackedConversationManager.CLIENT_COOKIE_NAME);
+        assertNotNull(cookie);
+        assertTrue(cookie.isHttpOnly());
+
+        val request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        bindToClient(request);
+        assertNotNull(manager.getConversation(conversation.getId()));
+
+        bindToClient(new MockHttpServletRequest());
+        assertThrows(NoSuchConversationException.class, () -> manager.getConversation(conversation.getId()));
+
+        val forged = new MockHttpServletRequest();
+        forged.setCookies(new Cookie(StoreBackedConversationManager.CLIENT_COOKIE_NAME, "forged"));
+        bindToClient(forged);
+        assertThrows(NoSuchConversationException.class, () -> manager.getConversation(conversation.getId()));
+    }
+
+    @Test
+    public void verifyConversationsPerClientAreLimited() {
+        val manager = new StoreBackedConversationManager(store, 5, CipherExecutor.noOp(), 2);
+        val response = bindToClient(new MockHttpServletRequest());
+        val first = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        val request = new MockHttpServletRequest();
+        request.setCookies(response.getCookie(StoreBackedConversationManager.CLIENT_COOKIE_NAME));
+        bindToClient(request);
+        val second = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        val third = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        assertTrue(store.get(first.getId().toString()).isEmpty());
+        assertTrue(store.get(second.getId().toString()).isPresent());
+        assertTrue(store.get(third.getId().toString()).isPresent());
+    }
+
+    @Test
+    public void verifyConversationStateIsEncrypted() {
+        val cipher = new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16, "webflow");
+        val manager = new StoreBackedConversationManager(store, 5, cipher, 5);
+        val conversation = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        conversation.lock();
+        conversation.putAttribute("name", "casuser");
+        conversation.unlock();
+
+        val state = store.get(conversation.getId().toString()).orElseThrow();
+        assertFalse(new String(state, StandardCharsets.ISO_8859_1).contains("casuser"));
+        val found = manager.getConversation(conversation.getId());
+        found.lock();
+        try {
+            assertEquals("casuser", found.getAttribute("name"));
+        } finally {
+            found.unlock();
+        }
+    }
+
+    @Test
+    public void verifyUnexpectedTypesAreRejected() {
+        val manager = getManager(store, 5);
+        val conversation = manager.beginConversation(new ConversationParameters("login", "caption", "description"));
+        val attributes = new HashMap<Object, Object>();
+        attributes.put("name", new SampleState("casuser"));
+        store.put(conversation.getId().toString(), SerializationUtils.serialize(attributes));
+        conversation.lock();
+        try {
+            assertNull(conversation.getAttribute("name"));
+        } finally {
+            conversation.unlock();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class SampleState implements Serializable {
+        private static final long serialVersionUID = 2283465372342613548L;
+
+        private final String value;
+    }
+}
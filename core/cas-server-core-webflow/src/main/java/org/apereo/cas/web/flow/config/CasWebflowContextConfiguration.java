@@ -1,10 +1,12 @@
 package org.apereo.cas.web.flow.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.serialization.ComponentSerializationPlan;
 import org.apereo.cas.web.flow.CasDefaultFlowUrlHandler;
 import org.apereo.cas.web.flow.CasFlowHandlerAdapter;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
@@ -17,10 +19,14 @@ import org.apereo.cas.web.flow.configurer.DefaultLogoutWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.DynamicFlowModelBuilder;
 import org.apereo.cas.web.flow.configurer.GroovyWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.plan.DefaultCasWebflowExecutionPlan;
+import org.apereo.cas.web.flow.executor.CaffeineWebflowConversationStore;
+import org.apereo.cas.web.flow.executor.WebflowConversationStore;
 import org.apereo.cas.web.flow.executor.WebflowExecutorFactory;
 import org.apereo.cas.web.support.ArgumentExtractor;
 import org.apereo.cas.web.support.CasLocaleChangeInterceptor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
@@ -62,7 +68,9 @@ import org.springframework.webflow.mvc.builder.MvcViewFactoryCreator;
 import org.springframework.webflow.mvc.servlet.FlowHandlerMapping;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 /**
@@ -164,6 +172,20 @@ public class CasWebflowContextConfiguration {
     @Configuration(value = "CasWebflowContextFlowExecutorConfiguration", proxyBeanMethods = false)
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     public static class CasWebflowContextFlowExecutorConfiguration {
+        private static Collection<Class> getSerializableClasses(final ObjectProvider<ComponentSerializationPlan> componentSerializationPlan) {
+            return Optional.ofNullable(componentSerializationPlan.getIfAvailable())
+                .map(ComponentSerializationPlan::getRegisteredClasses)
+                .orElseGet(List::of);
+        }
+
+        @ConditionalOnMissingBean(name = WebflowConversationStore.BEAN_NAME)
+        @Bean
+        public WebflowConversationStore webflowConversationStore(final CasConfigurationProperties casProperties) {
+            val session = casProperties.getWebflow().getSession();
+            val timeout = Beans.newDuration(session.getConversationTimeout());
+            return new CaffeineWebflowConversationStore(timeout, session.getMaxStoredConversations());
+        }
+
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @Bean
         public FlowExecutor logoutFlowExecutor(
@@ -171,9 +193,14 @@ public class CasWebflowContextConfiguration {
             @Qualifier(CasWebflowConstants.BEAN_NAME_LOGOUT_FLOW_DEFINITION_REGISTRY)
             final FlowDefinitionRegistry logoutFlowRegistry,
             @Qualifier("webflowCipherExecutor")
-            final CipherExecutor webflowCipherExecutor) {
+            final CipherExecutor webflowCipherExecutor,
+            @Qualifier(WebflowConversationStore.BEAN_NAME)
+            final WebflowConversationStore webflowConversationStore,
+            final ObjectProvider<ComponentSerializationPlan> componentSerializationPlan,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
             val factory = new WebflowExecutorFactory(casProperties.getWebflow(),
-                logoutFlowRegistry, webflowCipherExecutor, FLOW_EXECUTION_LISTENERS);
+                logoutFlowRegistry, webflowCipherExecutor, FLOW_EXECUTION_LISTENERS, webflowConversationStore,
+                getSerializableClasses(componentSerializationPlan), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
             return factory.build();
         }
 
@@ -184,10 +211,15 @@ public class CasWebflowContextConfiguration {
             @Qualifier(CasWebflowConstants.BEAN_NAME_LOGIN_FLOW_DEFINITION_REGISTRY)
             final FlowDefinitionRegistry loginFlowRegistry,
             @Qualifier("webflowCipherExecutor")
-            final CipherExecutor webflowCipherExecutor) {
+            final CipherExecutor webflowCipherExecutor,
+            @Qualifier(WebflowConversationStore.BEAN_NAME)
+            final WebflowConversationStore webflowConversationStore,
+            final ObjectProvider<ComponentSerializationPlan> componentSerializationPlan,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
             val factory = new WebflowExecutorFactory(casProperties.getWebflow(),
                 loginFlowRegistry, webflowCipherExecutor,
-                FLOW_EXECUTION_LISTENERS);
+                FLOW_EXECUTION_LISTENERS, webflowConversationStore,
+                getSerializableClasses(componentSerializationPlan), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
 
             return factory.build();
         }
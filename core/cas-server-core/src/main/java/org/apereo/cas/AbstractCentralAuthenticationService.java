@@ -93,6 +93,12 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
         return configurationContext.getTicketRegistry().stream().filter(predicate).skip(from).limit(count);
     }
 
+    @Transactional(transactionManager = "ticketTransactionManager")
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return configurationContext.getTicketRegistry().getSessionsFor(principalId);
+    }
+
     @Audit(
         action = AuditableActions.TICKET_DESTROYED,
         actionResolverName = AuditActionResolvers.DESTROY_TICKET_RESOLVER,
@@ -128,7 +128,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
                 val factory = (ServiceTicketFactory) configurationContext.getTicketFactory().get(ServiceTicket.class);
                 val serviceTicket = factory.create(ticketGrantingTicket, selectedService, credentialProvided, ServiceTicket.class);
-                configurationContext.getTicketRegistry().updateTicket(ticketGrantingTicket);
+                configurationContext.getTicketRegistry().addChildTicket(ticketGrantingTicket, serviceTicket);
                 configurationContext.getTicketRegistry().addTicket(serviceTicket);
 
                 LOGGER.info("Granted service ticket [{}] for service [{}] and principal [{}]",
@@ -174,7 +174,7 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
                         val factory = (ProxyTicketFactory) configurationContext.getTicketFactory().get(ProxyTicket.class);
                         val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
 
-                        configurationContext.getTicketRegistry().updateTicket(proxyGrantingTicketObject);
+                        configurationContext.getTicketRegistry().addChildTicket(proxyGrantingTicketObject, proxyTicket);
                         configurationContext.getTicketRegistry().addTicket(proxyTicket);
 
                         LOGGER.info("Granted proxy ticket [{}] for service [{}] for user [{}]",
@@ -6,8 +6,11 @@ import org.apereo.cas.audit.spi.AuditActionContextJsonSerializer;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.couchbase.core.CouchbaseClientFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -35,12 +38,16 @@ public class CasSupportCouchbaseAuditConfiguration {
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public AuditTrailManager couchbaseAuditTrailManager(
+        final ObjectProvider<MeterRegistry> meterRegistry,
         @Qualifier("auditsCouchbaseClientFactory")
         final CouchbaseClientFactory auditsCouchbaseClientFactory,
         final CasConfigurationProperties casProperties) {
         val cb = casProperties.getAudit().getCouchbase();
-        return new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory,
+        val manager = new CouchbaseAuditTrailManager(auditsCouchbaseClientFactory,
             new AuditActionContextJsonSerializer(), cb.isAsynchronous());
+        manager.setQueueProperties(casProperties.getAudit().getEngine().getQueue());
+        manager.setMeterRegistry(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        return manager;
     }
 
     @Bean
@@ -7,6 +7,7 @@ import lombok.Setter;
 import org.apereo.inspektr.audit.AuditActionContext;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -31,6 +32,11 @@ public class DynamoDbAuditTrailManager extends AbstractAuditTrailManager {
         this.dynamoDbFacilitator.save(audit);
     }
 
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        this.dynamoDbFacilitator.saveAll(audits);
+    }
+
     @Override
     public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
         return dynamoDbFacilitator.getAuditRecordsSince(localDate);
@@ -15,15 +15,21 @@ import org.apereo.inspektr.audit.AuditActionContext;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +46,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @SuppressWarnings("JavaUtilDate")
 public class DynamoDbAuditTrailManagerFacilitator {
+    /**
+     * Maximum number of items DynamoDb accepts in a single batch write request.
+     */
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+
+    /**
+     * Maximum number of times a batch is submitted while the service keeps returning unprocessed items.
+     */
+    private static final int MAX_BATCH_WRITE_ATTEMPTS = 8;
+
+    /**
+     * Initial delay before resubmitting unprocessed items; doubled on every attempt.
+     */
+    private static final long INITIAL_BATCH_WRITE_BACKOFF_MILLIS = 50;
+
+    /**
+     * Upper bound of the delay before resubmitting unprocessed items.
+     */
+    private static final long MAX_BATCH_WRITE_BACKOFF_MILLIS = 5_000;
+
     private final AuditDynamoDbProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
@@ -98,6 +124,61 @@ public class DynamoDbAuditTrailManagerFacilitator {
         LOGGER.debug("Record added with result [{}]", putItemResult);
     }
 
+    /**
+     * Save all records using batch write requests.
+     * Since a batch may not contain duplicate keys, only the last record
+     * of each principal is kept, which matches the outcome of individual puts.
+     * Items left unprocessed by the service are resubmitted with an exponential backoff,
+     * up to a maximum number of attempts after which the remaining items are logged and discarded.
+     *
+     * @param records the records
+     */
+    public void saveAll(final Collection<AuditActionContext> records) {
+        val itemsByKey = new LinkedHashMap<String, Map<String, AttributeValue>>();
+        records.forEach(record -> {
+            val values = buildTableAttributeValuesMap(record);
+            itemsByKey.put(record.getPrincipal(), values);
+        });
+        val requests = itemsByKey.values()
+            .stream()
+            .map(values -> WriteRequest.builder()
+                .putRequest(PutRequest.builder().item(values).build())
+                .build())
+            .collect(Collectors.toList());
+        for (var i = 0; i < requests.size(); i += MAX_BATCH_WRITE_ITEMS) {
+            var pending = new ArrayList<>(requests.subList(i, Math.min(i + MAX_BATCH_WRITE_ITEMS, requests.size())));
+            var attempt = 0;
+            var backoff = INITIAL_BATCH_WRITE_BACKOFF_MILLIS;
+            while (!pending.isEmpty() && attempt < MAX_BATCH_WRITE_ATTEMPTS) {
+                if (attempt > 0 && !pause(backoff)) {
+                    break;
+                }
+                val batchRequest = BatchWriteItemRequest.builder()
+                    .requestItems(Map.of(dynamoDbProperties.getTableName(), pending))
+                    .build();
+                LOGGER.debug("Submitting batch write request for [{}] record(s)", pending.size());
+                val result = amazonDynamoDBClient.batchWriteItem(batchRequest);
+                pending = new ArrayList<>(result.unprocessedItems().getOrDefault(dynamoDbProperties.getTableName(), List.of()));
+                attempt++;
+                backoff = Math.min(backoff * 2, MAX_BATCH_WRITE_BACKOFF_MILLIS);
+            }
+            if (!pending.isEmpty()) {
+                LOGGER.warn("Unable to write [{}] audit record(s) to [{}] after [{}] attempt(s); records are discarded: [{}]",
+                    pending.size(), dynamoDbProperties.getTableName(), attempt, pending);
+            }
+        }
+    }
+
+    private static boolean pause(final long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     /**
      * Remove all.
      */
@@ -6,8 +6,11 @@ import org.apereo.cas.audit.DynamoDbAuditTrailManagerFacilitator;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.dynamodb.AmazonDynamoDbClientFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -30,11 +33,15 @@ public class CasSupportDynamoDbAuditConfiguration {
     @ConditionalOnMissingBean(name = "dynamoDbAuditTrailManager")
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public AuditTrailManager dynamoDbAuditTrailManager(
+        final ObjectProvider<MeterRegistry> meterRegistry,
         final CasConfigurationProperties casProperties,
         @Qualifier("dynamoDbAuditTrailManagerFacilitator")
         final DynamoDbAuditTrailManagerFacilitator dynamoDbAuditTrailManagerFacilitator) {
         val db = casProperties.getAudit().getDynamoDb();
-        return new DynamoDbAuditTrailManager(dynamoDbAuditTrailManagerFacilitator, db.isAsynchronous());
+        val manager = new DynamoDbAuditTrailManager(dynamoDbAuditTrailManagerFacilitator, db.isAsynchronous());
+        manager.setQueueProperties(casProperties.getAudit().getEngine().getQueue());
+        manager.setMeterRegistry(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        return manager;
     }
 
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -0,0 +1,107 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * This is {@link BatchingJdbcAuditTrailManager}.
+ * Wraps the Inspektr {@link JdbcAuditTrailManager} so that audit records
+ * queued when operating asynchronously are written with a single
+ * JDBC batch insert per batch. Reads and cleanup are handled by the wrapped manager.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+@Getter
+@SuppressWarnings("JavaUtilDate")
+public class BatchingJdbcAuditTrailManager extends AbstractAuditTrailManager {
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+        + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE, AUD_USERAGENT) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcAuditTrailManager delegate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String insertSql;
+
+    private final int columnLength;
+
+    public BatchingJdbcAuditTrailManager(final JdbcAuditTrailManager delegate,
+                                         final TransactionTemplate transactionTemplate,
+                                         final DataSource dataSource,
+                                         final String tableName,
+                                         final int columnLength,
+                                         final boolean asynchronous) {
+        super(asynchronous);
+        this.delegate = delegate;
+        this.delegate.setAsynchronous(false);
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insertSql = String.format(INSERT_SQL_TEMPLATE, tableName);
+        this.columnLength = columnLength;
+    }
+
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        delegate.record(audit);
+    }
+
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        val arguments = new ArrayList<Object[]>(audits.size());
+        audits.forEach(audit -> arguments.add(new Object[]{
+            StringUtils.left(audit.getPrincipal(), columnLength),
+            audit.getClientIpAddress(),
+            audit.getServerIpAddress(),
+            StringUtils.left(audit.getResourceOperatedUpon(), columnLength),
+            StringUtils.left(audit.getActionPerformed(), columnLength),
+            audit.getApplicationCode(),
+            new Timestamp(audit.getWhenActionWasPerformed().getTime()),
+            audit.getUserAgent()
+        }));
+        LOGGER.trace("Inserting [{}] audit records in a single batch", arguments.size());
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(insertSql, arguments));
+    }
+
+    @Override
+    public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return delegate.getAuditRecordsSince(localDate);
+    }
+
+    @Override
+    public void removeAll() {
+        delegate.removeAll();
+    }
+
+    @Override
+    public void clean() {
+        delegate.clean();
+    }
+
+    @Override
+    @SneakyThrows
+    public void destroy() {
+        super.destroy();
+        delegate.destroy();
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.audit.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
+import org.apereo.cas.audit.BatchingJdbcAuditTrailManager;
 import org.apereo.cas.audit.spi.entity.AuditTrailEntity;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
@@ -9,6 +10,8 @@ import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.jpa.JpaBeanFactory;
 import org.apereo.cas.util.CollectionUtils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.audit.AuditTrailManager;
@@ -16,6 +19,7 @@ import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
 import org.apereo.inspektr.audit.support.MaxAgeWhereClauseMatchCriteria;
 import org.apereo.inspektr.audit.support.WhereClauseMatchCriteria;
 import org.apereo.inspektr.common.Cleanable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -114,21 +118,27 @@ public class CasSupportJdbcAuditConfiguration {
             @Qualifier("inspektrAuditTransactionTemplate")
             final TransactionTemplate inspektrAuditTransactionTemplate,
             @Qualifier("inspektrAuditTrailDataSource")
-            final DataSource inspektrAuditTrailDataSource, final CasConfigurationProperties casProperties) {
+            final DataSource inspektrAuditTrailDataSource,
+            final ObjectProvider<MeterRegistry> meterRegistry,
+            final CasConfigurationProperties casProperties) {
             val jdbc = casProperties.getAudit().getJdbc();
+            val tableName = getAuditTableNameFrom(jdbc);
             val t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate);
             t.setCleanupCriteria(auditCleanupCriteria);
             t.setDataSource(inspektrAuditTrailDataSource);
-            t.setAsynchronous(jdbc.isAsynchronous());
             t.setColumnLength(jdbc.getColumnLength());
-            t.setTableName(getAuditTableNameFrom(jdbc));
+            t.setTableName(tableName);
             if (StringUtils.isNotBlank(jdbc.getSelectSqlQueryTemplate())) {
                 t.setSelectByDateSqlTemplate(jdbc.getSelectSqlQueryTemplate());
             }
             if (StringUtils.isNotBlank(jdbc.getDateFormatterPattern())) {
                 t.setDateFormatterPattern(jdbc.getDateFormatterPattern());
             }
-            return t;
+            val manager = new BatchingJdbcAuditTrailManager(t, inspektrAuditTransactionTemplate,
+                inspektrAuditTrailDataSource, tableName, jdbc.getColumnLength(), jdbc.isAsynchronous());
+            manager.setQueueProperties(casProperties.getAudit().getEngine().getQueue());
+            manager.setMeterRegistry(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+            return manager;
         }
     }
 
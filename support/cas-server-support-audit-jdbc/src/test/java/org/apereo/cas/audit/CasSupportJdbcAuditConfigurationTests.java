@@ -8,6 +8,8 @@ import org.apereo.cas.config.CasHibernateJpaConfiguration;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 
 import lombok.Getter;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.apereo.inspektr.common.Cleanable;
 import org.junit.jupiter.api.Tag;
@@ -20,6 +22,14 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link CasSupportJdbcAuditConfigurationTests}.
  *
@@ -55,4 +65,17 @@ public class CasSupportJdbcAuditConfigurationTests extends BaseAuditConfiguratio
     public void verifyCleaner() {
         inspektrAuditTrailCleaner.clean();
     }
+
+    @Test
+    @SuppressWarnings("JavaUtilDate")
+    public void verifyBatchedRecords() {
+        val manager = (BatchingJdbcAuditTrailManager) auditTrailManager;
+        val records = IntStream.range(0, 5)
+            .mapToObj(i -> new AuditActionContext("casuser" + i, "TEST", "TEST",
+                "CAS", new Date(), "1.2.3.4", "1.2.3.4", "GoogleChrome"))
+            .collect(Collectors.toList());
+        manager.saveAuditRecords(records);
+        val results = manager.getAuditRecordsSince(LocalDate.now(ZoneOffset.UTC).minusDays(2));
+        assertEquals(records.size(), results.size());
+    }
 }
@@ -12,6 +12,8 @@ import org.apereo.inspektr.audit.AuditActionContext;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -68,6 +70,14 @@ public class RedisAuditTrailManager extends AbstractAuditTrailManager {
         this.redisTemplate.boundValueOps(redisKey).set(audit);
     }
 
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        val records = new LinkedHashMap<String, AuditActionContext>(audits.size());
+        audits.forEach(audit -> records.put(getAuditRedisKey(audit), audit));
+        LOGGER.trace("Setting [{}] audit records in a single request", records.size());
+        this.redisTemplate.opsForValue().multiSet(records);
+    }
+
     private Stream<String> getAuditRedisKeys() {
         return RedisUtils.keys(this.redisTemplate, getPatternAuditRedisKey(), this.scanCount);
     }
@@ -6,8 +6,11 @@ import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.redis.core.RedisObjectFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -33,11 +36,15 @@ public class CasSupportRedisAuditConfiguration {
     @ConditionalOnMissingBean(name = "redisAuditTrailManager")
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public AuditTrailManager redisAuditTrailManager(
+        final ObjectProvider<MeterRegistry> meterRegistry,
         @Qualifier("auditRedisTemplate")
         final RedisTemplate auditRedisTemplate,
         final CasConfigurationProperties casProperties) {
         val redis = casProperties.getAudit().getRedis();
-        return new RedisAuditTrailManager(auditRedisTemplate, redis.isAsynchronous(), redis.getScanCount());
+        val manager = new RedisAuditTrailManager(auditRedisTemplate, redis.isAsynchronous(), redis.getScanCount());
+        manager.setQueueProperties(casProperties.getAudit().getEngine().getQueue());
+        manager.setMeterRegistry(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        return manager;
     }
 
     @Bean
@@ -23,8 +23,11 @@ import org.springframework.http.MediaType;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RestAuditTrailManager}.
@@ -48,26 +51,26 @@ public class RestAuditTrailManager extends AbstractAuditTrailManager {
 
     @Override
     public void saveAuditRecord(final AuditActionContext audit) {
-        HttpResponse response = null;
-        try {
-            val auditJson = serializer.toString(audit);
-            val headers = CollectionUtils.<String, Object>wrap("Content-Type", MediaType.APPLICATION_JSON_VALUE,
-                "userAgent", StringUtils.defaultString(audit.getUserAgent(), "N/A"));
-            headers.putAll(properties.getHeaders());
+        val auditJson = serializer.toString(audit);
+        val headers = CollectionUtils.<String, Object>wrap("Content-Type", MediaType.APPLICATION_JSON_VALUE,
+            "userAgent", StringUtils.defaultString(audit.getUserAgent(), "N/A"));
+        LOGGER.trace("Sending audit action context to REST endpoint [{}]", properties.getUrl());
+        postAuditRecords(auditJson, headers);
+    }
 
-            LOGGER.trace("Sending audit action context to REST endpoint [{}]", properties.getUrl());
-            val exec = HttpUtils.HttpExecutionRequest.builder()
-                .basicAuthPassword(properties.getBasicAuthPassword())
-                .basicAuthUsername(properties.getBasicAuthUsername())
-                .method(HttpMethod.POST)
-                .url(properties.getUrl())
-                .entity(auditJson)
-                .headers(headers)
-                .build();
-            response = HttpUtils.execute(exec);
-        } finally {
-            HttpUtils.close(response);
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        if (!properties.isBulkSaveEnabled()) {
+            super.saveAuditRecords(audits);
+            return;
         }
+        val auditJson = audits
+            .stream()
+            .map(serializer::toString)
+            .collect(Collectors.joining(",", "[", "]"));
+        val headers = CollectionUtils.<String, Object>wrap("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        LOGGER.trace("Sending [{}] audit action contexts to REST endpoint [{}]", audits.size(), properties.getUrl());
+        postAuditRecords(auditJson, headers);
     }
 
     @Override
@@ -116,4 +119,22 @@ public class RestAuditTrailManager extends AbstractAuditTrailManager {
             HttpUtils.close(response);
         }
     }
+
+    private void postAuditRecords(final String auditJson, final Map<String, Object> headers) {
+        HttpResponse response = null;
+        try {
+            headers.putAll(properties.getHeaders());
+            val exec = HttpUtils.HttpExecutionRequest.builder()
+                .basicAuthPassword(properties.getBasicAuthPassword())
+                .basicAuthUsername(properties.getBasicAuthUsername())
+                .method(HttpMethod.POST)
+                .url(properties.getUrl())
+                .entity(auditJson)
+                .headers(headers)
+                .build();
+            response = HttpUtils.execute(exec);
+        } finally {
+            HttpUtils.close(response);
+        }
+    }
 }
@@ -4,8 +4,11 @@ import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
 import org.apereo.cas.audit.RestAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.val;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -27,9 +30,14 @@ public class CasSupportRestAuditConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "restAuditTrailManager")
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
-    public AuditTrailManager restAuditTrailManager(final CasConfigurationProperties casProperties) {
+    public AuditTrailManager restAuditTrailManager(
+        final ObjectProvider<MeterRegistry> meterRegistry,
+        final CasConfigurationProperties casProperties) {
         val rest = casProperties.getAudit().getRest();
-        return new RestAuditTrailManager(rest);
+        val manager = new RestAuditTrailManager(rest);
+        manager.setQueueProperties(casProperties.getAudit().getEngine().getQueue());
+        manager.setMeterRegistry(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        return manager;
     }
 
     @Bean
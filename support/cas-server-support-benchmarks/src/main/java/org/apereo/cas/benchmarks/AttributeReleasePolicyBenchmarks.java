@@ -0,0 +1,134 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryTestConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.AbstractRegisteredService;
+import org.apereo.cas.services.RegisteredServiceAttributeReleasePolicy;
+import org.apereo.cas.services.RegisteredServiceAttributeReleasePolicyContext;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnAllowedAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnMappedAttributeReleasePolicy;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AttributeReleasePolicyBenchmarks}.
+ * <p>
+ * Measures the evaluation of attribute release policies
+ * for a principal with a typical number of attributes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AttributeReleasePolicyBenchmarks {
+    private static final int NUMBER_OF_ATTRIBUTES = 25;
+
+    @Param({"ALL", "ALLOWED", "MAPPED"})
+    private String policyType;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private AbstractRegisteredService registeredService;
+
+    private Service service;
+
+    private Principal principal;
+
+    private static RegisteredServiceAttributeReleasePolicy getAttributeReleasePolicy(final String type) {
+        switch (type) {
+            case "ALLOWED":
+                val allowed = new ReturnAllowedAttributeReleasePolicy();
+                allowed.setAllowedAttributes(List.of("attribute0", "attribute5", "attribute10", "attribute15", "attribute20"));
+                return allowed;
+            case "MAPPED":
+                val mappings = new TreeMap<String, Object>();
+                mappings.put("attribute0", "uid");
+                mappings.put("attribute5", List.of("mail", "email"));
+                mappings.put("attribute10", "groovy { return attributes['attribute10'] }");
+                mappings.put("attribute15", "displayName");
+                return new ReturnMappedAttributeReleasePolicy(mappings);
+            default:
+                return new ReturnAllAttributeReleasePolicy();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = CasBenchmarkUtils.startApplicationContext(
+            new Class<?>[]{AttributeReleasePolicyBenchmarkConfiguration.class});
+        val attributes = new LinkedHashMap<String, List<Object>>();
+        for (var i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
+            val values = new ArrayList<Object>();
+            for (var j = 0; j <= i % 3; j++) {
+                values.add("value" + i + '-' + j);
+            }
+            attributes.put("attribute" + i, values);
+        }
+        principal = CoreAuthenticationTestUtils.getPrincipal("casuser", attributes);
+        service = RegisteredServiceTestUtils.getService();
+        registeredService = RegisteredServiceTestUtils.getRegisteredService();
+        registeredService.setAttributeReleasePolicy(getAttributeReleasePolicy(policyType));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> releaseAttributes() {
+        val context = RegisteredServiceAttributeReleasePolicyContext.builder()
+            .registeredService(registeredService)
+            .service(service)
+            .principal(principal)
+            .build();
+        return registeredService.getAttributeReleasePolicy().getAttributes(context);
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration(RefreshAutoConfiguration.class)
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    @Import({
+        CasPersonDirectoryTestConfiguration.class,
+        CasCoreUtilConfiguration.class
+    })
+    static class AttributeReleasePolicyBenchmarkConfiguration {
+    }
+}
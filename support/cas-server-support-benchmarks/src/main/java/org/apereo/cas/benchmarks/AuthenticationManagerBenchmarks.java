@@ -0,0 +1,103 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.BaseCasCoreTests;
+import org.apereo.cas.authentication.AcceptUsersAuthenticationHandler;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.AuthenticationEventExecutionPlanConfigurer;
+import org.apereo.cas.authentication.AuthenticationManager;
+import org.apereo.cas.authentication.AuthenticationTransaction;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.DefaultAuthenticationTransactionFactory;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link AuthenticationManagerBenchmarks}.
+ * <p>
+ * Measures the orchestration cost of authenticating a credential with an execution plan
+ * that holds twenty authentication handlers which do not select the credential, ahead of the
+ * handler that authenticates it, once with the default plan and once with a frozen plan.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthenticationManagerBenchmarks {
+    private static final int HANDLER_COUNT = 20;
+
+    @Param({"false", "true"})
+    private boolean frozenExecutionPlan;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private AuthenticationManager authenticationManager;
+
+    private AuthenticationTransaction transaction;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = CasBenchmarkUtils.startApplicationContext(
+            new Class<?>[]{AuthenticationManagerBenchmarkConfiguration.class},
+            "cas.authn.core.engine.frozen-execution-plan=" + frozenExecutionPlan);
+        authenticationManager = applicationContext.getBean("casAuthenticationManager", AuthenticationManager.class);
+        transaction = new DefaultAuthenticationTransactionFactory().newTransaction(RegisteredServiceTestUtils.getService(),
+            CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        return authenticationManager.authenticate(transaction);
+    }
+
+    @SpringBootConfiguration
+    @EnableAspectJAutoProxy
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    @Import(BaseCasCoreTests.SharedTestConfiguration.class)
+    static class AuthenticationManagerBenchmarkConfiguration {
+        @Bean
+        public AuthenticationEventExecutionPlanConfigurer benchmarkAuthenticationEventExecutionPlanConfigurer() {
+            return plan -> IntStream.range(0, HANDLER_COUNT).forEach(i -> {
+                val handler = new AcceptUsersAuthenticationHandler("BenchmarkHandler" + i, null,
+                    PrincipalFactoryUtils.newPrincipalFactory(), i, Map.of());
+                handler.setCredentialSelectionPredicate(credential -> false);
+                plan.registerAuthenticationHandler(handler);
+            });
+        }
+    }
+}
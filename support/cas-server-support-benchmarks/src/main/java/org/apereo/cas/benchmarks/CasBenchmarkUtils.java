@@ -0,0 +1,39 @@
+package org.apereo.cas.benchmarks;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+/**
+ * This is {@link CasBenchmarkUtils}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@UtilityClass
+public class CasBenchmarkUtils {
+
+    /**
+     * Start an application context for the given configuration classes.
+     * The context is backed by a mock servlet context, the same way
+     * the context of a {@code SpringBootTest} is built by default.
+     *
+     * @param sources    the configuration classes
+     * @param properties the properties, as {@code name=value}
+     * @return the application context
+     */
+    public static ConfigurableApplicationContext startApplicationContext(final Class<?>[] sources,
+                                                                         final String... properties) {
+        return new SpringApplicationBuilder(sources)
+            .web(WebApplicationType.SERVLET)
+            .contextFactory(type -> new GenericWebApplicationContext(new MockServletContext()))
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .properties(properties)
+            .run();
+    }
+}
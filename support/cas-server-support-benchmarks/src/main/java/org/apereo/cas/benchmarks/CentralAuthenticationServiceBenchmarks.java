@@ -0,0 +1,162 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.BaseCasCoreTests;
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.authentication.AuthenticationResult;
+import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.validation.Assertion;
+
+import lombok.Getter;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CentralAuthenticationServiceBenchmarks}.
+ * <p>
+ * Measures granting and validating service tickets, once with the default
+ * ticket registry and once with the caching ticket registry.
+ * <p>
+ * Each iteration runs a fixed batch of operations against a ticket-granting ticket
+ * created for that iteration, so the services recorded by the ticket-granting ticket
+ * do not accumulate across iterations, and service tickets validated by an iteration
+ * are granted ahead of it. Scores are reported per batch of {@value #OPERATIONS_PER_ITERATION} operations.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = CentralAuthenticationServiceBenchmarks.OPERATIONS_PER_ITERATION)
+@Measurement(iterations = 20, batchSize = CentralAuthenticationServiceBenchmarks.OPERATIONS_PER_ITERATION)
+@Fork(1)
+public class CentralAuthenticationServiceBenchmarks {
+    /**
+     * Number of operations that make up an iteration.
+     */
+    static final int OPERATIONS_PER_ITERATION = 1_000;
+
+    @Param({"false", "true"})
+    private boolean cachingTicketRegistry;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private CentralAuthenticationService centralAuthenticationService;
+
+    private AuthenticationResult authenticationResult;
+
+    private Service service;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        applicationContext = CasBenchmarkUtils.startApplicationContext(
+            new Class<?>[]{CentralAuthenticationServiceBenchmarkConfiguration.class},
+            "cas.ticket.registry.in-memory.cache=" + cachingTicketRegistry);
+        centralAuthenticationService = applicationContext.getBean(CentralAuthenticationService.BEAN_NAME,
+            CentralAuthenticationService.class);
+        val authenticationSystemSupport = applicationContext.getBean(AuthenticationSystemSupport.BEAN_NAME,
+            AuthenticationSystemSupport.class);
+        service = RegisteredServiceTestUtils.getService();
+        authenticationResult = CoreAuthenticationTestUtils.getAuthenticationResult(authenticationSystemSupport, service);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Assertion grantAndValidateServiceTicket(final TicketGrantingTicketState state) {
+        val serviceTicket = centralAuthenticationService.grantServiceTicket(state.getTicketGrantingTicketId(), service, authenticationResult);
+        return centralAuthenticationService.validateServiceTicket(serviceTicket.getId(), service);
+    }
+
+    @Benchmark
+    public Assertion validateServiceTicket(final ServiceTicketState state) {
+        return centralAuthenticationService.validateServiceTicket(state.next(), service);
+    }
+
+    /**
+     * Creates the ticket-granting ticket used by an iteration,
+     * and removes it along with its service tickets once the iteration is done.
+     */
+    @State(Scope.Thread)
+    @Getter
+    public static class TicketGrantingTicketState {
+        private CentralAuthenticationService centralAuthenticationService;
+
+        private String ticketGrantingTicketId;
+
+        @Setup(Level.Iteration)
+        public void setup(final CentralAuthenticationServiceBenchmarks benchmarks) throws Exception {
+            centralAuthenticationService = benchmarks.centralAuthenticationService;
+            ticketGrantingTicketId = centralAuthenticationService.createTicketGrantingTicket(benchmarks.authenticationResult).getId();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            centralAuthenticationService.deleteTicket(ticketGrantingTicketId);
+        }
+    }
+
+    /**
+     * Grants the service tickets that are validated by the next iteration.
+     * Each ticket is consumed by its validation, so the registry
+     * does not grow over the course of the benchmark.
+     */
+    @State(Scope.Thread)
+    public static class ServiceTicketState {
+        private final Deque<String> serviceTicketIds = new ArrayDeque<>(OPERATIONS_PER_ITERATION);
+
+        @Setup(Level.Iteration)
+        public void setup(final CentralAuthenticationServiceBenchmarks benchmarks,
+                          final TicketGrantingTicketState ticketGrantingTicket) {
+            serviceTicketIds.clear();
+            for (var i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+                serviceTicketIds.add(benchmarks.centralAuthenticationService.grantServiceTicket(
+                    ticketGrantingTicket.getTicketGrantingTicketId(), benchmarks.service, benchmarks.authenticationResult).getId());
+            }
+        }
+
+        /**
+         * Next service ticket id to validate.
+         *
+         * @return the service ticket id
+         */
+        public String next() {
+            return serviceTicketIds.pop();
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAspectJAutoProxy
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    @Import(BaseCasCoreTests.SharedTestConfiguration.class)
+    static class CentralAuthenticationServiceBenchmarkConfiguration {
+    }
+}
@@ -0,0 +1,62 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.util.scripting.GroovyShellScript;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link GroovyShellScriptBenchmarks}.
+ * <p>
+ * Measures the cost of executing a cached inline groovy script, similar to those
+ * used by attribute definitions and attribute release policies, from several threads at once.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class GroovyShellScriptBenchmarks {
+    private GroovyShellScript script;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        script = new GroovyShellScript("return attributes['attribute10'].collect { it.toUpperCase() }");
+    }
+
+    @Benchmark
+    public List execute(final ThreadState state) {
+        script.setBinding(state.variables);
+        return script.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, List.class);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private Map<String, Object> variables;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            variables = Map.of("attributes", Map.of("attribute10", List.of("value-" + Thread.currentThread().getId())));
+        }
+    }
+}
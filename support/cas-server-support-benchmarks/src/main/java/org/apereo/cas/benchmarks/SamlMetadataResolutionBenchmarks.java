@@ -0,0 +1,126 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CoreSamlConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceDefaultCachingMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceMetadataResolverCacheLoader;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
+import org.apereo.cas.util.http.HttpClient;
+
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.saml.criterion.EntityRoleCriterion;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link SamlMetadataResolutionBenchmarks}.
+ * <p>
+ * Measures resolving service provider metadata out of a cached
+ * metadata aggregate from many threads at the same time.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SamlMetadataResolutionBenchmarks {
+    private static final List<String> ENTITY_IDS = List.of(
+        "https://issues.shibboleth.net/shibboleth",
+        "https://mfa-auth.dev.phenoapp.com/Saml2");
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private SamlRegisteredServiceDefaultCachingMetadataResolver resolver;
+
+    private SamlRegisteredService registeredService;
+
+    private List<CriteriaSet> criteria;
+
+    private static CriteriaSet getCriteriaFor(final String entityId) {
+        val criteriaSet = new CriteriaSet();
+        criteriaSet.add(new EntityIdCriterion(entityId));
+        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
+        return criteriaSet;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = CasBenchmarkUtils.startApplicationContext(
+            new Class<?>[]{SamlMetadataResolutionBenchmarkConfiguration.class});
+        val casProperties = applicationContext.getBean(CasConfigurationProperties.class);
+        val openSamlConfigBean = applicationContext.getBean(OpenSamlConfigBean.DEFAULT_BEAN_NAME, OpenSamlConfigBean.class);
+        val httpClient = applicationContext.getBean("httpClient", HttpClient.class);
+
+        val resolutionPlan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        resolutionPlan.registerMetadataResolver(
+            new ClasspathResourceMetadataResolver(casProperties.getAuthn().getSamlIdp(), openSamlConfigBean));
+        val cacheLoader = new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, httpClient, resolutionPlan);
+        resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(Duration.ofHours(1), cacheLoader, openSamlConfigBean);
+
+        registeredService = new SamlRegisteredService();
+        registeredService.setName("AggregateMetadata");
+        registeredService.setId(1000);
+        registeredService.setServiceId("https://.+");
+        registeredService.setMetadataLocation("classpath:aggregate-md.xml");
+        criteria = ENTITY_IDS.stream().map(SamlMetadataResolutionBenchmarks::getCriteriaFor).collect(Collectors.toList());
+        criteria.forEach(criteriaSet -> resolver.resolve(registeredService, criteriaSet));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        resolver.invalidate();
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public MetadataResolver resolveCachedMetadata() {
+        val criteriaSet = criteria.get(ThreadLocalRandom.current().nextInt(criteria.size()));
+        return resolver.resolve(registeredService, criteriaSet);
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration(RefreshAutoConfiguration.class)
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    @Import({
+        CasCoreHttpConfiguration.class,
+        CoreSamlConfiguration.class
+    })
+    static class SamlMetadataResolutionBenchmarkConfiguration {
+    }
+}
@@ -0,0 +1,149 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.SamlIdPTestUtils;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCachingMetadataResolver;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.DefaultSamlIdPObjectSigner;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.SamlIdPObjectSigner;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensaml.messaging.context.MessageContext;
+import org.opensaml.saml.common.SAMLObjectBuilder;
+import org.opensaml.saml.common.SAMLVersion;
+import org.opensaml.saml.common.xml.SAMLConstants;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.saml2.core.AuthnRequest;
+import org.opensaml.saml.saml2.core.Issuer;
+import org.opensaml.saml.saml2.core.Response;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
+import org.opensaml.xmlsec.SignatureSigningParameters;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link SamlResponseSigningBenchmarks}.
+ * <p>
+ * Measures preparing and signing a SAML2 response for the POST binding, with signature
+ * signing parameters cached per service provider, and with signing parameters resolved
+ * for every response as a baseline.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SamlResponseSigningBenchmarks {
+    private ConfigurableApplicationContext applicationContext;
+
+    private OpenSamlConfigBean openSamlConfigBean;
+
+    private String issuer;
+
+    private SamlIdPObjectSigner cachingSigner;
+
+    private SamlIdPObjectSigner uncachedSigner;
+
+    private SamlRegisteredService registeredService;
+
+    private SamlRegisteredServiceServiceProviderMetadataFacade adaptor;
+
+    private AuthnRequest authnRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = CasBenchmarkUtils.startApplicationContext(
+            new Class<?>[]{BaseSamlIdPConfigurationTests.SharedTestConfiguration.class},
+            "cas.webflow.crypto.encryption.key=qLhvLuaobvfzMmbo9U_bYA",
+            "cas.webflow.crypto.signing.key=oZeAR5pEXsolruu4OQYsQKxf-FCvFzSsKlsVaKmfIl6pNzoPm6zPW94NRS1af7vT-0bb3DpPBeksvBXjloEsiA",
+            "cas.authn.saml-idp.core.entity-id=https://cas.example.org/idp",
+            "cas.authn.saml-idp.metadata.file-system.location=${#systemProperties['java.io.tmpdir']}/idp-metadata");
+        val casProperties = applicationContext.getBean(CasConfigurationProperties.class);
+        openSamlConfigBean = applicationContext.getBean(OpenSamlConfigBean.DEFAULT_BEAN_NAME, OpenSamlConfigBean.class);
+        issuer = casProperties.getAuthn().getSamlIdp().getCore().getEntityId();
+        cachingSigner = applicationContext.getBean(SamlIdPObjectSigner.DEFAULT_BEAN_NAME, SamlIdPObjectSigner.class);
+
+        val samlIdPMetadataResolver = applicationContext.getBean("casSamlIdPMetadataResolver", MetadataResolver.class);
+        val samlIdPMetadataLocator = applicationContext.getBean("samlIdPMetadataLocator", SamlIdPMetadataLocator.class);
+        uncachedSigner = new DefaultSamlIdPObjectSigner(samlIdPMetadataResolver, casProperties, samlIdPMetadataLocator) {
+            @Override
+            protected SignatureSigningParameters getSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                               final SamlRegisteredService service) {
+                return buildSignatureSigningParameters(descriptor, service);
+            }
+        };
+
+        registeredService = new SamlRegisteredService();
+        registeredService.setId(1000);
+        registeredService.setName("SamlResponseSigning");
+        registeredService.setServiceId("https://cassp.example.org");
+        registeredService.setMetadataLocation("classpath:metadata/testshib-providers.xml");
+        registeredService.setSignResponses(true);
+
+        val metadataResolver = applicationContext.getBean(SamlRegisteredServiceCachingMetadataResolver.DEFAULT_BEAN_NAME,
+            SamlRegisteredServiceCachingMetadataResolver.class);
+        adaptor = SamlRegisteredServiceServiceProviderMetadataFacade
+            .get(metadataResolver, registeredService, registeredService.getServiceId()).orElseThrow();
+        authnRequest = SamlIdPTestUtils.getAuthnRequest(openSamlConfigBean, registeredService);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Response signResponseWithCachedParameters() throws Exception {
+        return sign(cachingSigner);
+    }
+
+    @Benchmark
+    public Response signResponseWithResolvedParameters() throws Exception {
+        return sign(uncachedSigner);
+    }
+
+    private Response sign(final SamlIdPObjectSigner signer) throws Exception {
+        return signer.encode(newResponse(), registeredService, adaptor, new MockHttpServletResponse(),
+            new MockHttpServletRequest(), SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, new MessageContext());
+    }
+
+    private Response newResponse() {
+        val builderFactory = openSamlConfigBean.getBuilderFactory();
+        val responseBuilder = (SAMLObjectBuilder) builderFactory.getBuilder(Response.DEFAULT_ELEMENT_NAME);
+        val response = (Response) Objects.requireNonNull(responseBuilder).buildObject();
+        response.setID('_' + UUID.randomUUID().toString());
+        response.setIssueInstant(Instant.now());
+        response.setVersion(SAMLVersion.VERSION_20);
+        val issuerBuilder = (SAMLObjectBuilder) builderFactory.getBuilder(Issuer.DEFAULT_ELEMENT_NAME);
+        val responseIssuer = (Issuer) Objects.requireNonNull(issuerBuilder).buildObject();
+        responseIssuer.setValue(issuer);
+        response.setIssuer(responseIssuer);
+        return response;
+    }
+}
@@ -0,0 +1,176 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.DefaultServicesManagerRegisteredServiceLocator;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.ServicesManagerConfigurationContext;
+import org.apereo.cas.services.ServicesManagerRegisteredServiceLocator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ServicesManagerBenchmarks}.
+ * <p>
+ * Measures locating registered services by service url,
+ * with a varying number of registered services. Definitions are either anchored
+ * to a literal host prefix, which the lookup index is able to narrow down, or
+ * begin with a wildcard, which forces every definition to be considered.
+ * The {@code SortAndScan} benchmarks reproduce the lookup path that sorts
+ * and scans every cached definition, as a baseline for comparison.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServicesManagerBenchmarks {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int numberOfServices;
+
+    @Param({"ANCHORED", "UNANCHORED"})
+    private ServiceDefinitionLayout layout;
+
+    private ServicesManager servicesManager;
+
+    private Cache<Long, RegisteredService> servicesCache;
+
+    private ServicesManagerRegisteredServiceLocator serviceLocator;
+
+    private WebApplicationService firstService;
+
+    private WebApplicationService lastService;
+
+    private WebApplicationService unknownService;
+
+    private static String getServiceUrl(final int index) {
+        return "https://app" + index + ".example.org/cas/login";
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+
+        val services = new ArrayList<RegisteredService>(numberOfServices);
+        for (var i = 0; i < numberOfServices; i++) {
+            val service = new RegexRegisteredService();
+            service.setId(i + 1);
+            service.setName("Application" + i);
+            service.setServiceId(layout.getServiceId(i));
+            service.setEvaluationOrder(i);
+            services.add(service);
+        }
+        servicesCache = Caffeine.newBuilder().build();
+        serviceLocator = new DefaultServicesManagerRegisteredServiceLocator();
+        val context = ServicesManagerConfigurationContext.builder()
+            .serviceRegistry(new InMemoryServiceRegistry(applicationContext, services, new ArrayList<>(0)))
+            .applicationContext(applicationContext)
+            .environments(new HashSet<>(0))
+            .servicesCache(servicesCache)
+            .registeredServiceLocators(List.of(serviceLocator))
+            .build();
+        servicesManager = new DefaultServicesManager(context);
+        servicesManager.load();
+
+        val serviceFactory = new WebApplicationServiceFactory();
+        firstService = serviceFactory.createService(getServiceUrl(0));
+        lastService = serviceFactory.createService(getServiceUrl(numberOfServices - 1));
+        unknownService = serviceFactory.createService("https://unknown.example.net/cas/login");
+    }
+
+    @Benchmark
+    public RegisteredService findFirstService() {
+        return servicesManager.findServiceBy(firstService);
+    }
+
+    @Benchmark
+    public RegisteredService findLastService() {
+        return servicesManager.findServiceBy(lastService);
+    }
+
+    @Benchmark
+    public RegisteredService findUnknownService() {
+        return servicesManager.findServiceBy(unknownService);
+    }
+
+    @Benchmark
+    public RegisteredService findFirstServiceBySortAndScan() {
+        return sortAndScan(firstService);
+    }
+
+    @Benchmark
+    public RegisteredService findLastServiceBySortAndScan() {
+        return sortAndScan(lastService);
+    }
+
+    @Benchmark
+    public RegisteredService findUnknownServiceBySortAndScan() {
+        return sortAndScan(unknownService);
+    }
+
+    private RegisteredService sortAndScan(final WebApplicationService service) {
+        val candidates = servicesCache.asMap().values()
+            .stream()
+            .sorted(Comparator.naturalOrder())
+            .collect(Collectors.toList());
+        return serviceLocator.locate(candidates, service);
+    }
+
+    /**
+     * Shapes of the registered service definitions.
+     */
+    public enum ServiceDefinitionLayout {
+        /**
+         * Definitions anchored to a literal scheme and host.
+         */
+        ANCHORED {
+            @Override
+            String getServiceId(final int index) {
+                return "^https://app" + index + "\\.example\\.org/.*";
+            }
+        },
+        /**
+         * Definitions that begin with a wildcard and carry no literal prefix.
+         */
+        UNANCHORED {
+            @Override
+            String getServiceId(final int index) {
+                return ".*://app" + index + "\\.example\\.org/.*";
+            }
+        };
+
+        abstract String getServiceId(int index);
+    }
+}
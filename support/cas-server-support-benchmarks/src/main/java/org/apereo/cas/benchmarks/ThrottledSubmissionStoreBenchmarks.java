@@ -0,0 +1,110 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.throttle.CaffeineThrottledSubmissionCounterStore;
+import org.apereo.cas.throttle.ConcurrentThrottledSubmissionsStore;
+import org.apereo.cas.web.support.ThrottledSubmissionCounterStore;
+import org.apereo.cas.web.support.ThrottledSubmissionsStore;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ThrottledSubmissionStoreBenchmarks}.
+ * <p>
+ * Simulates failed login attempts spread across a large number of source addresses,
+ * as seen during a distributed credential-stuffing attack. Both stores start out
+ * holding a failure for every address, none of which expire during the run. Measures recording a failure
+ * and checking the threshold against the in-memory timestamp store and the in-memory counter store,
+ * along with the cost of a cleanup pass over each while fully populated.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ThrottledSubmissionStoreBenchmarks {
+    /**
+     * Longer than the whole run, so that failures recorded during setup stay live
+     * and every benchmark works against fully populated stores.
+     */
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    @Param("1000000")
+    private int keyCount;
+
+    private String[] keys;
+
+    private ThrottledSubmissionsStore timestampStore;
+
+    private ThrottledSubmissionCounterStore counterStore;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new String[keyCount];
+        for (var i = 0; i < keyCount; i++) {
+            keys[i] = String.format("10.%d.%d.%d;casuser", (i >> 16) & 0xFF, (i >> 8) & 0xFF, i & 0xFF);
+        }
+        timestampStore = new ConcurrentThrottledSubmissionsStore();
+        counterStore = new CaffeineThrottledSubmissionCounterStore(keyCount);
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        for (val key : keys) {
+            timestampStore.put(key, now);
+            counterStore.increment(key, WINDOW);
+        }
+    }
+
+    @Benchmark
+    public boolean recordFailureTimestamp() {
+        val key = keys[ThreadLocalRandom.current().nextInt(keyCount)];
+        val last = timestampStore.get(key);
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        timestampStore.put(key, now);
+        return last != null && now.toInstant().toEpochMilli() - last.toInstant().toEpochMilli() < WINDOW.toMillis();
+    }
+
+    @Benchmark
+    public boolean recordFailureCount() {
+        val key = keys[ThreadLocalRandom.current().nextInt(keyCount)];
+        return counterStore.increment(key, WINDOW) + counterStore.get(key) > 2;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public void cleanupTimestamps() {
+        val cutoff = ZonedDateTime.now(ZoneOffset.UTC).minus(WINDOW);
+        timestampStore.removeIf(entry -> entry.getValue().isBefore(cutoff));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public void cleanupCounters() {
+        counterStore.removeExpired();
+    }
+}
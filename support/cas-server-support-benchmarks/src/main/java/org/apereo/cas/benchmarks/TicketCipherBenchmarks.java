@@ -0,0 +1,71 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketCipherBenchmarks}.
+ * <p>
+ * Measures serializing and encrypting tickets, the way ticket registries
+ * encode tickets when the ticket registry cipher is turned on.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TicketCipherBenchmarks {
+
+    private CipherExecutor cipherExecutor;
+
+    private TicketGrantingTicketImpl ticketGrantingTicket;
+
+    private byte[] encodedTicket;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cipherExecutor = CoreTicketUtils.newTicketRegistryCipherExecutor(
+            new EncryptionRandomizedSigningJwtCryptographyProperties(), true, "benchmarks");
+        ticketGrantingTicket = new TicketGrantingTicketImpl("TGT-1-benchmarks",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketGrantingTicket.grantServiceTicket("ST-1-benchmarks", RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        encodedTicket = encodeTicket();
+    }
+
+    @Benchmark
+    public byte[] encodeTicket() {
+        return SerializationUtils.serializeAndEncodeObject(cipherExecutor, ticketGrantingTicket);
+    }
+
+    @Benchmark
+    public Ticket decodeTicket() {
+        return SerializationUtils.decodeAndDeserializeObject(encodedTicket, cipherExecutor, Ticket.class);
+    }
+}
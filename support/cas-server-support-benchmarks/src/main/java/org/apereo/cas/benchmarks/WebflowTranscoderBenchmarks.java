@@ -0,0 +1,95 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasCoreAuthenticationComponentSerializationConfiguration;
+import org.apereo.cas.config.CasCoreServicesComponentSerializationConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.cas.util.serialization.DefaultComponentSerializationPlan;
+import org.apereo.cas.web.flow.executor.EncryptedTranscoder;
+import org.apereo.cas.web.flow.executor.KryoEncryptedTranscoder;
+import org.apereo.cas.web.flow.executor.WebflowCipherBean;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link WebflowTranscoderBenchmarks}.
+ * <p>
+ * Measures encoding and decoding the webflow conversation state
+ * that is sent to the browser as the execution key.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WebflowTranscoderBenchmarks {
+    @Param({"JAVA", "KRYO"})
+    private String format;
+
+    private EncryptedTranscoder transcoder;
+
+    private LinkedHashMap<String, Object> flowState;
+
+    private byte[] encodedFlowState;
+
+    private static Collection<Class> getSerializableClasses() {
+        val plan = new DefaultComponentSerializationPlan();
+        new CasCoreAuthenticationComponentSerializationConfiguration()
+            .casCoreAuthenticationComponentSerializationPlanConfigurer()
+            .configureComponentSerializationPlan(plan);
+        new CasCoreServicesComponentSerializationConfiguration()
+            .casCoreServicesComponentSerializationPlanConfigurer()
+            .configureComponentSerializationPlan(plan);
+        return plan.getRegisteredClasses();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        val cipher = new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16, "webflow");
+        val cipherBean = new WebflowCipherBean(cipher);
+        transcoder = "KRYO".equals(format)
+            ? new KryoEncryptedTranscoder(cipherBean, getSerializableClasses(), new SimpleMeterRegistry())
+            : new EncryptedTranscoder(cipherBean);
+        flowState = new LinkedHashMap<>();
+        flowState.put("flowId", "login");
+        flowState.put("stateId", "viewLoginForm");
+        flowState.put("service", RegisteredServiceTestUtils.getService());
+        flowState.put("credential", CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword());
+        flowState.put("authentication", CoreAuthenticationTestUtils.getAuthentication());
+        flowState.put("ticketGrantingTicketId", "TGT-1-" + UUID.randomUUID());
+        encodedFlowState = transcoder.encode(flowState);
+    }
+
+    @Benchmark
+    public byte[] encodeFlowState() throws Exception {
+        return transcoder.encode(flowState);
+    }
+
+    @Benchmark
+    public Object decodeFlowState() throws Exception {
+        return transcoder.decode(encodedFlowState);
+    }
+}
@@ -16,8 +16,10 @@ import software.amazon.awssdk.services.dynamodb.model.Condition;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
@@ -122,6 +124,30 @@ public class DynamoDbTableUtils {
                                    final boolean deleteTable,
                                    final List<AttributeDefinition> attributeDefinitions,
                                    final List<KeySchemaElement> keySchemaElements) throws Exception {
+        createTable(dynamoDbClient, dynamoDbProperties, tableName, deleteTable,
+            attributeDefinitions, keySchemaElements, List.of());
+    }
+
+    /**
+     * Create table along with its global secondary indexes.
+     * Indexes are given the same provisioned throughput as the table, if any.
+     *
+     * @param dynamoDbClient         the dynamo db client
+     * @param dynamoDbProperties     the dynamo db properties
+     * @param tableName              the table name
+     * @param deleteTable            the delete tables
+     * @param attributeDefinitions   the attribute definitions
+     * @param keySchemaElements      the key schema elements
+     * @param globalSecondaryIndexes the global secondary indexes
+     * @throws Exception the exception
+     */
+    public static void createTable(final DynamoDbClient dynamoDbClient,
+                                   final AbstractDynamoDbProperties dynamoDbProperties,
+                                   final String tableName,
+                                   final boolean deleteTable,
+                                   final List<AttributeDefinition> attributeDefinitions,
+                                   final List<KeySchemaElement> keySchemaElements,
+                                   final List<GlobalSecondaryIndex> globalSecondaryIndexes) throws Exception {
 
         val billingMode = BillingMode.fromValue(dynamoDbProperties.getBillingMode().name());
 
@@ -129,9 +155,14 @@ public class DynamoDbTableUtils {
             .readCapacityUnits(dynamoDbProperties.getReadCapacity())
             .writeCapacityUnits(dynamoDbProperties.getWriteCapacity())
             .build() : null;
+        val indexes = globalSecondaryIndexes
+            .stream()
+            .map(index -> index.toBuilder().provisionedThroughput(throughput).build())
+            .collect(Collectors.toList());
         val request = CreateTableRequest.builder()
             .attributeDefinitions(attributeDefinitions)
             .keySchema(keySchemaElements)
+            .globalSecondaryIndexes(indexes.isEmpty() ? null : indexes)
             .provisionedThroughput(throughput)
             .tableName(tableName)
             .billingMode(billingMode)
@@ -191,6 +222,47 @@ public class DynamoDbTableUtils {
         return Stream.empty();
     }
 
+    /**
+     * Gets records by querying an index of the table, rather than scanning the table.
+     * Key conditions must target the key attributes of the index, and filters are applied
+     * to the items that match the key conditions. All result pages are retrieved as needed.
+     *
+     * @param <T>            the type parameter
+     * @param dynamoDbClient the dynamo db client
+     * @param tableName      the table name
+     * @param indexName      the index name
+     * @param keyConditions  the key conditions
+     * @param filters        the filters
+     * @param itemMapper     the item mapper
+     * @return the records
+     */
+    public static <T> Stream<T> getRecordsByIndex(final DynamoDbClient dynamoDbClient,
+                                                  final String tableName,
+                                                  final String indexName,
+                                                  final List<DynamoDbQueryBuilder> keyConditions,
+                                                  final List<DynamoDbQueryBuilder> filters,
+                                                  final Function<Map<String, AttributeValue>, T> itemMapper) {
+        val queryRequest = QueryRequest.builder()
+            .tableName(tableName)
+            .indexName(indexName)
+            .keyConditions(toConditions(keyConditions))
+            .queryFilter(filters.isEmpty() ? null : toConditions(filters))
+            .build();
+        LOGGER.debug("Submitting request [{}] to get records from index [{}]", queryRequest, indexName);
+        return dynamoDbClient.queryPaginator(queryRequest).items()
+            .stream()
+            .map(itemMapper);
+    }
+
+    private static Map<String, Condition> toConditions(final List<DynamoDbQueryBuilder> queries) {
+        return queries.stream()
+            .collect(Collectors.toMap(DynamoDbQueryBuilder::getKey,
+                query -> Condition.builder()
+                    .comparisonOperator(query.getOperator())
+                    .attributeValueList(query.getAttributeValue())
+                    .build()));
+    }
+
     private static TableDescription waitForTableDescription(final DynamoDbClient dynamo,
                                                             final String tableName,
                                                             final TableStatus desiredStatus,
@@ -0,0 +1,255 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.util.DateTimeUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * This is {@link AuthenticationRiskProfile}.
+ * <p>
+ * Aggregates the recent authentication events of a principal into hourly buckets,
+ * each of which counts the events along with the ip addresses, user agents and geolocations
+ * they were recorded with. Buckets are keyed by the hour since the epoch in UTC, which also
+ * provides the hour of day for each event. Buckets that fall outside the retention period
+ * are dropped as new events are recorded, so the size of the profile does not depend on
+ * the number of events. Each bucket also keeps up to a limited number of its events,
+ * so that the hour in which a requested period starts is counted exactly and counts
+ * match events as the risk calculators do. Should that hour hold more events than
+ * are kept, it is counted entirely.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@ToString(of = "principal")
+@RequiredArgsConstructor
+public class AuthenticationRiskProfile implements Serializable {
+    private static final long serialVersionUID = -4419617468135377021L;
+
+    private static final int HOURS_IN_DAY = 24;
+
+    private static final int MAX_RECENT_EVENT_IDS = 32;
+
+    private static final int MAX_BUCKET_EVENTS = 128;
+
+    @Getter
+    private final String principal;
+
+    private final Duration retention;
+
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+
+    private final ArrayDeque<String> recentEventIds = new ArrayDeque<>(MAX_RECENT_EVENT_IDS);
+
+    private static long getEpochHour(final ZonedDateTime dateTime) {
+        return dateTime.toInstant().getEpochSecond() / Duration.ofHours(1).getSeconds();
+    }
+
+    private static String getUserAgentKey(final String agent) {
+        return agent.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String getIpAddressKey(final String ipAddress) {
+        return ipAddress.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String getGeoLocationKey(final GeoLocationRequest location) {
+        return location.getLatitude() + ";" + location.getLongitude();
+    }
+
+    private static void increment(final Map<String, Long> counts, final String key) {
+        counts.merge(key, 1L, Long::sum);
+    }
+
+    /**
+     * Record the event into the profile.
+     * Events that fall outside the retention period, or that were recently recorded, are ignored.
+     *
+     * @param event the event
+     * @return true if the event was recorded
+     */
+    public synchronized boolean record(final CasEvent event) {
+        val eventId = event.getEventId();
+        if (StringUtils.isNotBlank(eventId)) {
+            if (recentEventIds.contains(eventId)) {
+                return false;
+            }
+            if (recentEventIds.size() >= MAX_RECENT_EVENT_IDS) {
+                recentEventIds.removeFirst();
+            }
+            recentEventIds.addLast(eventId);
+        }
+        val creationTime = DateTimeUtils.convertToZonedDateTime(event.getCreationTime());
+        val oldestHour = getEpochHour(ZonedDateTime.now(creationTime.getZone()).minus(retention));
+        buckets.headMap(oldestHour).clear();
+        val hour = getEpochHour(creationTime);
+        if (hour < oldestHour) {
+            return false;
+        }
+        val bucket = buckets.computeIfAbsent(hour, k -> new Bucket());
+        bucket.count++;
+        val ipAddress = StringUtils.isNotBlank(event.getClientIpAddress()) ? getIpAddressKey(event.getClientIpAddress()) : null;
+        if (ipAddress != null) {
+            increment(bucket.ipAddresses, ipAddress);
+        }
+        val userAgent = StringUtils.isNotBlank(event.getAgent()) ? getUserAgentKey(event.getAgent()) : null;
+        if (userAgent != null) {
+            increment(bucket.userAgents, userAgent);
+        }
+        val geoLocation = getGeoLocationKey(event.getGeoLocation());
+        increment(bucket.geoLocations, geoLocation);
+        if (bucket.events != null) {
+            if (bucket.events.size() < MAX_BUCKET_EVENTS) {
+                bucket.events.add(new BucketEvent(creationTime.toInstant(), ipAddress, userAgent, geoLocation));
+            } else {
+                bucket.events = null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Count the events recorded since the given date, using the bucket counts
+     * for whole hours and the kept events of the hour in which the period starts.
+     *
+     * @param since       the date
+     * @param bucketCount the count of a whole bucket
+     * @param filter      the filter matching a kept event
+     * @return the count
+     */
+    private long count(final ZonedDateTime since, final ToLongFunction<Bucket> bucketCount,
+                       final Predicate<BucketEvent> filter) {
+        val hour = getEpochHour(since);
+        val count = buckets.tailMap(hour, false).values().stream().mapToLong(bucketCount).sum();
+        return count + countStartingHour(since, bucketCount, filter);
+    }
+
+    private long countStartingHour(final ZonedDateTime since, final ToLongFunction<Bucket> bucketCount,
+                                   final Predicate<BucketEvent> filter) {
+        val bucket = buckets.get(getEpochHour(since));
+        if (bucket == null) {
+            return 0;
+        }
+        if (bucket.events == null) {
+            return bucketCount.applyAsLong(bucket);
+        }
+        val start = since.toInstant();
+        return bucket.events.stream()
+            .filter(event -> !event.creationTime.isBefore(start))
+            .filter(filter)
+            .count();
+    }
+
+    /**
+     * Count the events recorded since the given date.
+     *
+     * @param since the date
+     * @return the count
+     */
+    public synchronized long getEventCount(final ZonedDateTime since) {
+        return count(since, bucket -> bucket.count, event -> true);
+    }
+
+    /**
+     * Count the events recorded since the given date from the given ip address, ignoring case.
+     *
+     * @param ipAddress the ip address
+     * @param since     the date
+     * @return the count
+     */
+    public synchronized long getIpAddressCount(final String ipAddress, final ZonedDateTime since) {
+        if (StringUtils.isBlank(ipAddress)) {
+            return 0;
+        }
+        val key = getIpAddressKey(ipAddress);
+        return count(since, bucket -> bucket.ipAddresses.getOrDefault(key, 0L), event -> key.equals(event.ipAddress));
+    }
+
+    /**
+     * Count the events recorded since the given date with the given user agent, ignoring case.
+     *
+     * @param agent the agent
+     * @param since the date
+     * @return the count
+     */
+    public synchronized long getUserAgentCount(final String agent, final ZonedDateTime since) {
+        if (StringUtils.isBlank(agent)) {
+            return 0;
+        }
+        val key = getUserAgentKey(agent);
+        return count(since, bucket -> bucket.userAgents.getOrDefault(key, 0L), event -> key.equals(event.userAgent));
+    }
+
+    /**
+     * Count the events recorded since the given date at the given geolocation.
+     * Locations are compared by latitude and longitude, as {@link GeoLocationRequest} does.
+     *
+     * @param location the location
+     * @param since    the date
+     * @return the count
+     */
+    public synchronized long getGeoLocationCount(final GeoLocationRequest location, final ZonedDateTime since) {
+        val key = getGeoLocationKey(location);
+        return count(since, bucket -> bucket.geoLocations.getOrDefault(key, 0L), event -> key.equals(event.geoLocation));
+    }
+
+    /**
+     * Count the events recorded since the given date by their hour of day in UTC.
+     *
+     * @param since the date
+     * @return the counts, indexed by hour of day
+     */
+    public synchronized long[] getHourOfDayCounts(final ZonedDateTime since) {
+        val counts = new long[HOURS_IN_DAY];
+        val startingHour = getEpochHour(since);
+        buckets.tailMap(startingHour, false).forEach((hour, bucket) -> counts[(int) (hour % HOURS_IN_DAY)] += bucket.count);
+        counts[(int) (startingHour % HOURS_IN_DAY)] += countStartingHour(since, bucket -> bucket.count, event -> true);
+        return counts;
+    }
+
+    private static class Bucket implements Serializable {
+        private static final long serialVersionUID = 2617447853419561893L;
+
+        private final Map<String, Long> ipAddresses = new HashMap<>();
+
+        private final Map<String, Long> userAgents = new HashMap<>();
+
+        private final Map<String, Long> geoLocations = new HashMap<>();
+
+        private List<BucketEvent> events = new ArrayList<>();
+
+        private long count;
+    }
+
+    @RequiredArgsConstructor
+    private static class BucketEvent implements Serializable {
+        private static final long serialVersionUID = -1183447126953186093L;
+
+        private final Instant creationTime;
+
+        private final String ipAddress;
+
+        private final String userAgent;
+
+        private final String geoLocation;
+    }
+}
@@ -0,0 +1,53 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.support.events.dao.CasEvent;
+
+import java.util.Optional;
+
+/**
+ * This is {@link AuthenticationRiskProfileRepository}.
+ * Keeps track of the {@link AuthenticationRiskProfile} of each principal.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public interface AuthenticationRiskProfileRepository {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "authenticationRiskProfileRepository";
+
+    /**
+     * Repository that does not track profiles,
+     * forcing risk calculators to work with authentication events.
+     *
+     * @return the repository
+     */
+    static AuthenticationRiskProfileRepository noOp() {
+        return new AuthenticationRiskProfileRepository() {
+            @Override
+            public Optional<AuthenticationRiskProfile> getProfile(final String principal) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void record(final CasEvent event) {
+            }
+        };
+    }
+
+    /**
+     * Gets the risk profile of the principal.
+     *
+     * @param principal the principal
+     * @return the profile, or empty if profiles are not tracked
+     */
+    Optional<AuthenticationRiskProfile> getProfile(String principal);
+
+    /**
+     * Record the event into the risk profile of its principal.
+     *
+     * @param event the event
+     */
+    void record(CasEvent event);
+}
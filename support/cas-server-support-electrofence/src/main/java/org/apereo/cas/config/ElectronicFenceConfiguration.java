@@ -5,6 +5,7 @@ import org.apereo.cas.api.AuthenticationRiskContingencyPlan;
 import org.apereo.cas.api.AuthenticationRiskEvaluator;
 import org.apereo.cas.api.AuthenticationRiskMitigator;
 import org.apereo.cas.api.AuthenticationRiskNotifier;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.audit.AuditActionResolvers;
 import org.apereo.cas.audit.AuditResourceResolvers;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
@@ -21,6 +22,7 @@ import org.apereo.cas.impl.notify.AuthenticationRiskSmsNotifier;
 import org.apereo.cas.impl.plans.BaseAuthenticationRiskContingencyPlan;
 import org.apereo.cas.impl.plans.BlockAuthenticationContingencyPlan;
 import org.apereo.cas.impl.plans.MultifactorAuthenticationContingencyPlan;
+import org.apereo.cas.impl.profile.DefaultAuthenticationRiskProfileRepository;
 import org.apereo.cas.notifications.CommunicationsManager;
 import org.apereo.cas.support.events.CasEventRepository;
 
@@ -162,6 +164,23 @@ public class ElectronicFenceConfiguration {
 
     }
 
+    @Configuration(value = "ElectronicFenceProfileConfiguration", proxyBeanMethods = false)
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    public static class ElectronicFenceProfileConfiguration {
+
+        @ConditionalOnMissingBean(name = AuthenticationRiskProfileRepository.BEAN_NAME)
+        @Bean
+        public AuthenticationRiskProfileRepository authenticationRiskProfileRepository(
+            final CasConfigurationProperties casProperties,
+            @Qualifier("casEventRepository")
+            final CasEventRepository casEventRepository) {
+            if (casProperties.getAuthn().getAdaptive().getRisk().getProfile().isEnabled()) {
+                return new DefaultAuthenticationRiskProfileRepository(casEventRepository, casProperties);
+            }
+            return AuthenticationRiskProfileRepository.noOp();
+        }
+    }
+
     @Configuration(value = "ElectronicFenceCalculatorConfiguration", proxyBeanMethods = false)
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     public static class ElectronicFenceCalculatorConfiguration {
@@ -173,8 +192,10 @@ public class ElectronicFenceConfiguration {
         public AuthenticationRequestRiskCalculator ipAddressAuthenticationRequestRiskCalculator(
             final CasConfigurationProperties casProperties,
             @Qualifier("casEventRepository")
-            final CasEventRepository casEventRepository) {
-            return new IpAddressAuthenticationRequestRiskCalculator(casEventRepository, casProperties);
+            final CasEventRepository casEventRepository,
+            @Qualifier(AuthenticationRiskProfileRepository.BEAN_NAME)
+            final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+            return new IpAddressAuthenticationRequestRiskCalculator(casEventRepository, casProperties, authenticationRiskProfileRepository);
         }
 
         @ConditionalOnProperty(prefix = "cas.authn.adaptive.risk.agent", name = "enabled", havingValue = "true", matchIfMissing = false)
@@ -184,8 +205,10 @@ public class ElectronicFenceConfiguration {
         public AuthenticationRequestRiskCalculator userAgentAuthenticationRequestRiskCalculator(
             final CasConfigurationProperties casProperties,
             @Qualifier("casEventRepository")
-            final CasEventRepository casEventRepository) {
-            return new UserAgentAuthenticationRequestRiskCalculator(casEventRepository, casProperties);
+            final CasEventRepository casEventRepository,
+            @Qualifier(AuthenticationRiskProfileRepository.BEAN_NAME)
+            final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+            return new UserAgentAuthenticationRequestRiskCalculator(casEventRepository, casProperties, authenticationRiskProfileRepository);
         }
 
         @ConditionalOnMissingBean(name = "dateTimeAuthenticationRequestRiskCalculator")
@@ -195,8 +218,10 @@ public class ElectronicFenceConfiguration {
         public AuthenticationRequestRiskCalculator dateTimeAuthenticationRequestRiskCalculator(
             final CasConfigurationProperties casProperties,
             @Qualifier("casEventRepository")
-            final CasEventRepository casEventRepository) {
-            return new DateTimeAuthenticationRequestRiskCalculator(casEventRepository, casProperties);
+            final CasEventRepository casEventRepository,
+            @Qualifier(AuthenticationRiskProfileRepository.BEAN_NAME)
+            final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+            return new DateTimeAuthenticationRequestRiskCalculator(casEventRepository, casProperties, authenticationRiskProfileRepository);
         }
     }
 
@@ -213,8 +238,11 @@ public class ElectronicFenceConfiguration {
             @Qualifier("geoLocationService")
             final GeoLocationService geoLocationService,
             @Qualifier("casEventRepository")
-            final CasEventRepository casEventRepository) {
-            return new GeoLocationAuthenticationRequestRiskCalculator(casEventRepository, casProperties, geoLocationService);
+            final CasEventRepository casEventRepository,
+            @Qualifier(AuthenticationRiskProfileRepository.BEAN_NAME)
+            final AuthenticationRiskProfileRepository authenticationRiskProfileRepository) {
+            return new GeoLocationAuthenticationRequestRiskCalculator(casEventRepository, casProperties,
+                authenticationRiskProfileRepository, geoLocationService);
         }
     }
 
@@ -1,6 +1,8 @@
 package org.apereo.cas.impl.calcs;
 
 import org.apereo.cas.api.AuthenticationRequestRiskCalculator;
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.api.AuthenticationRiskScore;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.configuration.CasConfigurationProperties;
@@ -20,10 +22,13 @@ import java.math.RoundingMode;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * This is {@link BaseAuthenticationRequestRiskCalculator}.
+ * Scores are calculated from the {@link AuthenticationRiskProfile} of the principal when available,
+ * and from the recent authentication events of the principal otherwise.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -42,26 +47,58 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
      */
     protected final CasConfigurationProperties casProperties;
 
+    /**
+     * Risk profiles of principals.
+     */
+    protected final AuthenticationRiskProfileRepository riskProfileRepository;
+
     @Override
     public final AuthenticationRiskScore calculate(final Authentication authentication,
                                                    final RegisteredService service,
                                                    final HttpServletRequest request) {
         val principal = authentication.getPrincipal();
-        val events = new Supplier<Stream<? extends CasEvent>>() {
-            @Override
-            public Stream<? extends CasEvent> get() {
-                return getCasTicketGrantingTicketCreatedEventsFor(principal.getId());
+        val profile = riskProfileRepository.getProfile(principal.getId());
+        if (profile.isPresent()) {
+            val since = getRecentHistoryStartDate();
+            if (profile.get().getEventCount(since) == 0) {
+                return new AuthenticationRiskScore(HIGHEST_RISK_SCORE);
             }
-        };
-
-        if (events.get().findAny().isEmpty()) {
+            val score = new AuthenticationRiskScore(calculateScore(request, authentication, service, profile.get(), since));
+            LOGGER.debug("Calculated authentication risk score by [{}] from risk profile is [{}]", getClass().getSimpleName(), score);
+            return score;
+        }
+        val events = getCasTicketGrantingTicketCreatedEventsFor(principal.getId()).collect(Collectors.toList());
+        if (events.isEmpty()) {
             return new AuthenticationRiskScore(HIGHEST_RISK_SCORE);
         }
-        val score = new AuthenticationRiskScore(calculateScore(request, authentication, service, events));
+        val score = new AuthenticationRiskScore(calculateScore(request, authentication, service, events::stream));
         LOGGER.debug("Calculated authentication risk score by [{}] is [{}]", getClass().getSimpleName(), score);
         return score;
     }
 
+    /**
+     * Calculate score from the risk profile of the principal.
+     * Calculators that do not make use of risk profiles fall back onto authentication events.
+     *
+     * @param request        the request
+     * @param authentication the authentication
+     * @param service        the service
+     * @param profile        the profile
+     * @param since          the start of the recent authentication history
+     * @return the authentication risk score
+     */
+    protected BigDecimal calculateScore(final HttpServletRequest request,
+                                        final Authentication authentication,
+                                        final RegisteredService service,
+                                        final AuthenticationRiskProfile profile,
+                                        final ZonedDateTime since) {
+        val events = getCasTicketGrantingTicketCreatedEventsFor(profile.getPrincipal()).collect(Collectors.toList());
+        if (events.isEmpty()) {
+            return HIGHEST_RISK_SCORE;
+        }
+        return calculateScore(request, authentication, service, events::stream);
+    }
+
     /**
      * Calculate score authentication risk score.
      *
@@ -87,10 +124,17 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
     protected Stream<? extends CasEvent> getCasTicketGrantingTicketCreatedEventsFor(final String principal) {
         val type = CasTicketGrantingTicketCreatedEvent.class.getName();
         LOGGER.debug("Retrieving events of type [{}] for [{}]", type, principal);
+        return casEventRepository.getEventsOfTypeForPrincipal(type, principal, getRecentHistoryStartDate());
+    }
 
-        val date = ZonedDateTime.now(ZoneOffset.UTC)
+    /**
+     * Gets the date from which authentication history is considered recent.
+     *
+     * @return the date
+     */
+    protected ZonedDateTime getRecentHistoryStartDate() {
+        return ZonedDateTime.now(ZoneOffset.UTC)
             .minusDays(casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory());
-        return casEventRepository.getEventsOfTypeForPrincipal(type, principal, date);
     }
 
     /**
@@ -104,7 +148,26 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
     protected BigDecimal calculateScoreBasedOnEventsCount(final Authentication authentication,
                                                           final Supplier<Stream<? extends CasEvent>> events,
                                                           final long count) {
-        val eventCount = events.get().count();
+        return calculateScoreBasedOnCounts(authentication, events.get().count(), count);
+    }
+
+    /**
+     * Calculate score based on the count of profiled events that match the request.
+     *
+     * @param authentication the authentication
+     * @param profile        the profile
+     * @param since          the start of the recent authentication history
+     * @param count          the count
+     * @return the big decimal
+     */
+    protected BigDecimal calculateScoreBasedOnProfileCount(final Authentication authentication,
+                                                           final AuthenticationRiskProfile profile,
+                                                           final ZonedDateTime since,
+                                                           final long count) {
+        return calculateScoreBasedOnCounts(authentication, profile.getEventCount(since), count);
+    }
+
+    private BigDecimal calculateScoreBasedOnCounts(final Authentication authentication, final long eventCount, final long count) {
         if (count == eventCount) {
             LOGGER.debug("Principal [{}] is assigned to the lowest risk score with attempted count of [{}]",
                 authentication.getPrincipal(), count);
@@ -1,5 +1,7 @@
 package org.apereo.cas.impl.calcs;
 
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredService;
@@ -28,8 +30,15 @@ import java.util.stream.Stream;
 public class DateTimeAuthenticationRequestRiskCalculator extends BaseAuthenticationRequestRiskCalculator {
 
     public DateTimeAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository,
-                                                       final CasConfigurationProperties casProperties) {
-        super(casEventRepository, casProperties);
+                                                       final CasConfigurationProperties casProperties,
+                                                       final AuthenticationRiskProfileRepository riskProfileRepository) {
+        super(casEventRepository, casProperties, riskProfileRepository);
+    }
+
+    private static boolean isWithinWindow(final int hour, final int hoursBeforeNow, final int hoursFromNow) {
+        return hoursBeforeNow <= hoursFromNow
+            ? hour >= hoursBeforeNow && hour <= hoursFromNow
+            : hour >= hoursBeforeNow || hour <= hoursFromNow;
     }
 
     @Override
@@ -49,13 +58,32 @@ public class DateTimeAuthenticationRequestRiskCalculator extends BaseAuthenticat
                 val zdt = ZonedDateTime.ofInstant(instant, ZoneOffset.UTC);
                 return zdt.getHour();
             })
-            .filter(hour ->
-                hoursBeforeNow <= hoursFromNow
-                    ? (hour >= hoursBeforeNow && hour <= hoursFromNow) : (hour >= hoursBeforeNow || hour <= hoursFromNow)
-            )
+            .filter(hour -> isWithinWindow(hour, hoursBeforeNow, hoursFromNow))
             .count();
 
         LOGGER.debug("Total authentication events found for [{}] in a [{}]h window: [{}]", timestamp, windowInHours, count);
         return calculateScoreBasedOnEventsCount(authentication, events, count);
     }
+
+    @Override
+    protected BigDecimal calculateScore(final HttpServletRequest request,
+                                        final Authentication authentication,
+                                        final RegisteredService service,
+                                        final AuthenticationRiskProfile profile,
+                                        final ZonedDateTime since) {
+        val windowInHours = casProperties.getAuthn().getAdaptive().getRisk().getDateTime().getWindowInHours();
+        val timestamp = ZonedDateTime.now(ZoneOffset.UTC);
+        val hoursFromNow = timestamp.plusHours(windowInHours).getHour();
+        val hoursBeforeNow = timestamp.minusHours(windowInHours).getHour();
+
+        val hourOfDayCounts = profile.getHourOfDayCounts(since);
+        var count = 0L;
+        for (var hour = 0; hour < hourOfDayCounts.length; hour++) {
+            if (isWithinWindow(hour, hoursBeforeNow, hoursFromNow)) {
+                count += hourOfDayCounts[hour];
+            }
+        }
+        LOGGER.debug("Total profiled authentication events found for [{}] in a [{}]h window: [{}]", timestamp, windowInHours, count);
+        return calculateScoreBasedOnProfileCount(authentication, profile, since, count);
+    }
 }
@@ -1,5 +1,7 @@
 package org.apereo.cas.impl.calcs;
 
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
@@ -15,6 +17,7 @@ import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -31,8 +34,9 @@ public class GeoLocationAuthenticationRequestRiskCalculator extends BaseAuthenti
 
     public GeoLocationAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository,
                                                           final CasConfigurationProperties casProperties,
+                                                          final AuthenticationRiskProfileRepository riskProfileRepository,
                                                           final GeoLocationService geoLocationService) {
-        super(casEventRepository, casProperties);
+        super(casEventRepository, casProperties, riskProfileRepository);
         this.geoLocationService = geoLocationService;
     }
 
@@ -59,4 +63,27 @@ public class GeoLocationAuthenticationRequestRiskCalculator extends BaseAuthenti
         LOGGER.debug("Request does not contain enough geolocation data");
         return HIGHEST_RISK_SCORE;
     }
+
+    @Override
+    protected BigDecimal calculateScore(final HttpServletRequest request,
+                                        final Authentication authentication,
+                                        final RegisteredService service,
+                                        final AuthenticationRiskProfile profile,
+                                        final ZonedDateTime since) {
+        val loc = WebUtils.getHttpServletRequestGeoLocation(request);
+        if (loc != null && loc.isValid()) {
+            val count = profile.getGeoLocationCount(loc, since);
+            LOGGER.debug("Total profiled authentication events found for [{}]: [{}]", loc, count);
+            return calculateScoreBasedOnProfileCount(authentication, profile, since, count);
+        }
+        val remoteAddr = ClientInfoHolder.getClientInfo().getClientIpAddress();
+        val response = this.geoLocationService.locate(remoteAddr);
+        if (response != null) {
+            val count = profile.getGeoLocationCount(new GeoLocationRequest(response.getLatitude(), response.getLongitude()), since);
+            LOGGER.debug("Total profiled authentication events found for location of [{}]: [{}]", remoteAddr, count);
+            return calculateScoreBasedOnProfileCount(authentication, profile, since, count);
+        }
+        LOGGER.debug("Request does not contain enough geolocation data");
+        return HIGHEST_RISK_SCORE;
+    }
 }
@@ -1,5 +1,7 @@
 package org.apereo.cas.impl.calcs;
 
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredService;
@@ -12,6 +14,7 @@ import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -24,10 +27,10 @@ import java.util.stream.Stream;
 @Slf4j
 public class IpAddressAuthenticationRequestRiskCalculator extends BaseAuthenticationRequestRiskCalculator {
 
-
     public IpAddressAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository,
-                                                        final CasConfigurationProperties casProperties) {
-        super(casEventRepository, casProperties);
+                                                        final CasConfigurationProperties casProperties,
+                                                        final AuthenticationRiskProfileRepository riskProfileRepository) {
+        super(casEventRepository, casProperties, riskProfileRepository);
     }
 
     @Override
@@ -41,4 +44,16 @@ public class IpAddressAuthenticationRequestRiskCalculator extends BaseAuthentica
         LOGGER.debug("Total authentication events found for [{}]: [{}]", remoteAddr, count);
         return calculateScoreBasedOnEventsCount(authentication, events, count);
     }
+
+    @Override
+    protected BigDecimal calculateScore(final HttpServletRequest request,
+                                        final Authentication authentication,
+                                        final RegisteredService service,
+                                        final AuthenticationRiskProfile profile,
+                                        final ZonedDateTime since) {
+        val remoteAddr = ClientInfoHolder.getClientInfo().getClientIpAddress();
+        val count = profile.getIpAddressCount(remoteAddr, since);
+        LOGGER.debug("Total profiled authentication events found for [{}]: [{}]", remoteAddr, count);
+        return calculateScoreBasedOnProfileCount(authentication, profile, since, count);
+    }
 }
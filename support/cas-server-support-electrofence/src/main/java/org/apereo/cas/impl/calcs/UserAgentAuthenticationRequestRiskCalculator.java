@@ -1,5 +1,7 @@
 package org.apereo.cas.impl.calcs;
 
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredService;
@@ -13,6 +15,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -26,8 +29,9 @@ import java.util.stream.Stream;
 public class UserAgentAuthenticationRequestRiskCalculator extends BaseAuthenticationRequestRiskCalculator {
 
     public UserAgentAuthenticationRequestRiskCalculator(final CasEventRepository casEventRepository,
-                                                        final CasConfigurationProperties casProperties) {
-        super(casEventRepository, casProperties);
+                                                        final CasConfigurationProperties casProperties,
+                                                        final AuthenticationRiskProfileRepository riskProfileRepository) {
+        super(casEventRepository, casProperties, riskProfileRepository);
     }
 
     @Override
@@ -44,4 +48,16 @@ public class UserAgentAuthenticationRequestRiskCalculator extends BaseAuthentica
         LOGGER.debug("Total authentication events found for [{}]: [{}]", agent, count);
         return calculateScoreBasedOnEventsCount(authentication, events, count);
     }
+
+    @Override
+    protected BigDecimal calculateScore(final HttpServletRequest request,
+                                        final Authentication authentication,
+                                        final RegisteredService service,
+                                        final AuthenticationRiskProfile profile,
+                                        final ZonedDateTime since) {
+        val agent = HttpRequestUtils.getHttpServletRequestUserAgent(request);
+        val count = profile.getUserAgentCount(agent, since);
+        LOGGER.debug("Total profiled authentication events found for [{}]: [{}]", agent, count);
+        return calculateScoreBasedOnProfileCount(authentication, profile, since, count);
+    }
 }
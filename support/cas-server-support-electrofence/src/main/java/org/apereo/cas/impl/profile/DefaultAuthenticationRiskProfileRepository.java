@@ -0,0 +1,107 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.util.spring.CasEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.actuate.audit.listener.AuditApplicationEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * This is {@link DefaultAuthenticationRiskProfileRepository}.
+ * <p>
+ * Builds the risk profile of a principal from the event repository the first time it is requested,
+ * and keeps it in memory for a configurable period of time. Events that are saved into the event repository
+ * afterwards are recorded into the profile as they are published, so profiles do not have to be rebuilt
+ * on every authentication attempt.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class DefaultAuthenticationRiskProfileRepository implements AuthenticationRiskProfileRepository, CasEventListener {
+    private static final String EVENT_TYPE = CasTicketGrantingTicketCreatedEvent.class.getName();
+
+    private final CasEventRepository casEventRepository;
+
+    private final Duration retention;
+
+    private final LoadingCache<String, AuthenticationRiskProfile> profiles;
+
+    public DefaultAuthenticationRiskProfileRepository(final CasEventRepository casEventRepository,
+                                                      final CasConfigurationProperties casProperties) {
+        this.casEventRepository = casEventRepository;
+        val risk = casProperties.getAuthn().getAdaptive().getRisk();
+        this.retention = Duration.ofDays(risk.getDaysInRecentHistory());
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(risk.getProfile().getMaximumSize())
+            .expireAfterWrite(Beans.newDuration(risk.getProfile().getExpiration()))
+            .build(this::buildProfile);
+    }
+
+    private static CasEvent toCasEvent(final AuditApplicationEvent applicationEvent) {
+        val auditEvent = applicationEvent.getAuditEvent();
+        val event = new CasEvent();
+        event.setType(auditEvent.getType());
+        event.setPrincipalId(auditEvent.getPrincipal());
+        auditEvent.getData().forEach((key, value) -> event.put(key, Objects.toString(value, null)));
+        val timestamp = event.get(CasEvent.FIELD_TIMESTAMP) == null
+            ? auditEvent.getTimestamp().toEpochMilli()
+            : event.getTimestamp();
+        event.setCreationTime(DateTimeUtils.zonedDateTimeOf(timestamp).toString());
+        return event;
+    }
+
+    @Override
+    public Optional<AuthenticationRiskProfile> getProfile(final String principal) {
+        return Optional.ofNullable(profiles.get(principal));
+    }
+
+    @Override
+    public void record(final CasEvent event) {
+        if (EVENT_TYPE.equals(event.getType())) {
+            val profile = profiles.getIfPresent(event.getPrincipalId());
+            if (profile != null && profile.record(event)) {
+                LOGGER.trace("Recorded event [{}] into risk profile [{}]", event.getEventId(), profile);
+            }
+        }
+    }
+
+    /**
+     * Record events saved into the event repository, which are published as audit events.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleAuditApplicationEvent(final AuditApplicationEvent event) {
+        if (EVENT_TYPE.equals(event.getAuditEvent().getType())) {
+            record(toCasEvent(event));
+        }
+    }
+
+    private AuthenticationRiskProfile buildProfile(final String principal) {
+        val profile = new AuthenticationRiskProfile(principal, retention);
+        val since = ZonedDateTime.now(ZoneOffset.UTC).minus(retention);
+        try (val events = casEventRepository.getEventsOfTypeForPrincipal(EVENT_TYPE, principal, since)) {
+            events.forEach(profile::record);
+        }
+        LOGGER.debug("Built risk profile for [{}] with [{}] recent events", principal, profile.getEventCount(since));
+        return profile;
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.api.AuthenticationRiskProfileTests;
 import org.apereo.cas.impl.calcs.DateTimeAuthenticationRequestRiskCalculatorTests;
 import org.apereo.cas.impl.calcs.GeoLocationAuthenticationRequestRiskCalculatorTests;
 import org.apereo.cas.impl.calcs.IpAddressAuthenticationRequestRiskCalculatorTests;
@@ -7,6 +8,7 @@ import org.apereo.cas.impl.calcs.UserAgentAuthenticationRequestRiskCalculatorTes
 import org.apereo.cas.impl.notify.AuthenticationRiskEmailNotifierTests;
 import org.apereo.cas.impl.notify.AuthenticationRiskSmsNotifierTests;
 import org.apereo.cas.impl.plans.MultifactorAuthenticationContingencyPlanTests;
+import org.apereo.cas.impl.profile.DefaultAuthenticationRiskProfileRepositoryTests;
 import org.apereo.cas.web.flow.RiskAwareAuthenticationWebflowConfigurerTests;
 import org.apereo.cas.web.flow.RiskAwareAuthenticationWebflowEventResolverTests;
 
@@ -28,7 +30,9 @@ import org.junit.platform.suite.api.Suite;
     AuthenticationRiskEmailNotifierTests.class,
     MultifactorAuthenticationContingencyPlanTests.class,
     RiskAwareAuthenticationWebflowEventResolverTests.class,
-    AuthenticationRiskSmsNotifierTests.class
+    AuthenticationRiskSmsNotifierTests.class,
+    AuthenticationRiskProfileTests.class,
+    DefaultAuthenticationRiskProfileRepositoryTests.class
 })
 @Suite
 public class AllTestsSuite {
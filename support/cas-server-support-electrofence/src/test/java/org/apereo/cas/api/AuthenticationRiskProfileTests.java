@@ -0,0 +1,95 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link AuthenticationRiskProfileTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Authentication")
+public class AuthenticationRiskProfileTests {
+
+    private static CasEvent getEvent(final String id, final ZonedDateTime creationTime) {
+        val event = new CasEvent();
+        event.setType(CasTicketGrantingTicketCreatedEvent.class.getName());
+        event.setPrincipalId("casuser");
+        event.setCreationTime(creationTime.toString());
+        event.putEventId(id);
+        event.putClientIpAddress("127.0.0.1");
+        event.putAgent("Mozilla/5.0 (Windows NT 10.1; rv:10.0) Gecko/20100101 Firefox/10.0");
+        event.putGeoLocation(new GeoLocationRequest(40.71, -74.005));
+        return event;
+    }
+
+    @Test
+    public void verifyCounts() {
+        val profile = new AuthenticationRiskProfile("casuser", Duration.ofDays(30));
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertTrue(profile.record(getEvent("TGT-1", now.minusDays(5))));
+        assertTrue(profile.record(getEvent("TGT-2", now.minusDays(1))));
+        val event = getEvent("TGT-3", now);
+        event.putClientIpAddress("192.168.1.1");
+        event.putAgent(null);
+        event.putGeoLocation(new GeoLocationRequest(48.85, 2.35));
+        assertTrue(profile.record(event));
+
+        val since = now.minusDays(10);
+        assertEquals(3, profile.getEventCount(since));
+        assertEquals(2, profile.getIpAddressCount("127.0.0.1", since));
+        assertEquals(1, profile.getIpAddressCount("192.168.1.1", since));
+        assertEquals(0, profile.getIpAddressCount(null, since));
+        assertEquals(2, profile.getUserAgentCount("MOZILLA/5.0 (Windows NT 10.1; rv:10.0) Gecko/20100101 Firefox/10.0", since));
+        assertEquals(0, profile.getUserAgentCount(null, since));
+        assertEquals(2, profile.getGeoLocationCount(new GeoLocationRequest(40.71, -74.005), since));
+        assertEquals(1, profile.getGeoLocationCount(new GeoLocationRequest(48.85, 2.35), since));
+        assertEquals(3, profile.getHourOfDayCounts(since)[now.getHour()]);
+
+        val recent = now.minusDays(2);
+        assertEquals(2, profile.getEventCount(recent));
+        assertEquals(1, profile.getIpAddressCount("127.0.0.1", recent));
+    }
+
+    @Test
+    public void verifyDuplicateAndExpiredEventsIgnored() {
+        val profile = new AuthenticationRiskProfile("casuser", Duration.ofDays(30));
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertTrue(profile.record(getEvent("TGT-1", now)));
+        assertFalse(profile.record(getEvent("TGT-1", now)));
+        assertFalse(profile.record(getEvent("TGT-2", now.minusDays(31))));
+        assertEquals(1, profile.getEventCount(now.minusDays(30)));
+    }
+
+    @Test
+    public void verifyStartingHourIsCountedExactly() {
+        val profile = new AuthenticationRiskProfile("casuser", Duration.ofDays(30));
+        val hour = ZonedDateTime.now(ZoneOffset.UTC).minusDays(2).truncatedTo(ChronoUnit.HOURS);
+        assertTrue(profile.record(getEvent("TGT-1", hour.plusMinutes(10))));
+        assertTrue(profile.record(getEvent("TGT-2", hour.plusMinutes(30))));
+        val event = getEvent("TGT-3", hour.plusMinutes(40));
+        event.putClientIpAddress("192.168.1.1");
+        assertTrue(profile.record(event));
+
+        val since = hour.plusMinutes(30);
+        assertEquals(2, profile.getEventCount(since));
+        assertEquals(1, profile.getIpAddressCount("127.0.0.1", since));
+        assertEquals(1, profile.getIpAddressCount("192.168.1.1", since));
+        assertEquals(2, profile.getGeoLocationCount(new GeoLocationRequest(40.71, -74.005), since));
+        assertEquals(2, profile.getHourOfDayCounts(since)[hour.getHour()]);
+        assertEquals(3, profile.getEventCount(hour));
+    }
+}
@@ -0,0 +1,146 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRequestRiskCalculator;
+import org.apereo.cas.api.AuthenticationRiskProfileRepository;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.impl.calcs.DateTimeAuthenticationRequestRiskCalculator;
+import org.apereo.cas.impl.calcs.IpAddressAuthenticationRequestRiskCalculator;
+import org.apereo.cas.impl.calcs.UserAgentAuthenticationRequestRiskCalculator;
+import org.apereo.cas.impl.mock.MockTicketGrantingTicketCreatedEventProducer;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.support.events.CasEventRepositoryFilter;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.InMemoryCasEventRepository;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.apereo.cas.util.HttpRequestUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.audit.listener.AuditApplicationEvent;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultAuthenticationRiskProfileRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Authentication")
+public class DefaultAuthenticationRiskProfileRepositoryTests {
+    private static final String PRINCIPAL = "casuser";
+
+    private CasConfigurationProperties casProperties;
+
+    private InMemoryCasEventRepository casEventRepository;
+
+    private DefaultAuthenticationRiskProfileRepository profileRepository;
+
+    @BeforeEach
+    public void setup() {
+        casProperties = new CasConfigurationProperties();
+        final LoadingCache<String, CasEvent> cache = Caffeine.newBuilder().build(key -> null);
+        casEventRepository = new InMemoryCasEventRepository(CasEventRepositoryFilter.noOp(), cache, 10_000, Duration.ofHours(1));
+        profileRepository = new DefaultAuthenticationRiskProfileRepository(casEventRepository, casProperties);
+        casEventRepository.setApplicationEventPublisher(event -> profileRepository.handleAuditApplicationEvent((AuditApplicationEvent) event));
+    }
+
+    @Test
+    public void verifyProfileIsBuiltAndUpdated() {
+        IntStream.range(0, 100).forEach(i -> MockTicketGrantingTicketCreatedEventProducer.createEvent(PRINCIPAL, i, casEventRepository));
+        val since = ZonedDateTime.now(ZoneOffset.UTC).minusDays(30);
+        val profile = profileRepository.getProfile(PRINCIPAL).orElseThrow();
+        assertEquals(100, profile.getEventCount(since));
+
+        IntStream.range(100, 150).forEach(i -> MockTicketGrantingTicketCreatedEventProducer.createEvent(PRINCIPAL, i, casEventRepository));
+        assertEquals(150, profileRepository.getProfile(PRINCIPAL).orElseThrow().getEventCount(since));
+
+        val other = new CasEvent();
+        other.setType("OtherEvent");
+        other.setPrincipalId(PRINCIPAL);
+        other.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).toString());
+        casEventRepository.save(other);
+        assertEquals(150, profileRepository.getProfile(PRINCIPAL).orElseThrow().getEventCount(since));
+
+        val event = casEventRepository.getEventsOfTypeForPrincipal(CasTicketGrantingTicketCreatedEvent.class.getName(), PRINCIPAL, since)
+            .findFirst()
+            .orElseThrow();
+        assertTrue(profile.getIpAddressCount(event.getClientIpAddress(), since) > 0);
+        assertTrue(profile.getGeoLocationCount(event.getGeoLocation(), since) > 0);
+    }
+
+    private void createEdgeEvent(final String id, final ZonedDateTime creationTime) {
+        val event = new CasEvent();
+        event.setType(CasTicketGrantingTicketCreatedEvent.class.getName());
+        event.setPrincipalId(PRINCIPAL);
+        event.setCreationTime(creationTime.toString());
+        event.putEventId(id);
+        event.putClientIpAddress("107.181.69.221");
+        event.putAgent("Mozilla/5.0 (Windows NT 10.1; rv:10.0) Gecko/20100101 Firefox/10.0");
+        event.putGeoLocation(new GeoLocationRequest(40.71, -74.005));
+        casEventRepository.save(event);
+    }
+
+    @Test
+    public void verifyScoresMatchEventBasedCalculations() {
+        IntStream.range(0, 500).forEach(i -> MockTicketGrantingTicketCreatedEventProducer.createEvent(PRINCIPAL, i, casEventRepository));
+        profileRepository.getProfile(PRINCIPAL);
+        IntStream.range(500, 1000).forEach(i -> MockTicketGrantingTicketCreatedEventProducer.createEvent(PRINCIPAL, i, casEventRepository));
+
+        val since = ZonedDateTime.now(ZoneOffset.UTC).minusDays(casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory());
+        val startingHour = since.truncatedTo(ChronoUnit.HOURS);
+        createEdgeEvent("TGT-edge-1", startingHour.plus(Duration.between(startingHour, since).dividedBy(2)));
+        createEdgeEvent("TGT-edge-2", since.plusMinutes(1));
+        createEdgeEvent("TGT-edge-3", since.plusMinutes(2));
+
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(PRINCIPAL);
+        val service = RegisteredServiceTestUtils.getRegisteredService("test");
+        val request = new MockHttpServletRequest();
+        request.setRemoteAddr("107.181.69.221");
+        request.setLocalAddr("127.0.0.1");
+        request.addHeader(HttpRequestUtils.USER_AGENT_HEADER,
+            "Mozilla/5.0 (Windows NT 10.1; rv:10.0) Gecko/20100101 Firefox/10.0");
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+
+        val noOp = AuthenticationRiskProfileRepository.noOp();
+        val calculators = List.<AuthenticationRequestRiskCalculator[]>of(
+            new AuthenticationRequestRiskCalculator[]{
+                new IpAddressAuthenticationRequestRiskCalculator(casEventRepository, casProperties, noOp),
+                new IpAddressAuthenticationRequestRiskCalculator(casEventRepository, casProperties, profileRepository)
+            },
+            new AuthenticationRequestRiskCalculator[]{
+                new UserAgentAuthenticationRequestRiskCalculator(casEventRepository, casProperties, noOp),
+                new UserAgentAuthenticationRequestRiskCalculator(casEventRepository, casProperties, profileRepository)
+            },
+            new AuthenticationRequestRiskCalculator[]{
+                new DateTimeAuthenticationRequestRiskCalculator(casEventRepository, casProperties, noOp),
+                new DateTimeAuthenticationRequestRiskCalculator(casEventRepository, casProperties, profileRepository)
+            });
+        calculators.forEach(pair -> {
+            val expected = pair[0].calculate(authentication, service, request);
+            val actual = pair[1].calculate(authentication, service, request);
+            assertEquals(0, expected.getScore().compareTo(actual.getScore()), pair[0].getClass().getSimpleName());
+        });
+
+        val nobody = CoreAuthenticationTestUtils.getAuthentication("nobody");
+        val score = new IpAddressAuthenticationRequestRiskCalculator(casEventRepository, casProperties, profileRepository)
+            .calculate(nobody, service, request);
+        assertTrue(score.isHighestRisk());
+    }
+}
@@ -54,6 +54,8 @@ public class CasEventsDynamoDbRepositoryConfiguration {
         val f = new DynamoDbCasEventsFacilitator(db, dynamoDbEventRepositoryClient);
         if (!db.isPreventTableCreationOnStartup()) {
             f.createTable(db.isDropTablesOnStartup());
+        } else {
+            f.discoverIndexes();
         }
         return f;
     }
@@ -17,15 +17,25 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexDescription;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -41,10 +51,16 @@ public class DynamoDbCasEventsFacilitator {
     private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
         .defaultTypingEnabled(false).build().toObjectMapper();
 
+    private static final String PRINCIPAL_INDEX_NAME = "principal-creationTime-index";
+
+    private static final String TYPE_INDEX_NAME = "type-creationTime-index";
+
     private final DynamoDbEventsProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
 
+    private final Set<String> availableIndexes = ConcurrentHashMap.newKeySet();
+
     /**
      * Build table attribute values map.
      *
@@ -85,8 +101,37 @@ public class DynamoDbCasEventsFacilitator {
     public void createTable(final boolean deleteTables) {
         DynamoDbTableUtils.createTable(amazonDynamoDBClient, dynamoDbProperties,
             dynamoDbProperties.getTableName(), deleteTables,
-            List.of(AttributeDefinition.builder().attributeName(ColumnNames.ID.getColumnName()).attributeType(ScalarAttributeType.N).build()),
-            List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build()));
+            List.of(
+                AttributeDefinition.builder().attributeName(ColumnNames.ID.getColumnName()).attributeType(ScalarAttributeType.N).build(),
+                AttributeDefinition.builder().attributeName(ColumnNames.PRINCIPAL.getColumnName()).attributeType(ScalarAttributeType.S).build(),
+                AttributeDefinition.builder().attributeName(ColumnNames.TYPE.getColumnName()).attributeType(ScalarAttributeType.S).build(),
+                AttributeDefinition.builder().attributeName(ColumnNames.CREATION_TIME.getColumnName()).attributeType(ScalarAttributeType.S).build()),
+            List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build()),
+            List.of(buildIndex(PRINCIPAL_INDEX_NAME, ColumnNames.PRINCIPAL), buildIndex(TYPE_INDEX_NAME, ColumnNames.TYPE)));
+        discoverIndexes();
+    }
+
+    /**
+     * Discover the global secondary indexes defined on the table.
+     * Queries are only sent to indexes found here; tables created without them are scanned instead.
+     */
+    public void discoverIndexes() {
+        availableIndexes.clear();
+        try {
+            val request = DescribeTableRequest.builder().tableName(dynamoDbProperties.getTableName()).build();
+            val table = amazonDynamoDBClient.describeTable(request).table();
+            if (table.hasGlobalSecondaryIndexes()) {
+                table.globalSecondaryIndexes().stream()
+                    .map(GlobalSecondaryIndexDescription::indexName)
+                    .forEach(availableIndexes::add);
+            }
+        } catch (final ResourceNotFoundException e) {
+            LOGGER.warn("Table [{}] does not exist: [{}]", dynamoDbProperties.getTableName(), e.getMessage());
+        }
+        Stream.of(PRINCIPAL_INDEX_NAME, TYPE_INDEX_NAME)
+            .filter(index -> !availableIndexes.contains(index))
+            .forEach(index -> LOGGER.warn("Index [{}] is not defined on table [{}]; queries that need it will scan the table instead",
+                index, dynamoDbProperties.getTableName()));
     }
 
     /**
@@ -122,12 +167,8 @@ public class DynamoDbCasEventsFacilitator {
      * @return the events for principal
      */
     public Stream<? extends CasEvent> getEventsForPrincipal(final String id) {
-        val query = DynamoDbQueryBuilder.builder()
-            .key(ColumnNames.PRINCIPAL.getColumnName())
-            .attributeValue(List.of(AttributeValue.builder().s(id).build()))
-            .operator(ComparisonOperator.EQ)
-            .build();
-        return getRecordsByKeys(List.of(query));
+        return getRecordsByIndex(PRINCIPAL_INDEX_NAME,
+            List.of(equalTo(ColumnNames.PRINCIPAL, id)), List.of());
     }
 
     /**
@@ -138,19 +179,8 @@ public class DynamoDbCasEventsFacilitator {
      * @return the events for principal
      */
     public Stream<? extends CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
-        val query =
-            List.of(
-                DynamoDbQueryBuilder.builder()
-                    .key(ColumnNames.PRINCIPAL.getColumnName())
-                    .attributeValue(List.of(AttributeValue.builder().s(id).build()))
-                    .operator(ComparisonOperator.EQ)
-                    .build(),
-                DynamoDbQueryBuilder.builder()
-                    .key(ColumnNames.CREATION_TIME.getColumnName())
-                    .attributeValue(List.of(AttributeValue.builder().s(dateTime.toString()).build()))
-                    .operator(ComparisonOperator.GE)
-                    .build());
-        return getRecordsByKeys(query);
+        return getRecordsByIndex(PRINCIPAL_INDEX_NAME,
+            List.of(equalTo(ColumnNames.PRINCIPAL, id), onOrAfter(dateTime)), List.of());
     }
 
     /**
@@ -161,18 +191,8 @@ public class DynamoDbCasEventsFacilitator {
      * @return the events of type
      */
     public Stream<? extends CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
-        val query = List.of(
-            DynamoDbQueryBuilder.builder()
-                .key(ColumnNames.TYPE.getColumnName())
-                .attributeValue(List.of(AttributeValue.builder().s(type).build()))
-                .operator(ComparisonOperator.EQ)
-                .build(),
-            DynamoDbQueryBuilder.builder()
-                .key(ColumnNames.CREATION_TIME.getColumnName())
-                .attributeValue(List.of(AttributeValue.builder().s(dateTime.toString()).build()))
-                .operator(ComparisonOperator.GE)
-                .build());
-        return getRecordsByKeys(query);
+        return getRecordsByIndex(TYPE_INDEX_NAME,
+            List.of(equalTo(ColumnNames.TYPE, type), onOrAfter(dateTime)), List.of());
     }
 
     /**
@@ -182,12 +202,8 @@ public class DynamoDbCasEventsFacilitator {
      * @return the events of type
      */
     public Stream<? extends CasEvent> getEventsOfType(final String type) {
-        val query = DynamoDbQueryBuilder.builder()
-            .key(ColumnNames.TYPE.getColumnName())
-            .attributeValue(List.of(AttributeValue.builder().s(type).build()))
-            .operator(ComparisonOperator.EQ)
-            .build();
-        return getRecordsByKeys(List.of(query));
+        return getRecordsByIndex(TYPE_INDEX_NAME,
+            List.of(equalTo(ColumnNames.TYPE, type)), List.of());
     }
 
     /**
@@ -200,23 +216,9 @@ public class DynamoDbCasEventsFacilitator {
      */
     public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal,
                                                                       final ZonedDateTime dateTime) {
-        val query = List.of(
-            DynamoDbQueryBuilder.builder()
-                .key(ColumnNames.TYPE.getColumnName())
-                .attributeValue(List.of(AttributeValue.builder().s(type).build()))
-                .operator(ComparisonOperator.EQ)
-                .build(),
-            DynamoDbQueryBuilder.builder()
-                .key(ColumnNames.PRINCIPAL.getColumnName())
-                .attributeValue(List.of(AttributeValue.builder().s(principal).build()))
-                .operator(ComparisonOperator.EQ)
-                .build(),
-            DynamoDbQueryBuilder.builder()
-                .key(ColumnNames.CREATION_TIME.getColumnName())
-                .attributeValue(List.of(AttributeValue.builder().s(dateTime.toString()).build()))
-                .operator(ComparisonOperator.GE)
-                .build());
-        return getRecordsByKeys(query);
+        return getRecordsByIndex(PRINCIPAL_INDEX_NAME,
+            List.of(equalTo(ColumnNames.PRINCIPAL, principal), onOrAfter(dateTime)),
+            List.of(equalTo(ColumnNames.TYPE, type)));
     }
 
     /**
@@ -227,19 +229,9 @@ public class DynamoDbCasEventsFacilitator {
      * @return the events of type for principal
      */
     public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
-        val query =
-            List.of(
-                DynamoDbQueryBuilder.builder()
-                    .key(ColumnNames.PRINCIPAL.getColumnName())
-                    .attributeValue(List.of(AttributeValue.builder().s(principal).build()))
-                    .operator(ComparisonOperator.EQ)
-                    .build(),
-                DynamoDbQueryBuilder.builder()
-                    .key(ColumnNames.TYPE.getColumnName())
-                    .attributeValue(List.of(AttributeValue.builder().s(type).build()))
-                    .operator(ComparisonOperator.EQ)
-                    .build());
-        return getRecordsByKeys(query);
+        return getRecordsByIndex(PRINCIPAL_INDEX_NAME,
+            List.of(equalTo(ColumnNames.PRINCIPAL, principal)),
+            List.of(equalTo(ColumnNames.TYPE, type)));
     }
 
     /**
@@ -272,6 +264,47 @@ public class DynamoDbCasEventsFacilitator {
         private final String columnName;
     }
 
+    private static DynamoDbQueryBuilder equalTo(final ColumnNames column, final String value) {
+        return DynamoDbQueryBuilder.builder()
+            .key(column.getColumnName())
+            .attributeValue(List.of(AttributeValue.builder().s(value).build()))
+            .operator(ComparisonOperator.EQ)
+            .build();
+    }
+
+    private static DynamoDbQueryBuilder onOrAfter(final ZonedDateTime dateTime) {
+        return DynamoDbQueryBuilder.builder()
+            .key(ColumnNames.CREATION_TIME.getColumnName())
+            .attributeValue(List.of(AttributeValue.builder().s(dateTime.toString()).build()))
+            .operator(ComparisonOperator.GE)
+            .build();
+    }
+
+    private static GlobalSecondaryIndex buildIndex(final String indexName, final ColumnNames hashKey) {
+        return GlobalSecondaryIndex.builder()
+            .indexName(indexName)
+            .keySchema(
+                KeySchemaElement.builder().attributeName(hashKey.getColumnName()).keyType(KeyType.HASH).build(),
+                KeySchemaElement.builder().attributeName(ColumnNames.CREATION_TIME.getColumnName()).keyType(KeyType.RANGE).build())
+            .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+            .build();
+    }
+
+    private Stream<CasEvent> getRecordsByIndex(final String indexName,
+                                               final List<DynamoDbQueryBuilder> keyConditions,
+                                               final List<DynamoDbQueryBuilder> filters) {
+        if (availableIndexes.contains(indexName)) {
+            return DynamoDbTableUtils.getRecordsByIndex(amazonDynamoDBClient,
+                    dynamoDbProperties.getTableName(), indexName, keyConditions, filters,
+                    DynamoDbCasEventsFacilitator::extractAttributeValuesFrom)
+                .collect(Collectors.toList())
+                .stream();
+        }
+        val queries = new ArrayList<>(keyConditions);
+        queries.addAll(filters);
+        return getRecordsByKeys(queries);
+    }
+
     @SneakyThrows
     private Stream<CasEvent> getRecordsByKeys(final List<DynamoDbQueryBuilder> queries) {
         return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient,
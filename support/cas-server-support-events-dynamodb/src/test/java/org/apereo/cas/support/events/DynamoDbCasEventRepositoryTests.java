@@ -6,12 +6,15 @@ import org.apereo.cas.util.junit.EnabledIfPortOpen;
 import lombok.Getter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import software.amazon.awssdk.core.SdkSystemSetting;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link DynamoDbCasEventRepositoryTests}.
  *
@@ -49,4 +52,11 @@ public class DynamoDbCasEventRepositoryTests extends AbstractCasEventRepositoryT
     public void beforeEach() {
         dynamoDbCasEventsFacilitator.deleteAll();
     }
+
+    @Test
+    public void verifyIndexesAreDiscovered() {
+        assertEquals(2, dynamoDbCasEventsFacilitator.getAvailableIndexes().size());
+        dynamoDbCasEventsFacilitator.discoverIndexes();
+        assertEquals(2, dynamoDbCasEventsFacilitator.getAvailableIndexes().size());
+    }
 }
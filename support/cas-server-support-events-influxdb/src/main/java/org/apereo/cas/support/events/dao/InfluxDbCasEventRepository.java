@@ -18,6 +18,7 @@ import org.springframework.beans.factory.DisposableBean;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -56,23 +57,77 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
         return event;
     }
 
+    private static CasEvent toCasEvent(final InfluxDbEvent flux) {
+        val event = new CasEvent();
+        val geo = Unchecked.supplier(() -> MAPPER.readValue(flux.getGeoLocation(), new TypeReference<GeoLocationRequest>() {
+        })).get();
+        event.putGeoLocation(geo);
+        event.setPrincipalId(flux.getPrincipalId());
+        event.setType(flux.getType());
+        event.setCreationTime(flux.getCreationTime());
+        event.putClientIpAddress(flux.getClientIpAddress());
+        event.putServerIpAddress(flux.getServerIpAddress());
+        event.putEventId(flux.getValue());
+        event.putTimestamp(Long.valueOf(flux.getTimestamp()));
+        return event;
+    }
+
     @Override
     public Stream<? extends CasEvent> load() {
         val results = influxDbConnectionFactory.query(InfluxDbEvent.class);
-        return results.stream().map(flux -> {
-            val event = new CasEvent();
-            val geo = Unchecked.supplier(() -> MAPPER.readValue(flux.getGeoLocation(), new TypeReference<GeoLocationRequest>() {
-            })).get();
-            event.putGeoLocation(geo);
-            event.setPrincipalId(flux.getPrincipalId());
-            event.setType(flux.getType());
-            event.setCreationTime(flux.getCreationTime());
-            event.putClientIpAddress(flux.getClientIpAddress());
-            event.putServerIpAddress(flux.getServerIpAddress());
-            event.putEventId(flux.getValue());
-            event.putTimestamp(Long.valueOf(flux.getTimestamp()));
-            return event;
-        });
+        return results.stream().map(InfluxDbCasEventRepository::toCasEvent);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> load(final ZonedDateTime dateTime) {
+        return query(Map.of(), dateTime);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
+        return query(Map.of(TYPE_PARAM, type, PRINCIPAL_ID_PARAM, principal), null);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal,
+                                                                  final ZonedDateTime dateTime) {
+        return query(Map.of(TYPE_PARAM, type, PRINCIPAL_ID_PARAM, principal), dateTime);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfType(final String type) {
+        return query(Map.of(TYPE_PARAM, type), null);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return query(Map.of(TYPE_PARAM, type), dateTime);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsForPrincipal(final String id) {
+        return query(Map.of(PRINCIPAL_ID_PARAM, id), null);
+    }
+
+    @Override
+    public Stream<? extends CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return query(Map.of(PRINCIPAL_ID_PARAM, id), dateTime);
+    }
+
+    /**
+     * Query events by tags, and by creation time if a date is given.
+     * Points are recorded once events are created, so the date also bounds the range of points
+     * that the database has to look at; the creation time of each event is checked again here.
+     *
+     * @param tags     the tags
+     * @param dateTime the date time, or null
+     * @return the events
+     */
+    private Stream<? extends CasEvent> query(final Map<String, String> tags, final ZonedDateTime dateTime) {
+        val start = dateTime == null ? Instant.EPOCH : dateTime.toInstant();
+        val results = influxDbConnectionFactory.query(InfluxDbEvent.class, MEASUREMENT, tags, start);
+        val events = results.stream().map(InfluxDbCasEventRepository::toCasEvent);
+        return dateTime == null ? events : events.filter(event -> isEventCreatedOnOrAfter(event, dateTime));
     }
 
     @Override
@@ -10,6 +10,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 /**
@@ -21,7 +22,10 @@ import javax.persistence.Table;
 @Getter
 @Entity
 @Setter
-@Table(name = "CasEvent")
+@Table(name = "CasEvent", indexes = {
+    @Index(name = "IDX_CAS_EVENT_PRINCIPAL", columnList = "principalId,creationTime"),
+    @Index(name = "IDX_CAS_EVENT_TYPE", columnList = "type,creationTime")
+})
 public class JpaCasEvent extends CasEvent {
     private static final long serialVersionUID = -1176976165442671412L;
 
@@ -36,6 +36,8 @@ public class CasEventsInMemoryRepositoryConfiguration {
 
     private static final long EXPIRATION_TIME = 2;
 
+    private static final int MAX_EVENTS_PER_PRINCIPAL = 1_000;
+
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public CasEventRepository casEventRepository(
@@ -51,7 +53,8 @@ public class CasEventsInMemoryRepositoryConfiguration {
                 return null;
             });
         LOGGER.debug("Created an in-memory event repository to store CAS events for [{}] hours", EXPIRATION_TIME);
-        return new InMemoryCasEventRepository(casEventRepositoryFilter, storage);
+        return new InMemoryCasEventRepository(casEventRepositoryFilter, storage,
+            MAX_EVENTS_PER_PRINCIPAL, Duration.ofHours(EXPIRATION_TIME));
     }
 
     @ConditionalOnMissingBean(name = "casEventRepositoryFilter")
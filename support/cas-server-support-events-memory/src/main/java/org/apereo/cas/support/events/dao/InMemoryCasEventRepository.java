@@ -2,13 +2,25 @@ package org.apereo.cas.support.events.dao;
 
 import org.apereo.cas.support.events.CasEventRepositoryFilter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.val;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 /**
  * This is {@link InMemoryCasEventRepository}.
+ * <p>
+ * Events are also indexed by principal, in a bounded ring buffer that keeps
+ * the most recent events of each principal, so that principal queries
+ * do not have to go through the entire event history.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -16,10 +28,24 @@ import java.util.stream.Stream;
 public class InMemoryCasEventRepository extends AbstractCasEventRepository {
     private final LoadingCache<String, CasEvent> cache;
 
+    private final Cache<String, PrincipalEvents> principalEvents;
+
+    private final int maxEventsPerPrincipal;
+
     public InMemoryCasEventRepository(final CasEventRepositoryFilter eventRepositoryFilter,
-                                      final LoadingCache<String, CasEvent> cache) {
+                                      final LoadingCache<String, CasEvent> cache,
+                                      final int maxEventsPerPrincipal,
+                                      final Duration expiration) {
         super(eventRepositoryFilter);
         this.cache = cache;
+        this.maxEventsPerPrincipal = maxEventsPerPrincipal;
+        this.principalEvents = Caffeine.newBuilder()
+            .expireAfterAccess(expiration)
+            .build();
+    }
+
+    private static String getPrincipalKey(final String principal) {
+        return principal.toLowerCase(Locale.ENGLISH);
     }
 
     @Override
@@ -29,16 +55,54 @@ public class InMemoryCasEventRepository extends AbstractCasEventRepository {
 
     @Override
     public Stream<? extends CasEvent> getEventsForPrincipal(final String id) {
-        return cache
-            .asMap()
-            .values()
+        val events = principalEvents.getIfPresent(getPrincipalKey(id));
+        if (events == null) {
+            return Stream.empty();
+        }
+        return events.getKeys()
             .stream()
+            .map(cache::getIfPresent)
+            .filter(Objects::nonNull)
             .filter(e -> e.getPrincipalId().equalsIgnoreCase(id));
     }
 
     @Override
     public CasEvent saveInternal(final CasEvent event) {
-        cache.put(UUID.randomUUID().toString(), event);
+        val key = UUID.randomUUID().toString();
+        cache.put(key, event);
+        principalEvents.get(getPrincipalKey(event.getPrincipalId()), k -> new PrincipalEvents(maxEventsPerPrincipal)).add(key);
         return event;
     }
+
+    /**
+     * Ring buffer of the keys of the most recent events of a principal.
+     * Once full, the oldest key is overwritten. Keys of events that
+     * are no longer cached are skipped when events are read.
+     */
+    private static class PrincipalEvents {
+        private final String[] keys;
+
+        private int next;
+
+        private int size;
+
+        PrincipalEvents(final int capacity) {
+            this.keys = new String[capacity];
+        }
+
+        synchronized void add(final String key) {
+            keys[next] = key;
+            next = (next + 1) % keys.length;
+            size = Math.min(size + 1, keys.length);
+        }
+
+        synchronized List<String> getKeys() {
+            val results = new ArrayList<String>(size);
+            val start = (next - size + keys.length) % keys.length;
+            for (var i = 0; i < size; i++) {
+                results.add(keys[(start + i) % keys.length]);
+            }
+            return results;
+        }
+    }
 }
@@ -2,15 +2,27 @@ package org.apereo.cas.support.events.dao;
 
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.CasEventRepositoryFilter;
 import org.apereo.cas.support.events.config.CasEventsInMemoryRepositoryConfiguration;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.Getter;
+import lombok.val;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link InMemoryCasEventRepositoryTests}.
  *
@@ -27,4 +39,26 @@ public class InMemoryCasEventRepositoryTests extends AbstractCasEventRepositoryT
     @Autowired
     @Qualifier("casEventRepository")
     private CasEventRepository eventRepository;
+
+    @Test
+    public void verifyEventsPerPrincipalAreBounded() {
+        final LoadingCache<String, CasEvent> cache = Caffeine.newBuilder().build(key -> null);
+        val repository = new InMemoryCasEventRepository(CasEventRepositoryFilter.noOp(), cache, 2, Duration.ofHours(1));
+        for (var i = 0; i < 3; i++) {
+            val event = new CasEvent();
+            event.setType("LoginEvent");
+            event.setPrincipalId("CasUser");
+            event.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).toString());
+            event.putEventId("event-" + i);
+            repository.save(event);
+        }
+        assertEquals(3, repository.load().count());
+        val events = repository.getEventsForPrincipal("casuser").collect(Collectors.toList());
+        assertEquals(2, events.size());
+        assertEquals("event-1", events.get(0).getEventId());
+        assertEquals("event-2", events.get(1).getEventId());
+
+        cache.invalidateAll();
+        assertTrue(repository.getEventsForPrincipal("casuser").findAny().isEmpty());
+    }
 }
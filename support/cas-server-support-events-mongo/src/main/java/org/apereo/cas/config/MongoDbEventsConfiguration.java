@@ -64,6 +64,8 @@ public class MongoDbEventsConfiguration {
         @Qualifier("mongoEventsTemplate")
         final MongoTemplate mongoEventsTemplate) {
         val mongo = casProperties.getEvents().getMongo();
-        return new MongoDbCasEventRepository(mongoEventRepositoryFilter, mongoEventsTemplate, mongo.getCollection());
+        val repository = new MongoDbCasEventRepository(mongoEventRepositoryFilter, mongoEventsTemplate, mongo.getCollection());
+        repository.createIndexes();
+        return repository;
     }
 }
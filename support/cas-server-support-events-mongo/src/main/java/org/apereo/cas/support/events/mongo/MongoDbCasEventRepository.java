@@ -1,16 +1,21 @@
 package org.apereo.cas.support.events.mongo;
 
+import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.support.events.CasEventRepositoryFilter;
 import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
 
 import lombok.ToString;
 import lombok.val;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -34,6 +39,25 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
         this.collectionName = collectionName;
     }
 
+    /**
+     * Create indexes on the events collection, so that queries by principal, type and creation time
+     * do not have to scan the entire collection.
+     */
+    public void createIndexes() {
+        if (mongoTemplate instanceof MongoTemplate) {
+            val template = (MongoTemplate) mongoTemplate;
+            val principalIndex = new Index()
+                .on(PRINCIPAL_ID_PARAM, Sort.Direction.ASC)
+                .on(TYPE_PARAM, Sort.Direction.ASC)
+                .on(CREATION_TIME_PARAM, Sort.Direction.ASC);
+            val typeIndex = new Index()
+                .on(TYPE_PARAM, Sort.Direction.ASC)
+                .on(CREATION_TIME_PARAM, Sort.Direction.ASC);
+            MongoDbConnectionFactory.createOrUpdateIndexes(template,
+                template.getCollection(collectionName), List.of(principalIndex, typeIndex));
+        }
+    }
+
     @Override
     public Stream<? extends CasEvent> load() {
         return this.mongoTemplate.stream(new Query(), CasEvent.class, this.collectionName).stream();
@@ -9,14 +9,22 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Objects;
 import java.util.stream.Stream;
 
 /**
  * This is {@link RedisCasEventRepository} that stores event data into a redis database.
+ * <p>
+ * The keys of the events of each principal are also tracked in a sorted set, scored by event timestamp,
+ * so that principal queries only fetch the events that match rather than scanning the keyspace.
+ * The first time the events of a principal are queried, events that were stored before the sorted set
+ * was tracked are found by scanning and added to the sorted set, after which the principal is marked as indexed.
  *
  * @author Misagh Moayyed
  * @since 6.4.0
@@ -29,8 +37,14 @@ public class RedisCasEventRepository extends AbstractCasEventRepository {
 
     private static final String CAS_PREFIX = RedisCasEventRepository.class.getSimpleName();
 
+    private static final String PRINCIPAL_INDEX_PREFIX = CAS_PREFIX + "Index" + KEY_SEPARATOR;
+
+    private static final String PRINCIPAL_INDEXED_PREFIX = CAS_PREFIX + "Indexed" + KEY_SEPARATOR;
+
     private final RedisTemplate<String, CasEvent> template;
 
+    private final StringRedisTemplate indexTemplate;
+
     private final long scanCount;
 
     public RedisCasEventRepository(final CasEventRepositoryFilter eventRepositoryFilter,
@@ -38,6 +52,7 @@ public class RedisCasEventRepository extends AbstractCasEventRepository {
                                    final long scanCount) {
         super(eventRepositoryFilter);
         this.template = redisTemplate;
+        this.indexTemplate = new StringRedisTemplate(Objects.requireNonNull(redisTemplate.getConnectionFactory()));
         this.scanCount = scanCount;
     }
 
@@ -45,6 +60,14 @@ public class RedisCasEventRepository extends AbstractCasEventRepository {
         return CAS_PREFIX + KEY_SEPARATOR + type + KEY_SEPARATOR + principal + KEY_SEPARATOR + timestamp;
     }
 
+    private static String getPrincipalIndexKey(final String principal) {
+        return PRINCIPAL_INDEX_PREFIX + principal;
+    }
+
+    private static String getPrincipalIndexedKey(final String principal) {
+        return PRINCIPAL_INDEXED_PREFIX + principal;
+    }
+
     @Override
     public Stream<? extends CasEvent> load() {
         val keys = getKeys("*", "*", "*");
@@ -64,21 +87,14 @@ public class RedisCasEventRepository extends AbstractCasEventRepository {
 
     @Override
     public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
-        val keys = getKeys(type, principal, "*");
-        return keys
-            .map(key -> this.template.boundValueOps(key).get())
-            .filter(Objects::nonNull);
+        return getEventsForPrincipal(type, principal, Double.NEGATIVE_INFINITY);
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsOfTypeForPrincipal(final String type,
                                                                   final String principal,
                                                                   final ZonedDateTime dateTime) {
-        val keys = getKeys(type, principal, "*");
-        return keys
-            .map(key -> this.template.boundValueOps(key).get())
-            .filter(Objects::nonNull)
-            .filter(event -> event.getTimestamp() >= dateTime.toInstant().toEpochMilli());
+        return getEventsForPrincipal(type, principal, dateTime.toInstant().toEpochMilli());
     }
 
     @Override
@@ -100,19 +116,12 @@ public class RedisCasEventRepository extends AbstractCasEventRepository {
 
     @Override
     public Stream<? extends CasEvent> getEventsForPrincipal(final String id) {
-        val keys = getKeys("*", id, "*");
-        return keys
-            .map(key -> this.template.boundValueOps(key).get())
-            .filter(Objects::nonNull);
+        return getEventsForPrincipal("*", id, Double.NEGATIVE_INFINITY);
     }
 
     @Override
     public Stream<? extends CasEvent> getEventsForPrincipal(final String principal, final ZonedDateTime dateTime) {
-        val keys = getKeys("*", principal, "*");
-        return keys
-            .map(key -> this.template.boundValueOps(key).get())
-            .filter(Objects::nonNull)
-            .filter(event -> event.getTimestamp() >= dateTime.toInstant().toEpochMilli());
+        return getEventsForPrincipal("*", principal, dateTime.toInstant().toEpochMilli());
     }
 
     @Override
@@ -121,9 +130,46 @@ public class RedisCasEventRepository extends AbstractCasEventRepository {
         LOGGER.trace("Saving event record based on key [{}]", key);
         val ops = this.template.boundValueOps(key);
         ops.set(event);
+        indexTemplate.opsForZSet().add(getPrincipalIndexKey(event.getPrincipalId()), key, event.getTimestamp());
         return event;
     }
 
+    private Stream<? extends CasEvent> getEventsForPrincipal(final String type, final String principal, final double since) {
+        val indexKey = getPrincipalIndexKey(principal);
+        indexPrincipalEvents(principal, indexKey);
+        val indexedKeys = indexTemplate.opsForZSet().rangeByScore(indexKey, since, Double.POSITIVE_INFINITY);
+        if (indexedKeys == null || indexedKeys.isEmpty()) {
+            return Stream.empty();
+        }
+        val typePrefix = getKey(type, principal, StringUtils.EMPTY);
+        val keys = new ArrayList<String>(indexedKeys.size());
+        indexedKeys.stream()
+            .filter(key -> "*".equals(type) || key.startsWith(typePrefix))
+            .forEach(keys::add);
+        if (keys.isEmpty()) {
+            return Stream.empty();
+        }
+        val events = this.template.opsForValue().multiGet(keys);
+        return events == null ? Stream.empty() : events.stream().filter(Objects::nonNull);
+    }
+
+    private void indexPrincipalEvents(final String principal, final String indexKey) {
+        val indexedKey = getPrincipalIndexedKey(principal);
+        if (Boolean.TRUE.equals(indexTemplate.hasKey(indexedKey))) {
+            return;
+        }
+        LOGGER.trace("Scanning for event records of [{}] that were stored before they were indexed", principal);
+        try (val keys = getKeys("*", principal, "*")) {
+            keys.forEach(key -> {
+                val event = this.template.boundValueOps(key).get();
+                if (event != null) {
+                    indexTemplate.opsForZSet().add(indexKey, key, event.getTimestamp());
+                }
+            });
+        }
+        indexTemplate.opsForValue().set(indexedKey, Boolean.TRUE.toString());
+    }
+
     private Stream<String> getKeys(final String type, final String principal, final String timestamp) {
         val key = getKey(type, principal, timestamp);
         LOGGER.trace("Fetching records based on key [{}]", key);
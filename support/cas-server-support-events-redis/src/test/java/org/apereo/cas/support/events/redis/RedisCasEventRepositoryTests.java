@@ -4,15 +4,26 @@ import org.apereo.cas.config.CasCoreHttpConfiguration;
 import org.apereo.cas.config.RedisEventsConfiguration;
 import org.apereo.cas.support.events.AbstractCasEventRepositoryTests;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
 import org.apereo.cas.util.junit.EnabledIfPortOpen;
 
 import lombok.Getter;
+import lombok.val;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Test cases for {@link RedisCasEventRepositoryTests}.
  *
@@ -36,4 +47,30 @@ public class RedisCasEventRepositoryTests extends AbstractCasEventRepositoryTest
     @Autowired
     @Qualifier("casEventRepository")
     private CasEventRepository eventRepository;
+
+    private static CasEvent getCasEvent(final String principal, final ZonedDateTime time) {
+        val event = new CasEvent();
+        event.setType(CasTicketGrantingTicketCreatedEvent.class.getCanonicalName());
+        event.setPrincipalId(principal);
+        event.putEventId(UUID.randomUUID().toString());
+        event.putTimestamp(time.toInstant().toEpochMilli());
+        event.setCreationTime(time.format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        return event;
+    }
+
+    @Test
+    public void verifyEventsStoredBeforeIndexingAreFound() {
+        val principal = "legacy-" + UUID.randomUUID();
+        val legacy = getCasEvent(principal, ZonedDateTime.now(ZoneOffset.UTC).minusHours(1));
+        val repository = (RedisCasEventRepository) eventRepository;
+        repository.getTemplate().boundValueOps("RedisCasEventRepository:" + legacy.getType() + ':'
+            + principal + ':' + legacy.getTimestamp()).set(legacy);
+
+        eventRepository.save(getCasEvent(principal, ZonedDateTime.now(ZoneOffset.UTC)));
+        assertEquals(2, eventRepository.getEventsForPrincipal(principal).count());
+        assertEquals(2, eventRepository.getEventsForPrincipal(principal,
+            ZonedDateTime.now(ZoneOffset.UTC).minusDays(1)).count());
+        assertEquals(1, eventRepository.getEventsForPrincipal(principal,
+            ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(5)).count());
+    }
 }
@@ -3,13 +3,18 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
-import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.HazelcastTicketPrincipalValueExtractor;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CoreTicketUtils;
 
+import com.hazelcast.config.AttributeConfig;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.instance.impl.HazelcastInstanceFactory;
 import lombok.extern.slf4j.Slf4j;
@@ -65,13 +70,34 @@ public class HazelcastTicketRegistryConfiguration {
         val hazelcastInstance = HazelcastInstanceFactory.getOrCreateHazelcastInstance(HazelcastConfigurationFactory.build(hz));
         ticketCatalog.findAll()
             .stream()
-            .map(TicketDefinition::getProperties)
-            .peek(p -> LOGGER.debug("Created Hazelcast map configuration for [{}]", p))
-            .map(p -> HazelcastConfigurationFactory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout()))
+            .peek(definition -> LOGGER.debug("Created Hazelcast map configuration for [{}]", definition.getProperties()))
+            .map(definition -> {
+                val p = definition.getProperties();
+                val mapConfig = HazelcastConfigurationFactory.buildMapConfig(hz, p.getStorageName(), p.getStorageTimeout());
+                if (mapConfig instanceof MapConfig && TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass())) {
+                    addPrincipalIndex((MapConfig) mapConfig);
+                }
+                return mapConfig;
+            })
+            .forEach(map -> HazelcastConfigurationFactory.setConfigMap(map, hazelcastInstance.getConfig()));
+        ticketCatalog.find(TicketGrantingTicket.class)
+            .stream()
+            .map(definition -> {
+                val p = definition.getProperties();
+                return HazelcastConfigurationFactory.buildMapConfig(hz,
+                    HazelcastTicketRegistry.getChildTicketsMapName(p.getStorageName()), p.getStorageTimeout());
+            })
             .forEach(map -> HazelcastConfigurationFactory.setConfigMap(map, hazelcastInstance.getConfig()));
         return hazelcastInstance;
     }
 
+    private static void addPrincipalIndex(final MapConfig mapConfig) {
+        LOGGER.debug("Indexing principals of ticket-granting tickets in map [{}]", mapConfig.getName());
+        mapConfig.addAttributeConfig(new AttributeConfig(HazelcastTicketPrincipalValueExtractor.ATTRIBUTE_NAME,
+            HazelcastTicketPrincipalValueExtractor.class.getName()));
+        mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, HazelcastTicketPrincipalValueExtractor.ATTRIBUTE_NAME));
+    }
+
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
         return NoOpTicketRegistryCleaner.getInstance();
@@ -0,0 +1,34 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import lombok.val;
+
+/**
+ * This is {@link HazelcastTicketPrincipalValueExtractor}.
+ * Exposes the normalized principal id of ticket-granting tickets as a queryable,
+ * indexed attribute of ticket maps, so that sessions of a principal may be located
+ * without scanning the entire map.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public class HazelcastTicketPrincipalValueExtractor implements ValueExtractor<Ticket, Object> {
+    /**
+     * Name of the attribute that holds the normalized principal id.
+     */
+    public static final String ATTRIBUTE_NAME = "casPrincipal";
+
+    @Override
+    public void extract(final Ticket ticket, final Object argument, final ValueCollector collector) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                collector.addObject(AbstractTicketRegistry.normalizePrincipalId(authentication.getPrincipal().getId()));
+            }
+        }
+    }
+}
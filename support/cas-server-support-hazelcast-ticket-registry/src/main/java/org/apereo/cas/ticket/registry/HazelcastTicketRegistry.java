@@ -1,12 +1,16 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ChildTicketRecord;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.LoggingUtils;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,10 +20,13 @@ import org.springframework.beans.factory.DisposableBean;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -27,6 +34,9 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Tickets issued by a ticket-granting ticket are recorded into a separate map, keyed by the
+ * ticket-granting ticket, and are merged back into the ticket-granting ticket when it is retrieved.
+ * The entry is removed whenever the ticket-granting ticket is updated in full.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -35,18 +45,76 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class HazelcastTicketRegistry extends AbstractTicketRegistry implements AutoCloseable, DisposableBean {
+    private static final String CHILD_TICKETS_MAP_SUFFIX = "Children";
+
     private final HazelcastInstance hazelcastInstance;
 
     private final TicketCatalog ticketCatalog;
 
     private final long pageSize;
 
+    /**
+     * Gets the name of the map that holds the records of child tickets
+     * issued by ticket-granting tickets stored in the given map.
+     *
+     * @param mapName the map name of ticket-granting tickets
+     * @return the map name
+     */
+    public static String getChildTicketsMapName(final String mapName) {
+        return mapName + CHILD_TICKETS_MAP_SUFFIX;
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val childrenMap = getChildTicketsMapInstanceByMetadata(ticketCatalog.find(ticket));
+            if (childrenMap != null) {
+                childrenMap.delete(encodeTicketId(ticket.getId()));
+            }
+        }
         addTicket(ticket);
         return ticket;
     }
 
+    /**
+     * Records the child ticket into the map of child tickets, under the entry of the ticket-granting ticket,
+     * and extends the expiration of the ticket-granting ticket to account for its usage.
+     * Falls back to updating the ticket-granting ticket in full if the child ticket is not tracked as a service.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     * @param childTicket          the child ticket
+     */
+    @Override
+    public void addChildTicket(final TicketGrantingTicket ticketGrantingTicket, final Ticket childTicket) {
+        val record = ChildTicketRecord.of(ticketGrantingTicket, childTicket.getId());
+        val metadata = ticketCatalog.find(ticketGrantingTicket);
+        val ticketMap = metadata != null ? getTicketMapInstanceByMetadata(metadata) : null;
+        val childrenMap = getChildTicketsMapInstanceByMetadata(metadata);
+        if (record.isEmpty() || ticketMap == null || childrenMap == null) {
+            updateTicket(ticketGrantingTicket);
+            return;
+        }
+        LOGGER.debug("Adding child ticket [{}] to [{}]", childTicket, ticketGrantingTicket);
+        val encTicketId = encodeTicketId(ticketGrantingTicket.getId());
+        val value = EncodingUtils.encodeBase64(encodeChildTicketRecord(record.get()));
+        val ttl = ticketGrantingTicket.getExpirationPolicy().getTimeToLive();
+        var recorded = false;
+        while (!recorded) {
+            val existing = childrenMap.get(encTicketId);
+            if (existing == null) {
+                recorded = childrenMap.putIfAbsent(encTicketId, new ArrayList<>(List.of(value)), ttl, TimeUnit.SECONDS) == null;
+            } else {
+                val records = new ArrayList<>(existing);
+                records.add(value);
+                recorded = childrenMap.replace(encTicketId, existing, records);
+                if (recorded) {
+                    childrenMap.setTtl(encTicketId, ttl, TimeUnit.SECONDS);
+                }
+            }
+        }
+        ticketMap.setTtl(encTicketId, ttl, TimeUnit.SECONDS);
+    }
+
     @Override
     public void addTicketInternal(final Ticket ticket) {
         val ttl = ticket.getExpirationPolicy().getTimeToLive();
@@ -78,7 +146,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             val map = getTicketMapInstanceByMetadata(metadata);
             if (map != null) {
                 val ticket = map.get(encTicketId);
-                val result = decodeTicket(ticket);
+                val result = mergeChildTickets(decodeTicket(ticket));
                 if (predicate.test(result)) {
                     return result;
                 }
@@ -96,11 +164,20 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         val encTicketId = encodeTicketId(ticketIdToDelete);
         val metadata = this.ticketCatalog.find(ticketIdToDelete);
         val map = getTicketMapInstanceByMetadata(metadata);
+        val childrenMap = getChildTicketsMapInstanceByMetadata(metadata);
+        if (childrenMap != null) {
+            childrenMap.delete(encTicketId);
+        }
         return map != null && map.remove(encTicketId) != null;
     }
 
     @Override
     public long deleteAll() {
+        this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getChildTicketsMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .forEach(IMap::clear);
         return this.ticketCatalog.findAll()
             .stream()
             .map(this::getTicketMapInstanceByMetadata)
@@ -116,6 +193,12 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public Collection<? extends Ticket> getTickets() {
+        val children = new HashMap<String, List<String>>();
+        this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getChildTicketsMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .forEach(children::putAll);
         return this.ticketCatalog.findAll()
             .stream()
             .map(metadata -> getTicketMapInstanceByMetadata(metadata).values())
@@ -126,9 +209,36 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
                 return new ArrayList<>(tickets).stream();
             })
             .map(this::decodeTicket)
+            .map(ticket -> ticket != null ? mergeChildTickets(ticket, children.get(encodeTicketId(ticket.getId()))) : null)
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        if (isCipherExecutorEnabled()) {
+            return super.getSessionsFor(principalId);
+        }
+        val predicate = Predicates.<String, Ticket>equal(HazelcastTicketPrincipalValueExtractor.ATTRIBUTE_NAME,
+            normalizePrincipalId(principalId));
+        try {
+            val sessions = ticketCatalog.find(TicketGrantingTicket.class)
+                .stream()
+                .map(this::getTicketMapInstanceByMetadata)
+                .filter(Objects::nonNull)
+                .flatMap(map -> map.values(predicate).stream())
+                .collect(Collectors.toList());
+            return sessions
+                .stream()
+                .map(this::decodeTicket)
+                .filter(ticket -> isSessionFor(ticket, principalId))
+                .map(this::mergeChildTickets);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to query ticket maps by [{}]; ticket-granting tickets will be scanned instead: [{}]",
+                HazelcastTicketPrincipalValueExtractor.ATTRIBUTE_NAME, e.getMessage());
+            return super.getSessionsFor(principalId);
+        }
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -151,6 +261,40 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
+    private Ticket mergeChildTickets(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val childrenMap = getChildTicketsMapInstanceByMetadata(ticketCatalog.find(ticket));
+            if (childrenMap != null) {
+                return mergeChildTickets(ticket, childrenMap.get(encodeTicketId(ticket.getId())));
+            }
+        }
+        return ticket;
+    }
+
+    private Ticket mergeChildTickets(final Ticket ticket, final List<String> children) {
+        if (children == null) {
+            return ticket;
+        }
+        return mergeChildTicketRecords(ticket, children
+            .stream()
+            .map(EncodingUtils::decodeBase64)
+            .map(this::decodeChildTicketRecord)
+            .collect(Collectors.toList()));
+    }
+
+    private IMap<String, List<String>> getChildTicketsMapInstanceByMetadata(final TicketDefinition metadata) {
+        if (metadata == null || !TicketGrantingTicket.class.isAssignableFrom(metadata.getImplementationClass())) {
+            return null;
+        }
+        val mapName = getChildTicketsMapName(metadata.getProperties().getStorageName());
+        try {
+            return hazelcastInstance.getMap(mapName);
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+        }
+        return null;
+    }
+
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -55,6 +55,10 @@ public class InfluxDbConnectionFactory implements AutoCloseable {
         this.influxDbProperties = props;
     }
 
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     /**
      * Write measurement point.
      *
@@ -103,6 +107,26 @@ public class InfluxDbConnectionFactory implements AutoCloseable {
         return influxDb.getQueryApi().query(query, influxDbProperties.getOrganization(), clazz);
     }
 
+    /**
+     * Query the results of a measurement recorded after the given instant,
+     * whose tags match the given values. Filters are applied by the database.
+     *
+     * @param <T>         the type parameter
+     * @param clazz       the clazz
+     * @param measurement the measurement
+     * @param tags        the tags
+     * @param start       the start
+     * @return the query result
+     */
+    public <T extends Serializable> List<T> query(final Class<T> clazz, final String measurement,
+                                                  final Map<String, String> tags, final Instant start) {
+        val filter = new StringBuilder(String.format("r._measurement == \"%s\"", escape(measurement)));
+        tags.forEach((name, value) -> filter.append(String.format(" and r.%s == \"%s\"", name, escape(value))));
+        val query = String.format("from(bucket:\"%s\") |> range(start: %s) |> filter(fn: (r) => %s)",
+            influxDbProperties.getDatabase(), start, filter);
+        return influxDb.getQueryApi().query(query, influxDbProperties.getOrganization(), clazz);
+    }
+
     @Override
     public void close() {
         this.influxDb.close();
@@ -3,9 +3,13 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.jpa.AbstractJpaEntityFactory;
 import org.apereo.cas.ticket.AuthenticationAwareTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.generic.BaseTicketChildEntity;
 import org.apereo.cas.ticket.registry.generic.BaseTicketEntity;
+import org.apereo.cas.ticket.registry.generic.JpaTicketChildEntity;
 import org.apereo.cas.ticket.registry.generic.JpaTicketEntity;
+import org.apereo.cas.ticket.registry.mysql.MySQLJpaTicketChildEntity;
 import org.apereo.cas.ticket.registry.mysql.MySQLJpaTicketEntity;
+import org.apereo.cas.ticket.registry.postgres.PostgresJpaTicketChildEntity;
 import org.apereo.cas.ticket.registry.postgres.PostgresJpaTicketEntity;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
@@ -48,6 +52,31 @@ public class JpaTicketEntityFactory extends AbstractJpaEntityFactory<BaseTicketE
         return getEntityClass().getSimpleName();
     }
 
+    public String getChildEntityName() {
+        return getChildEntityClass().getSimpleName();
+    }
+
+    public Class<BaseTicketChildEntity> getChildType() {
+        return (Class<BaseTicketChildEntity>) getChildEntityClass();
+    }
+
+    /**
+     * New entity that records a child ticket of the given ticket-granting ticket.
+     *
+     * @param id       the child ticket id
+     * @param parentId the ticket-granting ticket id
+     * @param body     the encoded child ticket record
+     * @return the entity
+     */
+    @SneakyThrows
+    public BaseTicketChildEntity newChildEntity(final String id, final String parentId, final String body) {
+        val entity = getChildEntityClass().getDeclaredConstructor().newInstance();
+        return entity
+            .setId(id)
+            .setParentId(parentId)
+            .setBody(body);
+    }
+
     /**
      * From.
      *
@@ -98,4 +127,14 @@ public class JpaTicketEntityFactory extends AbstractJpaEntityFactory<BaseTicketE
         return JpaTicketEntity.class;
     }
 
+    private Class<? extends BaseTicketChildEntity> getChildEntityClass() {
+        if (isMySql()) {
+            return MySQLJpaTicketChildEntity.class;
+        }
+        if (isPostgres()) {
+            return PostgresJpaTicketChildEntity.class;
+        }
+        return JpaTicketChildEntity.class;
+    }
+
 }
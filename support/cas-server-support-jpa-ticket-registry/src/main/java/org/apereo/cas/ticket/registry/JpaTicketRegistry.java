@@ -2,17 +2,21 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.jpa.JpaBeanFactory;
+import org.apereo.cas.ticket.ChildTicketRecord;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.generic.BaseTicketChildEntity;
 import org.apereo.cas.ticket.registry.generic.BaseTicketEntity;
+import org.apereo.cas.util.EncodingUtils;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -21,7 +25,10 @@ import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -30,6 +37,10 @@ import java.util.stream.Stream;
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
  * ticket registry is suitable for HA environments.
+ * <p>
+ * Tickets issued by a ticket-granting ticket are recorded as rows of a separate table
+ * that reference the ticket-granting ticket, and are merged back into the ticket-granting ticket
+ * when it is retrieved. The rows are removed whenever the ticket-granting ticket is updated in full.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -40,7 +51,7 @@ import java.util.stream.Stream;
 @Slf4j
 @RequiredArgsConstructor
 @Getter
-public class JpaTicketRegistry extends AbstractTicketRegistry {
+public class JpaTicketRegistry extends AbstractTicketRegistry implements InitializingBean {
     /**
      * Bean name of the transaction manager.
      */
@@ -63,6 +74,11 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ((Number) result).longValue();
     }
 
+    @Override
+    public void afterPropertiesSet() {
+        migratePrincipalIndexKeys();
+    }
+
     @Override
     public void addTicketInternal(final Ticket ticket) {
         this.transactionTemplate.executeWithoutResult(status -> {
@@ -72,6 +88,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             if (ticket.getTicketGrantingTicket() != null) {
                 ticketEntity.setParentId(encodeTicketId(ticket.getTicketGrantingTicket().getId()));
             }
+            assignPrincipalIndexKey(ticket, ticketEntity);
             this.entityManager.persist(ticketEntity);
             LOGGER.debug("Added ticket [{}] to registry.", encodeTicket);
         });
@@ -92,7 +109,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             query.setLockMode(this.lockType);
             val ticket = query.getSingleResult();
             val entity = getJpaTicketEntityFactory().toTicket(ticket);
-            val result = decodeTicket(entity);
+            val result = mergeChildTickets(decodeTicket(entity));
             if (predicate.test(result)) {
                 return result;
             }
@@ -111,6 +128,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     @Override
     public long deleteAll() {
         val factory = getJpaTicketEntityFactory();
+        entityManager.createQuery(String.format("DELETE FROM %s", factory.getChildEntityName())).executeUpdate();
         val query = entityManager.createQuery(String.format("DELETE FROM %s", factory.getEntityName()));
         return query.executeUpdate();
     }
@@ -123,10 +141,12 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         val query = entityManager.createQuery(sql, factory.getType());
         query.setLockMode(this.lockType);
 
+        val children = getChildTicketRecords();
         return query
             .getResultStream()
             .map(factory::toTicket)
             .map(this::decodeTicket)
+            .map(ticket -> mergeChildTickets(ticket, children))
             .collect(Collectors.toList());
     }
 
@@ -137,12 +157,39 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
         val factory = getJpaTicketEntityFactory();
         val ticketEntity = factory.fromTicket(encodeTicket);
+        assignPrincipalIndexKey(ticket, ticketEntity);
 
         this.entityManager.merge(ticketEntity);
+        if (ticket instanceof TicketGrantingTicket) {
+            deleteChildTicketRecords(ticketEntity.getId());
+        }
         LOGGER.debug("Updated ticket [{}]", encodeTicket);
         return encodeTicket;
     }
 
+    /**
+     * Records the child ticket as a row that references the ticket-granting ticket.
+     * Falls back to updating the ticket-granting ticket in full if the child ticket is not tracked as a service.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     * @param childTicket          the child ticket
+     */
+    @Override
+    public void addChildTicket(final TicketGrantingTicket ticketGrantingTicket, final Ticket childTicket) {
+        val record = ChildTicketRecord.of(ticketGrantingTicket, childTicket.getId());
+        if (record.isEmpty()) {
+            updateTicket(ticketGrantingTicket);
+            return;
+        }
+        this.transactionTemplate.executeWithoutResult(status -> {
+            val body = EncodingUtils.encodeBase64(encodeChildTicketRecord(record.get()));
+            val entity = getJpaTicketEntityFactory().newChildEntity(encodeTicketId(childTicket.getId()),
+                encodeTicketId(ticketGrantingTicket.getId()), body);
+            this.entityManager.persist(entity);
+            LOGGER.debug("Added child ticket [{}] to [{}]", childTicket, ticketGrantingTicket);
+        });
+    }
+
     /**
      * This method purposefully doesn't lock any rows, because the stream traversing can take an indeterminate
      * amount of time, and logging in to an application with an existing TGT will update the TGT row in the database.
@@ -155,11 +202,13 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         val sql = String.format("SELECT t FROM %s t", factory.getEntityName());
         val query = entityManager.createQuery(sql, factory.getType());
         query.setLockMode(LockModeType.NONE);
+        val children = getChildTicketRecords();
         return jpaBeanFactory
             .streamQuery(query)
             .map(BaseTicketEntity.class::cast)
             .map(factory::toTicket)
-            .map(this::decodeTicket);
+            .map(this::decodeTicket)
+            .map(ticket -> mergeChildTickets(ticket, children));
     }
 
     @Override
@@ -182,6 +231,26 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return countToLong(query.getSingleResult());
     }
 
+    @Override
+    @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val factory = getJpaTicketEntityFactory();
+        val sql = String.format("SELECT t FROM %s t WHERE t.principalId = :principalId AND t.type IN :types", factory.getEntityName());
+        val query = entityManager.createQuery(sql, factory.getType());
+        query.setParameter("principalId", getPrincipalIndexKey(principalId));
+        query.setParameter("types", getSessionTicketTypes());
+        query.setLockMode(LockModeType.NONE);
+        return query
+            .getResultList()
+            .stream()
+            .map(factory::toTicket)
+            .map(this::decodeTicket)
+            .filter(ticket -> isSessionFor(ticket, principalId))
+            .map(this::mergeChildTickets)
+            .collect(Collectors.toList())
+            .stream();
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val factory = getJpaTicketEntityFactory();
@@ -189,6 +258,9 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             val encTicketId = encodeTicketId(ticketIdToDelete);
             var totalCount = 0;
             val md = ticketCatalog.find(ticketIdToDelete);
+            if (TicketGrantingTicket.class.isAssignableFrom(md.getImplementationClass())) {
+                deleteChildTicketRecords(encTicketId);
+            }
 
             if (md.getProperties().isCascadeRemovals()) {
                 totalCount = deleteTicketGrantingTickets(encTicketId);
@@ -203,6 +275,117 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return Objects.requireNonNull(result);
     }
 
+    /**
+     * Rewrite the session index key of ticket-granting tickets that were stored before
+     * sessions were indexed by their normalized principal id. Such rows either carry the
+     * principal id as it was authenticated, or no principal id at all if tickets were encoded,
+     * and would otherwise never be found by {@link #getSessionsFor(String)}. Runs once the registry
+     * is initialized, before it is wrapped or proxied by the application context.
+     *
+     * @return the number of tickets whose index key was rewritten
+     */
+    public long migratePrincipalIndexKeys() {
+        val factory = getJpaTicketEntityFactory();
+        val sql = String.format("SELECT t FROM %s t WHERE t.type IN :types "
+                                + "AND (t.principalId IS NULL OR t.principalId <> LOWER(t.principalId))", factory.getEntityName());
+        val result = transactionTemplate.execute(status -> {
+            val query = entityManager.createQuery(sql, factory.getType());
+            query.setParameter("types", getSessionTicketTypes());
+            return query.getResultList()
+                .stream()
+                .filter(entity -> {
+                    val principalId = getSessionPrincipalId(decodeTicket(factory.toTicket(entity)));
+                    if (principalId == null) {
+                        return false;
+                    }
+                    val key = getPrincipalIndexKey(principalId);
+                    if (key.equals(entity.getPrincipalId())) {
+                        return false;
+                    }
+                    entity.setPrincipalId(key);
+                    return true;
+                })
+                .count();
+        });
+        LOGGER.debug("Migrated the session index key of [{}] ticket-granting ticket(s)", result);
+        return Objects.requireNonNull(result);
+    }
+
+    /**
+     * Gets the stored types of ticket-granting tickets. When tickets are encoded,
+     * every row is stored with the type of the encoded ticket; only rows of ticket-granting
+     * tickets carry a session index key, so the key alone identifies them.
+     *
+     * @return the ticket types
+     */
+    private Collection<String> getSessionTicketTypes() {
+        val types = ticketCatalog.find(TicketGrantingTicket.class)
+            .stream()
+            .map(md -> md.getImplementationClass().getName())
+            .collect(Collectors.toCollection(ArrayList::new));
+        if (isCipherExecutorEnabled()) {
+            types.add(DefaultEncodedTicket.class.getName());
+        }
+        return types;
+    }
+
+    /**
+     * Record the normalized principal of ticket-granting tickets, so sessions
+     * can be located via the indexed column, even when tickets are encoded.
+     *
+     * @param ticket       the ticket
+     * @param ticketEntity the ticket entity
+     */
+    private void assignPrincipalIndexKey(final Ticket ticket, final BaseTicketEntity ticketEntity) {
+        val principalId = getSessionPrincipalId(ticket);
+        if (principalId != null) {
+            ticketEntity.setPrincipalId(getPrincipalIndexKey(principalId));
+        }
+    }
+
+    private Ticket mergeChildTickets(final Ticket ticket) {
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            return ticket;
+        }
+        val factory = getJpaTicketEntityFactory();
+        val sql = String.format("SELECT c FROM %s c WHERE c.parentId = :parentId", factory.getChildEntityName());
+        val records = entityManager.createQuery(sql, factory.getChildType())
+            .setParameter("parentId", encodeTicketId(ticket.getId()))
+            .getResultList()
+            .stream()
+            .map(entity -> decodeChildTicketRecord(EncodingUtils.decodeBase64(entity.getBody())))
+            .collect(Collectors.toList());
+        return mergeChildTicketRecords(ticket, records);
+    }
+
+    private Ticket mergeChildTickets(final Ticket ticket, final Map<String, List<ChildTicketRecord>> children) {
+        return ticket != null ? mergeChildTicketRecords(ticket, children.get(encodeTicketId(ticket.getId()))) : null;
+    }
+
+    /**
+     * Gets the records of all child tickets, grouped by the id of their ticket-granting ticket,
+     * so that tickets can be listed without querying the records of each ticket-granting ticket.
+     *
+     * @return the child ticket records
+     */
+    private Map<String, List<ChildTicketRecord>> getChildTicketRecords() {
+        val factory = getJpaTicketEntityFactory();
+        val sql = String.format("SELECT c FROM %s c", factory.getChildEntityName());
+        return entityManager.createQuery(sql, factory.getChildType())
+            .getResultList()
+            .stream()
+            .collect(Collectors.groupingBy(BaseTicketChildEntity::getParentId,
+                Collectors.mapping(entity -> decodeChildTicketRecord(EncodingUtils.decodeBase64(entity.getBody())),
+                    Collectors.toList())));
+    }
+
+    private void deleteChildTicketRecords(final String ticketId) {
+        val factory = getJpaTicketEntityFactory();
+        val sql = String.format("DELETE FROM %s c WHERE c.parentId = :parentId", factory.getChildEntityName());
+        val count = entityManager.createQuery(sql).setParameter("parentId", ticketId).executeUpdate();
+        LOGGER.trace("Removed [{}] child ticket record(s) of [{}]", count, ticketId);
+    }
+
     private JpaTicketEntityFactory getJpaTicketEntityFactory() {
         val jpa = casProperties.getTicket().getRegistry().getJpa();
         return new JpaTicketEntityFactory(jpa.getDialect());
@@ -0,0 +1,43 @@
+package org.apereo.cas.ticket.registry.generic;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+import java.io.Serializable;
+
+/**
+ * This is {@link BaseTicketChildEntity}.
+ * <p>
+ * Records a ticket issued by a ticket-granting ticket, such as a service ticket,
+ * apart from the ticket-granting ticket itself.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@ToString(exclude = "body")
+@SuperBuilder
+@NoArgsConstructor
+@Accessors(chain = true)
+public class BaseTicketChildEntity implements Serializable {
+    private static final long serialVersionUID = -1937480474621386257L;
+
+    @Column(nullable = false, length = 32_000)
+    private String body;
+
+    @Column(nullable = false, length = 768)
+    @Id
+    private String id;
+
+    @Column(nullable = false, length = 768)
+    private String parentId;
+}
@@ -0,0 +1,22 @@
+package org.apereo.cas.ticket.registry.generic;
+
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * This is {@link JpaTicketChildEntity}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SuperBuilder
+@NoArgsConstructor
+@Entity(name = "JpaTicketChildEntity")
+@Table(name = "CasTicketChildren", indexes = @Index(name = "IDX_CAS_TICKET_CHILDREN_PARENT", columnList = "parentId"))
+public class JpaTicketChildEntity extends BaseTicketChildEntity {
+    private static final long serialVersionUID = 2816458512315467014L;
+}
@@ -4,6 +4,7 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 /**
@@ -15,6 +16,6 @@ import javax.persistence.Table;
 @SuperBuilder
 @NoArgsConstructor
 @Entity(name = "JpaTicketEntity")
-@Table(name = "CasTickets")
+@Table(name = "CasTickets", indexes = @Index(name = "IDX_CAS_TICKETS_PRINCIPAL", columnList = "principalId"))
 public class JpaTicketEntity extends BaseTicketEntity {
 }
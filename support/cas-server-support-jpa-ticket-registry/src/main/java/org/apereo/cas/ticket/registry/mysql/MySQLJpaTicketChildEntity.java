@@ -0,0 +1,30 @@
+package org.apereo.cas.ticket.registry.mysql;
+
+import org.apereo.cas.ticket.registry.generic.BaseTicketChildEntity;
+
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.persistence.AttributeOverride;
+import javax.persistence.AttributeOverrides;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * This is {@link MySQLJpaTicketChildEntity}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SuperBuilder
+@NoArgsConstructor
+@AttributeOverrides({
+    @AttributeOverride(name = "body", column = @Column(columnDefinition = "text"))
+})
+@Entity(name = "MySQLJpaTicketChildEntity")
+@Table(name = "CasTicketChildren", indexes = @Index(name = "IDX_CAS_TICKET_CHILDREN_PARENT", columnList = "parentId"))
+public class MySQLJpaTicketChildEntity extends BaseTicketChildEntity {
+    private static final long serialVersionUID = -6419046573405278329L;
+}
@@ -2,6 +2,7 @@ package org.apereo.cas;
 
 import org.apereo.cas.monitor.SessionHealthIndicatorJpaTests;
 import org.apereo.cas.ticket.registry.JpaTicketRegistryCleanerTests;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryRequestCacheTests;
 import org.apereo.cas.ticket.registry.JpaTicketRegistryTests;
 import org.apereo.cas.ticket.registry.MySQLJpaTicketRegistryTests;
 import org.apereo.cas.ticket.registry.OracleJpaTicketRegistryTests;
@@ -21,6 +22,7 @@ import org.junit.platform.suite.api.Suite;
     SessionHealthIndicatorJpaTests.class,
     PostgresJpaTicketRegistryTests.class,
     JpaTicketRegistryTests.class,
+    JpaTicketRegistryRequestCacheTests.class,
     MySQLJpaTicketRegistryTests.class,
     JpaTicketRegistryCleanerTests.class,
     PostgresJpaTicketRegistryCleanerTests.class,
@@ -0,0 +1,81 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.integration.IntegrationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link JpaTicketRegistryRequestCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SpringBootTest(classes = JpaTicketRegistryTests.SharedTestConfiguration.class,
+    properties = {
+        "cas.jdbc.show-sql=false",
+        "cas.ticket.registry.jpa.ddl-auto=create-drop",
+        "cas.ticket.registry.core.enable-request-cache=true"
+    })
+@Tag("JDBC")
+@DirtiesContext
+@EnableConfigurationProperties({IntegrationProperties.class, CasConfigurationProperties.class})
+public class JpaTicketRegistryRequestCacheTests {
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Autowired
+    @Qualifier("ticketEntityManagerFactory")
+    private EntityManagerFactory ticketEntityManagerFactory;
+
+    @Autowired
+    private RefreshScope refreshScope;
+
+    @Test
+    public void verifyLegacyPrincipalIndexKeysMigratedOnInitialization() {
+        val ticketRegistry = applicationContext.getBean(TicketRegistry.BEAN_NAME, TicketRegistry.class);
+        assertTrue(ticketRegistry instanceof RequestScopedTicketRegistry);
+
+        val principalId = "CasUser-" + UUID.randomUUID();
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl("TGT-" + UUID.randomUUID(),
+            CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE));
+
+        val entityName = new JpaTicketEntityFactory(casProperties.getTicket().getRegistry().getJpa().getDialect()).getEntityName();
+        val entityManager = ticketEntityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.createQuery(String.format("UPDATE %s t SET t.principalId = :principalId", entityName))
+                .setParameter("principalId", principalId)
+                .executeUpdate();
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+        assertEquals(0, ticketRegistry.countSessionsFor(principalId));
+
+        refreshScope.refreshAll();
+        val refreshedRegistry = applicationContext.getBean(TicketRegistry.BEAN_NAME, TicketRegistry.class);
+        assertTrue(refreshedRegistry instanceof RequestScopedTicketRegistry);
+        assertEquals(1, refreshedRegistry.countSessionsFor(principalId));
+    }
+}
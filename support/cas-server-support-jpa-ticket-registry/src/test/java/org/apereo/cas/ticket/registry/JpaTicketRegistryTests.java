@@ -45,8 +45,10 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 
+import javax.persistence.EntityManagerFactory;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -82,6 +84,10 @@ public class JpaTicketRegistryTests extends BaseTicketRegistryTests {
     @Qualifier("dataSourceTicket")
     protected CloseableDataSource dataSourceTicket;
 
+    @Autowired
+    @Qualifier("ticketEntityManagerFactory")
+    protected EntityManagerFactory ticketEntityManagerFactory;
+
     @AfterAll
     public static void afterAllTests() throws Exception {
         ApplicationContextProvider.getApplicationContext()
@@ -152,6 +158,85 @@ public class JpaTicketRegistryTests extends BaseTicketRegistryTests {
         assertNull(this.newTicketRegistry.getTicket(oAuthCode.getId()));
     }
 
+    @RepeatedTest(2)
+    public void verifySessionsForPrincipal() {
+        val principalId = "CasUser-" + UUID.randomUUID();
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE));
+
+        assertEquals(1, newTicketRegistry.countSessionsFor(principalId));
+        assertEquals(1, newTicketRegistry.countSessionsFor(principalId.toUpperCase()));
+        try (val sessions = newTicketRegistry.getSessionsFor(principalId)) {
+            assertEquals(ticketGrantingTicketId, sessions.findFirst().orElseThrow().getId());
+        }
+    }
+
+    @RepeatedTest(2)
+    public void verifyLegacyPrincipalIndexKeysMigrated() {
+        val principalId = "CasUser-" + UUID.randomUUID();
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE));
+
+        val registry = (JpaTicketRegistry) newTicketRegistry;
+        val entityName = new JpaTicketEntityFactory(registry.getCasProperties().getTicket().getRegistry().getJpa().getDialect())
+            .getEntityName();
+        val entityManager = ticketEntityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            val query = useEncryption
+                ? entityManager.createQuery(String.format("UPDATE %s t SET t.principalId = NULL", entityName))
+                : entityManager.createQuery(String.format("UPDATE %s t SET t.principalId = :principalId", entityName))
+                .setParameter("principalId", principalId);
+            query.executeUpdate();
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+        assertEquals(0, newTicketRegistry.countSessionsFor(principalId));
+        assertEquals(1, registry.migratePrincipalIndexKeys());
+        assertEquals(1, newTicketRegistry.countSessionsFor(principalId));
+        assertEquals(0, registry.migratePrincipalIndexKeys());
+    }
+
+    @RepeatedTest(1)
+    public void verifyChildTicketsStoredAsRows() {
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+        newTicketRegistry.addChildTicket(tgt, st);
+
+        val registry = (JpaTicketRegistry) newTicketRegistry;
+        val factory = new JpaTicketEntityFactory(registry.getCasProperties().getTicket().getRegistry().getJpa().getDialect());
+        assertEquals(1, countChildTicketRecords(factory));
+        assertFalse(getTicketBody(factory, tgt.getId()).contains(st.getId()));
+
+        newTicketRegistry.updateTicket(newTicketRegistry.getTicket(tgt.getId()));
+        assertEquals(0, countChildTicketRecords(factory));
+        assertTrue(getTicketBody(factory, tgt.getId()).contains(st.getId()));
+    }
+
+    private long countChildTicketRecords(final JpaTicketEntityFactory factory) {
+        val entityManager = ticketEntityManagerFactory.createEntityManager();
+        try {
+            val sql = String.format("SELECT COUNT(c.id) FROM %s c", factory.getChildEntityName());
+            return ((Number) entityManager.createQuery(sql).getSingleResult()).longValue();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private String getTicketBody(final JpaTicketEntityFactory factory, final String ticketId) {
+        val entityManager = ticketEntityManagerFactory.createEntityManager();
+        try {
+            val sql = String.format("SELECT t.body FROM %s t WHERE t.id = :id", factory.getEntityName());
+            return entityManager.createQuery(sql, String.class).setParameter("id", ticketId).getSingleResult();
+        } finally {
+            entityManager.close();
+        }
+    }
+
     @ImportAutoConfiguration({
         AopAutoConfiguration.class,
         RefreshAutoConfiguration.class
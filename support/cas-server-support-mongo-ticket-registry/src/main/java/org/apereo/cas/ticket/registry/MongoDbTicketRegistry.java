@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ChildTicketRecord;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -8,21 +9,19 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.LoggingUtils;
 
 import com.mongodb.client.MongoCollection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.hjson.JsonValue;
-import org.hjson.Stringify;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
-import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.util.StreamUtils;
 
@@ -37,13 +36,17 @@ import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
+ * <p>
+ * Tickets issued by a ticket-granting ticket are recorded by pushing them onto an array
+ * in the document of the ticket-granting ticket, and are merged back into the ticket-granting ticket
+ * when it is retrieved. The array is removed whenever the ticket-granting ticket is updated in full.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Slf4j
 @RequiredArgsConstructor
-public class MongoDbTicketRegistry extends AbstractTicketRegistry {
+public class MongoDbTicketRegistry extends AbstractTicketRegistry implements InitializingBean {
 
     private final TicketCatalog ticketCatalog;
 
@@ -69,6 +72,46 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return DateTimeUtils.dateOf(Instant.ofEpochMilli(exp));
     }
 
+    @Override
+    public void afterPropertiesSet() {
+        migratePrincipalIndexKeys();
+    }
+
+    /**
+     * Assign the session index key to ticket-granting tickets that were stored before
+     * sessions were indexed by their normalized principal id. Such documents carry no principal
+     * field and would otherwise never be found by {@link #getSessionsFor(String)}.
+     * Runs once the registry is initialized, before it is wrapped or proxied by the application context.
+     *
+     * @return the number of tickets whose index key was assigned
+     */
+    public long migratePrincipalIndexKeys() {
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).exists(false));
+        val result = ticketCatalog.find(TicketGrantingTicket.class)
+            .stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .mapToLong(collectionName -> mongoTemplate.find(query, TicketHolder.class, collectionName)
+                .stream()
+                .filter(holder -> {
+                    try {
+                        val principalId = getSessionPrincipalId(decodeTicket(deserializeTicketFromMongoDocument(holder)));
+                        if (principalId == null) {
+                            return false;
+                        }
+                        val update = Update.update(TicketHolder.FIELD_NAME_PRINCIPAL, getPrincipalIndexKey(principalId));
+                        val byId = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
+                        return mongoTemplate.updateFirst(byId, update, collectionName).getModifiedCount() > 0;
+                    } catch (final Exception e) {
+                        LOGGER.warn("Unable to assign the session index key of ticket [{}]: [{}]", holder.getTicketId(), e.getMessage());
+                        return false;
+                    }
+                })
+                .count())
+            .sum();
+        LOGGER.debug("Migrated the session index key of [{}] ticket-granting ticket(s)", result);
+        return result;
+    }
+
     @Override
     public void addTicketInternal(final Ticket ticket) {
         try {
@@ -108,8 +151,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId));
             val d = this.mongoTemplate.findOne(query, TicketHolder.class, collectionName);
             if (d != null) {
-                val decoded = deserializeTicketFromMongoDocument(d);
-                val result = decodeTicket(decoded);
+                val result = decodeTicketFromMongoDocument(d);
 
                 if (predicate.test(result)) {
                     return result;
@@ -143,7 +185,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .map(this::getTicketCollectionInstanceByMetadata)
             .map(map -> mongoTemplate.findAll(TicketHolder.class, map))
             .flatMap(List::stream)
-            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
+            .map(this::decodeTicketFromMongoDocument)
             .collect(Collectors.toSet());
     }
 
@@ -160,7 +202,11 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             LOGGER.debug("Located ticket definition [{}] in the ticket catalog", metadata);
             val collectionName = getTicketCollectionInstanceByMetadata(metadata);
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                .set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal());
+            if (ticket instanceof TicketGrantingTicket) {
+                update.unset(TicketHolder.FIELD_NAME_CHILDREN);
+            }
             val result = this.mongoTemplate.updateFirst(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}] with result [{}]", ticket, result);
             return result.getMatchedCount() > 0 ? ticket : null;
@@ -171,13 +217,48 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Records the child ticket by pushing it onto the document of the ticket-granting ticket,
+     * and extends the expiration of the document to account for the usage of the ticket-granting ticket.
+     * Falls back to updating the ticket-granting ticket in full if the child ticket is not tracked as a service.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     * @param childTicket          the child ticket
+     */
+    @Override
+    public void addChildTicket(final TicketGrantingTicket ticketGrantingTicket, final Ticket childTicket) {
+        val record = ChildTicketRecord.of(ticketGrantingTicket, childTicket.getId());
+        if (record.isEmpty()) {
+            updateTicket(ticketGrantingTicket);
+            return;
+        }
+        try {
+            LOGGER.debug("Adding child ticket [{}] to [{}]", childTicket, ticketGrantingTicket);
+            val metadata = this.ticketCatalog.find(ticketGrantingTicket);
+            if (metadata == null) {
+                LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticketGrantingTicket.getId());
+                return;
+            }
+            val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encodeTicketId(ticketGrantingTicket.getId())));
+            val update = new Update()
+                .push(TicketHolder.FIELD_NAME_CHILDREN, EncodingUtils.encodeBase64(encodeChildTicketRecord(record.get())))
+                .set(TicketHolder.FIELD_NAME_EXPIRE_AT, getExpireAt(ticketGrantingTicket));
+            val result = this.mongoTemplate.updateFirst(query, update, collectionName);
+            LOGGER.debug("Added child ticket [{}] to [{}] with result [{}]", childTicket, ticketGrantingTicket, result);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to add child ticket [{}] to [{}]", childTicket, ticketGrantingTicket);
+            LoggingUtils.error(LOGGER, e);
+        }
+    }
+
     @Override
     public Stream<Ticket> stream() {
         return ticketCatalog.findAll().stream()
             .map(this::getTicketCollectionInstanceByMetadata)
             .map(map -> mongoTemplate.stream(new Query(), TicketHolder.class, map))
             .flatMap(StreamUtils::createStreamFromIterator)
-            .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)));
+            .map(this::decodeTicketFromMongoDocument);
     }
 
     @Override
@@ -186,22 +267,17 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     }
 
     @Override
-    public long countSessionsFor(final String principalId) {
-        if (isCipherExecutorEnabled()) {
-            return super.countSessionsFor(principalId);
-        }
-
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val principalKey = getPrincipalIndexKey(principalId);
         val ticketDefinitions = ticketCatalog.find(TicketGrantingTicket.class);
         return ticketDefinitions.stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .mapToLong(map -> {
-                val criteria = TextCriteria.forDefaultLanguage().matchingAny(principalId);
-                val query = TextQuery.queryText(criteria)
-                    .sortByScore()
-                    .with(PageRequest.of(0, 10));
-                return mongoTemplate.count(query, map);
+            .flatMap(map -> {
+                val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).is(principalKey));
+                return mongoTemplate.find(query, TicketHolder.class, map).stream();
             })
-            .sum();
+            .map(this::decodeTicketFromMongoDocument)
+            .filter(ticket -> isSessionFor(ticket, principalId));
     }
 
     @Override
@@ -233,10 +309,12 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val encTicket = encodeTicket(ticket);
         val json = serializeTicketForMongoDocument(encTicket);
         if (StringUtils.isNotBlank(json)) {
-            LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+            LOGGER.trace("Serialized ticket into a document as \n [{}]", json);
             val expireAt = getExpireAt(ticket);
             LOGGER.trace("Calculated expiration date for ticket ttl as [{}]", expireAt);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            val principalId = getSessionPrincipalId(ticket);
+            val principal = principalId != null ? getPrincipalIndexKey(principalId) : null;
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt, principal, null);
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
@@ -269,5 +347,15 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     private Ticket deserializeTicketFromMongoDocument(final TicketHolder holder) {
         return ticketSerializationManager.deserializeTicket(holder.getJson(), holder.getType());
     }
+
+    private Ticket decodeTicketFromMongoDocument(final TicketHolder holder) {
+        val ticket = decodeTicket(deserializeTicketFromMongoDocument(holder));
+        val records = ObjectUtils.defaultIfNull(holder.getChildren(), List.<String>of())
+            .stream()
+            .map(EncodingUtils::decodeBase64)
+            .map(this::decodeChildTicketRecord)
+            .collect(Collectors.toList());
+        return mergeChildTicketRecords(ticket, records);
+    }
 }
 
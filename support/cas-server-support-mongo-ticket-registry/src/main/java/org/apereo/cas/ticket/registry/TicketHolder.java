@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.List;
 
 /**
  * This is {@link TicketHolder}.
@@ -43,6 +44,16 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_ID = "ticketId";
 
+    /**
+     * Field name to hold the normalized principal of ticket-granting tickets.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name to hold the records of tickets issued by ticket-granting tickets.
+     */
+    public static final String FIELD_NAME_CHILDREN = "children";
+
     private static final long serialVersionUID = -4843440028617071224L;
 
     @JsonProperty
@@ -55,4 +66,10 @@ public class TicketHolder implements Serializable {
     private final String type;
 
     private final Date expireAt;
+
+    @JsonProperty
+    private final String principal;
+
+    @JsonProperty
+    private final List<String> children;
 }
@@ -74,9 +74,12 @@ public class MongoDbTicketRegistryFacilitator {
                 expireIndex.expire(Duration.ofSeconds(timeout));
             }
 
+            val principalIndex = new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC).sparse();
+
             val expectedIndexes = new ArrayList<IndexDefinition>();
             expectedIndexes.add(expireIndex);
             expectedIndexes.add(columnsIndex);
+            expectedIndexes.add(principalIndex);
             LOGGER.debug("Expected indexes are [{}]", expectedIndexes);
             MongoDbConnectionFactory.createOrUpdateIndexes(mongoTemplate, collection, expectedIndexes);
         }
@@ -25,6 +25,7 @@ import org.apereo.cas.config.MongoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.ticket.DefaultTicketDefinition;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -44,8 +45,14 @@ import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Objects;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -119,6 +126,41 @@ public class MongoDbTicketRegistryTests extends BaseTicketRegistryTests {
         assertNull(result);
     }
 
+    @RepeatedTest(2)
+    public void verifyLegacyPrincipalIndexKeysMigrated() {
+        val principalId = "CasUser-" + UUID.randomUUID();
+        newTicketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(principalId), NeverExpiresExpirationPolicy.INSTANCE));
+        val update = new Update().unset(TicketHolder.FIELD_NAME_PRINCIPAL);
+        mongoDbTicketRegistryTemplate.getCollectionNames()
+            .forEach(name -> mongoDbTicketRegistryTemplate.updateMulti(new Query(), update, name));
+        assertEquals(0, newTicketRegistry.countSessionsFor(principalId));
+
+        val registry = (MongoDbTicketRegistry) newTicketRegistry;
+        assertEquals(1, registry.migratePrincipalIndexKeys());
+        assertEquals(1, newTicketRegistry.countSessionsFor(principalId.toUpperCase()));
+        assertEquals(0, registry.migratePrincipalIndexKeys());
+    }
+
+    @RepeatedTest(1)
+    public void verifyChildTicketsPushedToDocument() {
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+        newTicketRegistry.addChildTicket(tgt, st);
+
+        val holder = findTicketHolder(tgt.getId());
+        assertEquals(1, holder.getChildren().size());
+        assertFalse(holder.getJson().contains(st.getId()));
+
+        newTicketRegistry.updateTicket(newTicketRegistry.getTicket(tgt.getId()));
+        val updated = findTicketHolder(tgt.getId());
+        assertNull(updated.getChildren());
+        assertTrue(updated.getJson().contains(st.getId()));
+    }
+
     @RepeatedTest(1)
     public void verifyBadTicketInCatalog() {
         val ticket = new MockTicketGrantingTicket("casuser");
@@ -145,4 +187,14 @@ public class MongoDbTicketRegistryTests extends BaseTicketRegistryTests {
         when(catalog.find(anyString())).thenThrow(new RuntimeException());
         assertNull(registry.getTicket(ticket.getId()));
     }
+
+    private TicketHolder findTicketHolder(final String ticketId) {
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(ticketId));
+        return mongoDbTicketRegistryTemplate.getCollectionNames()
+            .stream()
+            .map(name -> mongoDbTicketRegistryTemplate.findOne(query, TicketHolder.class, name))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElseThrow();
+    }
 }
@@ -46,14 +46,18 @@ public class OidcRestfulJsonWebKeystoreGeneratorService implements OidcJsonWebKe
             .url(rest.getUrl())
             .build();
         val response = HttpUtils.execute(exec);
-        if (response == null || !HttpStatus.valueOf(response.getStatusLine().getStatusCode()).is2xxSuccessful()) {
-            LOGGER.warn("Unable to successfully fetch JWKS resource from [{}]", rest.getUrl());
-            return null;
-        }
+        try {
+            if (response == null || !HttpStatus.valueOf(response.getStatusLine().getStatusCode()).is2xxSuccessful()) {
+                LOGGER.warn("Unable to successfully fetch JWKS resource from [{}]", rest.getUrl());
+                return null;
+            }
 
-        val result = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
-        LOGGER.debug("Received payload result from [{}] as [{}]", rest.getUrl(), result);
-        return new ByteArrayResource(result.getBytes(StandardCharsets.UTF_8), "OIDC JWKS");
+            val result = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
+            LOGGER.debug("Received payload result from [{}] as [{}]", rest.getUrl(), result);
+            return new ByteArrayResource(result.getBytes(StandardCharsets.UTF_8), "OIDC JWKS");
+        } finally {
+            HttpUtils.close(response);
+        }
     }
 
     @Override
@@ -70,9 +74,13 @@ public class OidcRestfulJsonWebKeystoreGeneratorService implements OidcJsonWebKe
             .entity(jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE))
             .build();
         val response = HttpUtils.execute(exec);
-        FunctionUtils.doIfNotNull(response,
-            httpResponse -> LOGGER.debug("Storing JWKS resource via [{}] returned [{}]",
-                rest.getUrl(), response.getStatusLine()));
-        return jsonWebKeySet;
+        try {
+            FunctionUtils.doIfNotNull(response,
+                httpResponse -> LOGGER.debug("Storing JWKS resource via [{}] returned [{}]",
+                    rest.getUrl(), response.getStatusLine()));
+            return jsonWebKeySet;
+        } finally {
+            HttpUtils.close(response);
+        }
     }
 }
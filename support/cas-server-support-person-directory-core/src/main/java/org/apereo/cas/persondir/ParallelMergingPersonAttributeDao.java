@@ -0,0 +1,244 @@
+package org.apereo.cas.persondir;
+
+import org.apereo.cas.configuration.model.core.authentication.ParallelPrincipalAttributesProperties.FailurePolicyTypes;
+import org.apereo.cas.util.CollectionUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.IUsernameAttributeProvider;
+import org.apereo.services.persondir.support.SimpleUsernameAttributeProvider;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao}, which queries attribute repositories
+ * concurrently and merges their results together, so that the time it takes to fetch person attributes
+ * is bound by the slowest attribute repository rather than the sum of all.
+ * <p>
+ * Results are merged in the order in which attribute repositories are defined, regardless
+ * of the order in which they complete. Attribute repositories that fail or do not produce results in time
+ * are handled according to the {@link FailurePolicyTypes failure policy}. The time it takes for each
+ * attribute repository to produce results is recorded as a metric, tagged with the attribute repository identifier.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+@Getter
+@Setter
+public class ParallelMergingPersonAttributeDao extends BasePersonAttributeDao implements DisposableBean {
+    /**
+     * Timer metric of the time it takes for each attribute repository to produce results.
+     */
+    public static final String METRIC_LATENCY = "cas.person.directory.attribute-repository.latency";
+
+    private static final int MAXIMUM_CACHED_RESULTS = 10_000;
+
+    private final List<IPersonAttributeDao> personAttributeDaos;
+
+    private final IAttributeMerger attributeMerger;
+
+    private final ExecutorService executorService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, Set<IPersonAttributes>> cachedResults = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHED_RESULTS)
+        .expireAfterWrite(Duration.ofHours(8))
+        .build();
+
+    private Duration timeout = Duration.ofSeconds(5);
+
+    private Map<String, Duration> sourceTimeouts = new HashMap<>();
+
+    private FailurePolicyTypes failurePolicy = FailurePolicyTypes.IGNORE;
+
+    private boolean requireAll;
+
+    private IUsernameAttributeProvider usernameAttributeProvider = new SimpleUsernameAttributeProvider();
+
+    public ParallelMergingPersonAttributeDao(final List<IPersonAttributeDao> personAttributeDaos,
+                                             final IAttributeMerger attributeMerger,
+                                             final ExecutorService executorService,
+                                             final MeterRegistry meterRegistry) {
+        this.personAttributeDaos = personAttributeDaos;
+        this.attributeMerger = attributeMerger;
+        this.executorService = executorService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private static String getSourceId(final IPersonAttributeDao dao) {
+        return String.join(",", dao.getId());
+    }
+
+    private static Map<String, List<Object>> stuffAttributesIntoList(final Map<String, Object> query) {
+        val attributes = new HashMap<String, List<Object>>();
+        query.forEach((key, value) -> attributes.put(key, CollectionUtils.toCollection(value, ArrayList.class)));
+        return attributes;
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid, final IPersonAttributeDaoFilter filter) {
+        val query = new HashMap<String, List<Object>>();
+        query.put(usernameAttributeProvider.getUsernameAttribute(), CollectionUtils.wrapList(uid));
+        val people = getPeopleWithMultivaluedAttributes(query, filter);
+        if (people == null || people.isEmpty()) {
+            return null;
+        }
+        if (people.size() > 1) {
+            LOGGER.warn("Multiple person records were found for [{}]; only the first record is used", uid);
+        }
+        return people.iterator().next();
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> query, final IPersonAttributeDaoFilter filter) {
+        return getPeopleWithMultivaluedAttributes(stuffAttributesIntoList(query), filter);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                     final IPersonAttributeDaoFilter filter) {
+        val daos = personAttributeDaos
+            .stream()
+            .filter(dao -> filter == null || filter.choosePersonAttributeDao(dao))
+            .collect(Collectors.toList());
+        val startTime = System.nanoTime();
+        val futures = daos
+            .stream()
+            .map(dao -> executorService.submit(() -> fetchPeople(dao, query, filter)))
+            .collect(Collectors.toList());
+        try {
+            var resultPeople = (Set<IPersonAttributes>) null;
+            for (var i = 0; i < daos.size(); i++) {
+                val dao = daos.get(i);
+                val people = getSourceResults(dao, futures.get(i), query, startTime);
+                if (people == null || people.isEmpty()) {
+                    if (requireAll) {
+                        LOGGER.debug("Attribute repository [{}] produced no results while all sources are required", getSourceId(dao));
+                        return null;
+                    }
+                    continue;
+                }
+                resultPeople = resultPeople == null
+                    ? new LinkedHashSet<>(people)
+                    : attributeMerger.mergeResults(resultPeople, people);
+            }
+            LOGGER.trace("Merged results of attribute repositories for query [{}] are [{}]", query, resultPeople);
+            return resultPeople;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames(final IPersonAttributeDaoFilter filter) {
+        val names = new LinkedHashSet<String>();
+        personAttributeDaos
+            .stream()
+            .filter(dao -> filter == null || filter.choosePersonAttributeDao(dao))
+            .map(dao -> dao.getPossibleUserAttributeNames(filter))
+            .filter(daoNames -> daoNames != null && !daoNames.isEmpty())
+            .forEach(daoNames -> attributeMerger.mergePossibleUserAttributeNames(names, daoNames));
+        return names;
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes(final IPersonAttributeDaoFilter filter) {
+        val names = new LinkedHashSet<String>();
+        personAttributeDaos
+            .stream()
+            .filter(dao -> filter == null || filter.choosePersonAttributeDao(dao))
+            .map(dao -> dao.getAvailableQueryAttributes(filter))
+            .filter(daoNames -> daoNames != null && !daoNames.isEmpty())
+            .forEach(daoNames -> attributeMerger.mergeAvailableQueryAttributes(names, daoNames));
+        return names;
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    private Set<IPersonAttributes> fetchPeople(final IPersonAttributeDao dao,
+                                               final Map<String, List<Object>> query,
+                                               final IPersonAttributeDaoFilter filter) {
+        val sample = Timer.start(meterRegistry);
+        try {
+            return dao.getPeopleWithMultivaluedAttributes(query, filter);
+        } finally {
+            sample.stop(Timer.builder(METRIC_LATENCY)
+                .tag("source", getSourceId(dao))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+
+    private Set<IPersonAttributes> getSourceResults(final IPersonAttributeDao dao,
+                                                    final Future<Set<IPersonAttributes>> future,
+                                                    final Map<String, List<Object>> query,
+                                                    final long startTime) {
+        val sourceId = getSourceId(dao);
+        val cacheKey = sourceId + ':' + usernameAttributeProvider.getUsernameFromQuery(query);
+        try {
+            val sourceTimeout = Arrays.stream(dao.getId())
+                .filter(sourceTimeouts::containsKey)
+                .findFirst()
+                .map(sourceTimeouts::get)
+                .orElse(timeout);
+            val remaining = sourceTimeout.toNanos() - (System.nanoTime() - startTime);
+            val people = future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            if (failurePolicy == FailurePolicyTypes.CACHED && people != null) {
+                cachedResults.put(cacheKey, people);
+            }
+            return people;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException | TimeoutException | CancellationException e) {
+            val cause = e instanceof ExecutionException ? e.getCause() : e;
+            LOGGER.warn("Attribute repository [{}] failed to produce results: [{}]", sourceId, cause.toString());
+            LOGGER.debug(cause.getMessage(), cause);
+            switch (failurePolicy) {
+                case FAIL:
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IllegalStateException("Attribute repository " + sourceId + " failed to produce results", cause);
+                case CACHED:
+                    val cached = cachedResults.getIfPresent(cacheKey);
+                    LOGGER.debug("Using cached results [{}] of attribute repository [{}]", cached, sourceId);
+                    return cached;
+                case IGNORE:
+                default:
+                    return null;
+            }
+        }
+    }
+}
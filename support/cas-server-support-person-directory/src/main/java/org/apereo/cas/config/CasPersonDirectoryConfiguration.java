@@ -8,15 +8,22 @@ import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.PrincipalResolutionExecutionPlanConfigurer;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.authentication.ParallelPrincipalAttributesProperties.FailurePolicyTypes;
+import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesCoreProperties;
+import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesCoreProperties.AggregationStrategyTypes;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryCustomizer;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
+import org.apereo.cas.util.ConcurrencyUtils;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.spring.BeanContainer;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apereo.services.persondir.IPersonAttributeDao;
@@ -24,6 +31,7 @@ import org.apereo.services.persondir.support.AbstractAggregatingDefaultQueryPers
 import org.apereo.services.persondir.support.CachingPersonAttributeDaoImpl;
 import org.apereo.services.persondir.support.CascadingPersonAttributeDao;
 import org.apereo.services.persondir.support.MergingPersonAttributeDaoImpl;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -150,6 +158,41 @@ public class CasPersonDirectoryConfiguration {
             }
         }
 
+        private static FailurePolicyTypes getParallelFailurePolicy(final PrincipalAttributesCoreProperties core) {
+            val failurePolicy = core.getParallel().getFailurePolicy();
+            if (failurePolicy == null) {
+                return core.isRecoverExceptions() ? FailurePolicyTypes.IGNORE : FailurePolicyTypes.FAIL;
+            }
+            if (!core.isRecoverExceptions() && failurePolicy != FailurePolicyTypes.FAIL) {
+                throw new IllegalArgumentException("Parallel attribute repository failure policy " + failurePolicy
+                    + " recovers from failed attribute repositories, which conflicts with recover-exceptions being turned off");
+            }
+            return failurePolicy;
+        }
+
+        private static IPersonAttributeDao getParallelAttributeRepository(
+            final CasConfigurationProperties casProperties,
+            final PersonDirectoryAttributeRepositoryPlan personDirectoryAttributeRepositoryPlan,
+            final IAttributeMerger attributeMerger,
+            final MeterRegistry meterRegistry) {
+            val core = casProperties.getAuthn().getAttributeRepository().getCore();
+            val parallel = core.getParallel();
+            val failurePolicy = getParallelFailurePolicy(core);
+            val executor = ConcurrencyUtils.newCallerRunsExecutor(parallel.getPoolSize(), "cas-attribute-repository-");
+
+            val list = personDirectoryAttributeRepositoryPlan.getAttributeRepositories();
+            val repository = new ParallelMergingPersonAttributeDao(list, attributeMerger, executor, meterRegistry);
+            repository.setTimeout(Beans.newDuration(parallel.getTimeout()));
+            repository.setSourceTimeouts(parallel.getSourceTimeouts()
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Beans.newDuration(entry.getValue()))));
+            repository.setFailurePolicy(failurePolicy);
+            repository.setRequireAll(core.isRequireAllRepositorySources());
+            LOGGER.debug("Configured [{}] attribute repository sources to be queried in parallel with failure policy [{}]",
+                list.size(), failurePolicy);
+            return repository;
+        }
 
         @Bean(name = {"cachingAttributeRepository", PrincipalResolver.BEAN_NAME_ATTRIBUTE_REPOSITORY})
         @ConditionalOnMissingBean(name = {"cachingAttributeRepository", PrincipalResolver.BEAN_NAME_ATTRIBUTE_REPOSITORY})
@@ -182,11 +225,17 @@ public class CasPersonDirectoryConfiguration {
         public IPersonAttributeDao aggregatingAttributeRepository(
             final CasConfigurationProperties casProperties,
             @Qualifier("personDirectoryAttributeRepositoryPlan")
-            final PersonDirectoryAttributeRepositoryPlan personDirectoryAttributeRepositoryPlan) {
-            val aggregate = getAggregateAttributeRepository(casProperties);
-
+            final PersonDirectoryAttributeRepositoryPlan personDirectoryAttributeRepositoryPlan,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
             val properties = casProperties.getAuthn().getAttributeRepository();
             val attributeMerger = CoreAuthenticationUtils.getAttributeMerger(properties.getCore().getMerger());
+            val parallel = properties.getCore().getParallel();
+            if (parallel.isEnabled() && properties.getCore().getAggregation() == AggregationStrategyTypes.MERGE) {
+                return getParallelAttributeRepository(casProperties, personDirectoryAttributeRepositoryPlan,
+                    attributeMerger, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+            }
+
+            val aggregate = getAggregateAttributeRepository(casProperties);
             LOGGER.trace("Configured merging strategy for attribute sources is [{}]", attributeMerger);
             aggregate.setMerger(attributeMerger);
 
@@ -4,6 +4,7 @@ package org.apereo.cas;
 import org.apereo.cas.config.CasPersonDirectoryConfigurationCachingAttributeRepositoryTests;
 import org.apereo.cas.config.CasPersonDirectoryConfigurationCascadeAggregationTests;
 import org.apereo.cas.config.CasPersonDirectoryConfigurationMergeAggregationTests;
+import org.apereo.cas.config.CasPersonDirectoryConfigurationParallelAggregationTests;
 
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
@@ -32,6 +33,8 @@ import org.junit.platform.suite.api.Suite;
     CasPersonDirectoryConfigurationCachingAttributeRepositoryTests.class,
     CasPersonDirectoryConfigurationMergeAggregationTests.class,
     CasPersonDirectoryConfigurationCascadeAggregationTests.class,
+    CasPersonDirectoryConfigurationParallelAggregationTests.class,
+    ParallelMergingPersonAttributeDaoTests.class,
     DefaultAttributeDefinitionStoreTests.class,
     JdbcSingleRowAttributeRepositoryPostgresTests.class
 })
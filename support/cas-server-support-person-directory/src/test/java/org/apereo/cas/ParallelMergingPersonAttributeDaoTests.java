@@ -0,0 +1,140 @@
+package org.apereo.cas;
+
+import org.apereo.cas.authentication.CoreAuthenticationUtils;
+import org.apereo.cas.configuration.model.core.authentication.ParallelPrincipalAttributesProperties.FailurePolicyTypes;
+import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesCoreProperties;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.support.CaseInsensitiveNamedPersonImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Attributes")
+public class ParallelMergingPersonAttributeDaoTests {
+    private static final String UID = "casuser";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private static IPersonAttributeDao newAttributeRepository(final String id, final long delay,
+                                                              final AtomicBoolean failure,
+                                                              final Map<String, List<Object>> attributes) {
+        val dao = mock(IPersonAttributeDao.class);
+        when(dao.getId()).thenReturn(new String[]{id});
+        when(dao.getPeopleWithMultivaluedAttributes(anyMap(), any())).thenAnswer(args -> {
+            Thread.sleep(delay);
+            if (failure.get()) {
+                throw new IllegalArgumentException("Failed");
+            }
+            return Set.of(new CaseInsensitiveNamedPersonImpl(UID, attributes));
+        });
+        return dao;
+    }
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ParallelMergingPersonAttributeDao newRepository(final IPersonAttributeDao... daos) {
+        val merger = CoreAuthenticationUtils.getAttributeMerger(PrincipalAttributesCoreProperties.MergingStrategyTypes.MULTIVALUED);
+        return new ParallelMergingPersonAttributeDao(List.of(daos), merger, Executors.newFixedThreadPool(daos.length), meterRegistry);
+    }
+
+    @Test
+    public void verifySourcesAreQueriedConcurrently() {
+        val repository = newRepository(
+            newAttributeRepository("first", 1000, new AtomicBoolean(), Map.of("name", List.of("first"), "first", List.of("value"))),
+            newAttributeRepository("second", 1000, new AtomicBoolean(), Map.of("name", List.of("second"), "second", List.of("value"))),
+            newAttributeRepository("third", 1000, new AtomicBoolean(), Map.of("name", List.of("third"), "third", List.of("value"))));
+        val startTime = System.currentTimeMillis();
+        val person = repository.getPerson(UID, IPersonAttributeDaoFilter.alwaysChoose());
+        assertTrue(System.currentTimeMillis() - startTime < 2500);
+        assertNotNull(person);
+        assertEquals(List.of("first", "second", "third"), person.getAttributeValues("name"));
+        assertNotNull(person.getAttributeValue("first"));
+        assertNotNull(person.getAttributeValue("second"));
+        assertNotNull(person.getAttributeValue("third"));
+        assertEquals(3, meterRegistry.get(ParallelMergingPersonAttributeDao.METRIC_LATENCY).timers().size());
+        repository.destroy();
+    }
+
+    @Test
+    public void verifySourcesAreFiltered() {
+        val repository = newRepository(
+            newAttributeRepository("first", 0, new AtomicBoolean(), Map.of("first", List.of("value"))),
+            newAttributeRepository("second", 0, new AtomicBoolean(), Map.of("second", List.of("value"))));
+        val person = repository.getPerson(UID, dao -> dao.getId()[0].equals("second"));
+        assertNotNull(person);
+        assertNull(person.getAttributeValue("first"));
+        assertNotNull(person.getAttributeValue("second"));
+        repository.destroy();
+    }
+
+    @Test
+    public void verifyFailurePolicies() {
+        val failure = new AtomicBoolean();
+        val repository = newRepository(
+            newAttributeRepository("first", 0, new AtomicBoolean(), Map.of("first", List.of("value"))),
+            newAttributeRepository("second", 0, failure, Map.of("second", List.of("value"))));
+
+        failure.set(true);
+        repository.setFailurePolicy(FailurePolicyTypes.IGNORE);
+        var person = repository.getPerson(UID, IPersonAttributeDaoFilter.alwaysChoose());
+        assertNotNull(person.getAttributeValue("first"));
+        assertNull(person.getAttributeValue("second"));
+
+        repository.setFailurePolicy(FailurePolicyTypes.FAIL);
+        assertThrows(IllegalArgumentException.class, () -> repository.getPerson(UID, IPersonAttributeDaoFilter.alwaysChoose()));
+
+        repository.setFailurePolicy(FailurePolicyTypes.CACHED);
+        failure.set(false);
+        person = repository.getPerson(UID, IPersonAttributeDaoFilter.alwaysChoose());
+        assertNotNull(person.getAttributeValue("second"));
+        failure.set(true);
+        person = repository.getPerson(UID, IPersonAttributeDaoFilter.alwaysChoose());
+        assertNotNull(person.getAttributeValue("first"));
+        assertNotNull(person.getAttributeValue("second"));
+
+        repository.setRequireAll(true);
+        repository.setFailurePolicy(FailurePolicyTypes.IGNORE);
+        assertNull(repository.getPerson(UID, IPersonAttributeDaoFilter.alwaysChoose()));
+        repository.destroy();
+    }
+
+    @Test
+    public void verifySourceTimeouts() {
+        val repository = newRepository(
+            newAttributeRepository("first", 0, new AtomicBoolean(), Map.of("first", List.of("value"))),
+            newAttributeRepository("second", 2000, new AtomicBoolean(), Map.of("second", List.of("value"))));
+        repository.setTimeout(Duration.ofSeconds(5));
+        repository.setSourceTimeouts(Map.of("second", Duration.ofMillis(200)));
+        val startTime = System.currentTimeMillis();
+        val person = repository.getPerson(UID, IPersonAttributeDaoFilter.alwaysChoose());
+        assertTrue(System.currentTimeMillis() - startTime < 1500);
+        assertNotNull(person.getAttributeValue("first"));
+        assertNull(person.getAttributeValue("second"));
+        repository.destroy();
+    }
+}
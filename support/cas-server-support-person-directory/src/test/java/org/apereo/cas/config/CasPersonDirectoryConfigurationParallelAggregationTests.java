@@ -0,0 +1,82 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.BasePrincipalAttributeRepositoryTests;
+import org.apereo.cas.configuration.model.core.authentication.ParallelPrincipalAttributesProperties.FailurePolicyTypes;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link CasPersonDirectoryConfigurationParallelAggregationTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SpringBootTest(classes = BasePrincipalAttributeRepositoryTests.SharedTestConfiguration.class, properties = {
+    "cas.authn.attribute-repository.stub.attributes.uid=cas",
+    "cas.authn.attribute-repository.stub.attributes.givenName=apereo-cas",
+    "cas.authn.attribute-repository.stub.attributes.eppn=casuser",
+
+    "cas.authn.attribute-repository.groovy[0].location=classpath:/GroovyAttributeRepository.groovy",
+    "cas.authn.attribute-repository.groovy[0].order=1",
+
+    "cas.authn.attribute-repository.json[0].location=classpath:/json-attribute-repository.json",
+    "cas.authn.attribute-repository.json[0].order=2",
+
+    "cas.authn.attribute-repository.script[0].location=classpath:/GroovyAttributeRepository.groovy",
+    "cas.authn.attribute-repository.script[0].order=2",
+
+    "cas.authn.attribute-repository.core.aggregation=MERGE",
+    "cas.authn.attribute-repository.core.merger=MULTIVALUED",
+    
+    "cas.authn.attribute-repository.core.parallel.enabled=true",
+    "cas.authn.attribute-repository.core.expiration-time=0"
+})
+@Tag("Attributes")
+public class CasPersonDirectoryConfigurationParallelAggregationTests {
+    @Autowired
+    @Qualifier("aggregatingAttributeRepository")
+    private IPersonAttributeDao aggregatingAttributeRepository;
+
+    @Test
+    public void verifyOperation() {
+        assertTrue(aggregatingAttributeRepository instanceof ParallelMergingPersonAttributeDao);
+        assertEquals(FailurePolicyTypes.IGNORE, ((ParallelMergingPersonAttributeDao) aggregatingAttributeRepository).getFailurePolicy());
+        val person = aggregatingAttributeRepository.getPerson("casuser", IPersonAttributeDaoFilter.alwaysChoose());
+        assertNotNull(person);
+        assertNotNull(person.getAttributeValue("uid"));
+        assertNotNull(person.getAttributeValue("givenName"));
+        assertEquals(2, person.getAttributeValues("eppn").size());
+        assertNotNull(person.getAttributeValue("username"));
+        assertNotNull(person.getAttributeValue("likes"));
+        assertNotNull(person.getAttributeValue("oldName"));
+        assertNotNull(person.getAttributeValue("newName"));
+        assertEquals(5, person.getAttributeValues("id").size());
+    }
+
+    @Nested
+    @SuppressWarnings("ClassCanBeStatic")
+    @TestPropertySource(properties = "cas.authn.attribute-repository.core.recover-exceptions=false")
+    public class WithoutRecoveringExceptionsTests {
+        @Autowired
+        @Qualifier("aggregatingAttributeRepository")
+        private IPersonAttributeDao aggregatingAttributeRepository;
+
+        @Test
+        public void verifyFailurePolicyFollowsRecoverExceptions() {
+            assertTrue(aggregatingAttributeRepository instanceof ParallelMergingPersonAttributeDao);
+            assertEquals(FailurePolicyTypes.FAIL, ((ParallelMergingPersonAttributeDao) aggregatingAttributeRepository).getFailurePolicy());
+        }
+    }
+}
@@ -23,6 +23,12 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.integration.redis.util.RedisLockRegistry;
 import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link RedisTicketRegistryConfiguration}.
@@ -58,14 +64,26 @@ public class RedisTicketRegistryConfiguration {
             return RedisObjectFactory.newRedisTemplate(redisTicketConnectionFactory);
         }
 
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = "redisTicketRegistryBatchExecutor")
+        public ExecutorService redisTicketRegistryBatchExecutor(final CasConfigurationProperties casProperties) {
+            val poolSize = casProperties.getTicket().getRegistry().getRedis().getBatchPoolSize();
+            return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(poolSize),
+                new CustomizableThreadFactory("cas-redis-ticket-batch-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketRegistry ticketRegistry(
             final CasConfigurationProperties casProperties,
             @Qualifier("ticketRedisTemplate")
-            final RedisTemplate<String, Ticket> ticketRedisTemplate) {
+            final RedisTemplate<String, Ticket> ticketRedisTemplate,
+            @Qualifier("redisTicketRegistryBatchExecutor")
+            final ExecutorService redisTicketRegistryBatchExecutor) {
             val redis = casProperties.getTicket().getRegistry().getRedis();
-            val r = new RedisTicketRegistry(ticketRedisTemplate, redis.getScanCount());
+            val r = new RedisTicketRegistry(ticketRedisTemplate, redis.getScanCount(),
+                redis.getBatchSize(), redisTicketRegistryBatchExecutor);
             r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
             return r;
         }
@@ -1,23 +1,46 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.redis.core.util.RedisUtils;
+import org.apereo.cas.ticket.ChildTicketRecord;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.LoggingUtils;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * <p>
+ * Tickets issued by a ticket-granting ticket are recorded into a Redis hash that sits next to the
+ * ticket-granting ticket, and are merged back into the ticket-granting ticket when it is retrieved.
+ * The hash is read in the same pipeline as the ticket-granting ticket, and is removed in the same transaction
+ * whenever the ticket-granting ticket is updated in full.
  *
  * @author serv
  * @since 5.1.0
@@ -27,23 +50,35 @@ import java.util.stream.Stream;
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final String CAS_PRINCIPAL_PREFIX = "CAS_PRINCIPAL:";
+
+    private static final String CAS_CHILDREN_PREFIX = "CAS_TICKET_CHILDREN:";
+
     private final RedisTemplate<String, Ticket> client;
 
     private final long scanCount;
 
+    private final int batchSize;
+
+    private final Executor batchExecutor;
+
     @Override
     @SuppressWarnings("java:S2583")
     public long deleteAll() {
         val redisKeys = getKeysStream().collect(Collectors.toSet());
         val size = Objects.requireNonNull(redisKeys).size();
         this.client.delete(redisKeys);
+        val principalKeys = RedisUtils.keys(this.client, CAS_PRINCIPAL_PREFIX + '*', this.scanCount).collect(Collectors.toSet());
+        this.client.delete(principalKeys);
+        val childrenKeys = RedisUtils.keys(this.client, CAS_CHILDREN_PREFIX + '*', this.scanCount).collect(Collectors.toSet());
+        this.client.delete(childrenKeys);
         return size;
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
-        val redisKey = getTicketRedisKey(encodeTicketId(ticketId));
-        this.client.delete(redisKey);
+        val encodedTicketId = encodeTicketId(ticketId);
+        this.client.delete(List.of(getTicketRedisKey(encodedTicketId), getChildrenRedisKey(encodedTicketId)));
         return true;
     }
 
@@ -55,6 +90,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             val encodeTicket = encodeTicket(ticket);
             val timeout = getTimeout(ticket);
             this.client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
+            addSessionToPrincipalIndex(ticket, redisKey, timeout);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket);
             LoggingUtils.error(LOGGER, e);
@@ -65,9 +101,9 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
             val redisKey = getTicketRedisKey(encodeTicketId(ticketId));
-            val t = this.client.boundValueOps(redisKey).get();
-            if (t != null) {
-                val result = decodeTicket(t);
+            val stored = fetchTickets(List.of(redisKey), false);
+            if (!stored.isEmpty()) {
+                val result = stored.get(0).decode();
                 if (predicate.test(result)) {
                     return result;
                 }
@@ -91,17 +127,19 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Stream<? extends Ticket> stream() {
+        if (batchSize > 1) {
+            val keys = getKeysStream();
+            val tickets = new BatchedTicketIterator(keys.iterator());
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(tickets, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(tickets::cancel)
+                .onClose(keys::close)
+                .map(StoredTicket::decode)
+                .filter(Objects::nonNull);
+        }
         return getKeysStream()
-            .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
-                }
-                return ticket;
-            })
-            .filter(Objects::nonNull)
-            .map(this::decodeTicket)
+            .map(redisKey -> fetchTickets(List.of(redisKey), true))
+            .flatMap(List::stream)
+            .map(StoredTicket::decode)
             .filter(Objects::nonNull);
     }
 
@@ -114,7 +152,20 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             LOGGER.debug("Fetched redis key [{}] for ticket [{}]", redisKey, ticket);
 
             val timeout = getTimeout(ticket);
-            client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
+            if (ticket instanceof TicketGrantingTicket) {
+                val ticketKey = serializeKey(redisKey);
+                val childrenKey = serializeKey(getChildrenRedisKey(encodeTicketId(ticket.getId())));
+                val value = ((RedisSerializer<Ticket>) client.getValueSerializer()).serialize(encodeTicket);
+                client.execute((RedisCallback<Object>) connection -> {
+                    connection.multi();
+                    connection.setEx(ticketKey, timeout, value);
+                    connection.del(childrenKey);
+                    return connection.exec();
+                });
+            } else {
+                client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
+            }
+            addSessionToPrincipalIndex(ticket, redisKey, timeout);
             return encodeTicket;
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket);
@@ -123,6 +174,82 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Records the child ticket as a field of a Redis hash kept next to the ticket-granting ticket,
+     * and extends the expiration of both to account for the usage of the ticket-granting ticket.
+     * Falls back to updating the ticket-granting ticket in full if the child ticket is not tracked as a service.
+     *
+     * @param ticketGrantingTicket the ticket-granting ticket
+     * @param childTicket          the child ticket
+     */
+    @Override
+    public void addChildTicket(final TicketGrantingTicket ticketGrantingTicket, final Ticket childTicket) {
+        val record = ChildTicketRecord.of(ticketGrantingTicket, childTicket.getId());
+        if (record.isEmpty()) {
+            updateTicket(ticketGrantingTicket);
+            return;
+        }
+        try {
+            LOGGER.debug("Adding child ticket [{}] to [{}]", childTicket, ticketGrantingTicket);
+            val encodedTicketId = encodeTicketId(ticketGrantingTicket.getId());
+            val redisKey = getTicketRedisKey(encodedTicketId);
+            val ticketKey = serializeKey(redisKey);
+            val childrenKey = serializeKey(getChildrenRedisKey(encodedTicketId));
+            val field = serializeKey(encodeTicketId(childTicket.getId()));
+            val value = encodeChildTicketRecord(record.get());
+            val timeout = getTimeout(ticketGrantingTicket);
+            client.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hSet(childrenKey, field, value);
+                connection.expire(childrenKey, timeout);
+                connection.expire(ticketKey, timeout);
+                return null;
+            });
+            addSessionToPrincipalIndex(ticketGrantingTicket, redisKey, timeout);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to add child ticket [{}] to [{}]", childTicket, ticketGrantingTicket);
+            LoggingUtils.error(LOGGER, e);
+        }
+    }
+
+    /**
+     * Sessions are tracked in a Redis set per principal whose members are the ticket keys.
+     * Members are not removed when tickets are deleted or expire; instead, they are pruned
+     * here once found to be missing, and the set itself expires along with the longest-lived session.
+     *
+     * @param principalId the principal id
+     * @return the sessions
+     */
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        try {
+            val principalKey = serializeKey(getPrincipalRedisKey(getPrincipalIndexKey(principalId)));
+            val members = client.execute((RedisCallback<Set<byte[]>>) connection -> connection.sMembers(principalKey));
+            if (members == null || members.isEmpty()) {
+                return Stream.empty();
+            }
+            val redisKeys = members.stream().map(this::deserializeKey).collect(Collectors.toList());
+            val results = fetchTickets(redisKeys, false);
+            if (results.size() < redisKeys.size()) {
+                val found = results.stream().map(StoredTicket::getRedisKey).collect(Collectors.toSet());
+                redisKeys.stream()
+                    .filter(redisKey -> !found.contains(redisKey))
+                    .forEach(redisKey -> {
+                        val member = serializeKey(redisKey);
+                        LOGGER.trace("Removing [{}] from the session index of [{}]", redisKey, principalId);
+                        client.execute((RedisCallback<Long>) connection -> connection.sRem(principalKey, member));
+                    });
+            }
+            return results
+                .stream()
+                .map(StoredTicket::decode)
+                .filter(ticket -> isSessionFor(ticket, principalId));
+        } catch (final Exception e) {
+            LOGGER.error("Failed to locate sessions for [{}]", principalId);
+            LoggingUtils.error(LOGGER, e);
+        }
+        return Stream.empty();
+    }
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -143,10 +270,165 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + ticketId;
     }
 
+    private static String getPrincipalRedisKey(final String principalKey) {
+        return CAS_PRINCIPAL_PREFIX + principalKey;
+    }
+
+    private static String getChildrenRedisKey(final String ticketId) {
+        return CAS_CHILDREN_PREFIX + ticketId;
+    }
+
+    private static String getChildrenRedisKeyFor(final String ticketRedisKey) {
+        return CAS_CHILDREN_PREFIX + StringUtils.removeStart(ticketRedisKey, CAS_TICKET_PREFIX);
+    }
+
     private static String getPatternTicketRedisKey() {
         return CAS_TICKET_PREFIX + '*';
     }
 
+    private void addSessionToPrincipalIndex(final Ticket ticket, final String redisKey, final long timeout) {
+        val principalId = getSessionPrincipalId(ticket);
+        if (principalId != null) {
+            val principalKey = serializeKey(getPrincipalRedisKey(getPrincipalIndexKey(principalId)));
+            val member = serializeKey(redisKey);
+            client.execute((RedisCallback<Object>) connection -> {
+                connection.sAdd(principalKey, member);
+                val currentTimeout = connection.ttl(principalKey);
+                if (currentTimeout == null || currentTimeout < timeout) {
+                    connection.expire(principalKey, timeout);
+                }
+                return null;
+            });
+        }
+    }
+
+    private Ticket mergeChildTickets(final Ticket ticket, final Collection<byte[]> children) {
+        return mergeChildTicketRecords(ticket, children.stream()
+            .map(this::decodeChildTicketRecord)
+            .collect(Collectors.toList()));
+    }
+
+    private byte[] serializeKey(final String key) {
+        return ((RedisSerializer<String>) client.getKeySerializer()).serialize(key);
+    }
+
+    private String deserializeKey(final byte[] key) {
+        return (String) client.getKeySerializer().deserialize(key);
+    }
+
+    /**
+     * Fetch the tickets via {@code MGET} along with the hashes of their child tickets,
+     * in a single pipeline so that reading a ticket-granting ticket does not take another round trip.
+     *
+     * @param redisKeys         the redis keys
+     * @param removeMissingKeys whether keys whose tickets could not be found should be removed
+     * @return the stored tickets
+     */
+    @SuppressWarnings("unchecked")
+    private List<StoredTicket> fetchTickets(final List<String> redisKeys, final boolean removeMissingKeys) {
+        LOGGER.trace("Fetching batch of [{}] ticket(s)", redisKeys.size());
+        val ticketKeys = redisKeys.stream().map(this::serializeKey).toArray(byte[][]::new);
+        val childrenKeys = redisKeys.stream().map(key -> serializeKey(getChildrenRedisKeyFor(key))).collect(Collectors.toList());
+        val responses = client.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            connection.mGet(ticketKeys);
+            childrenKeys.forEach(connection::hGetAll);
+            return connection.closePipeline();
+        });
+        if (responses == null || responses.isEmpty() || responses.get(0) == null) {
+            return new ArrayList<>(0);
+        }
+        val values = (List<byte[]>) responses.get(0);
+        val results = new ArrayList<StoredTicket>(values.size());
+        val missingKeys = new ArrayList<String>(0);
+        for (var i = 0; i < values.size(); i++) {
+            val value = values.get(i);
+            if (value == null) {
+                missingKeys.add(redisKeys.get(i));
+            } else {
+                val ticket = (Ticket) client.getValueSerializer().deserialize(value);
+                val children = (Map<byte[], byte[]>) responses.get(i + 1);
+                results.add(new StoredTicket(redisKeys.get(i), ticket,
+                    children == null ? List.of() : children.values()));
+            }
+        }
+        if (removeMissingKeys && !missingKeys.isEmpty()) {
+            LOGGER.trace("Removing [{}] key(s) whose tickets could not be found", missingKeys.size());
+            client.delete(missingKeys);
+        }
+        return results;
+    }
+
+    /**
+     * A ticket as stored in Redis, along with the records of its child tickets, if any.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private class StoredTicket {
+        private final String redisKey;
+
+        private final Ticket ticket;
+
+        private final Collection<byte[]> children;
+
+        Ticket decode() {
+            val result = decodeTicket(ticket);
+            return result == null ? null : mergeChildTickets(result, children);
+        }
+    }
+
+    /**
+     * Groups keys into batches that are fetched via {@code MGET}.
+     * The next batch is always requested asynchronously on the batch executor before the current one
+     * is handed out, so that fetching and deserializing tickets from Redis overlaps with consuming them.
+     */
+    @RequiredArgsConstructor
+    private class BatchedTicketIterator implements Iterator<StoredTicket> {
+        private final Iterator<String> keys;
+
+        private Iterator<StoredTicket> current = Collections.emptyIterator();
+
+        private CompletableFuture<List<StoredTicket>> next;
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (next == null) {
+                    next = fetchNextBatch();
+                }
+                if (next == null) {
+                    return false;
+                }
+                val batch = next.join();
+                next = fetchNextBatch();
+                current = batch.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public StoredTicket next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        void cancel() {
+            if (next != null) {
+                next.cancel(false);
+            }
+        }
+
+        private CompletableFuture<List<StoredTicket>> fetchNextBatch() {
+            val batch = new ArrayList<String>(batchSize);
+            while (batch.size() < batchSize && keys.hasNext()) {
+                batch.add(keys.next());
+            }
+            return batch.isEmpty() ? null : CompletableFuture.supplyAsync(() -> fetchTickets(batch, true), batchExecutor);
+        }
+    }
+
     /**
      * Get a stream of all CAS-related keys from Redis DB.
      *
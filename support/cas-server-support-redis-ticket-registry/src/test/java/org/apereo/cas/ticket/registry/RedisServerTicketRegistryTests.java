@@ -1,9 +1,12 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.junit.EnabledIfPortOpen;
@@ -44,7 +47,7 @@ public class RedisServerTicketRegistryTests extends BaseRedisSentinelTicketRegis
         val tgt = getNewTicketRegistry().getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
         assertNotNull(tgt);
 
-        val secondRegistry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        val secondRegistry = new RedisTicketRegistry(ticketRedisTemplate, 0, 0, Runnable::run);
         secondRegistry.setCipherExecutor(CipherExecutor.noOp());
         val ticket = secondRegistry.getTicket(ticketGrantingTicketId);
         assertNull(ticket);
@@ -52,6 +55,56 @@ public class RedisServerTicketRegistryTests extends BaseRedisSentinelTicketRegis
         assertEquals(0, getNewTicketRegistry().stream().count());
     }
 
+    @RepeatedTest(1)
+    public void verifyBatchedStream() {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 2, 3, Runnable::run);
+        registry.setCipherExecutor(CipherExecutor.noOp());
+        registry.deleteAll();
+        for (var i = 0; i < 10; i++) {
+            registry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-BATCH-" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+        }
+        try (val tickets = registry.stream()) {
+            assertEquals(10, tickets.count());
+        }
+        try (val tickets = registry.stream()) {
+            assertEquals(2, tickets.limit(2).count());
+        }
+        assertEquals(10, registry.sessionCount());
+        registry.deleteAll();
+    }
+
+    @RepeatedTest(1)
+    public void verifyChildTickets() {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, 2, 3, Runnable::run);
+        registry.setCipherExecutor(CipherExecutor.noOp());
+        val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-CHILDREN",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        for (var i = 0; i < 5; i++) {
+            val st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-CHILD-" + i, RegisteredServiceTestUtils.getService("https://app" + i),
+                NeverExpiresExpirationPolicy.INSTANCE, false, true);
+            registry.addChildTicket(tgt, st);
+            registry.addTicket(st);
+        }
+        val stored = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(tgt.getServices().keySet(), stored.getServices().keySet());
+        assertEquals(tgt.getCountOfUses(), ((TicketState) stored).getCountOfUses());
+        try (val tickets = registry.stream()) {
+            val streamed = (TicketGrantingTicket) tickets.filter(ticket -> ticket.getId().equals(tgt.getId())).findFirst().orElseThrow();
+            assertEquals(tgt.getServices().keySet(), streamed.getServices().keySet());
+        }
+        val session = (TicketGrantingTicket) registry.getSessionsFor(tgt.getAuthentication().getPrincipal().getId())
+            .filter(ticket -> ticket.getId().equals(tgt.getId()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(tgt.getServices().keySet(), session.getServices().keySet());
+
+        registry.updateTicket(stored);
+        assertEquals(5, registry.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().size());
+        assertEquals(6, registry.deleteTicket(tgt.getId()));
+    }
+
     @RepeatedTest(1)
     public void verifyFailure() {
         val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
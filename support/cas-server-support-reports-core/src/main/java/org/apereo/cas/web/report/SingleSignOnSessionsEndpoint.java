@@ -187,9 +187,10 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
 
         if (StringUtils.isNotBlank(username)) {
             val sessionsMap = new HashMap<String, Object>(1);
-            val tickets = centralAuthenticationService.getTickets(
-                ticket -> ticket instanceof TicketGrantingTicket
-                          && ((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId().equalsIgnoreCase(username));
+            final Collection<? extends Ticket> tickets;
+            try (val sessions = centralAuthenticationService.getSessionsFor(username)) {
+                tickets = sessions.collect(Collectors.toList());
+            }
             tickets.forEach(ticket -> sessionsMap.put(ticket.getId(), destroySsoSession(ticket.getId(), request, response)));
             return sessionsMap;
         }
@@ -252,10 +253,12 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
                                                                  final long from,
                                                                  final long count) {
         val dateFormat = new ISOStandardDateFormat();
-        return getNonExpiredTicketGrantingTickets(from, count)
+        val tickets = StringUtils.isBlank(username)
+            ? getNonExpiredTicketGrantingTickets(from, count)
+            : getNonExpiredTicketGrantingTickets(username, from, count);
+        return tickets
             .map(TicketGrantingTicket.class::cast)
             .filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
-            .filter(tgt -> StringUtils.isBlank(username) || StringUtils.equalsIgnoreCase(username, tgt.getAuthentication().getPrincipal().getId()))
             .map(tgt -> {
                 val authentication = tgt.getAuthentication();
                 val principal = authentication.getPrincipal();
@@ -296,4 +299,12 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
             .getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired(), from, count);
     }
 
+    private Stream<? extends Ticket> getNonExpiredTicketGrantingTickets(final String username, final long from, final long count) {
+        return centralAuthenticationService
+            .getSessionsFor(username)
+            .filter(ticket -> !ticket.isExpired())
+            .skip(from)
+            .limit(count);
+    }
+
 }
@@ -11,7 +11,6 @@ import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.Iterables;
 import lombok.Getter;
 import lombok.SneakyThrows;
-import lombok.Synchronized;
 import lombok.experimental.SuperBuilder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -30,6 +29,9 @@ import java.util.Optional;
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * Resolution does not synchronize on the resolver; cache hits and validity checks
+ * proceed concurrently, and concurrent misses for the same cache key are loaded
+ * only once by the underlying cache.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -65,7 +67,6 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
     }
 
     @Override
-    @Synchronized
     public MetadataResolver resolve(final SamlRegisteredService service, final CriteriaSet criteriaSet) {
         LOGGER.debug("Resolving metadata for [{}] at [{}]", service.getName(), service.getMetadataLocation());
         val cacheKey = new SamlRegisteredServiceCacheKey(service, criteriaSet);
@@ -77,7 +78,8 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
             if (!result.isValid()) {
                 val count = countResolvableEntityDescriptors(resolver);
                 if (count == 1) {
-                    invalidate(service, criteriaSet);
+                    LOGGER.trace("Invalidating cache entry [{}] for [{}]", cacheKey.getId(), service.getName());
+                    cache.asMap().remove(cacheKey, resolver);
                 }
                 LOGGER.warn("SAML metadata resolver [{}] obtained from the cache is "
                         + "unable to produce/resolve valid metadata for [{}]. Metadata resolver cache entry with key [{}] "
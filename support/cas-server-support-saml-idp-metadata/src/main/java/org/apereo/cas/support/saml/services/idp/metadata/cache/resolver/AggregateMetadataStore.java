@@ -0,0 +1,224 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import net.shibboleth.utilities.java.support.component.DestructableComponent;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import net.shibboleth.utilities.java.support.xml.SerializeSupport;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.saml.metadata.criteria.entity.EvaluableEntityDescriptorCriterion;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link AggregateMetadataStore}.
+ * <p>
+ * Splits a metadata aggregate into one document per entity on disk. The aggregate is parsed
+ * and its signature is verified once, after which each entity descriptor is written into a file
+ * named after the lowercase hex-encoded SHA-1 digest of its entity id, which is the layout
+ * expected by {@link org.opensaml.saml.metadata.resolver.impl.LocalDynamicMetadataResolver}.
+ * The file name acts as the index into the store, and entities can be resolved on demand
+ * without parsing the aggregate again, similar to a local metadata query service.
+ * <p>
+ * The digest of the aggregate is recorded alongside the split entities, so the aggregate
+ * is only split again when its contents or the settings used to verify it change.
+ * Each split is written into a new version directory, and the store directory of the aggregate
+ * is a symbolic link that is atomically switched over to the new version once it is complete.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AggregateMetadataStore {
+    private static final String AGGREGATE_DIGEST_FILE_NAME = "aggregate.sha256";
+
+    private static final String ENTITY_FILE_EXTENSION = ".xml";
+
+    private static final String VERSION_SEPARATOR = "-v-";
+
+    private static final String VALID_UNTIL_ATTRIBUTE_NAME = "validUntil";
+
+    private static final EvaluableEntityDescriptorCriterion ALL_ENTITIES = entity -> true;
+
+    @Getter
+    private final File directory;
+
+    private final OpenSamlConfigBean configBean;
+
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the key under which the entity is stored.
+     *
+     * @param entityId the entity id
+     * @return the key
+     */
+    public static String getEntityKey(final String entityId) {
+        return DigestUtils.sha1Hex(entityId) + ENTITY_FILE_EXTENSION;
+    }
+
+    /**
+     * Gets the key under which the entity requested by the criteria is stored.
+     *
+     * @param criteriaSet the criteria set
+     * @return the key, or null if the criteria do not identify an entity
+     */
+    public static String getEntityKey(final CriteriaSet criteriaSet) {
+        val criterion = criteriaSet != null ? criteriaSet.get(EntityIdCriterion.class) : null;
+        return criterion != null ? getEntityKey(criterion.getEntityId()) : null;
+    }
+
+    private static void declareInheritedNamespaces(final Element source, final Element target) {
+        for (var parent = source.getParentNode(); parent instanceof Element; parent = parent.getParentNode()) {
+            val attributes = parent.getAttributes();
+            for (var i = 0; i < attributes.getLength(); i++) {
+                val attribute = attributes.item(i);
+                if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())
+                    && !target.hasAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attribute.getLocalName())) {
+                    target.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attribute.getNodeName(), attribute.getNodeValue());
+                }
+            }
+        }
+    }
+
+    private static void inheritValidUntil(final Element source, final Element target) {
+        Instant validUntil = null;
+        for (Node node = source; node instanceof Element; node = node.getParentNode()) {
+            val value = ((Element) node).getAttributeNS(null, VALID_UNTIL_ATTRIBUTE_NAME);
+            if (!value.isBlank()) {
+                try {
+                    val instant = ZonedDateTime.parse(value.trim()).toInstant();
+                    if (validUntil == null || instant.isBefore(validUntil)) {
+                        validUntil = instant;
+                    }
+                } catch (final Exception e) {
+                    LOGGER.debug("Unable to parse [{}] as the validity of [{}]", value, node.getLocalName());
+                }
+            }
+        }
+        if (validUntil != null) {
+            target.setAttributeNS(null, VALID_UNTIL_ATTRIBUTE_NAME, validUntil.toString());
+        }
+    }
+
+    /**
+     * Split the aggregate into per-entity documents, unless it has already been split
+     * and has not changed since.
+     *
+     * @param metadataFile the aggregate metadata file
+     * @param settings     the settings that control how the aggregate is verified,
+     *                     which force the aggregate to be split again when changed
+     * @param resolver     supplies an initialized resolver for the aggregate, with its signature verified;
+     *                     only invoked if the aggregate needs to be split.
+     * @return the directory that contains the entities of the aggregate
+     * @throws Exception the exception
+     */
+    public File split(final File metadataFile, final String settings,
+                      final Supplier<? extends MetadataResolver> resolver) throws Exception {
+        final String aggregateDigest;
+        try (val input = Files.newInputStream(metadataFile.toPath())) {
+            aggregateDigest = DigestUtils.sha256Hex(input) + ':' + DigestUtils.sha256Hex(settings);
+        }
+        val target = new File(directory, DigestUtils.sha1Hex(metadataFile.getCanonicalPath()));
+        synchronized (locks.computeIfAbsent(target.getName(), k -> new Object())) {
+            val digestFile = new File(target, AGGREGATE_DIGEST_FILE_NAME);
+            if (digestFile.exists() && aggregateDigest.equals(FileUtils.readFileToString(digestFile, StandardCharsets.UTF_8).trim())) {
+                LOGGER.debug("Metadata aggregate [{}] is unchanged and already split at [{}]", metadataFile, target);
+                return target;
+            }
+            val version = new File(directory, target.getName() + VERSION_SEPARATOR + UUID.randomUUID());
+            FileUtils.forceMkdir(version);
+
+            LOGGER.debug("Splitting metadata aggregate [{}] into [{}]", metadataFile, version);
+            val aggregateResolver = resolver.get();
+            var count = 0;
+            try {
+                for (val entity : aggregateResolver.resolve(new CriteriaSet(ALL_ENTITIES))) {
+                    writeEntity(entity, version);
+                    count++;
+                }
+                FileUtils.writeStringToFile(new File(version, AGGREGATE_DIGEST_FILE_NAME), aggregateDigest, StandardCharsets.UTF_8);
+            } catch (final Exception e) {
+                FileUtils.deleteQuietly(version);
+                throw e;
+            } finally {
+                if (aggregateResolver instanceof DestructableComponent) {
+                    ((DestructableComponent) aggregateResolver).destroy();
+                }
+            }
+            activate(target, version);
+            LOGGER.info("Split metadata aggregate [{}] into [{}] entities at [{}]", metadataFile, count, target);
+            return target;
+        }
+    }
+
+    /**
+     * Point the target at the new version of the split aggregate, and remove previous versions.
+     * The target is a symbolic link that is replaced with a single atomic rename, so readers
+     * always find a complete set of entities. If symbolic links are not supported by the file system,
+     * the version directory is moved into place instead, leaving a short window with no entities.
+     *
+     * @param target  the target
+     * @param version the version
+     * @throws Exception the exception
+     */
+    private void activate(final File target, final File version) throws Exception {
+        val targetPath = target.toPath();
+        if (Files.isDirectory(targetPath, LinkOption.NOFOLLOW_LINKS)) {
+            LOGGER.debug("Removing previously split aggregate stored at [{}]", target);
+            FileUtils.deleteDirectory(target);
+        }
+        val link = new File(directory, target.getName() + ".link").toPath();
+        try {
+            Files.deleteIfExists(link);
+            Files.createSymbolicLink(link, version.toPath().getFileName());
+            Files.move(link, targetPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final UnsupportedOperationException | FileSystemException e) {
+            LOGGER.warn("Unable to link [{}] to [{}]; moving the split aggregate into place instead: [{}]", target, version, e.getMessage());
+            Files.deleteIfExists(link);
+            Files.deleteIfExists(targetPath);
+            Files.move(version.toPath(), targetPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+        val previousVersions = directory.listFiles((dir, name) -> name.startsWith(target.getName() + VERSION_SEPARATOR)
+                                                                  && !name.equals(version.getName()));
+        if (previousVersions != null) {
+            Arrays.stream(previousVersions).forEach(FileUtils::deleteQuietly);
+        }
+    }
+
+    private void writeEntity(final EntityDescriptor entity, final File staging) throws Exception {
+        val element = XMLObjectSupport.marshall(entity);
+        val document = configBean.getParserPool().newDocument();
+        val copy = (Element) document.importNode(element, true);
+        document.appendChild(copy);
+        declareInheritedNamespaces(element, copy);
+        inheritValidUntil(element, copy);
+        val entityFile = new File(staging, getEntityKey(entity.getEntityID()));
+        Files.writeString(entityFile.toPath(), SerializeSupport.nodeToString(copy), StandardCharsets.UTF_8);
+    }
+}
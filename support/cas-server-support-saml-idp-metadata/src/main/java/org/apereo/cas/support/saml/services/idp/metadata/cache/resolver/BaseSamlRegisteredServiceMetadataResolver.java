@@ -1,6 +1,7 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlUtils;
@@ -12,10 +13,15 @@ import org.apereo.cas.util.ResourceUtils;
 import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jooq.lambda.Unchecked;
+import org.opensaml.core.xml.persist.FilesystemLoadSaveManager;
 import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
 import org.opensaml.saml.metadata.resolver.filter.MetadataFilterChain;
 import org.opensaml.saml.metadata.resolver.filter.impl.EntityRoleFilter;
@@ -23,11 +29,13 @@ import org.opensaml.saml.metadata.resolver.filter.impl.PredicateFilter;
 import org.opensaml.saml.metadata.resolver.filter.impl.RequiredValidUntilFilter;
 import org.opensaml.saml.metadata.resolver.filter.impl.SignatureValidationFilter;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
+import org.opensaml.saml.metadata.resolver.impl.LocalDynamicMetadataResolver;
 import org.opensaml.saml.saml2.metadata.IDPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.springframework.core.io.Resource;
 
 import javax.xml.namespace.QName;
+import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +49,8 @@ import java.util.List;
 @Slf4j
 @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlRegisteredServiceMetadataResolver {
+    private static final String DIRNAME_METADATA_AGGREGATES = "metadata-aggregates";
+
     /**
      * The Saml idp properties.
      */
@@ -51,6 +61,9 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
      */
     protected final OpenSamlConfigBean configBean;
 
+    @Getter(value = AccessLevel.PROTECTED, lazy = true)
+    private final AggregateMetadataStore aggregateMetadataStore = buildAggregateMetadataStore();
+
     private static void buildEntityRoleFilterIfNeeded(final SamlRegisteredService service, final List<MetadataFilter> metadataFilterList) {
         if (StringUtils.isNotBlank(service.getMetadataCriteriaRoles())) {
             val roles = new ArrayList<QName>();
@@ -183,6 +196,77 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         return null;
     }
 
+    /**
+     * Gets the digest of the certificate used to verify the metadata signature,
+     * so that aggregates are verified and split again once the certificate changes.
+     *
+     * @param service the service
+     * @return the digest, or an empty value if signatures are not verified
+     */
+    private static String getMetadataSignatureDigest(final SamlRegisteredService service) {
+        if (StringUtils.isBlank(service.getMetadataSignatureLocation())) {
+            return StringUtils.EMPTY;
+        }
+        val location = SpringExpressionLanguageValueResolver.getInstance().resolve(service.getMetadataSignatureLocation());
+        try (val input = ResourceUtils.getResourceFrom(location).getInputStream()) {
+            return location + ':' + DigestUtils.sha256Hex(input);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to compute the digest of metadata signature certificate [{}]: [{}]", location, e.getMessage());
+            return location;
+        }
+    }
+
+    /**
+     * Whether metadata aggregates should be split into per-entity documents
+     * via the {@link AggregateMetadataStore}.
+     *
+     * @return true/false
+     */
+    protected boolean isAggregateMetadataStoreEnabled() {
+        return samlIdPProperties.getMetadata().getCore().isAggregateStoreEnabled();
+    }
+
+    /**
+     * Build a metadata resolver for the metadata file that is backed by the aggregate metadata store.
+     * The aggregate is only parsed, filtered and verified when it needs to be split. Entities are
+     * then loaded from the store on demand, and are removed from memory once they remain unused.
+     * Signature and validity filters are applied to the aggregate as a whole while it is split,
+     * while role and predicate filters are applied to individual entities.
+     *
+     * @param service      the service
+     * @param metadataFile the metadata file
+     * @return the metadata resolver
+     * @throws Exception the exception
+     */
+    protected AbstractMetadataResolver buildAggregateMetadataResolver(final SamlRegisteredService service,
+                                                                      final File metadataFile) throws Exception {
+        val settings = String.join("|", getMetadataSignatureDigest(service),
+            String.valueOf(service.isRequireSignedRoot()), String.valueOf(service.getMetadataMaxValidity()));
+        val directory = getAggregateMetadataStore().split(metadataFile, settings, Unchecked.supplier(() -> {
+            val aggregateResolver = new InMemoryResourceMetadataResolver(metadataFile, configBean);
+            val aggregateFilters = new ArrayList<MetadataFilter>(2);
+            buildRequiredValidUntilFilterIfNeeded(service, aggregateFilters);
+            buildSignatureValidationFilterIfNeeded(service, aggregateFilters);
+            configureMetadataResolver(aggregateResolver, aggregateFilters);
+            aggregateResolver.setFailFastInitialization(true);
+            aggregateResolver.initialize();
+            return aggregateResolver;
+        }));
+
+        val metadataResolver = new LocalDynamicMetadataResolver(
+            new FilesystemLoadSaveManager<>(directory, configBean.getParserPool()), AggregateMetadataStore::getEntityKey);
+        metadataResolver.setRemoveIdleEntityData(true);
+        metadataResolver.setMaxIdleEntityData(Beans.newDuration(samlIdPProperties.getMetadata().getCore().getAggregateStoreMaxIdle()));
+        val entityFilters = new ArrayList<MetadataFilter>(2);
+        buildEntityRoleFilterIfNeeded(service, entityFilters);
+        buildPredicateFilterIfNeeded(service, entityFilters);
+        configureMetadataResolver(metadataResolver, entityFilters);
+
+        LOGGER.debug("Initializing metadata resolver for aggregate [{}] from [{}]", service.getMetadataLocation(), directory);
+        metadataResolver.initialize();
+        return metadataResolver;
+    }
+
     /**
      * Build single metadata resolver metadata resolver.
      *
@@ -272,4 +356,24 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
                 service.getMetadataLocation());
         }
     }
+
+    private void configureMetadataResolver(final AbstractMetadataResolver metadataProvider,
+                                           final List<MetadataFilter> metadataFilterList) {
+        val md = samlIdPProperties.getMetadata();
+        metadataProvider.setParserPool(this.configBean.getParserPool());
+        metadataProvider.setFailFastInitialization(md.getCore().isFailFast());
+        metadataProvider.setRequireValidMetadata(md.getCore().isRequireValidMetadata());
+        metadataProvider.setId(metadataProvider.getClass().getCanonicalName());
+        if (!metadataFilterList.isEmpty()) {
+            addMetadataFiltersToMetadataResolver(metadataProvider, metadataFilterList);
+        }
+    }
+
+    @SneakyThrows
+    private AggregateMetadataStore buildAggregateMetadataStore() {
+        val location = SpringExpressionLanguageValueResolver.getInstance().resolve(samlIdPProperties.getMetadata().getFileSystem().getLocation());
+        val directory = new File(ResourceUtils.getRawResourceFrom(location).getFile(), DIRNAME_METADATA_AGGREGATES);
+        LOGGER.trace("Metadata aggregates will be split into [{}]", directory);
+        return new AggregateMetadataStore(directory, configBean);
+    }
 }
@@ -45,6 +45,9 @@ public class FileSystemResourceMetadataResolver extends BaseSamlRegisteredServic
             val metadataResource = ResourceUtils.getResourceFrom(metadataLocation);
 
             val metadataFile = metadataResource.getFile();
+            if (metadataFile.isFile() && isAggregateMetadataStoreEnabled()) {
+                return CollectionUtils.wrap(buildAggregateMetadataResolver(service, metadataFile));
+            }
             val metadataResolver = getMetadataResolver(metadataResource, metadataFile);
             configureAndInitializeSingleMetadataResolver(metadataResolver, service);
             return CollectionUtils.wrap(metadataResolver);
@@ -56,6 +56,11 @@ public class MetadataQueryProtocolMetadataResolver extends UrlResourceMetadataRe
         return true;
     }
 
+    @Override
+    protected boolean isAggregateMetadataStoreEnabled() {
+        return false;
+    }
+
     @Override
     protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
         if (!HttpStatus.valueOf(response.getStatusLine().getStatusCode()).is2xxSuccessful()) {
@@ -22,7 +22,6 @@ import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOCase;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.AndFileFilter;
 import org.apache.commons.io.filefilter.CanReadFileFilter;
 import org.apache.commons.io.filefilter.CanWriteFileFilter;
@@ -42,8 +41,8 @@ import org.springframework.http.HttpStatus;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -101,6 +100,10 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             response = fetchMetadata(service, metadataLocation, criteriaSet, backupFile);
             val status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
             if (shouldHttpResponseStatusBeProcessed(status)) {
+                if (isAggregateMetadataStoreEnabled()) {
+                    writeMetadataBackupFile(response, backupFile);
+                    return CollectionUtils.wrap(buildAggregateMetadataResolver(service, backupFile));
+                }
                 val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
                 configureAndInitializeSingleMetadataResolver(metadataProvider, service);
                 return CollectionUtils.wrap(metadataProvider);
@@ -169,16 +172,25 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      */
     protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response,
                                                                        final File backupFile) throws Exception {
+        writeMetadataBackupFile(response, backupFile);
+        return new InMemoryResourceMetadataResolver(backupFile, configBean);
+    }
+
+    /**
+     * Write the metadata in the response to the backup file.
+     *
+     * @param response   the response
+     * @param backupFile the backup file
+     * @throws Exception the exception
+     */
+    protected void writeMetadataBackupFile(final HttpResponse response, final File backupFile) throws Exception {
         val entity = response.getEntity();
-        val result = IOUtils.toString(entity.getContent(), StandardCharsets.UTF_8);
         val path = backupFile.toPath();
         LOGGER.trace("Writing metadata to file at [{}]", path);
-        try (val output = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            IOUtils.write(result, output);
-            output.flush();
+        try (val input = entity.getContent()) {
+            Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
         }
         EntityUtils.consume(entity);
-        return new InMemoryResourceMetadataResolver(backupFile, configBean);
     }
 
     /**
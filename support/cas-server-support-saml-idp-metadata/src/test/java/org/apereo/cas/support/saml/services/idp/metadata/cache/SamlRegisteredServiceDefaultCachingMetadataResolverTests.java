@@ -21,6 +21,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -97,6 +102,40 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolverTests extends Ba
         resolver.invalidate();
     }
 
+    @Test
+    public void verifyConcurrentResolutionForAggregate() throws Exception {
+        val resolutionPlan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        resolutionPlan.registerMetadataResolver(
+            new ClasspathResourceMetadataResolver(casProperties.getAuthn().getSamlIdp(), openSamlConfigBean));
+        val cacheLoader = new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, httpClient, resolutionPlan);
+        val resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(Duration.ofMinutes(1), cacheLoader, openSamlConfigBean);
+
+        val entityIds = List.of("https://issues.shibboleth.net/shibboleth", "https://mfa-auth.dev.phenoapp.com/Saml2");
+        val tasks = new ArrayList<Callable<Boolean>>();
+        for (var i = 0; i < 200; i++) {
+            val service = new SamlRegisteredService();
+            service.setName("AggregateMetadata" + i);
+            service.setId(i);
+            service.setServiceId("https://.+");
+            service.setMetadataLocation("classpath:aggregate-md.xml");
+            val criteriaSet = getCriteriaFor(entityIds.get(i % entityIds.size()));
+            tasks.add(() -> resolver.resolve(service, criteriaSet) != null);
+        }
+        val executor = Executors.newFixedThreadPool(16);
+        try {
+            for (val result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        val stats = resolver.getCacheStatistics();
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(200, stats.requestCount());
+        resolver.invalidate();
+    }
+
     @Test
     public void verifyCacheValidityWithUnknownEntityId() {
         val criteriaSet = getCriteriaFor("https://carmenwiki.osu.edu/shibboleth");
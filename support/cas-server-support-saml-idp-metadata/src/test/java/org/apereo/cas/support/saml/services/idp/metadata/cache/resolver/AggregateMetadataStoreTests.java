@@ -0,0 +1,117 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
+
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+
+import lombok.val;
+import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jooq.lambda.Unchecked;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.saml.criterion.EntityRoleCriterion;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link AggregateMetadataStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("SAMLMetadata")
+public class AggregateMetadataStoreTests extends BaseSamlIdPServicesTests {
+    private static final String ENTITY_ID = "https://issues.shibboleth.net/shibboleth";
+
+    @Test
+    public void verifyAggregateIsSplitOnce(@TempDir final File directory) throws Exception {
+        val metadataFile = new File(directory, "aggregate-md.xml");
+        val content = IOUtils.toString(new ClassPathResource("aggregate-md.xml").getInputStream(), StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(metadataFile, content, StandardCharsets.UTF_8);
+
+        val properties = new SamlIdPProperties();
+        properties.getMetadata().getFileSystem().setLocation(directory.getCanonicalPath());
+        properties.getMetadata().getCore().setAggregateStoreEnabled(true);
+
+        val resolver = new FileSystemResourceMetadataResolver(properties, openSamlConfigBean);
+        val service = new SamlRegisteredService();
+        service.setMetadataLocation(metadataFile.getCanonicalPath());
+        val resolvers = resolver.resolve(service);
+        assertEquals(1, resolvers.size());
+
+        val criteriaSet = new CriteriaSet();
+        criteriaSet.add(new EntityIdCriterion(ENTITY_ID));
+        criteriaSet.add(new EntityRoleCriterion(SPSSODescriptor.DEFAULT_ELEMENT_NAME));
+        val entity = resolvers.iterator().next().resolveSingle(criteriaSet);
+        assertNotNull(entity);
+        assertEquals(ENTITY_ID, entity.getEntityID());
+        assertNotNull(entity.getValidUntil());
+
+        val entityKey = AggregateMetadataStore.getEntityKey(ENTITY_ID);
+        val entityFiles = FileUtils.listFiles(resolver.getAggregateMetadataStore().getDirectory(), new String[]{"xml"}, true);
+        assertTrue(entityFiles.stream().anyMatch(file -> file.getName().equals(entityKey)));
+    }
+
+    @Test
+    public void verifyUnchangedAggregateIsReused(@TempDir final File directory) throws Exception {
+        val metadataFile = new File(directory, "aggregate-md.xml");
+        FileUtils.copyInputStreamToFile(new ClassPathResource("aggregate-md.xml").getInputStream(), metadataFile);
+
+        val properties = new SamlIdPProperties();
+        properties.getMetadata().getFileSystem().setLocation(directory.getCanonicalPath());
+        properties.getMetadata().getCore().setAggregateStoreEnabled(true);
+        val service = new SamlRegisteredService();
+        service.setMetadataLocation(metadataFile.getCanonicalPath());
+        val resolver = new FileSystemResourceMetadataResolver(properties, openSamlConfigBean);
+        assertFalse(resolver.resolve(service).isEmpty());
+
+        val store = resolver.getAggregateMetadataStore();
+        val settings = String.join("|", StringUtils.EMPTY, String.valueOf(service.isRequireSignedRoot()),
+            String.valueOf(service.getMetadataMaxValidity()));
+        val target = store.split(metadataFile, settings, () -> fail("Unchanged aggregate should not be parsed again"));
+        assertEquals(2, target.listFiles((dir, name) -> name.endsWith(".xml")).length);
+        assertFalse(resolver.resolve(service).isEmpty());
+    }
+
+    @Test
+    public void verifyChangedAggregateIsSwitchedOver(@TempDir final File directory) throws Exception {
+        val metadataFile = new File(directory, "aggregate-md.xml");
+        FileUtils.copyInputStreamToFile(new ClassPathResource("aggregate-md.xml").getInputStream(), metadataFile);
+
+        val properties = new SamlIdPProperties();
+        properties.getMetadata().getFileSystem().setLocation(directory.getCanonicalPath());
+        properties.getMetadata().getCore().setAggregateStoreEnabled(true);
+        val service = new SamlRegisteredService();
+        service.setMetadataLocation(metadataFile.getCanonicalPath());
+        val resolver = new FileSystemResourceMetadataResolver(properties, openSamlConfigBean);
+        val metadataResolver = resolver.resolve(service).iterator().next();
+
+        val store = resolver.getAggregateMetadataStore();
+        val target = store.split(metadataFile, "changed-settings", Unchecked.supplier(() -> {
+            val aggregateResolver = new InMemoryResourceMetadataResolver(metadataFile, openSamlConfigBean);
+            aggregateResolver.initialize();
+            return aggregateResolver;
+        }));
+        assertTrue(Files.isSymbolicLink(target.toPath()));
+        val versions = store.getDirectory().listFiles((dir, name) -> name.startsWith(target.getName() + '-'));
+        assertNotNull(versions);
+        assertEquals(1, versions.length);
+        assertEquals(2, target.listFiles((dir, name) -> name.endsWith(".xml")).length);
+
+        val criteriaSet = new CriteriaSet();
+        criteriaSet.add(new EntityIdCriterion(ENTITY_ID));
+        assertNotNull(metadataResolver.resolveSingle(criteriaSet));
+    }
+}
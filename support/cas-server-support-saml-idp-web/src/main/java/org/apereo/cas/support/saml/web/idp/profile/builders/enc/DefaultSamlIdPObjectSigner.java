@@ -5,6 +5,8 @@ import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPResponseProper
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.support.saml.idp.metadata.generator.SamlIdPMetadataGenerator;
+import org.apereo.cas.support.saml.idp.metadata.locator.FileSystemSamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataCredentialResolver;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPSamlRegisteredServiceCriterion;
@@ -13,10 +15,16 @@ import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceSe
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.RegexUtils;
+import org.apereo.cas.util.ResourceUtils;
 import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
+import org.apereo.cas.util.io.PathWatcherService;
+import org.apereo.cas.util.io.WatcherService;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -25,6 +33,7 @@ import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.jooq.lambda.Unchecked;
 import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.messaging.context.MessageContext;
 import org.opensaml.saml.common.SAMLObject;
@@ -53,17 +62,31 @@ import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
 import org.opensaml.xmlsec.impl.BasicAlgorithmPolicyConfiguration;
 import org.opensaml.xmlsec.impl.BasicSignatureSigningConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.PrivateKey;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
  * This is {@link DefaultSamlIdPObjectSigner}.
+ * <p>
+ * Signature signing parameters, along with the signing credentials they carry, are cached
+ * per service provider role descriptor and registered service. Role descriptors are tracked by identity,
+ * so parameters are resolved again once the service provider metadata is refreshed. Entries are keyed
+ * by the registered service id and rebuilt once the service definition changes, or once the version of the
+ * signing key and certificate of the identity provider changes. That version is computed once and recomputed
+ * after a refresh event, or once files change in the metadata directory when keys are kept on the file system.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -71,13 +94,26 @@ import java.util.regex.Pattern;
 @Slf4j
 @RequiredArgsConstructor
 @Getter
-public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
+public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner, InitializingBean, DisposableBean {
+    private static final int MAX_SIGNING_KEY_VERSIONS = 10_000;
+
     private final MetadataResolver samlIdPMetadataResolver;
 
     private final CasConfigurationProperties casProperties;
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    @Getter(AccessLevel.PROTECTED)
+    private final Cache<RoleDescriptor, Map<Long, CachedSignatureSigningParameters>> signingParametersCache =
+        Caffeine.newBuilder().weakKeys().build();
+
+    @Getter(AccessLevel.PROTECTED)
+    private final Cache<String, String> signingKeyVersions =
+        Caffeine.newBuilder().maximumSize(MAX_SIGNING_KEY_VERSIONS).build();
+
+    @Getter(AccessLevel.NONE)
+    private WatcherService signingKeyWatcher;
+
     private static boolean doesCredentialFingerprintMatch(final AbstractCredential credential,
                                                           final SamlRegisteredService samlRegisteredService) {
         val fingerprint = samlRegisteredService.getSigningCredentialFingerprint();
@@ -91,6 +127,19 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         return true;
     }
 
+    private static String getResourceVersion(final Resource resource) throws Exception {
+        if (!ResourceUtils.doesResourceExist(resource)) {
+            return StringUtils.EMPTY;
+        }
+        if (resource.isFile()) {
+            val file = resource.getFile();
+            return file.getCanonicalPath() + ':' + file.lastModified() + ':' + file.length();
+        }
+        try (val is = resource.getInputStream()) {
+            return DigestUtils.digest("SHA-256", is.readAllBytes());
+        }
+    }
+
     private static AbstractCredential finalizeSigningCredential(final MutableCredential credential, final Credential original) {
         credential.setEntityId(original.getEntityId());
         credential.setUsageType(original.getUsageType());
@@ -99,6 +148,45 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         return (AbstractCredential) credential;
     }
 
+    @Override
+    public void afterPropertiesSet() {
+        if (samlIdPMetadataLocator instanceof FileSystemSamlIdPMetadataLocator) {
+            val directory = ((FileSystemSamlIdPMetadataLocator) samlIdPMetadataLocator).getMetadataLocation();
+            if (directory.isDirectory()) {
+                val watcher = new PathWatcherService(directory.toPath(),
+                    file -> refreshSigningKeyVersions(), file -> refreshSigningKeyVersions(), file -> refreshSigningKeyVersions());
+                watcher.start(getClass().getSimpleName());
+                signingKeyWatcher = watcher;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (signingKeyWatcher != null) {
+            signingKeyWatcher.close();
+        }
+    }
+
+    /**
+     * Discard the recorded versions of the signing keys, so they are computed again
+     * and cached signing parameters are rebuilt if keys were rotated.
+     */
+    public void refreshSigningKeyVersions() {
+        LOGGER.debug("Signing keys of the identity provider may have changed; refreshing signing key versions");
+        signingKeyVersions.invalidateAll();
+    }
+
+    /**
+     * Handle refresh events.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void onRefreshScopeRefreshed(final RefreshScopeRefreshedEvent event) {
+        refreshSigningKeyVersions();
+    }
+
     @Override
     public <T extends SAMLObject> T encode(final T samlObject,
                                            final SamlRegisteredService service,
@@ -172,7 +260,7 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         final SamlRegisteredService service) {
         val secParametersContext = outboundContext.getSubcontext(SecurityParametersContext.class, true);
         val roleDesc = adaptor.getSsoDescriptor();
-        val signingParameters = buildSignatureSigningParameters(roleDesc, service);
+        val signingParameters = getSignatureSigningParameters(roleDesc, service);
         Objects.requireNonNull(secParametersContext).setSignatureSigningParameters(signingParameters);
     }
 
@@ -199,6 +287,53 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         SamlIdPUtils.preparePeerEntitySamlEndpointContext(Pair.of(authnRequest, outboundContext), outboundContext, adaptor, binding);
     }
 
+    /**
+     * Gets signature signing parameters, from the cache if they were previously
+     * resolved for the same role descriptor, service and signing key.
+     *
+     * @param descriptor the descriptor
+     * @param service    the service
+     * @return the signature signing parameters
+     */
+    @SneakyThrows
+    protected SignatureSigningParameters getSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                       final SamlRegisteredService service) {
+        if (descriptor == null) {
+            return buildSignatureSigningParameters(descriptor, service);
+        }
+        val keyVersion = signingKeyVersions.get(SamlIdPMetadataGenerator.getAppliesToFor(Optional.of(service)),
+            Unchecked.function(k -> getSigningKeyVersion(service)));
+        val serviceVersion = service.hashCode();
+        val entries = Objects.requireNonNull(signingParametersCache.get(descriptor, k -> new ConcurrentHashMap<>()));
+        val cached = entries.get(service.getId());
+        if (cached != null && cached.getServiceVersion() == serviceVersion && cached.getKeyVersion().equals(keyVersion)) {
+            LOGGER.trace("Using cached signature signing parameters for [{}]", service.getName());
+            return cached.getParameters();
+        }
+        val params = buildSignatureSigningParameters(descriptor, service);
+        if (params != null) {
+            entries.put(service.getId(), new CachedSignatureSigningParameters(serviceVersion, keyVersion, params));
+        } else {
+            entries.remove(service.getId());
+        }
+        return params;
+    }
+
+    /**
+     * Gets a version of the signing key and certificate of the identity provider
+     * that changes when either of them is rotated. The version is recorded per service
+     * until signing key versions are refreshed.
+     *
+     * @param service the service
+     * @return the signing key version
+     * @throws Exception the exception
+     */
+    protected String getSigningKeyVersion(final SamlRegisteredService service) throws Exception {
+        val registeredService = Optional.of(service);
+        return getResourceVersion(samlIdPMetadataLocator.resolveSigningKey(registeredService))
+            + '|' + getResourceVersion(samlIdPMetadataLocator.resolveSigningCertificate(registeredService));
+    }
+
     /**
      * Build signature signing parameters signature signing parameters.
      *
@@ -410,4 +545,14 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         }
         return null;
     }
+
+    @Getter
+    @RequiredArgsConstructor
+    protected static class CachedSignatureSigningParameters {
+        private final int serviceVersion;
+
+        private final String keyVersion;
+
+        private final SignatureSigningParameters parameters;
+    }
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
 import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
 import org.apereo.cas.support.saml.SamlIdPTestUtils;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 
 import lombok.val;
@@ -9,10 +10,14 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.opensaml.messaging.context.MessageContext;
 import org.opensaml.saml.common.xml.SAMLConstants;
+import org.opensaml.xmlsec.SignatureSigningParameters;
+import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.Objects;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -44,4 +49,34 @@ public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
             SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, new MessageContext()));
 
     }
+
+    @Test
+    public void verifySigningParametersAreCached() throws Exception {
+        val samlRegisteredService = getSamlRegisteredServiceFor(true, true, false, "https://cassp.example.org");
+        samlRegisteredService.setId(1001);
+        samlRegisteredService.setName("ObjectSignerCacheTest");
+
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade
+            .get(samlRegisteredServiceCachingMetadataResolver, samlRegisteredService,
+                samlRegisteredService.getServiceId()).get();
+
+        val first = getSignatureSigningParameters(samlRegisteredService, adaptor);
+        val second = getSignatureSigningParameters(samlRegisteredService, adaptor);
+        assertNotNull(first);
+        assertSame(first, second);
+
+        samlRegisteredService.setSigningCredentialType("BASIC");
+        val third = getSignatureSigningParameters(samlRegisteredService, adaptor);
+        assertNotNull(third);
+        assertNotSame(first, third);
+    }
+
+    private SignatureSigningParameters getSignatureSigningParameters(final SamlRegisteredService samlRegisteredService,
+                                                                     final SamlRegisteredServiceServiceProviderMetadataFacade adaptor) throws Exception {
+        val authnRequest = SamlIdPTestUtils.getAuthnRequest(openSamlConfigBean, samlRegisteredService);
+        val messageContext = new MessageContext();
+        samlIdPObjectSigner.encode(authnRequest, samlRegisteredService, adaptor, new MockHttpServletResponse(),
+            new MockHttpServletRequest(), SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, messageContext);
+        return Objects.requireNonNull(messageContext.getSubcontext(SecurityParametersContext.class)).getSignatureSigningParameters();
+    }
 }
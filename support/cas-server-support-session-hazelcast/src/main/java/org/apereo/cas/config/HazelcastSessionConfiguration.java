@@ -1,7 +1,10 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.web.flow.executor.HazelcastWebflowConversationStore;
+import org.apereo.cas.web.flow.executor.WebflowConversationStore;
 
 import com.hazelcast.config.AttributeConfig;
 import com.hazelcast.config.IndexConfig;
@@ -14,6 +17,9 @@ import com.hazelcast.query.extractor.ValueExtractor;
 import lombok.NoArgsConstructor;
 import lombok.val;
 import org.apache.commons.lang3.ObjectUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.session.HazelcastSessionProperties;
 import org.springframework.boot.autoconfigure.session.SessionProperties;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
@@ -37,9 +43,11 @@ import java.util.Optional;
  */
 @Configuration(value = "HazelcastSessionConfiguration", proxyBeanMethods = false)
 @EnableHazelcastHttpSession
+@AutoConfigureBefore(name = "org.apereo.cas.web.flow.config.CasWebflowContextConfiguration")
 @EnableConfigurationProperties({CasConfigurationProperties.class,
     SessionProperties.class, HazelcastSessionProperties.class, ServerProperties.class})
 public class HazelcastSessionConfiguration {
+    private static final String CONVERSATIONS_MAP_NAME = "cas-webflow-conversations";
 
     /**
      * Hazelcast instance that is used by the spring session
@@ -83,6 +91,16 @@ public class HazelcastSessionConfiguration {
         return hazelcastInstance;
     }
 
+    @Bean
+    @ConditionalOnMissingBean(name = WebflowConversationStore.BEAN_NAME)
+    public WebflowConversationStore webflowConversationStore(
+        final CasConfigurationProperties casProperties,
+        @Qualifier("hazelcastInstance")
+        final HazelcastInstance hazelcastInstance) {
+        val timeout = Beans.newDuration(casProperties.getWebflow().getSession().getConversationTimeout());
+        return new HazelcastWebflowConversationStore(hazelcastInstance.getMap(CONVERSATIONS_MAP_NAME), timeout);
+    }
+
     @NoArgsConstructor
     public static class HazelcastSessionPrincipalNameExtractor implements ValueExtractor<MapSession, String> {
         public void extract(final MapSession target, final String argument, final ValueCollector collector) {
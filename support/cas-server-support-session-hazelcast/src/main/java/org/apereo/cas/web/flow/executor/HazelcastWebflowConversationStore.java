@@ -0,0 +1,37 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.hazelcast.map.IMap;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link HazelcastWebflowConversationStore}.
+ * Keeps conversations in a Hazelcast map, so they are available to all nodes in the cluster.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiredArgsConstructor
+public class HazelcastWebflowConversationStore implements WebflowConversationStore {
+    private final IMap<String, byte[]> conversations;
+
+    private final Duration timeout;
+
+    @Override
+    public Optional<byte[]> get(final String conversationId) {
+        return Optional.ofNullable(conversations.get(conversationId));
+    }
+
+    @Override
+    public void put(final String conversationId, final byte[] state) {
+        conversations.set(conversationId, state, timeout.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void remove(final String conversationId) {
+        conversations.delete(conversationId);
+    }
+}
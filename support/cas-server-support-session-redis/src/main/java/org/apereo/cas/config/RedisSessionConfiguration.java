@@ -1,9 +1,20 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.web.flow.executor.RedisWebflowConversationStore;
+import org.apereo.cas.web.flow.executor.WebflowConversationStore;
 
+import lombok.val;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
 /**
@@ -14,6 +25,22 @@ import org.springframework.session.data.redis.config.annotation.web.http.EnableR
  */
 @Configuration(value = "RedisSessionConfiguration", proxyBeanMethods = false)
 @EnableRedisHttpSession
+@AutoConfigureBefore(name = "org.apereo.cas.web.flow.config.CasWebflowContextConfiguration")
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class RedisSessionConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(name = WebflowConversationStore.BEAN_NAME)
+    public WebflowConversationStore webflowConversationStore(
+        final CasConfigurationProperties casProperties,
+        @Qualifier("redisConnectionFactory")
+        final RedisConnectionFactory redisConnectionFactory) {
+        val template = new RedisTemplate<String, byte[]>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        val timeout = Beans.newDuration(casProperties.getWebflow().getSession().getConversationTimeout());
+        return new RedisWebflowConversationStore(template, timeout);
+    }
 }
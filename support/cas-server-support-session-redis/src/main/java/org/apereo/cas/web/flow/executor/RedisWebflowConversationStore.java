@@ -0,0 +1,38 @@
+package org.apereo.cas.web.flow.executor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * This is {@link RedisWebflowConversationStore}.
+ * Keeps conversations in Redis, so they are available to all nodes in the cluster.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiredArgsConstructor
+public class RedisWebflowConversationStore implements WebflowConversationStore {
+    private static final String KEY_PREFIX = "CAS_WEBFLOW_CONVERSATION:";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+
+    private final Duration timeout;
+
+    @Override
+    public Optional<byte[]> get(final String conversationId) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(KEY_PREFIX + conversationId));
+    }
+
+    @Override
+    public void put(final String conversationId, final byte[] state) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + conversationId, state, timeout);
+    }
+
+    @Override
+    public void remove(final String conversationId) {
+        redisTemplate.delete(KEY_PREFIX + conversationId);
+    }
+}
@@ -0,0 +1,104 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.configuration.model.support.throttle.ThrottleCounterProperties;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+
+/**
+ * Throttles failed login attempts by counting them in windows whose length is the failure range,
+ * and comparing the count against the failure threshold.
+ * Each decision requires at most two counter lookups and each failure a single increment;
+ * counters expire on their own once their window no longer matters.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+@Getter
+public class CounterThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter {
+    private final ThrottledSubmissionCounterStore counterStore;
+
+    private final ThrottleCounterProperties properties;
+
+    public CounterThrottledSubmissionHandlerInterceptorAdapter(
+        final ThrottledSubmissionHandlerConfigurationContext configurationContext,
+        final ThrottledSubmissionCounterStore counterStore,
+        final ThrottleCounterProperties properties) {
+        super(configurationContext);
+        this.counterStore = counterStore;
+        this.properties = properties;
+    }
+
+    private static String getCounterKey(final String key, final long window) {
+        return key + '@' + window;
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        val windowLength = getWindowLength();
+        val threshold = getConfigurationContext().getFailureThreshold();
+        if (windowLength <= 0 || threshold <= 0) {
+            return false;
+        }
+        val key = constructKey(request);
+        val now = System.currentTimeMillis();
+        val window = now / windowLength;
+        var count = (double) counterStore.get(getCounterKey(key, window));
+        if (properties.getWindowType() == ThrottleCounterProperties.ThrottleCounterWindowTypes.SLIDING) {
+            val overlap = 1.0 - (double) (now % windowLength) / windowLength;
+            count += counterStore.get(getCounterKey(key, window - 1)) * overlap;
+        }
+        LOGGER.trace("Failed attempts for [{}] in the current window are counted as [{}] with threshold [{}]", key, count, threshold);
+        return count >= threshold;
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        val windowLength = getWindowLength();
+        if (windowLength > 0) {
+            val key = constructKey(request);
+            val window = System.currentTimeMillis() / windowLength;
+            val count = counterStore.increment(getCounterKey(key, window), Duration.ofMillis(windowLength * 2));
+            LOGGER.debug("Recorded submission failure [{}] for [{}]", count, key);
+        }
+    }
+
+    @Override
+    public void decrement() {
+        counterStore.removeExpired();
+    }
+
+    @Override
+    public String getName() {
+        return "counterThrottle";
+    }
+
+    /**
+     * Construct the key that counts failed attempts for the request.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        val clientIpAddress = ClientInfoHolder.getClientInfo().getClientIpAddress();
+        val username = getUsernameParameterFromRequest(request);
+        if (properties.getKeyType() == ThrottleCounterProperties.ThrottleCounterKeyTypes.IP_ADDRESS || StringUtils.isBlank(username)) {
+            return clientIpAddress;
+        }
+        if (properties.getKeyType() == ThrottleCounterProperties.ThrottleCounterKeyTypes.USERNAME) {
+            return username.toLowerCase();
+        }
+        return clientIpAddress + ';' + username.toLowerCase();
+    }
+
+    private long getWindowLength() {
+        return Duration.ofSeconds(getConfigurationContext().getFailureRangeInSeconds()).toMillis();
+    }
+}
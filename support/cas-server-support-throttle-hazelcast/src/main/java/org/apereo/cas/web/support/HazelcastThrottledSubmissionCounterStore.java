@@ -0,0 +1,53 @@
+package org.apereo.cas.web.support;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.map.IMap;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link HazelcastThrottledSubmissionCounterStore}.
+ * Counters are incremented on the member that owns them, and expire through the time-to-live of their entry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@RequiredArgsConstructor
+public class HazelcastThrottledSubmissionCounterStore implements ThrottledSubmissionCounterStore {
+    private final IMap<String, Long> counters;
+
+    @Override
+    public long increment(final String key, final Duration expiration) {
+        return counters.executeOnKey(key, new IncrementEntryProcessor(expiration.toMillis()));
+    }
+
+    @Override
+    public long get(final String key) {
+        val count = counters.get(key);
+        return count == null ? 0 : count;
+    }
+
+    @RequiredArgsConstructor
+    private static class IncrementEntryProcessor implements EntryProcessor<String, Long, Long> {
+        private static final long serialVersionUID = -3214806584386113927L;
+
+        private final long expiration;
+
+        @Override
+        public Long process(final Map.Entry<String, Long> entry) {
+            val current = entry.getValue();
+            if (current == null) {
+                ((ExtendedMapEntry<String, Long>) entry).setValue(1L, expiration, TimeUnit.MILLISECONDS);
+                return 1L;
+            }
+            val count = current + 1;
+            entry.setValue(count);
+            return count;
+        }
+    }
+}
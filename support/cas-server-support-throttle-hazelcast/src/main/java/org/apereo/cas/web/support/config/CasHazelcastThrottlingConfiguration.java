@@ -4,12 +4,15 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.web.support.HazelcastMapThrottledSubmissionsStore;
+import org.apereo.cas.web.support.HazelcastThrottledSubmissionCounterStore;
+import org.apereo.cas.web.support.ThrottledSubmissionCounterStore;
 import org.apereo.cas.web.support.ThrottledSubmissionsStore;
 
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -22,6 +25,7 @@ import org.springframework.context.annotation.Configuration;
  * @author Travis Schmidt
  * @since 5.3.4
  */
+@AutoConfigureBefore(name = "org.apereo.cas.config.CasThrottlingConfiguration")
 @Configuration(value = "CasHazelcastThrottlingConfiguration", proxyBeanMethods = false)
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @Slf4j
@@ -29,6 +33,8 @@ public class CasHazelcastThrottlingConfiguration {
 
     private static final String MAP_KEY = "ipMap";
 
+    private static final String COUNTERS_MAP_KEY = "throttleCounterMap";
+
     @Bean
     @ConditionalOnMissingBean(name = "hazelcastThrottleSubmissionMap")
     public ThrottledSubmissionsStore throttleSubmissionMap(
@@ -42,4 +48,12 @@ public class CasHazelcastThrottlingConfiguration {
         HazelcastConfigurationFactory.setConfigMap(ipMapConfig, casTicketRegistryHazelcastInstance.getConfig());
         return new HazelcastMapThrottledSubmissionsStore(casTicketRegistryHazelcastInstance.getMap(MAP_KEY));
     }
+
+    @Bean
+    @ConditionalOnMissingBean(name = ThrottledSubmissionCounterStore.BEAN_NAME)
+    public ThrottledSubmissionCounterStore throttledSubmissionCounterStore(
+        @Qualifier("casTicketRegistryHazelcastInstance")
+        final HazelcastInstance casTicketRegistryHazelcastInstance) {
+        return new HazelcastThrottledSubmissionCounterStore(casTicketRegistryHazelcastInstance.getMap(COUNTERS_MAP_KEY));
+    }
 }
@@ -11,8 +11,10 @@ import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
 import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.web.support.ThrottledSubmissionCounterStore;
 import org.apereo.cas.web.support.ThrottledSubmissionsStore;
 
+import lombok.val;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
@@ -54,6 +57,10 @@ public class CasHazelcastThrottlingConfigurationTests {
     @Qualifier("throttleSubmissionMap")
     private ThrottledSubmissionsStore throttleSubmissionMap;
 
+    @Autowired
+    @Qualifier(ThrottledSubmissionCounterStore.BEAN_NAME)
+    private ThrottledSubmissionCounterStore throttledSubmissionCounterStore;
+
     @Test
     public void verifyOperation() {
         assertNotNull(throttleSubmissionMap);
@@ -64,4 +71,15 @@ public class CasHazelcastThrottlingConfigurationTests {
         throttleSubmissionMap.removeIf(entry -> entry.getKey().equals(key));
         assertEquals(0, throttleSubmissionMap.entries().count());
     }
+
+    @Test
+    public void verifyCounters() throws Exception {
+        val key = UUID.randomUUID().toString();
+        assertEquals(0, throttledSubmissionCounterStore.get(key));
+        assertEquals(1, throttledSubmissionCounterStore.increment(key, Duration.ofSeconds(1)));
+        assertEquals(2, throttledSubmissionCounterStore.increment(key, Duration.ofSeconds(1)));
+        assertEquals(2, throttledSubmissionCounterStore.get(key));
+        Thread.sleep(2000);
+        assertEquals(0, throttledSubmissionCounterStore.get(key));
+    }
 }
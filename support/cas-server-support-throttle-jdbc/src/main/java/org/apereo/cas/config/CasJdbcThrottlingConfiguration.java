@@ -2,12 +2,17 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.throttle.CaffeineThrottledSubmissionCounterStore;
+import org.apereo.cas.web.support.CounterThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.JdbcThrottledSubmissionCounterStore;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionCounterStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerConfigurationContext;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.val;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -23,6 +28,7 @@ import javax.sql.DataSource;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
+@AutoConfigureBefore(name = "org.apereo.cas.config.CasThrottlingConfiguration")
 @Configuration(value = "CasJdbcThrottlingConfiguration", proxyBeanMethods = false)
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 public class CasJdbcThrottlingConfiguration {
@@ -35,15 +41,37 @@ public class CasJdbcThrottlingConfiguration {
         return JpaBeans.newDataSource(casProperties.getAuthn().getThrottle().getJdbc());
     }
 
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    @ConditionalOnMissingBean(name = ThrottledSubmissionCounterStore.BEAN_NAME)
+    public ThrottledSubmissionCounterStore throttledSubmissionCounterStore(
+        @Qualifier("inspektrThrottleDataSource")
+        final DataSource inspektrThrottleDataSource,
+        final CasConfigurationProperties casProperties) {
+        val throttle = casProperties.getAuthn().getThrottle();
+        if (throttle.getCounter().isEnabled()) {
+            val jdbc = throttle.getJdbc();
+            JdbcThrottledSubmissionCounterStore.createSchemaIfNecessary(inspektrThrottleDataSource, jdbc.getCounterTableName(), jdbc.getDdlAuto());
+            return new JdbcThrottledSubmissionCounterStore(inspektrThrottleDataSource, jdbc.getCounterTableName());
+        }
+        return new CaffeineThrottledSubmissionCounterStore(throttle.getCounter().getCapacity());
+    }
+
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle(
         @Qualifier("inspektrThrottleDataSource")
         final DataSource inspektrThrottleDataSource,
+        @Qualifier(ThrottledSubmissionCounterStore.BEAN_NAME)
+        final ThrottledSubmissionCounterStore throttledSubmissionCounterStore,
         @Qualifier("authenticationThrottlingConfigurationContext")
         final ThrottledSubmissionHandlerConfigurationContext authenticationThrottlingConfigurationContext,
         final CasConfigurationProperties casProperties) {
         val throttle = casProperties.getAuthn().getThrottle();
+        if (throttle.getCounter().isEnabled()) {
+            return new CounterThrottledSubmissionHandlerInterceptorAdapter(authenticationThrottlingConfigurationContext,
+                throttledSubmissionCounterStore, throttle.getCounter());
+        }
         return new JdbcThrottledSubmissionHandlerInterceptorAdapter(
             authenticationThrottlingConfigurationContext, inspektrThrottleDataSource, throttle.getJdbc().getAuditQuery());
     }
@@ -0,0 +1,134 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * This is {@link JdbcThrottledSubmissionCounterStore}.
+ * Counters are rows that are incremented in place by the database,
+ * and that carry their expiration as epoch milliseconds.
+ * Each increment runs in its own transaction, so the row lock taken by the update
+ * guarantees the value read back is the one produced by that increment.
+ * Expired rows are ignored when counters are read, and removed by the throttling cleaner.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Slf4j
+public class JdbcThrottledSubmissionCounterStore implements ThrottledSubmissionCounterStore {
+    /**
+     * Schema script for the counter table, shipped with this module.
+     */
+    public static final String SCHEMA_SCRIPT = "sql/cas-throttle-counter-schema.sql";
+
+    private static final String DEFAULT_TABLE_NAME = "CAS_THROTTLE_COUNTER";
+
+    private static final Set<String> SCHEMA_DDL_SETTINGS = Set.of("create", "create-drop", "create-only", "update");
+
+    private static final int MAX_INCREMENT_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String sqlIncrement;
+
+    private final String sqlInsert;
+
+    private final String sqlSelect;
+
+    private final String sqlDeleteExpired;
+
+    private final String sqlDeleteExpiredByKey;
+
+    public JdbcThrottledSubmissionCounterStore(final DataSource dataSource, final String tableName) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.sqlIncrement = "UPDATE " + tableName + " SET COUNTER_VALUE = COUNTER_VALUE + 1 WHERE COUNTER_KEY = ? AND EXPIRES_AT > ?";
+        this.sqlInsert = "INSERT INTO " + tableName + " (COUNTER_KEY, COUNTER_VALUE, EXPIRES_AT) VALUES (?, 1, ?)";
+        this.sqlSelect = "SELECT COUNTER_VALUE FROM " + tableName + " WHERE COUNTER_KEY = ? AND EXPIRES_AT > ?";
+        this.sqlDeleteExpired = "DELETE FROM " + tableName + " WHERE EXPIRES_AT <= ?";
+        this.sqlDeleteExpiredByKey = "DELETE FROM " + tableName + " WHERE COUNTER_KEY = ? AND EXPIRES_AT <= ?";
+    }
+
+    /**
+     * Create the counter table from the shipped schema script,
+     * if it does not exist and the given {@code ddl-auto} setting allows schema changes.
+     *
+     * @param dataSource the data source
+     * @param tableName  the table name
+     * @param ddlAuto    the ddl auto setting
+     * @return true if the table was created
+     */
+    public static boolean createSchemaIfNecessary(final DataSource dataSource, final String tableName, final String ddlAuto) {
+        if (!SCHEMA_DDL_SETTINGS.contains(ddlAuto)) {
+            LOGGER.debug("Schema changes are not allowed by ddl-auto [{}]; table [{}] is expected to exist", ddlAuto, tableName);
+            return false;
+        }
+        val jdbcTemplate = new JdbcTemplate(dataSource);
+        try {
+            jdbcTemplate.queryForList("SELECT COUNTER_KEY FROM " + tableName + " WHERE 1 = 0");
+            return false;
+        } catch (final DataAccessException e) {
+            LOGGER.info("Creating table [{}] to hold throttling counters from [{}]", tableName, SCHEMA_SCRIPT);
+            jdbcTemplate.execute(getSchema(tableName));
+            return true;
+        }
+    }
+
+    private static String getSchema(final String tableName) {
+        try (val is = new ClassPathResource(SCHEMA_SCRIPT).getInputStream()) {
+            val schema = StreamUtils.copyToString(is, StandardCharsets.UTF_8).trim();
+            return schema.substring(0, schema.lastIndexOf(';')).replace(DEFAULT_TABLE_NAME, tableName);
+        } catch (final Exception e) {
+            throw new IllegalStateException("Unable to read schema script " + SCHEMA_SCRIPT, e);
+        }
+    }
+
+    @Override
+    public long increment(final String key, final Duration expiration) {
+        for (var attempt = 1; attempt <= MAX_INCREMENT_ATTEMPTS; attempt++) {
+            try {
+                val result = transactionTemplate.execute(status -> {
+                    val now = System.currentTimeMillis();
+                    if (jdbcTemplate.update(sqlIncrement, key, now) > 0) {
+                        return jdbcTemplate.queryForObject(sqlSelect, Long.class, key, now);
+                    }
+                    jdbcTemplate.update(sqlDeleteExpiredByKey, key, now);
+                    jdbcTemplate.update(sqlInsert, key, now + expiration.toMillis());
+                    return 1L;
+                });
+                if (result != null) {
+                    return result;
+                }
+            } catch (final DuplicateKeyException e) {
+                LOGGER.trace("Counter [{}] was created concurrently; incrementing it instead", key);
+            }
+        }
+        return get(key);
+    }
+
+    @Override
+    public long get(final String key) {
+        val counts = jdbcTemplate.queryForList(sqlSelect, Long.class, key, System.currentTimeMillis());
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    @Override
+    public void removeExpired() {
+        val count = jdbcTemplate.update(sqlDeleteExpired, System.currentTimeMillis());
+        LOGGER.debug("Removed [{}] expired throttling counters", count);
+    }
+}
@@ -0,0 +1,5 @@
+CREATE TABLE CAS_THROTTLE_COUNTER (
+    COUNTER_KEY VARCHAR(512) NOT NULL PRIMARY KEY,
+    COUNTER_VALUE BIGINT NOT NULL,
+    EXPIRES_AT BIGINT NOT NULL
+);
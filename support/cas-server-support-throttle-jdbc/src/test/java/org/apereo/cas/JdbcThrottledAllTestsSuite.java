@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.web.support.JdbcThrottledSubmissionCounterStoreTests;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.MySQLJdbcThrottledSubmissionHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.PostgresJdbcThrottledSubmissionHandlerInterceptorAdapterTests;
@@ -16,7 +17,8 @@ import org.junit.platform.suite.api.Suite;
 @SelectClasses({
     JdbcThrottledSubmissionHandlerInterceptorAdapterTests.class,
     PostgresJdbcThrottledSubmissionHandlerInterceptorAdapterTests.class,
-    MySQLJdbcThrottledSubmissionHandlerInterceptorAdapterTests.class
+    MySQLJdbcThrottledSubmissionHandlerInterceptorAdapterTests.class,
+    JdbcThrottledSubmissionCounterStoreTests.class
 })
 @Suite
 public class JdbcThrottledAllTestsSuite {
@@ -0,0 +1,95 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.audit.config.CasSupportJdbcAuditConfiguration;
+import org.apereo.cas.config.CasHibernateJpaConfiguration;
+import org.apereo.cas.config.CasJdbcThrottlingConfiguration;
+
+import lombok.Getter;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link JdbcThrottledSubmissionCounterStore}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SpringBootTest(classes = {
+    CasJdbcThrottlingConfiguration.class,
+    CasSupportJdbcAuditConfiguration.class,
+    CasHibernateJpaConfiguration.class,
+    BaseThrottledSubmissionHandlerInterceptorAdapterTests.SharedTestConfiguration.class
+}, properties = {
+    "cas.authn.throttle.core.username-parameter=username",
+    "cas.authn.throttle.failure.range-seconds=5",
+    "cas.authn.throttle.counter.enabled=true",
+    "cas.audit.jdbc.asynchronous=false"
+})
+@Getter
+@Tag("JDBC")
+public class JdbcThrottledSubmissionCounterStoreTests extends BaseThrottledSubmissionHandlerInterceptorAdapterTests {
+
+    @Autowired
+    @Qualifier("authenticationThrottle")
+    private ThrottledSubmissionHandlerInterceptor throttle;
+
+    @Autowired
+    @Qualifier("inspektrThrottleDataSource")
+    private DataSource inspektrThrottleDataSource;
+
+    @Autowired
+    @Qualifier(ThrottledSubmissionCounterStore.BEAN_NAME)
+    private ThrottledSubmissionCounterStore throttledSubmissionCounterStore;
+
+    @Test
+    public void verifyCounters() throws Exception {
+        assertTrue(throttle instanceof CounterThrottledSubmissionHandlerInterceptorAdapter);
+        assertTrue(throttledSubmissionCounterStore instanceof JdbcThrottledSubmissionCounterStore);
+
+        val key = UUID.randomUUID().toString();
+        assertEquals(0, throttledSubmissionCounterStore.get(key));
+        assertEquals(1, throttledSubmissionCounterStore.increment(key, Duration.ofMillis(500)));
+        assertEquals(2, throttledSubmissionCounterStore.increment(key, Duration.ofMillis(500)));
+        assertEquals(2, throttledSubmissionCounterStore.get(key));
+        Thread.sleep(600);
+        assertEquals(0, throttledSubmissionCounterStore.get(key));
+        assertEquals(1, throttledSubmissionCounterStore.increment(key, Duration.ofMillis(500)));
+        Thread.sleep(600);
+        throttledSubmissionCounterStore.removeExpired();
+        assertEquals(0, throttledSubmissionCounterStore.get(key));
+    }
+
+    @Test
+    public void verifyConcurrentIncrementsAreDistinct() throws Exception {
+        val key = UUID.randomUUID().toString();
+        val results = Collections.synchronizedSet(new HashSet<Long>());
+        val executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 40).forEach(i -> executor.execute(
+            () -> results.add(throttledSubmissionCounterStore.increment(key, Duration.ofMinutes(1)))));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(40, throttledSubmissionCounterStore.get(key));
+        assertEquals(40, results.size());
+    }
+
+    @Test
+    public void verifySchemaIsNotCreatedWithoutDdlChanges() {
+        assertFalse(JdbcThrottledSubmissionCounterStore.createSchemaIfNecessary(
+            getInspektrThrottleDataSource(), "CAS_THROTTLE_COUNTER_NONE", "none"));
+    }
+}
@@ -3,12 +3,16 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.web.support.CounterThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.RedisThrottledSubmissionCounterStore;
 import org.apereo.cas.web.support.RedisThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionCounterStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerConfigurationContext;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 
 import lombok.val;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -18,6 +22,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * This is {@link CasRedisThrottlingConfiguration}.
@@ -27,6 +32,7 @@ import org.springframework.data.redis.core.RedisTemplate;
  */
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @ConditionalOnProperty(prefix = "cas.audit.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureBefore(name = "org.apereo.cas.config.CasThrottlingConfiguration")
 @Configuration(value = "CasRedisThrottlingConfiguration", proxyBeanMethods = false)
 public class CasRedisThrottlingConfiguration {
 
@@ -48,14 +54,29 @@ public class CasRedisThrottlingConfiguration {
         return RedisObjectFactory.newRedisTemplate(redisThrottleConnectionFactory);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(name = ThrottledSubmissionCounterStore.BEAN_NAME)
+    public ThrottledSubmissionCounterStore throttledSubmissionCounterStore(
+        @Qualifier("redisThrottleConnectionFactory")
+        final RedisConnectionFactory redisThrottleConnectionFactory) {
+        return new RedisThrottledSubmissionCounterStore(new StringRedisTemplate(redisThrottleConnectionFactory));
+    }
+
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle(
         @Qualifier("throttleRedisTemplate")
         final RedisTemplate throttleRedisTemplate,
+        @Qualifier(ThrottledSubmissionCounterStore.BEAN_NAME)
+        final ThrottledSubmissionCounterStore throttledSubmissionCounterStore,
         @Qualifier("authenticationThrottlingConfigurationContext")
         final ThrottledSubmissionHandlerConfigurationContext authenticationThrottlingConfigurationContext,
         final CasConfigurationProperties casProperties) {
+        val counter = casProperties.getAuthn().getThrottle().getCounter();
+        if (counter.isEnabled()) {
+            return new CounterThrottledSubmissionHandlerInterceptorAdapter(authenticationThrottlingConfigurationContext,
+                throttledSubmissionCounterStore, counter);
+        }
         return new RedisThrottledSubmissionHandlerInterceptorAdapter(authenticationThrottlingConfigurationContext,
             throttleRedisTemplate,
             casProperties.getAudit().getRedis().getScanCount());
@@ -0,0 +1,43 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This is {@link RedisThrottledSubmissionCounterStore}.
+ * Counters are incremented and given their expiration by a script, in a single round-trip.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+public class RedisThrottledSubmissionCounterStore implements ThrottledSubmissionCounterStore {
+    private static final String KEY_PREFIX = "CAS_THROTTLE_COUNTER:";
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+        "local count = redis.call('INCR', KEYS[1]) "
+            + "if count == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end "
+            + "return count", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisThrottledSubmissionCounterStore(final StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long increment(final String key, final Duration expiration) {
+        val count = redisTemplate.execute(INCREMENT_SCRIPT, List.of(KEY_PREFIX + key), String.valueOf(expiration.toMillis()));
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public long get(final String key) {
+        return NumberUtils.toLong(redisTemplate.opsForValue().get(KEY_PREFIX + key));
+    }
+}
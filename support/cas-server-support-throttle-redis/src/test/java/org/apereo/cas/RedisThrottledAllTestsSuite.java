@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.web.support.RedisThrottledSubmissionCounterStoreTests;
 import org.apereo.cas.web.support.RedisThrottledSubmissionHandlerInterceptorAdapterTests;
 
 import org.junit.platform.suite.api.SelectClasses;
@@ -11,7 +12,10 @@ import org.junit.platform.suite.api.Suite;
  * @author Misagh Moayyed
  * @since 6.1.0
  */
-@SelectClasses(RedisThrottledSubmissionHandlerInterceptorAdapterTests.class)
+@SelectClasses({
+    RedisThrottledSubmissionHandlerInterceptorAdapterTests.class,
+    RedisThrottledSubmissionCounterStoreTests.class
+})
 @Suite
 public class RedisThrottledAllTestsSuite {
 }
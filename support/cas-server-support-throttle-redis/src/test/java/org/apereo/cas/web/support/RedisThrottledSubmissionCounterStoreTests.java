@@ -0,0 +1,63 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.config.CasRedisThrottlingConfiguration;
+import org.apereo.cas.config.CasSupportRedisAuditConfiguration;
+import org.apereo.cas.util.junit.EnabledIfPortOpen;
+
+import lombok.Getter;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RedisThrottledSubmissionCounterStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@Tag("Redis")
+@SpringBootTest(classes = {
+    CasRedisThrottlingConfiguration.class,
+    CasSupportRedisAuditConfiguration.class,
+    BaseThrottledSubmissionHandlerInterceptorAdapterTests.SharedTestConfiguration.class
+},
+    properties = {
+        "cas.authn.throttle.core.usernameParameter=username",
+        "cas.authn.throttle.failure.range-seconds=5",
+        "cas.authn.throttle.counter.enabled=true",
+        "cas.audit.redis.host=localhost",
+        "cas.audit.redis.port=6379",
+        "cas.audit.redis.asynchronous=false"
+    })
+@Getter
+@EnabledIfPortOpen(port = 6379)
+public class RedisThrottledSubmissionCounterStoreTests extends BaseThrottledSubmissionHandlerInterceptorAdapterTests {
+
+    @Autowired
+    @Qualifier("authenticationThrottle")
+    private ThrottledSubmissionHandlerInterceptor throttle;
+
+    @Autowired
+    @Qualifier(ThrottledSubmissionCounterStore.BEAN_NAME)
+    private ThrottledSubmissionCounterStore throttledSubmissionCounterStore;
+
+    @Test
+    public void verifyCounters() throws Exception {
+        assertTrue(throttle instanceof CounterThrottledSubmissionHandlerInterceptorAdapter);
+        val key = UUID.randomUUID().toString();
+        assertEquals(0, throttledSubmissionCounterStore.get(key));
+        assertEquals(1, throttledSubmissionCounterStore.increment(key, Duration.ofMillis(500)));
+        assertEquals(2, throttledSubmissionCounterStore.increment(key, Duration.ofMillis(500)));
+        assertEquals(2, throttledSubmissionCounterStore.get(key));
+        Thread.sleep(1000);
+        assertEquals(0, throttledSubmissionCounterStore.get(key));
+    }
+}
@@ -4,15 +4,18 @@ import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlanConfigurer;
+import org.apereo.cas.throttle.CaffeineThrottledSubmissionCounterStore;
 import org.apereo.cas.throttle.ConcurrentThrottledSubmissionsStore;
 import org.apereo.cas.throttle.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.throttle.DefaultThrottledRequestResponseHandler;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestFilter;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
+import org.apereo.cas.web.support.CounterThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
+import org.apereo.cas.web.support.ThrottledSubmissionCounterStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerConfigurationContext;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerEndpoint;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
@@ -55,12 +58,19 @@ public class CasThrottlingConfiguration {
             @Qualifier("authenticationThrottlingConfigurationContext")
             final ThrottledSubmissionHandlerConfigurationContext authenticationThrottlingConfigurationContext,
             @Qualifier("throttleSubmissionMap")
-            final ThrottledSubmissionsStore throttleSubmissionMap) {
+            final ThrottledSubmissionsStore throttleSubmissionMap,
+            @Qualifier(ThrottledSubmissionCounterStore.BEAN_NAME)
+            final ThrottledSubmissionCounterStore throttledSubmissionCounterStore) {
             val throttle = casProperties.getAuthn().getThrottle();
             if (throttle.getFailure().getRangeSeconds() <= 0 && throttle.getFailure().getThreshold() <= 0) {
                 LOGGER.trace("Authentication throttling is disabled since no range-seconds or failure-threshold is defined");
                 return ThrottledSubmissionHandlerInterceptor.noOp();
             }
+            if (throttle.getCounter().isEnabled()) {
+                LOGGER.trace("Activating authentication throttling based on failure counters...");
+                return new CounterThrottledSubmissionHandlerInterceptorAdapter(authenticationThrottlingConfigurationContext,
+                    throttledSubmissionCounterStore, throttle.getCounter());
+            }
             if (StringUtils.isNotBlank(throttle.getCore().getUsernameParameter())) {
                 LOGGER.trace("Activating authentication throttling based on IP address and username...");
                 return new InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(
@@ -128,6 +138,14 @@ public class CasThrottlingConfiguration {
             return new ConcurrentThrottledSubmissionsStore();
         }
 
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = ThrottledSubmissionCounterStore.BEAN_NAME)
+        @Bean
+        public ThrottledSubmissionCounterStore throttledSubmissionCounterStore(final CasConfigurationProperties casProperties) {
+            val counter = casProperties.getAuthn().getThrottle().getCounter();
+            return new CaffeineThrottledSubmissionCounterStore(counter.getCapacity());
+        }
+
         @Bean
         @ConditionalOnMissingBean(name = "httpPostMethodThrottlingRequestFilter")
         public ThrottledRequestFilter httpPostMethodThrottlingRequestFilter() {
@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.web.support.CounterThrottledSubmissionHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerEndpointTests;
@@ -16,7 +17,8 @@ import org.junit.platform.suite.api.Suite;
 @SelectClasses({
     InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class,
     InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests.class,
-    ThrottledSubmissionHandlerEndpointTests.class
+    ThrottledSubmissionHandlerEndpointTests.class,
+    CounterThrottledSubmissionHandlerInterceptorAdapterTests.class
 })
 @Suite
 public class AllTestsSuite {
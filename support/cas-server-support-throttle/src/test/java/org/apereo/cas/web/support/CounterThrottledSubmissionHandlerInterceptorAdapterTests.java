@@ -0,0 +1,56 @@
+package org.apereo.cas.web.support;
+
+import lombok.Getter;
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link CounterThrottledSubmissionHandlerInterceptorAdapter}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.5.0
+ */
+@SpringBootTest(classes = BaseThrottledSubmissionHandlerInterceptorAdapterTests.SharedTestConfiguration.class,
+    properties = {
+        "cas.authn.throttle.core.username-parameter=username",
+        "cas.authn.throttle.failure.range-seconds=5",
+        "cas.authn.throttle.failure.threshold=3",
+        "cas.authn.throttle.counter.enabled=true"
+    })
+@Getter
+@Tag("AuthenticationThrottling")
+public class CounterThrottledSubmissionHandlerInterceptorAdapterTests extends BaseThrottledSubmissionHandlerInterceptorAdapterTests {
+
+    @Autowired
+    @Qualifier("authenticationThrottle")
+    private ThrottledSubmissionHandlerInterceptor throttle;
+
+    @Test
+    public void verifyFailuresAreCounted() {
+        assertTrue(throttle instanceof CounterThrottledSubmissionHandlerInterceptorAdapter);
+        val request = new MockHttpServletRequest();
+        request.setRemoteAddr("5.6.7.8");
+        request.setParameter("username", "casuser");
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+
+        for (var i = 0; i < 3; i++) {
+            assertFalse(throttle.exceedsThreshold(request));
+            throttle.recordSubmissionFailure(request);
+        }
+        assertTrue(throttle.exceedsThreshold(request));
+
+        val otherUser = new MockHttpServletRequest();
+        otherUser.setRemoteAddr("5.6.7.8");
+        otherUser.setParameter("username", "someone-else");
+        assertFalse(throttle.exceedsThreshold(otherUser));
+    }
+}